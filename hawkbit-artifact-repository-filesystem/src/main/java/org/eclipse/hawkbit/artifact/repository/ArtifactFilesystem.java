@@ -12,7 +12,11 @@ import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
 
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
@@ -22,7 +26,8 @@ import com.google.common.base.Throwables;
 
 /**
  * {@link AbstractDbArtifact} implementation which dynamically creates a
- * {@link FileInputStream} on calling {@link #getFileInputStream()}.
+ * {@link FileInputStream} on calling {@link #getFileInputStream()} and a
+ * {@link FileChannel} on calling {@link #openFileChannel()}.
  */
 public class ArtifactFilesystem extends AbstractDbArtifact {
 
@@ -46,4 +51,9 @@ public class ArtifactFilesystem extends AbstractDbArtifact {
             throw Throwables.propagate(e);
         }
     }
+
+    @Override
+    public Optional<FileChannel> openFileChannel() throws IOException {
+        return Optional.of(FileChannel.open(file.toPath(), StandardOpenOption.READ));
+    }
 }
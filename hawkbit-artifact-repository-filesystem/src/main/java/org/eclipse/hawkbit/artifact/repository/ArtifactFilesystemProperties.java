@@ -22,6 +22,8 @@ public class ArtifactFilesystemProperties {
      */
     private String path = "./artifactrepo";
 
+    private final Cache cache = new Cache();
+
     public String getPath() {
         return path;
     }
@@ -29,4 +31,66 @@ public class ArtifactFilesystemProperties {
     public void setPath(final String path) {
         this.path = path;
     }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    /**
+     * Configuration of the cache for frequently downloaded artifacts.
+     */
+    public static class Cache {
+
+        /**
+         * Keeps the most frequently downloaded artifacts open and memory-mapped.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum total size in bytes of the cached artifacts.
+         */
+        private long maxSize = 512L * 1024 * 1024;
+
+        /**
+         * Maximum number of cached artifacts.
+         */
+        private int maxEntries = 64;
+
+        /**
+         * Number of downloads after which an artifact is admitted to the cache.
+         */
+        private int admissionThreshold = 3;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(final long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(final int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public int getAdmissionThreshold() {
+            return admissionThreshold;
+        }
+
+        public void setAdmissionThreshold(final int admissionThreshold) {
+            this.admissionThreshold = admissionThreshold;
+        }
+    }
 }
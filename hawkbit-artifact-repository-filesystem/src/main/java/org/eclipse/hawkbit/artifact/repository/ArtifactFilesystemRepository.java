@@ -10,8 +10,11 @@ package org.eclipse.hawkbit.artifact.repository;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 
 import org.apache.commons.io.FileUtils;
@@ -20,7 +23,6 @@ import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
 import org.springframework.validation.annotation.Validated;
 
 import com.google.common.base.Splitter;
-import com.google.common.io.Files;
 
 /**
  * Implementation of the {@link ArtifactRepository} to store artifacts on the
@@ -33,12 +35,23 @@ import com.google.common.io.Files;
  * Due the limit of many file-systems of files within one directory, the files
  * are stored in different sub-directories based on the last four digits of the
  * SHA1-hash {@code (/basepath/[two digit sha1]/[two digit sha1])}.
+ * 
+ * Uploads are written to temp files in {@code /basepath/.tmp}, i.e. on the
+ * same volume as the artifacts, and atomically renamed afterwards.
+ * 
+ * The most frequently downloaded artifacts are kept open and memory-mapped by
+ * a {@link HotArtifactCache} if enabled by
+ * {@link ArtifactFilesystemProperties#getCache()}.
  */
 @Validated
 public class ArtifactFilesystemRepository extends AbstractArtifactRepository {
 
+    private static final String TEMP_DIRECTORY = ".tmp";
+
     private final ArtifactFilesystemProperties artifactResourceProperties;
 
+    private final HotArtifactCache cache;
+
     /**
      * Constructor.
      * 
@@ -48,23 +61,49 @@ public class ArtifactFilesystemRepository extends AbstractArtifactRepository {
      */
     public ArtifactFilesystemRepository(final ArtifactFilesystemProperties artifactResourceProperties) {
         this.artifactResourceProperties = artifactResourceProperties;
+        this.cache = artifactResourceProperties.getCache().isEnabled()
+                ? new HotArtifactCache(artifactResourceProperties.getCache())
+                : null;
     }
 
     @Override
     public void deleteBySha1(final String tenant, final String sha1Hash) {
+        if (cache != null) {
+            cache.invalidate(sanitizeTenant(tenant), sha1Hash);
+        }
         FileUtils.deleteQuietly(getFile(tenant, sha1Hash));
     }
 
     @Override
     public ArtifactFilesystem getArtifactBySha1(final String tenant, final String sha1) {
-        final File file = getFile(tenant, sha1);
-        if (!file.exists()) {
+        if (cache != null) {
+            return cache.get(sanitizeTenant(tenant), sha1, () -> getExistingFile(tenant, sha1));
+        }
+
+        final File file = getExistingFile(tenant, sha1);
+        if (file == null) {
             return null;
         }
 
         return new ArtifactFilesystem(file, sha1, new DbArtifactHash(sha1, null, null), file.length(), null);
     }
 
+    /**
+     * Closes the cached artifact files and shuts the hashing threads down.
+     */
+    @Override
+    public void destroy() {
+        if (cache != null) {
+            cache.close();
+        }
+        super.destroy();
+    }
+
+    private File getExistingFile(final String tenant, final String sha1) {
+        final File file = getFile(tenant, sha1);
+        return file.exists() ? file : null;
+    }
+
     @Override
     protected AbstractDbArtifact store(final String tenant, final DbArtifactHash base16Hashes, final String contentType, final String tempFile) throws IOException {
 
@@ -78,17 +117,36 @@ public class ArtifactFilesystemRepository extends AbstractArtifactRepository {
         if (fileSHA1Naming.exists()) {
             FileUtils.deleteQuietly(file);
         } else {
-            Files.move(file, fileSHA1Naming);
+            fileSHA1Naming.getParentFile().mkdirs();
+            move(file.toPath(), fileSHA1Naming.toPath());
         }
 
         return new ArtifactFilesystem(fileSHA1Naming, artifact.getArtifactId(), artifact.getHashes(),
                 artifact.getSize(), artifact.getContentType());
     }
 
+    private static void move(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    protected File createTempFile() {
+        final File tempDirectory = Paths.get(artifactResourceProperties.getPath(), TEMP_DIRECTORY).toFile();
+        tempDirectory.mkdirs();
+
+        try {
+            return File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX, tempDirectory);
+        } catch (final IOException e) {
+            throw new ArtifactStoreException("Cannot create tempfile", e);
+        }
+    }
+
     private File getFile(final String tenant, final String sha1) {
-        final File aritfactDirectory = getSha1DirectoryPath(tenant, sha1).toFile();
-        aritfactDirectory.mkdirs();
-        return new File(aritfactDirectory, sha1);
+        return new File(getSha1DirectoryPath(tenant, sha1).toFile(), sha1);
     }
 
     private Path getSha1DirectoryPath(final String tenant, final String sha1) {
@@ -101,6 +159,9 @@ public class ArtifactFilesystemRepository extends AbstractArtifactRepository {
 
     @Override
     public void deleteByTenant(final String tenant) {
+        if (cache != null) {
+            cache.invalidateTenant(sanitizeTenant(tenant));
+        }
         FileUtils.deleteQuietly(Paths.get(artifactResourceProperties.getPath(), sanitizeTenant(tenant)).toFile());
     }
 
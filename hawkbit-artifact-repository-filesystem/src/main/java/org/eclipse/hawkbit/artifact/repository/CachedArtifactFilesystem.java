@@ -0,0 +1,284 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.hawkbit.artifact.repository.HotArtifactCache.HotArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+
+/**
+ * {@link ArtifactFilesystem} of an artifact in the {@link HotArtifactCache}.
+ * The content is read from the memory-mapped file and the channels share the
+ * file handle of the cache instead of opening the file again.
+ */
+class CachedArtifactFilesystem extends ArtifactFilesystem {
+
+    private final HotArtifact artifact;
+
+    CachedArtifactFilesystem(final HotArtifact artifact, final String sha1) {
+        super(artifact.getFile(), sha1, new DbArtifactHash(sha1, null, null), artifact.getSize(), null);
+        this.artifact = artifact;
+    }
+
+    HotArtifact getArtifact() {
+        return artifact;
+    }
+
+    @Override
+    public InputStream getFileInputStream() {
+        final MappedByteBuffer buffer = artifact.getBuffer();
+        if (buffer == null || !artifact.retain()) {
+            // not mapped or evicted in the meantime
+            return super.getFileInputStream();
+        }
+        return new ByteBufferInputStream(artifact, buffer.duplicate());
+    }
+
+    @Override
+    public Optional<FileChannel> openFileChannel() throws IOException {
+        if (!artifact.retain()) {
+            // evicted in the meantime
+            return super.openFileChannel();
+        }
+        return Optional.of(new SharedFileChannel(artifact));
+    }
+
+    /**
+     * Stream on the mapped file of a cached artifact. It keeps the file mapped
+     * until it is closed, even if the artifact is evicted in the meantime.
+     * Closing it releases the shared file handle.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final HotArtifact artifact;
+        private final ByteBuffer buffer;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private ByteBufferInputStream(final HotArtifact artifact, final ByteBuffer buffer) {
+            this.artifact = artifact;
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() throws IOException {
+            ensureOpen();
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int off, final int len) throws IOException {
+            ensureOpen();
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int read = Math.min(len, buffer.remaining());
+            buffer.get(bytes, off, read);
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            ensureOpen();
+            final int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            ensureOpen();
+            return buffer.remaining();
+        }
+
+        /**
+         * The file may be unmapped once the stream is closed, so the buffer
+         * must not be accessed anymore.
+         */
+        private void ensureOpen() throws IOException {
+            if (closed.get()) {
+                throw new IOException("Stream closed");
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                artifact.release();
+            }
+        }
+    }
+
+    /**
+     * Read-only {@link FileChannel} on the file of a cached artifact. It keeps
+     * its own position and reads from the mapped file if available. Closing
+     * it only releases the shared file handle.
+     */
+    private static final class SharedFileChannel extends FileChannel {
+        private final HotArtifact artifact;
+        private long position;
+
+        private SharedFileChannel(final HotArtifact artifact) {
+            this.artifact = artifact;
+        }
+
+        @Override
+        public int read(final ByteBuffer dst) throws IOException {
+            final int read = read(dst, position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long read(final ByteBuffer[] dsts, final int offset, final int length) throws IOException {
+            long total = 0;
+            for (int i = offset; i < offset + length; i++) {
+                final int read = read(dsts[i]);
+                if (read < 0) {
+                    return total == 0 ? -1 : total;
+                }
+                total += read;
+                if (dsts[i].hasRemaining()) {
+                    break;
+                }
+            }
+            return total;
+        }
+
+        @Override
+        public int read(final ByteBuffer dst, final long position) throws IOException {
+            ensureOpen();
+            final MappedByteBuffer buffer = artifact.getBuffer();
+            if (buffer == null) {
+                return artifact.getChannel().read(dst, position);
+            }
+            if (position >= artifact.getSize()) {
+                return -1;
+            }
+            final ByteBuffer slice = slice(buffer, position, dst.remaining());
+            final int read = slice.remaining();
+            dst.put(slice);
+            return read;
+        }
+
+        @Override
+        public long transferTo(final long position, final long count, final WritableByteChannel target)
+                throws IOException {
+            ensureOpen();
+            final MappedByteBuffer buffer = artifact.getBuffer();
+            if (buffer == null) {
+                return artifact.getChannel().transferTo(position, count, target);
+            }
+            if (position >= artifact.getSize()) {
+                return 0;
+            }
+            return target.write(slice(buffer, position, count));
+        }
+
+        private ByteBuffer slice(final MappedByteBuffer buffer, final long position, final long count) {
+            final ByteBuffer slice = buffer.duplicate();
+            slice.position((int) position);
+            slice.limit((int) Math.min(artifact.getSize(), position + count));
+            return slice;
+        }
+
+        private void ensureOpen() throws ClosedChannelException {
+            if (!isOpen()) {
+                throw new ClosedChannelException();
+            }
+        }
+
+        @Override
+        public long position() throws IOException {
+            ensureOpen();
+            return position;
+        }
+
+        @Override
+        public FileChannel position(final long newPosition) throws IOException {
+            ensureOpen();
+            position = newPosition;
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            ensureOpen();
+            return artifact.getSize();
+        }
+
+        @Override
+        public MappedByteBuffer map(final MapMode mode, final long position, final long size) throws IOException {
+            ensureOpen();
+            return artifact.getChannel().map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(final long position, final long size, final boolean shared) throws IOException {
+            ensureOpen();
+            return artifact.getChannel().lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(final long position, final long size, final boolean shared) throws IOException {
+            ensureOpen();
+            return artifact.getChannel().tryLock(position, size, shared);
+        }
+
+        @Override
+        public void force(final boolean metaData) throws IOException {
+            ensureOpen();
+        }
+
+        @Override
+        public int write(final ByteBuffer src) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public long write(final ByteBuffer[] srcs, final int offset, final int length) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public int write(final ByteBuffer src, final long position) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public FileChannel truncate(final long size) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public long transferFrom(final ReadableByteChannel src, final long position, final long count) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        protected void implCloseChannel() {
+            artifact.release();
+        }
+    }
+}
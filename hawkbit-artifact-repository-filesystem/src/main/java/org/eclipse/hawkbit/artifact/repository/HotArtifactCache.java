@@ -0,0 +1,353 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.artifact.repository.ArtifactFilesystemProperties.Cache;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the most frequently downloaded artifacts of the
+ * {@link ArtifactFilesystemRepository}. A cached artifact is resolved without
+ * any file-system access and its file is kept open and memory-mapped, so that
+ * the downloads share one file handle and are served from the page cache.
+ *
+ * The downloads of every artifact are counted. An artifact is admitted once
+ * it has been downloaded {@link Cache#getAdmissionThreshold()} times and, if
+ * the cache is full, more often than the least frequently downloaded cached
+ * artifact, which is evicted in that case. The counters are halved after
+ * every {@link Cache#getMaxEntries()} * {@value #FREQUENCIES_PER_ENTRY}
+ * downloads so that formerly popular artifacts age out. If more artifacts than
+ * that are counted, the least frequently downloaded ones that are not cached
+ * are forgotten until half of them are left.
+ *
+ * The file of an evicted artifact is closed and unmapped once the last
+ * download that reads from it has been closed.
+ */
+class HotArtifactCache {
+    private static final Logger LOG = LoggerFactory.getLogger(HotArtifactCache.class);
+
+    private static final int FREQUENCIES_PER_ENTRY = 16;
+
+    private static final Consumer<MappedByteBuffer> UNMAPPER = createUnmapper();
+
+    private final Cache properties;
+    private final Map<String, AtomicLong> frequencies = new ConcurrentHashMap<>();
+    private final Map<String, HotArtifact> artifacts = new ConcurrentHashMap<>();
+    private final AtomicLong downloads = new AtomicLong();
+    private final AtomicBoolean aging = new AtomicBoolean();
+
+    // guarded by this
+    private long cachedSize;
+
+    HotArtifactCache(final Cache properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the artifact from the cache or resolves its file and admits it
+     * if it is downloaded frequently enough.
+     *
+     * @param tenant
+     *            the sanitized tenant
+     * @param sha1
+     *            the SHA1 hash of the artifact
+     * @param resolver
+     *            resolves the file of the artifact, returns <code>null</code>
+     *            if it does not exist
+     * @return the artifact or <code>null</code> if it does not exist
+     */
+    ArtifactFilesystem get(final String tenant, final String sha1, final Supplier<File> resolver) {
+        final String key = getKey(tenant, sha1);
+        final long frequency = countDownload(key);
+
+        final HotArtifact cached = artifacts.get(key);
+        if (cached != null) {
+            return new CachedArtifactFilesystem(cached, sha1);
+        }
+
+        final File file = resolver.get();
+        if (file == null) {
+            return null;
+        }
+
+        if (frequency >= properties.getAdmissionThreshold()) {
+            final HotArtifact admitted = admit(key, file, frequency);
+            if (admitted != null) {
+                return new CachedArtifactFilesystem(admitted, sha1);
+            }
+        }
+
+        return new ArtifactFilesystem(file, sha1, new DbArtifactHash(sha1, null, null), file.length(), null);
+    }
+
+    /**
+     * Removes the artifact from the cache, e.g. before it is deleted.
+     *
+     * @param tenant
+     *            the sanitized tenant
+     * @param sha1
+     *            the SHA1 hash of the artifact
+     */
+    void invalidate(final String tenant, final String sha1) {
+        final String key = getKey(tenant, sha1);
+        frequencies.remove(key);
+        evict(key);
+    }
+
+    /**
+     * Removes all artifacts of the tenant from the cache.
+     *
+     * @param tenant
+     *            the sanitized tenant
+     */
+    void invalidateTenant(final String tenant) {
+        final String prefix = getKey(tenant, "");
+        frequencies.keySet().removeIf(key -> key.startsWith(prefix));
+        artifacts.keySet().stream().filter(key -> key.startsWith(prefix)).forEach(this::evict);
+    }
+
+    /**
+     * Removes all artifacts from the cache, e.g. on shutdown.
+     */
+    void close() {
+        artifacts.keySet().forEach(this::evict);
+    }
+
+    /**
+     * @return the number of cached artifacts
+     */
+    int size() {
+        return artifacts.size();
+    }
+
+    /**
+     * @return the number of artifacts whose downloads are counted
+     */
+    int countedSize() {
+        return frequencies.size();
+    }
+
+    private static String getKey(final String tenant, final String sha1) {
+        return tenant + "/" + sha1;
+    }
+
+    private long countDownload(final String key) {
+        final long frequency = frequencies.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+        final int maxCounted = getMaxCounted();
+        if ((downloads.incrementAndGet() % maxCounted == 0 || frequencies.size() > maxCounted)
+                && aging.compareAndSet(false, true)) {
+            try {
+                age(maxCounted);
+            } finally {
+                aging.set(false);
+            }
+        }
+        return frequency;
+    }
+
+    private int getMaxCounted() {
+        return Math.max(1, properties.getMaxEntries() * FREQUENCIES_PER_ENTRY);
+    }
+
+    private synchronized void age(final int maxCounted) {
+        frequencies.entrySet().removeIf(entry -> entry.getValue().updateAndGet(frequency -> frequency / 2) == 0
+                && !artifacts.containsKey(entry.getKey()));
+
+        final int excess = frequencies.size() - maxCounted / 2;
+        if (excess > 0) {
+            frequencies.entrySet().stream().filter(entry -> !artifacts.containsKey(entry.getKey()))
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().get())).limit(excess)
+                    .map(Entry::getKey).collect(Collectors.toList()).forEach(frequencies::remove);
+        }
+    }
+
+    private synchronized HotArtifact admit(final String key, final File file, final long frequency) {
+        final HotArtifact cached = artifacts.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final long size = file.length();
+        if (size > properties.getMaxSize()) {
+            return null;
+        }
+
+        while (cachedSize + size > properties.getMaxSize() || artifacts.size() >= properties.getMaxEntries()) {
+            final String victim = findLeastFrequent();
+            if (victim == null || getFrequency(victim) >= frequency) {
+                return null;
+            }
+            evict(victim);
+        }
+
+        try {
+            final HotArtifact admitted = new HotArtifact(file, size);
+            artifacts.put(key, admitted);
+            cachedSize += size;
+            return admitted;
+        } catch (final IOException e) {
+            LOG.warn("Failed to cache artifact file {}", file, e);
+            return null;
+        }
+    }
+
+    private String findLeastFrequent() {
+        return artifacts.keySet().stream().min((a, b) -> Long.compare(getFrequency(a), getFrequency(b)))
+                .orElse(null);
+    }
+
+    private long getFrequency(final String key) {
+        final AtomicLong frequency = frequencies.get(key);
+        return frequency == null ? 0 : frequency.get();
+    }
+
+    private synchronized void evict(final String key) {
+        final HotArtifact evicted = artifacts.remove(key);
+        if (evicted != null) {
+            cachedSize -= evicted.size;
+            evicted.release();
+        }
+    }
+
+    /**
+     * The open and mapped file of a cached artifact. The file is closed and
+     * unmapped once the artifact has been evicted and all streams and channels
+     * opened on it are closed.
+     */
+    static final class HotArtifact {
+        private final File file;
+        private final long size;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        // the cache holds one reference until the artifact is evicted
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        private HotArtifact(final File file, final long size) throws IOException {
+            this.file = file;
+            this.size = size;
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            try {
+                this.buffer = size <= Integer.MAX_VALUE ? channel.map(MapMode.READ_ONLY, 0, size) : null;
+            } catch (final IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        File getFile() {
+            return file;
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        FileChannel getChannel() {
+            return channel;
+        }
+
+        MappedByteBuffer getBuffer() {
+            return buffer;
+        }
+
+        /**
+         * @return <code>false</code> if the file has already been closed
+         */
+        boolean retain() {
+            int current;
+            do {
+                current = references.get();
+                if (current == 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        void release() {
+            if (references.decrementAndGet() == 0) {
+                if (buffer != null) {
+                    UNMAPPER.accept(buffer);
+                }
+                try {
+                    channel.close();
+                } catch (final IOException e) {
+                    LOG.warn("Failed to close cached artifact file {}", file, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the function that releases the mapping of a buffer immediately
+     * instead of on garbage collection. It is only safe to call once the
+     * buffer is not accessed anymore.
+     */
+    private static Consumer<MappedByteBuffer> createUnmapper() {
+        try {
+            // Java 9 and later
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            final Object unsafe = theUnsafe.get(null);
+            return buffer -> invoke(invokeCleaner, unsafe, buffer);
+        } catch (final NoSuchMethodException e) {
+            // Java 8
+            return buffer -> {
+                try {
+                    final Method cleaner = buffer.getClass().getMethod("cleaner");
+                    cleaner.setAccessible(true);
+                    final Object bufferCleaner = cleaner.invoke(buffer);
+                    invoke(bufferCleaner.getClass().getMethod("clean"), bufferCleaner);
+                } catch (final ReflectiveOperationException | RuntimeException ex) {
+                    LOG.debug("Failed to unmap cached artifact file", ex);
+                }
+            };
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            LOG.info("Cached artifact files are unmapped on garbage collection only", e);
+            return buffer -> {
+            };
+        }
+    }
+
+    private static void invoke(final Method method, final Object target, final Object... args) {
+        try {
+            method.invoke(target, args);
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            LOG.debug("Failed to unmap cached artifact file", e);
+        }
+    }
+}
@@ -9,11 +9,22 @@
 package org.eclipse.hawkbit.artifact.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
@@ -25,6 +36,7 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.hash.Hashing;
 import com.google.common.io.Files;
 
 import io.qameta.allure.Description;
@@ -73,6 +85,20 @@ public class ArtifactFilesystemRepositoryTest {
         assertThat(readContent).isEqualTo(fileContent);
     }
 
+    @Test
+    @SuppressWarnings("deprecation")
+    @Description("Verfies that the hashes of an artifact that spans multiple chunks are calculated correctly and no temp file is left behind")
+    public void storeArtifactLargerThanChunkSuccessfully() throws IOException {
+        final byte[] fileContent = randomBytes(3 * 1024 * 1024 + 17);
+        final AbstractDbArtifact artifact = storeRandomArtifact(fileContent);
+
+        assertThat(artifact.getHashes().getSha1()).isEqualTo(Hashing.sha1().hashBytes(fileContent).toString());
+        assertThat(artifact.getHashes().getMd5()).isEqualTo(Hashing.md5().hashBytes(fileContent).toString());
+        assertThat(artifact.getHashes().getSha256()).isEqualTo(Hashing.sha256().hashBytes(fileContent).toString());
+        assertThat(artifact.getSize()).isEqualTo(fileContent.length);
+        assertThat(new File(artifactResourceProperties.getPath(), ".tmp").list()).isEmpty();
+    }
+
     @Test
     @Description("Verfies that an artifact can be successfully stored in the file-system repository")
     public void getStoredArtifactBasedOnSHA1Hash() {
@@ -122,6 +148,73 @@ public class ArtifactFilesystemRepositoryTest {
         }
     }
 
+    @Test
+    @SuppressWarnings("deprecation")
+    @Description("Verfies that concurrent uploads that exceed the hashing threads are stored with the correct hashes")
+    public void storeConcurrentlySuccessfully() throws Exception {
+        final int uploads = 2 * Runtime.getRuntime().availableProcessors() + 1;
+        final ExecutorService executor = Executors.newFixedThreadPool(uploads);
+        try {
+            final List<byte[]> contents = IntStream.range(0, uploads).mapToObj(i -> randomBytes(2 * 1024 * 1024 + i))
+                    .collect(Collectors.toList());
+            final List<Future<AbstractDbArtifact>> artifacts = new ArrayList<>();
+            for (final byte[] content : contents) {
+                artifacts.add(executor.submit(() -> storeRandomArtifact(content)));
+            }
+
+            for (int i = 0; i < uploads; i++) {
+                assertThat(artifacts.get(i).get(30, TimeUnit.SECONDS).getHashes().getSha1())
+                        .isEqualTo(Hashing.sha1().hashBytes(contents.get(i)).toString());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @Description("Verfies that an upload still completes after the repository has been shut down")
+    public void storeAfterDestroySuccessfully() {
+        final ArtifactFilesystemRepository repository = new ArtifactFilesystemRepository(artifactResourceProperties);
+        repository.destroy();
+
+        final byte[] fileContent = randomBytes(3 * 1024 * 1024);
+        final AbstractDbArtifact artifact = repository.store(TENANT, new ByteArrayInputStream(fileContent),
+                "filename.tmp", "application/txt", null);
+
+        assertThat(artifact.getSize()).isEqualTo(fileContent.length);
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    @Description("Verfies that the content is stored in a temp file by the deprecated storeTempFile")
+    public void storeTempFileSuccessfully() throws IOException {
+        final byte[] fileContent = randomBytes(2 * 1024 * 1024 + 17);
+
+        final File tempFile = new File(
+                artifactFilesystemRepository.storeTempFile(new ByteArrayInputStream(fileContent)));
+        try {
+            assertThat(tempFile).hasBinaryContent(fileContent);
+        } finally {
+            artifactFilesystemRepository.deleteTempFile(tempFile.getPath());
+        }
+    }
+
+    @Test
+    @Description("Verfies that an upload whose content cannot be read completely fails and leaves no temp file behind")
+    public void storeUnreadableContentFails() {
+        final InputStream content = new SequenceInputStream(new ByteArrayInputStream(randomBytes(2 * 1024 * 1024)),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("connection reset");
+                    }
+                });
+
+        assertThatExceptionOfType(ArtifactStoreException.class).isThrownBy(
+                () -> artifactFilesystemRepository.store(TENANT, content, "filename.tmp", "application/txt", null));
+        assertThat(new File(artifactResourceProperties.getPath(), ".tmp").list()).isEmpty();
+    }
+
     private AbstractDbArtifact storeRandomArtifact(final byte[] fileContent) {
         final String fileName = "filename.tmp";
         final ByteArrayInputStream inputStream = new ByteArrayInputStream(fileContent);
@@ -129,7 +222,11 @@ public class ArtifactFilesystemRepositoryTest {
     }
 
     private static byte[] randomBytes() {
-        final byte[] randomBytes = new byte[20];
+        return randomBytes(20);
+    }
+
+    private static byte[] randomBytes(final int length) {
+        final byte[] randomBytes = new byte[length];
         final Random ran = new Random();
         ran.nextBytes(randomBytes);
         return randomBytes;
@@ -13,6 +13,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 
 import org.apache.commons.io.IOUtils;
 import org.assertj.core.api.Assertions;
@@ -53,4 +56,21 @@ public class ArtifactFilesystemTest {
         final byte[] buffer = new byte[1024];
         IOUtils.read(underTest.getFileInputStream(), buffer);
     }
+
+    @Test
+    @Description("Verifies that a FileChannel with positional access can be opened if file exists")
+    public void openFileChannelOfExistingFile() throws IOException {
+        final File createTempFile = File.createTempFile(ArtifactFilesystemTest.class.getSimpleName(), "");
+        createTempFile.deleteOnExit();
+        Files.write(createTempFile.toPath(), new byte[] { 1, 2, 3, 4 });
+
+        final ArtifactFilesystem underTest = new ArtifactFilesystem(createTempFile,
+                ArtifactFilesystemTest.class.getSimpleName(), new DbArtifactHash("1", "2", "3"), 4L, null);
+
+        try (FileChannel channel = underTest.openFileChannel().get()) {
+            final ByteBuffer buffer = ByteBuffer.allocate(2);
+            channel.read(buffer, 2);
+            assertThat(buffer.array()).containsExactly(3, 4);
+        }
+    }
 }
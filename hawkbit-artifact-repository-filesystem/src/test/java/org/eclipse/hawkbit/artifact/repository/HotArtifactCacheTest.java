@@ -0,0 +1,218 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.io.Files;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Artifact File System Repository")
+@Story("Test caching frequently downloaded artifact binaries")
+public class HotArtifactCacheTest {
+
+    private static final String TENANT = "test_tenant";
+
+    private final ArtifactFilesystemProperties properties = new ArtifactFilesystemProperties();
+
+    private ArtifactFilesystemRepository repository;
+
+    @BeforeEach
+    public void setup() {
+        properties.setPath(Files.createTempDir().getAbsolutePath());
+        properties.getCache().setEnabled(true);
+        properties.getCache().setAdmissionThreshold(2);
+        properties.getCache().setMaxEntries(1);
+        repository = new ArtifactFilesystemRepository(properties);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(new File(properties.getPath()));
+    }
+
+    @Test
+    @Description("Verifies that an artifact is cached after the admission threshold and served from the cache.")
+    public void frequentlyDownloadedArtifactIsCached() throws IOException {
+        final byte[] content = randomBytes();
+        final String sha1 = store(content);
+
+        assertThat(repository.getArtifactBySha1(TENANT, sha1)).isNotInstanceOf(CachedArtifactFilesystem.class);
+        final AbstractDbArtifact cached = repository.getArtifactBySha1(TENANT, sha1);
+        assertThat(cached).isInstanceOf(CachedArtifactFilesystem.class);
+        assertThat(cached.getSize()).isEqualTo(content.length);
+
+        try (InputStream stream = cached.getFileInputStream()) {
+            assertThat(IOUtils.toByteArray(stream)).isEqualTo(content);
+        }
+
+        final ByteArrayOutputStream transferred = new ByteArrayOutputStream();
+        try (FileChannel channel = cached.openFileChannel().get()) {
+            channel.transferTo(10, content.length - 20, Channels.newChannel(transferred));
+        }
+        assertThat(transferred.toByteArray()).isEqualTo(Arrays.copyOfRange(content, 10, content.length - 10));
+    }
+
+    @Test
+    @Description("Verifies that a cached artifact is only replaced by a more frequently downloaded one.")
+    public void leastFrequentlyDownloadedArtifactIsEvicted() {
+        final String first = store(randomBytes());
+        final String second = store(randomBytes());
+
+        download(first, 3);
+        assertThat(download(second, 3)).isNotInstanceOf(CachedArtifactFilesystem.class);
+        assertThat(download(second, 1)).isInstanceOf(CachedArtifactFilesystem.class);
+        assertThat(download(first, 1)).isNotInstanceOf(CachedArtifactFilesystem.class);
+    }
+
+    @Test
+    @Description("Verifies that a deleted artifact is removed from the cache.")
+    public void deletedArtifactIsInvalidated() throws IOException {
+        final String sha1 = store(randomBytes());
+        final AbstractDbArtifact cached = download(sha1, 2);
+        assertThat(cached).isInstanceOf(CachedArtifactFilesystem.class);
+        final FileChannel channel = cached.openFileChannel().get();
+
+        repository.deleteBySha1(TENANT, sha1);
+
+        assertThat(repository.getArtifactBySha1(TENANT, sha1)).isNull();
+        // channels opened before keep working until they are closed
+        assertThat(channel.size()).isEqualTo(cached.getSize());
+        channel.close();
+    }
+
+    @Test
+    @Description("Verifies that the file of an evicted artifact is closed once the last stream and channel opened on it is closed.")
+    public void evictedArtifactIsClosedOnceReleased() throws IOException {
+        final byte[] content = randomBytes();
+        final String sha1 = store(content);
+        final CachedArtifactFilesystem cached = (CachedArtifactFilesystem) download(sha1, 2);
+        final InputStream stream = cached.getFileInputStream();
+        final FileChannel channel = cached.openFileChannel().get();
+
+        repository.deleteBySha1(TENANT, sha1);
+
+        assertThat(cached.getArtifact().isOpen()).isTrue();
+        assertThat(IOUtils.toByteArray(stream)).isEqualTo(content);
+        stream.close();
+        assertThat(cached.getArtifact().isOpen()).isTrue();
+        channel.close();
+        assertThat(cached.getArtifact().isOpen()).isFalse();
+        assertThat(cached.getArtifact().retain()).isFalse();
+    }
+
+    @Test
+    @Description("Verifies that a stream on a cached artifact can be read after eviction until it is closed and fails to be read afterwards.")
+    public void streamIsReadableUntilClosed() throws IOException {
+        final byte[] content = randomBytes();
+        final String sha1 = store(content);
+        final CachedArtifactFilesystem cached = (CachedArtifactFilesystem) download(sha1, 2);
+        final InputStream stream = cached.getFileInputStream();
+        assertThat(stream.read()).isEqualTo(content[0] & 0xFF);
+
+        repository.deleteBySha1(TENANT, sha1);
+
+        // the mapping is kept for the reader although the artifact is evicted
+        final byte[] rest = new byte[content.length - 1];
+        assertThat(IOUtils.read(stream, rest)).isEqualTo(rest.length);
+        assertThat(rest).isEqualTo(Arrays.copyOfRange(content, 1, content.length));
+        assertThat(cached.getArtifact().isOpen()).isTrue();
+
+        stream.close();
+        assertThat(cached.getArtifact().isOpen()).isFalse();
+        assertThatExceptionOfType(IOException.class).isThrownBy(stream::read);
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> stream.read(rest, 0, rest.length));
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> stream.skip(1));
+        assertThatExceptionOfType(IOException.class).isThrownBy(stream::available);
+    }
+
+    @Test
+    @Description("Verifies that a stream on a cached artifact fails to be read after it has been closed.")
+    public void closedStreamIsNotReadable() throws IOException {
+        final CachedArtifactFilesystem cached = (CachedArtifactFilesystem) download(store(randomBytes()), 2);
+        final InputStream stream = cached.getFileInputStream();
+
+        stream.close();
+        stream.close();
+
+        assertThatExceptionOfType(IOException.class).isThrownBy(stream::read);
+        // closing twice releases the artifact only once
+        assertThat(cached.getArtifact().isOpen()).isTrue();
+    }
+
+    @Test
+    @Description("Verifies that the cached artifact files are closed when the repository is destroyed.")
+    public void cachedArtifactIsClosedOnDestroy() {
+        final CachedArtifactFilesystem cached = (CachedArtifactFilesystem) download(store(randomBytes()), 2);
+
+        repository.destroy();
+
+        assertThat(cached.getArtifact().isOpen()).isFalse();
+    }
+
+    @Test
+    @Description("Verifies that the downloads of rarely downloaded artifacts are forgotten while the cached artifact is kept.")
+    public void downloadCountersArePruned() throws IOException {
+        final HotArtifactCache cache = new HotArtifactCache(properties.getCache());
+        final File file = new File(properties.getPath(), "artifact");
+        FileUtils.writeByteArrayToFile(file, randomBytes());
+        final int maxCounted = properties.getCache().getMaxEntries() * 16;
+
+        cache.get(TENANT, "hot", () -> file);
+        assertThat(cache.get(TENANT, "hot", () -> file)).isInstanceOf(CachedArtifactFilesystem.class);
+        for (int i = 0; i < maxCounted * 10; i++) {
+            cache.get(TENANT, "cold" + i, () -> file);
+            assertThat(cache.countedSize()).isLessThanOrEqualTo(maxCounted);
+        }
+
+        assertThat(cache.countedSize()).isGreaterThan(1);
+        assertThat(cache.get(TENANT, "hot", () -> file)).isInstanceOf(CachedArtifactFilesystem.class);
+        cache.close();
+    }
+
+    private AbstractDbArtifact download(final String sha1, final int times) {
+        AbstractDbArtifact artifact = null;
+        for (int i = 0; i < times; i++) {
+            artifact = repository.getArtifactBySha1(TENANT, sha1);
+        }
+        return artifact;
+    }
+
+    private String store(final byte[] content) {
+        return repository.store(TENANT, new ByteArrayInputStream(content), "filename.tmp", "application/txt", null)
+                .getHashes().getSha1();
+    }
+
+    private static byte[] randomBytes() {
+        final byte[] randomBytes = new byte[1024];
+        new Random().nextBytes(randomBytes);
+        return randomBytes;
+    }
+}
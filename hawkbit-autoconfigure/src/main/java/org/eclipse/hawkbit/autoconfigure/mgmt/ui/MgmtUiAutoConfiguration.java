@@ -15,12 +15,14 @@ import org.eclipse.hawkbit.ui.MgmtUiConfiguration;
 import org.eclipse.hawkbit.ui.SpPermissionChecker;
 import org.eclipse.hawkbit.ui.UiProperties;
 import org.eclipse.hawkbit.ui.push.DelayedEventBusPushStrategy;
+import org.eclipse.hawkbit.ui.push.EventPushQueueMetrics;
 import org.eclipse.hawkbit.ui.push.EventPushStrategy;
 import org.eclipse.hawkbit.ui.push.HawkbitEventPermissionChecker;
 import org.eclipse.hawkbit.ui.push.HawkbitEventProvider;
 import org.eclipse.hawkbit.ui.push.UIEventPermissionChecker;
 import org.eclipse.hawkbit.ui.push.UIEventProvider;
 import org.eclipse.hawkbit.ui.utils.SpringContextHolder;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -33,6 +35,9 @@ import org.vaadin.spring.events.annotation.EnableEventBus;
 
 import com.vaadin.spring.annotation.UIScope;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
 /**
  * The Management UI auto configuration.
  */
@@ -92,6 +97,22 @@ public class MgmtUiAutoConfiguration {
         return SpringContextHolder.getInstance();
     }
 
+    /**
+     * {@link EventPushQueueMetrics} bean bound to the available
+     * {@link MeterRegistry} or the {@link Metrics#globalRegistry} otherwise.
+     *
+     * @param meterRegistry
+     *            to expose the push queues
+     * @return the push queue metrics of all UIs
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    EventPushQueueMetrics eventPushQueueMetrics(final ObjectProvider<MeterRegistry> meterRegistry) {
+        final EventPushQueueMetrics metrics = new EventPushQueueMetrics();
+        metrics.bindTo(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        return metrics;
+    }
+
     /**
      * The UI scoped event push strategy. Session scope is necessary, that every
      * UI has an own strategy.
@@ -108,6 +129,8 @@ public class MgmtUiAutoConfiguration {
      *            the event permission checker
      * @param uiProperties
      *            the ui properties
+     * @param queueMetrics
+     *            to expose the push queue
      * @return the push strategy bean
      */
     @Bean
@@ -116,9 +139,10 @@ public class MgmtUiAutoConfiguration {
     EventPushStrategy eventPushStrategy(final ConfigurableApplicationContext applicationContext,
             final ScheduledExecutorService executorService, final UIEventBus eventBus,
             final UIEventProvider eventProvider, final UIEventPermissionChecker eventPermissionChecker,
-            final UiProperties uiProperties) {
+            final UiProperties uiProperties, final EventPushQueueMetrics queueMetrics) {
         final DelayedEventBusPushStrategy delayedEventBusPushStrategy = new DelayedEventBusPushStrategy(executorService,
-                eventBus, eventProvider, eventPermissionChecker, uiProperties.getEvent().getPush().getDelay());
+                eventBus, eventProvider, eventPermissionChecker, uiProperties.getEvent().getPush().getDelay(),
+                queueMetrics);
         applicationContext.addApplicationListener(delayedEventBusPushStrategy);
 
         return delayedEventBusPushStrategy;
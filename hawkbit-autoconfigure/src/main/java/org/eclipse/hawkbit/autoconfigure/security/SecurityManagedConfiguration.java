@@ -31,8 +31,8 @@ import org.eclipse.hawkbit.im.authentication.TenantAwareAuthenticationDetails;
 import org.eclipse.hawkbit.im.authentication.UserAuthenticationFilter;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
 import org.eclipse.hawkbit.mgmt.rest.resource.MgmtApiConfiguration;
-import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.security.ControllerTenantAwareAuthenticationDetailsSource;
 import org.eclipse.hawkbit.security.DdiSecurityProperties;
@@ -167,7 +167,7 @@ public class SecurityManagedConfiguration {
                 DdiRestConstants.BASE_V1_REQUEST_MAPPING
                         + "/{controllerId}/softwaremodules/{softwareModuleId}/artifacts" };
 
-        private final ControllerManagement controllerManagement;
+        private final TargetSecurityTokenCache targetSecurityTokenCache;
         private final TenantConfigurationManagement tenantConfigurationManagement;
         private final TenantAware tenantAware;
         private final DdiSecurityProperties ddiSecurityConfiguration;
@@ -175,11 +175,11 @@ public class SecurityManagedConfiguration {
         private final SystemSecurityContext systemSecurityContext;
 
         @Autowired
-        ControllerSecurityConfigurationAdapter(final ControllerManagement controllerManagement,
+        ControllerSecurityConfigurationAdapter(final TargetSecurityTokenCache targetSecurityTokenCache,
                 final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
                 final DdiSecurityProperties ddiSecurityConfiguration,
                 final HawkbitSecurityProperties securityProperties, final SystemSecurityContext systemSecurityContext) {
-            this.controllerManagement = controllerManagement;
+            this.targetSecurityTokenCache = targetSecurityTokenCache;
             this.tenantConfigurationManagement = tenantConfigurationManagement;
             this.tenantAware = tenantAware;
             this.ddiSecurityConfiguration = ddiSecurityConfiguration;
@@ -223,7 +223,7 @@ public class SecurityManagedConfiguration {
             securityHeaderFilter.setAuthenticationDetailsSource(authenticationDetailsSource);
 
             final HttpControllerPreAuthenticateSecurityTokenFilter securityTokenFilter = new HttpControllerPreAuthenticateSecurityTokenFilter(
-                    tenantConfigurationManagement, tenantAware, controllerManagement, systemSecurityContext);
+                    tenantConfigurationManagement, tenantAware, targetSecurityTokenCache, systemSecurityContext);
             securityTokenFilter.setAuthenticationManager(authenticationManager());
             securityTokenFilter.setCheckForPrincipalChanges(true);
             securityTokenFilter.setAuthenticationDetailsSource(authenticationDetailsSource);
@@ -283,7 +283,7 @@ public class SecurityManagedConfiguration {
         private static final String DDI_DL_ANT_MATCHER = DdiRestConstants.BASE_V1_REQUEST_MAPPING
                 + "/{controllerId}/softwaremodules/{softwareModuleId}/artifacts/*";
 
-        private final ControllerManagement controllerManagement;
+        private final TargetSecurityTokenCache targetSecurityTokenCache;
         private final TenantConfigurationManagement tenantConfigurationManagement;
         private final TenantAware tenantAware;
         private final DdiSecurityProperties ddiSecurityConfiguration;
@@ -291,11 +291,11 @@ public class SecurityManagedConfiguration {
         private final SystemSecurityContext systemSecurityContext;
 
         @Autowired
-        ControllerDownloadSecurityConfigurationAdapter(final ControllerManagement controllerManagement,
+        ControllerDownloadSecurityConfigurationAdapter(final TargetSecurityTokenCache targetSecurityTokenCache,
                 final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
                 final DdiSecurityProperties ddiSecurityConfiguration,
                 final HawkbitSecurityProperties securityProperties, final SystemSecurityContext systemSecurityContext) {
-            this.controllerManagement = controllerManagement;
+            this.targetSecurityTokenCache = targetSecurityTokenCache;
             this.tenantConfigurationManagement = tenantConfigurationManagement;
             this.tenantAware = tenantAware;
             this.ddiSecurityConfiguration = ddiSecurityConfiguration;
@@ -339,7 +339,7 @@ public class SecurityManagedConfiguration {
             securityHeaderFilter.setAuthenticationDetailsSource(authenticationDetailsSource);
 
             final HttpControllerPreAuthenticateSecurityTokenFilter securityTokenFilter = new HttpControllerPreAuthenticateSecurityTokenFilter(
-                    tenantConfigurationManagement, tenantAware, controllerManagement, systemSecurityContext);
+                    tenantConfigurationManagement, tenantAware, targetSecurityTokenCache, systemSecurityContext);
             securityTokenFilter.setAuthenticationManager(authenticationManager());
             securityTokenFilter.setCheckForPrincipalChanges(true);
             securityTokenFilter.setAuthenticationDetailsSource(authenticationDetailsSource);
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmark;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.api.ApiType;
+import org.eclipse.hawkbit.api.ArtifactUrl;
+import org.eclipse.hawkbit.api.ArtifactUrlHandlerProperties;
+import org.eclipse.hawkbit.api.ArtifactUrlHandlerProperties.UrlProtocol;
+import org.eclipse.hawkbit.api.PropertyBasedArtifactUrlHandler;
+import org.eclipse.hawkbit.api.URLPlaceholder;
+import org.eclipse.hawkbit.api.URLPlaceholder.SoftwareData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the URL generation of the {@link PropertyBasedArtifactUrlHandler}
+ * which runs for every artifact of every deployment base and DMF download
+ * request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArtifactUrlHandlerBenchmark {
+
+    private static final String DDI_REF = "{protocol}://{hostnameRequest}:{portRequest}/{tenant}/controller/v1/{controllerId}/softwaremodules/{softwareModuleId}/artifacts/{artifactFileName}";
+
+    private PropertyBasedArtifactUrlHandler urlHandler;
+    private URLPlaceholder placeholder;
+    private URI requestUri;
+
+    @Setup
+    public void setup() {
+        final ArtifactUrlHandlerProperties properties = new ArtifactUrlHandlerProperties();
+        properties.getProtocols().put("download-http",
+                protocol("download-http", "http", DDI_REF, Arrays.asList(ApiType.DDI, ApiType.DMF)));
+        properties.getProtocols().put("md5sum-http",
+                protocol("md5sum-http", "http", DDI_REF + ".MD5SUM", Arrays.asList(ApiType.DDI)));
+        properties.getProtocols().put("download-cdn", protocol("download-cdn", "https",
+                "{protocol}://{domainRequest}/{tenantIdBase62}/{targetIdBase62}/{artifactIdBase62}/{artifactSHA1}",
+                Arrays.asList(ApiType.DDI, ApiType.DMF)));
+        urlHandler = new PropertyBasedArtifactUrlHandler(properties);
+
+        placeholder = new URLPlaceholder("DEFAULT", 17L, "device-4711", 123_456L, new SoftwareData(2_345L,
+                "firmware image v1.2.3.bin", 98_765L, "2ef7bde608ce5404e97d5f042f95f89f1c232871"));
+        requestUri = URI.create("https://device.ddi.example.com:8443/DEFAULT/controller/v1/device-4711");
+    }
+
+    private static UrlProtocol protocol(final String rel, final String protocol, final String ref,
+            final List<ApiType> supports) {
+        final UrlProtocol urlProtocol = new UrlProtocol();
+        urlProtocol.setRel(rel);
+        urlProtocol.setProtocol(protocol);
+        urlProtocol.setRef(ref);
+        urlProtocol.setHostname("cdn.hawkbit.example.com");
+        urlProtocol.setSupports(supports);
+        return urlProtocol;
+    }
+
+    @Benchmark
+    public List<ArtifactUrl> ddiUrls() {
+        return urlHandler.getUrls(placeholder, ApiType.DDI, requestUri);
+    }
+
+    @Benchmark
+    public List<ArtifactUrl> dmfUrls() {
+        return urlHandler.getUrls(placeholder, ApiType.DMF);
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+
+import org.apache.commons.io.FileUtils;
+
+import org.eclipse.hawkbit.repository.jpa.RepositoryApplicationConfiguration;
+import org.eclipse.hawkbit.repository.test.TestConfiguration;
+import org.eclipse.hawkbit.repository.test.util.WithSpringAuthorityRule;
+import org.eclipse.hawkbit.repository.test.util.WithUser;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.stream.test.binder.TestSupportBinderAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Repository context on an embedded H2 database shared by all benchmarks of a
+ * JMH fork. The context is started on first access and has to be closed by the
+ * benchmark on tear down, otherwise the executors of the context keep the
+ * forked JVM alive. Artifacts are stored in a temporary directory which is
+ * deleted on close.
+ */
+public final class BenchmarkContext {
+
+    private static final WithUser USER = WithSpringAuthorityRule.withUser("benchmark", "ROLE_CONTROLLER",
+            "ROLE_SYSTEM_CODE");
+    private static final WithUser CONTROLLER = WithSpringAuthorityRule.withUserAndTenant("controller", "default",
+            false, false, true, "ROLE_CONTROLLER");
+
+    private static ConfigurableApplicationContext context;
+    private static Path artifactDirectory;
+
+    private BenchmarkContext() {
+        // utility class
+    }
+
+    /**
+     * @return the started context
+     */
+    public static synchronized ConfigurableApplicationContext get() {
+        if (context == null) {
+            artifactDirectory = createArtifactDirectory();
+            context = new SpringApplicationBuilder(RepositoryApplicationConfiguration.class, TestConfiguration.class,
+                    TestSupportBinderAutoConfiguration.class).web(WebApplicationType.NONE)
+                            .bannerMode(Banner.Mode.OFF).profiles("test")
+                            .properties("spring.main.allow-bean-definition-overriding=true",
+                                    "logging.level.root=WARN", "logging.level.org.eclipse.persistence=ERROR",
+                                    "hawkbit.server.security.dos.maxStatusEntriesPerAction=" + Integer.MAX_VALUE,
+                                    "org.eclipse.hawkbit.repository.file.path=" + artifactDirectory)
+                            .run();
+        }
+        return context;
+    }
+
+    /**
+     * Closes the context if started.
+     */
+    public static synchronized void close() {
+        if (context != null) {
+            context.close();
+            context = null;
+            FileUtils.deleteQuietly(artifactDirectory.toFile());
+        }
+    }
+
+    private static Path createArtifactDirectory() {
+        try {
+            return Files.createTempDirectory("hawkbit-benchmark-artifacts");
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param beanType
+     *            of the bean to look up
+     * @return the bean of the started context
+     */
+    public static <T> T getBean(final Class<T> beanType) {
+        return get().getBean(beanType);
+    }
+
+    /**
+     * Runs the given callable as user with all permissions in the default
+     * tenant, e.g. to create the test data.
+     *
+     * @param callable
+     *            to run
+     * @return the result of the callable
+     */
+    public static <T> T runAsUser(final Callable<T> callable) {
+        return runAs(USER, callable);
+    }
+
+    /**
+     * Runs the given callable as controller in the default tenant. The tenant
+     * has to be created before, e.g. by {@link #runAsUser(Callable)}.
+     *
+     * @param callable
+     *            to run
+     * @return the result of the callable
+     */
+    public static <T> T runAsController(final Callable<T> callable) {
+        return runAs(CONTROLLER, callable);
+    }
+
+    private static <T> T runAs(final WithUser user, final Callable<T> callable) {
+        get();
+        try {
+            return WithSpringAuthorityRule.runAs(user, callable);
+        } catch (final RuntimeException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
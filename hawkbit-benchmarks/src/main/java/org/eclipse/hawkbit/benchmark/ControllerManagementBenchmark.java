@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmark;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.EntityFactory;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link ControllerManagement} calls of a polling device end to
+ * end against the embedded H2 database, i.e. the poll for the next action and
+ * the feedback on the running action. Every invocation is done by the next
+ * target in round robin order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ControllerManagementBenchmark {
+
+    private static final URI ADDRESS = URI.create("http://127.0.0.1");
+
+    @Param({ "1000" })
+    private int targets;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private ControllerManagement controllerManagement;
+    private EntityFactory entityFactory;
+    private String[] controllerIds;
+    private long[] actionIds;
+
+    @Setup
+    public void setup() {
+        controllerManagement = BenchmarkContext.getBean(ControllerManagement.class);
+        entityFactory = BenchmarkContext.getBean(EntityFactory.class);
+
+        final List<Action> actions = DeploymentFixture.deploy("poll", targets);
+        controllerIds = actions.stream().map(action -> action.getTarget().getControllerId()).toArray(String[]::new);
+        actionIds = actions.stream().mapToLong(Action::getId).toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    private int nextIndex() {
+        return Math.floorMod(next.getAndIncrement(), controllerIds.length);
+    }
+
+    @Benchmark
+    public Optional<Action> poll() {
+        final String controllerId = controllerIds[nextIndex()];
+
+        return BenchmarkContext.runAsController(() -> {
+            controllerManagement.findOrRegisterTargetIfItDoesNotExist(controllerId, ADDRESS);
+            return controllerManagement.findActiveActionWithHighestWeight(controllerId);
+        });
+    }
+
+    @Benchmark
+    public Action feedback() {
+        final long actionId = actionIds[nextIndex()];
+
+        return BenchmarkContext.runAsController(() -> controllerManagement.addUpdateActionStatus(
+                entityFactory.actionStatus().create(actionId).status(Status.RUNNING).message("downloading")));
+    }
+}
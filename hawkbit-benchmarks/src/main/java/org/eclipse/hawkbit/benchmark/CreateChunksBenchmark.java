@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmark;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.api.ArtifactUrlHandler;
+import org.eclipse.hawkbit.ddi.json.model.DdiChunk;
+import org.eclipse.hawkbit.ddi.rest.resource.DataConversionHelper;
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+
+/**
+ * Benchmarks {@link DataConversionHelper#createChunks} which builds the chunks
+ * of the deployment base resource for every target that polls a running
+ * update.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CreateChunksBenchmark {
+
+    private final HttpRequest request = new DeploymentBaseRequest(
+            URI.create("https://device.ddi.example.com:8443/DEFAULT/controller/v1/chunks-0/deploymentBase/1"));
+
+    private ArtifactUrlHandler artifactUrlHandler;
+    private SystemManagement systemManagement;
+    private ControllerManagement controllerManagement;
+    private Target target;
+    private Action action;
+
+    @Setup
+    public void setup() {
+        artifactUrlHandler = BenchmarkContext.getBean(ArtifactUrlHandler.class);
+        systemManagement = BenchmarkContext.getBean(SystemManagement.class);
+        controllerManagement = BenchmarkContext.getBean(ControllerManagement.class);
+
+        final Action assigned = DeploymentFixture.deploy("chunks", 1).get(0);
+        action = BenchmarkContext
+                .runAsController(() -> controllerManagement.findActionWithDetails(assigned.getId()).get());
+        target = action.getTarget();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    @Benchmark
+    public List<DdiChunk> createChunks() {
+        return BenchmarkContext.runAsController(() -> DataConversionHelper.createChunks(target, action,
+                artifactUrlHandler, systemManagement, request, controllerManagement));
+    }
+
+    private static final class DeploymentBaseRequest implements HttpRequest {
+        private final URI uri;
+
+        private DeploymentBaseRequest(final URI uri) {
+            this.uri = uri;
+        }
+
+        @Override
+        public String getMethodValue() {
+            return HttpMethod.GET.name();
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return HttpHeaders.EMPTY;
+        }
+    }
+}
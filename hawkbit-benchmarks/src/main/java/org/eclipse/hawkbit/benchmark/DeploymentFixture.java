@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmark;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.DeploymentRequest;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.test.util.TestdataFactory;
+
+/**
+ * Creates running deployments in the {@link BenchmarkContext}, i.e. a
+ * {@link DistributionSet} with artifacts and target visible metadata that is
+ * assigned to a number of {@link Target}s.
+ */
+public final class DeploymentFixture {
+
+    private DeploymentFixture() {
+        // utility class
+    }
+
+    /**
+     * @param prefix
+     *            for the controller IDs of the targets and the names of the
+     *            created entities
+     * @param targets
+     *            number of targets to create
+     * @return the open {@link Action}s, one per created target
+     */
+    public static List<Action> deploy(final String prefix, final int targets) {
+        return BenchmarkContext.runAsUser(() -> {
+            final TestdataFactory testdataFactory = BenchmarkContext.getBean(TestdataFactory.class);
+
+            final DistributionSet distributionSet = testdataFactory.createDistributionSet(prefix);
+            distributionSet.getModules().forEach(module -> testdataFactory.createArtifacts(module.getId()));
+            testdataFactory.addSoftwareModuleMetadata(distributionSet);
+
+            final List<DeploymentRequest> deploymentRequests = testdataFactory.createTargets(targets, prefix).stream()
+                    .map(target -> DeploymentManagement
+                            .deploymentRequest(target.getControllerId(), distributionSet.getId()).build())
+                    .collect(Collectors.toList());
+
+            return BenchmarkContext.getBean(DeploymentManagement.class).assignDistributionSets(deploymentRequests)
+                    .stream().flatMap(result -> result.getAssignedEntity().stream()).collect(Collectors.toList());
+        });
+    }
+}
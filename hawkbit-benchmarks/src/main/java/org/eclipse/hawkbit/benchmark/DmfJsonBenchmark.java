@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.dmf.amqp.api.EventTopic;
+import org.eclipse.hawkbit.dmf.json.model.DmfArtifact;
+import org.eclipse.hawkbit.dmf.json.model.DmfArtifactHash;
+import org.eclipse.hawkbit.dmf.json.model.DmfDownloadAndUpdateRequest;
+import org.eclipse.hawkbit.dmf.json.model.DmfMetadata;
+import org.eclipse.hawkbit.dmf.json.model.DmfMultiActionRequest;
+import org.eclipse.hawkbit.dmf.json.model.DmfSoftwareModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Benchmarks the JSON (de)serialization of the {@link DmfMultiActionRequest}
+ * as sent to the DMF clients with multi assignments enabled.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DmfJsonBenchmark {
+
+    @Param({ "1", "10" })
+    private int actions;
+
+    @Param({ "3" })
+    private int modulesPerAction;
+
+    @Param({ "2" })
+    private int artifactsPerModule;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private DmfMultiActionRequest request;
+    private byte[] json;
+
+    @Setup
+    public void setup() throws IOException {
+        request = new DmfMultiActionRequest();
+        for (int i = 0; i < actions; i++) {
+            request.addElement(EventTopic.DOWNLOAD_AND_INSTALL, createDownloadAndUpdateRequest(i), 1000 - i);
+        }
+        json = objectMapper.writeValueAsBytes(request);
+    }
+
+    private DmfDownloadAndUpdateRequest createDownloadAndUpdateRequest(final long actionId) {
+        final DmfDownloadAndUpdateRequest downloadAndUpdate = new DmfDownloadAndUpdateRequest();
+        downloadAndUpdate.setActionId(actionId);
+        downloadAndUpdate.setTargetSecurityToken("f1d0c6e4a7b24f3c9a1e5b7d2c8f6a3e");
+
+        for (int module = 0; module < modulesPerAction; module++) {
+            final DmfSoftwareModule softwareModule = new DmfSoftwareModule();
+            softwareModule.setModuleId(actionId * modulesPerAction + module);
+            softwareModule.setModuleType(module == 0 ? "os" : "application");
+            softwareModule.setModuleVersion("1.2." + module);
+
+            final List<DmfArtifact> artifacts = new ArrayList<>(artifactsPerModule);
+            for (int artifact = 0; artifact < artifactsPerModule; artifact++) {
+                artifacts.add(createArtifact(softwareModule.getModuleId(), artifact));
+            }
+            softwareModule.setArtifacts(artifacts);
+
+            final List<DmfMetadata> metadata = new ArrayList<>();
+            metadata.add(new DmfMetadata("installer", "rauc"));
+            metadata.add(new DmfMetadata("slot", "A"));
+            softwareModule.setMetadata(metadata);
+
+            downloadAndUpdate.addSoftwareModule(softwareModule);
+        }
+
+        return downloadAndUpdate;
+    }
+
+    private static DmfArtifact createArtifact(final long moduleId, final int index) {
+        final DmfArtifact artifact = new DmfArtifact();
+        final String filename = "module-" + moduleId + "-part-" + index + ".bin";
+        artifact.setFilename(filename);
+        artifact.setSize(16L * 1024 * 1024);
+        artifact.setLastModified(1_600_000_000_000L);
+        artifact.setHashes(
+                new DmfArtifactHash("2ef7bde608ce5404e97d5f042f95f89f1c232871", "5eb63bbbe01eeed093cb22bb8f5acdc3"));
+
+        final Map<String, String> urls = new HashMap<>();
+        urls.put("HTTP", "http://localhost:8080/DEFAULT/controller/v1/device-4711/softwaremodules/" + moduleId
+                + "/artifacts/" + filename);
+        urls.put("HTTPS", "https://localhost:8443/DEFAULT/controller/v1/device-4711/softwaremodules/" + moduleId
+                + "/artifacts/" + filename);
+        artifact.setUrls(urls);
+
+        return artifact;
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public DmfMultiActionRequest deserialize() throws IOException {
+        return objectMapper.readValue(json, DmfMultiActionRequest.class);
+    }
+}
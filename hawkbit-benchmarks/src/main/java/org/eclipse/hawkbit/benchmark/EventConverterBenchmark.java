@@ -0,0 +1,252 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmark;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.event.BusProtoStuffMessageConverter;
+import org.eclipse.hawkbit.event.EventType;
+import org.eclipse.hawkbit.repository.DistributionSetTagManagement;
+import org.eclipse.hawkbit.repository.EntityFactory;
+import org.eclipse.hawkbit.repository.RolloutGroupManagement;
+import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
+import org.eclipse.hawkbit.repository.TargetTagManagement;
+import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
+import org.eclipse.hawkbit.repository.event.remote.DistributionSetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.DistributionSetTagDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.DistributionSetTypeDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressBatchEvent;
+import org.eclipse.hawkbit.repository.event.remote.MultiActionAssignEvent;
+import org.eclipse.hawkbit.repository.event.remote.MultiActionCancelEvent;
+import org.eclipse.hawkbit.repository.event.remote.RolloutDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.RolloutGroupDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.SoftwareModuleDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.SoftwareModuleTypeDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetFilterQueryDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetTagDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.CancelTargetAssignmentEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetTagCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetTagUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetTypeCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetTypeUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleTypeCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleTypeUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetFilterQueryCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetFilterQueryUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetTagCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetTagUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TenantConfigurationCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TenantConfigurationUpdatedEvent;
+import org.eclipse.hawkbit.repository.jpa.TenantConfigurationRepository;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTenantConfiguration;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.DistributionSetTag;
+import org.eclipse.hawkbit.repository.model.DistributionSetType;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.eclipse.hawkbit.repository.model.SoftwareModuleType;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
+import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.repository.test.util.TestdataFactory;
+import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.Message;
+
+/**
+ * Benchmarks the {@link BusProtoStuffMessageConverter} which (de)serializes
+ * every remote event that is distributed in the cluster. One event of every
+ * {@link EventType} is created from entities of the {@link BenchmarkContext}.
+ * The deprecated download progress event (type 20) is left out, the nodes
+ * publish the download progress batch event (type 43) instead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventConverterBenchmark {
+
+    private static final String APPLICATION_ID = "benchmark";
+
+    /**
+     * The {@link EventType#getValue()} of the event to convert.
+     */
+    @Param({ "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15", "16", "17", "18", "19",
+            "21", "22", "23", "24", "25", "26", "27", "28", "29", "30", "31", "32", "33", "34", "35", "36", "37", "38",
+            "39", "40", "41", "42", "43" })
+    private int eventType;
+
+    private final BusProtoStuffMessageConverter converter = new BusProtoStuffMessageConverter();
+
+    private RemoteApplicationEvent event;
+    private Message<?> message;
+
+    @Setup
+    public void setup() {
+        final Class<?> eventClass = new EventType(eventType).getTargetClass();
+        event = BenchmarkContext.runAsUser(EventConverterBenchmark::createEvents).get(eventClass);
+        if (event == null) {
+            throw new IllegalStateException("No benchmark event for event type " + eventType + " (" + eventClass
+                    + ") defined, please add one to " + EventConverterBenchmark.class.getSimpleName());
+        }
+        message = converter.toMessage(event, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    @Benchmark
+    public Message<?> serialize() {
+        return converter.toMessage(event, null);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return converter.fromMessage(message, RemoteApplicationEvent.class);
+    }
+
+    @Benchmark
+    public Object roundTrip() {
+        return converter.fromMessage(converter.toMessage(event, null), RemoteApplicationEvent.class);
+    }
+
+    private static Map<Class<?>, RemoteApplicationEvent> createEvents() {
+        final TestdataFactory testdataFactory = BenchmarkContext.getBean(TestdataFactory.class);
+        final EntityFactory entityFactory = BenchmarkContext.getBean(EntityFactory.class);
+
+        final Rollout rollout = testdataFactory.createRollout("rollout");
+        final RolloutGroup rolloutGroup = BenchmarkContext.getBean(RolloutGroupManagement.class)
+                .findByRollout(PageRequest.of(0, 1), rollout.getId()).getContent().get(0);
+        final DistributionSet distributionSet = rollout.getDistributionSet();
+        final DistributionSetType distributionSetType = distributionSet.getType();
+        final SoftwareModule softwareModule = distributionSet.getModules().iterator().next();
+        final SoftwareModuleType softwareModuleType = softwareModule.getType();
+        final List<Action> actions = DeploymentFixture.deploy("deployment", 1);
+        final Action action = actions.get(0);
+        final Target target = action.getTarget();
+        final TargetTag targetTag = BenchmarkContext.getBean(TargetTagManagement.class)
+                .create(entityFactory.tag().create().name("events").colour("#ffffff"));
+        final DistributionSetTag distributionSetTag = BenchmarkContext.getBean(DistributionSetTagManagement.class)
+                .create(entityFactory.tag().create().name("events").colour("#ffffff"));
+        final TargetFilterQuery targetFilterQuery = BenchmarkContext.getBean(TargetFilterQueryManagement.class)
+                .create(entityFactory.targetFilterQuery().create().name("events").query("controllerId==deployment*"));
+        BenchmarkContext.getBean(TenantConfigurationManagement.class)
+                .addOrUpdateConfiguration(TenantConfigurationKey.POLLING_TIME_INTERVAL, "00:05:00");
+        final JpaTenantConfiguration tenantConfiguration = BenchmarkContext
+                .getBean(TenantConfigurationRepository.class)
+                .findByKey(TenantConfigurationKey.POLLING_TIME_INTERVAL);
+
+        final String tenant = target.getTenant();
+        final Long rolloutId = rollout.getId();
+        final Map<Long, Long> downloadProgress = new HashMap<>();
+        downloadProgress.put(action.getId(), 1024L * 1024);
+
+        final Map<Class<?>, RemoteApplicationEvent> events = new HashMap<>();
+        put(events, new TargetCreatedEvent(target, APPLICATION_ID));
+        put(events, new TargetUpdatedEvent(target, APPLICATION_ID));
+        put(events, new TargetDeletedEvent(tenant, target.getId(), target.getControllerId(),
+                String.valueOf(target.getAddress()), target.getClass().getName(), APPLICATION_ID));
+        put(events, new CancelTargetAssignmentEvent(target, action.getId(), APPLICATION_ID));
+        put(events, new TargetAssignDistributionSetEvent(action, APPLICATION_ID));
+        put(events, new TargetTagCreatedEvent(targetTag, APPLICATION_ID));
+        put(events, new TargetTagUpdatedEvent(targetTag, APPLICATION_ID));
+        put(events, new TargetTagDeletedEvent(tenant, targetTag.getId(), targetTag.getClass().getName(),
+                APPLICATION_ID));
+        put(events, new ActionCreatedEvent(action, target.getId(), rolloutId, rolloutGroup.getId(), APPLICATION_ID));
+        put(events, new ActionUpdatedEvent(action, target.getId(), rolloutId, rolloutGroup.getId(), APPLICATION_ID));
+        put(events, new DistributionSetCreatedEvent(distributionSet, APPLICATION_ID));
+        put(events, new DistributionSetUpdatedEvent(distributionSet, APPLICATION_ID, true));
+        put(events, new DistributionSetDeletedEvent(tenant, distributionSet.getId(),
+                distributionSet.getClass().getName(), APPLICATION_ID));
+        put(events, new DistributionSetTagCreatedEvent(distributionSetTag, APPLICATION_ID));
+        put(events, new DistributionSetTagUpdatedEvent(distributionSetTag, APPLICATION_ID));
+        put(events, new DistributionSetTagDeletedEvent(tenant, distributionSetTag.getId(),
+                distributionSetTag.getClass().getName(), APPLICATION_ID));
+        put(events, new RolloutCreatedEvent(rollout, APPLICATION_ID));
+        put(events, new RolloutUpdatedEvent(rollout, APPLICATION_ID));
+        put(events, new RolloutDeletedEvent(tenant, rolloutId, rollout.getClass().getName(), APPLICATION_ID));
+        put(events, new RolloutGroupCreatedEvent(rolloutGroup, rolloutId, APPLICATION_ID));
+        put(events, new RolloutGroupUpdatedEvent(rolloutGroup, rolloutId, APPLICATION_ID));
+        put(events, new RolloutGroupDeletedEvent(tenant, rolloutGroup.getId(), rolloutGroup.getClass().getName(),
+                APPLICATION_ID));
+        put(events, new DownloadProgressBatchEvent(tenant, APPLICATION_ID, downloadProgress));
+        put(events, new SoftwareModuleCreatedEvent(softwareModule, APPLICATION_ID));
+        put(events, new SoftwareModuleUpdatedEvent(softwareModule, APPLICATION_ID));
+        put(events, new SoftwareModuleDeletedEvent(tenant, softwareModule.getId(),
+                softwareModule.getClass().getName(), APPLICATION_ID));
+        put(events, new TargetPollEvent(target.getControllerId(), tenant, APPLICATION_ID));
+        put(events, new DistributionSetTypeCreatedEvent(distributionSetType, APPLICATION_ID));
+        put(events, new DistributionSetTypeUpdatedEvent(distributionSetType, APPLICATION_ID));
+        put(events, new DistributionSetTypeDeletedEvent(tenant, distributionSetType.getId(),
+                distributionSetType.getClass().getName(), APPLICATION_ID));
+        put(events, new SoftwareModuleTypeCreatedEvent(softwareModuleType, APPLICATION_ID));
+        put(events, new SoftwareModuleTypeUpdatedEvent(softwareModuleType, APPLICATION_ID));
+        put(events, new SoftwareModuleTypeDeletedEvent(tenant, softwareModuleType.getId(),
+                softwareModuleType.getClass().getName(), APPLICATION_ID));
+        put(events, new TargetFilterQueryCreatedEvent(targetFilterQuery, APPLICATION_ID));
+        put(events, new TargetFilterQueryUpdatedEvent(targetFilterQuery, APPLICATION_ID));
+        put(events, new TargetFilterQueryDeletedEvent(tenant, targetFilterQuery.getId(),
+                targetFilterQuery.getClass().getName(), APPLICATION_ID));
+        put(events, new TargetAttributesRequestedEvent(tenant, target.getId(), target.getControllerId(),
+                String.valueOf(target.getAddress()), target.getClass().getName(), APPLICATION_ID));
+        put(events, new MultiActionAssignEvent(tenant, APPLICATION_ID, actions));
+        put(events, new MultiActionCancelEvent(tenant, APPLICATION_ID, actions));
+        put(events, new TenantConfigurationCreatedEvent(tenantConfiguration, APPLICATION_ID));
+        put(events, new TenantConfigurationUpdatedEvent(tenantConfiguration, APPLICATION_ID));
+        put(events, new TenantConfigurationDeletedEvent(tenant, tenantConfiguration.getId(),
+                tenantConfiguration.getKey(), tenantConfiguration.getValue(), tenantConfiguration.getClass().getName(),
+                APPLICATION_ID));
+
+        return Collections.unmodifiableMap(events);
+    }
+
+    private static void put(final Map<Class<?>, RemoteApplicationEvent> events, final RemoteApplicationEvent event) {
+        events.put(event.getClass(), event);
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmark;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.eclipse.hawkbit.rest.util.FileStreamingUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Benchmarks the artifact download of the {@link FileStreamingUtil}, which
+ * copies the artifact stream through a heap buffer, against a
+ * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}
+ * into the servlet output stream for a full download and a range request of
+ * the last megabyte of a local file. The response discards the content, so
+ * only the server side copy is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileStreamingBenchmark {
+
+    private static final int SIZE = 64 * 1024 * 1024;
+    private static final int RANGE = 1024 * 1024;
+
+    @Param({ "full", "range" })
+    private String request;
+
+    private File file;
+    private AbstractDbArtifact artifact;
+    private MockHttpServletRequest servletRequest;
+    private long start;
+
+    @Setup
+    public void setup() throws IOException {
+        file = File.createTempFile("hawkbit-benchmark", ".bin");
+        final byte[] content = new byte[SIZE];
+        new Random(1).nextBytes(content);
+        Files.write(file.toPath(), content);
+
+        artifact = new LocalFileArtifact(file);
+        servletRequest = new MockHttpServletRequest();
+        if ("range".equals(request)) {
+            servletRequest.addHeader("Range", "bytes=" + (SIZE - RANGE) + "-");
+            start = SIZE - RANGE;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Benchmark
+    public long streamCopy() {
+        final DiscardingResponse response = new DiscardingResponse();
+        FileStreamingUtil.writeFileResponse(artifact, "artifact.bin", 1L, response, servletRequest, null);
+        return response.written;
+    }
+
+    @Benchmark
+    public long channelTransfer() throws IOException {
+        final DiscardingResponse response = new DiscardingResponse();
+        try (FileChannel from = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final WritableByteChannel to = Channels.newChannel(response.getOutputStream());
+            long transferred = 0;
+            while (transferred < SIZE - start) {
+                transferred += from.transferTo(start + transferred, SIZE - start - transferred, to);
+            }
+        }
+        return response.written;
+    }
+
+    private static final class LocalFileArtifact extends AbstractDbArtifact {
+        private final File file;
+
+        private LocalFileArtifact(final File file) {
+            super("artifact", new DbArtifactHash("sha1", "md5", "sha256"), file.length(), null);
+            this.file = file;
+        }
+
+        @Override
+        public InputStream getFileInputStream() {
+            try {
+                return new BufferedInputStream(new FileInputStream(file));
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final class DiscardingResponse extends MockHttpServletResponse {
+        private long written;
+
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public void write(final int b) {
+                written++;
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+                written += len;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(final WriteListener writeListener) {
+                // blocking output only
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+    }
+}
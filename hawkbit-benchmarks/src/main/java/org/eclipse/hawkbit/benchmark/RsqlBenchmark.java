@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.eclipse.hawkbit.repository.TargetFields;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
+import org.eclipse.hawkbit.repository.rsql.VirtualPropertyReplacer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.jpa.vendor.Database;
+
+/**
+ * Benchmarks the parsing of RSQL target filter queries into JPA predicates as
+ * done for every target filter query, auto assignment check and rollout group
+ * evaluation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RsqlBenchmark {
+
+    @Param({ "controllerId==device-*",
+            "updateStatus==pending and (tag==beta or tag==canary) and lastControllerRequestAt=lt=${overdue_ts}",
+            "attribute.hwRevision==2 and attribute.country=in=(DE,FR,IT) and assignedDs.version!=1.2.3",
+            "(name==*gateway* or description==*edge*) and metadata.region==emea and installedDs.name==firmware" })
+    private String query;
+
+    private VirtualPropertyReplacer virtualPropertyReplacer;
+    private Database database;
+    private CriteriaBuilder criteriaBuilder;
+
+    @Setup
+    public void setup() {
+        virtualPropertyReplacer = BenchmarkContext.getBean(VirtualPropertyReplacer.class);
+        database = BenchmarkContext.getBean(JpaProperties.class).getDatabase();
+        criteriaBuilder = BenchmarkContext.getBean(EntityManagerFactory.class).getCriteriaBuilder();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    @Benchmark
+    public void validate() {
+        RSQLUtility.validateRsqlFor(query, TargetFields.class);
+    }
+
+    @Benchmark
+    public Predicate parse() {
+        final Specification<JpaTarget> specification = RSQLUtility.parse(query, TargetFields.class,
+                virtualPropertyReplacer, database);
+
+        final CriteriaQuery<JpaTarget> criteriaQuery = criteriaBuilder.createQuery(JpaTarget.class);
+        final Root<JpaTarget> root = criteriaQuery.from(JpaTarget.class);
+        return specification.toPredicate(root, criteriaQuery, criteriaBuilder);
+    }
+}
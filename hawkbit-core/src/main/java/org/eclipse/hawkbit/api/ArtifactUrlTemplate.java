@@ -0,0 +1,316 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.api;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.hawkbit.api.ArtifactUrlHandlerProperties.UrlProtocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+/**
+ * Compiled form of a {@link UrlProtocol#getRef()} pattern. The pattern is
+ * split once into literal and placeholder segments so that a URL is generated
+ * in a single pass and only the placeholders that the pattern actually uses
+ * are resolved.
+ */
+final class ArtifactUrlTemplate {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ArtifactUrlTemplate.class);
+
+    private final List<Object> segments;
+    private final int literalLength;
+
+    private ArtifactUrlTemplate(final List<Object> segments, final int literalLength) {
+        this.segments = segments;
+        this.literalLength = literalLength;
+    }
+
+    /**
+     * Compiles the given pattern. Unknown placeholders are kept as they are.
+     * The port placeholder is only replaced including its leading colon, i.e.
+     * <code>:{port}</code>, which is removed completely if no port is
+     * configured.
+     *
+     * @param pattern
+     *            to compile
+     * @return the compiled template
+     */
+    static ArtifactUrlTemplate compile(final String pattern) {
+        final List<Object> segments = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        int literalLength = 0;
+
+        int index = 0;
+        while (index < pattern.length()) {
+            final int open = pattern.indexOf('{', index);
+            final int close = open < 0 ? -1 : pattern.indexOf('}', open);
+            if (close < 0) {
+                literal.append(pattern, index, pattern.length());
+                break;
+            }
+
+            literal.append(pattern, index, open);
+            final Placeholder placeholder = Placeholder.byName(pattern.substring(open + 1, close));
+            final boolean colonPort = placeholder == Placeholder.PORT && literal.length() > 0
+                    && literal.charAt(literal.length() - 1) == ':';
+
+            if (placeholder == null || (placeholder == Placeholder.PORT && !colonPort)) {
+                literal.append(pattern, open, close + 1);
+            } else {
+                if (colonPort) {
+                    literal.setLength(literal.length() - 1);
+                }
+                literalLength += addLiteral(segments, literal);
+                segments.add(placeholder);
+            }
+            index = close + 1;
+        }
+        literalLength += addLiteral(segments, literal);
+
+        return new ArtifactUrlTemplate(Collections.unmodifiableList(segments), literalLength);
+    }
+
+    private static int addLiteral(final List<Object> segments, final StringBuilder literal) {
+        final int length = literal.length();
+        if (length > 0) {
+            segments.add(literal.toString());
+            literal.setLength(0);
+        }
+        return length;
+    }
+
+    /**
+     * Generates the URL for the given protocol and placeholder values.
+     *
+     * @param protocol
+     *            that defines the static placeholder values
+     * @param placeholder
+     *            with the values of the target and artifact
+     * @param requestUri
+     *            of the request the URL is generated for or <code>null</code>
+     * @return the generated URL
+     */
+    String expand(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+        final StringBuilder url = new StringBuilder(literalLength + 16 * segments.size());
+
+        for (final Object segment : segments) {
+            if (segment instanceof Placeholder) {
+                url.append(((Placeholder) segment).resolve(protocol, placeholder, requestUri));
+            } else {
+                url.append((String) segment);
+            }
+        }
+
+        return url.toString();
+    }
+
+    /**
+     * Placeholders supported in {@link UrlProtocol#getRef()}.
+     */
+    private enum Placeholder {
+        PROTOCOL("protocol") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return protocol.getProtocol();
+            }
+        },
+        CONTROLLER_ID("controllerId") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return placeholder.getControllerId();
+            }
+        },
+        TARGET_ID_BASE10("targetId") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return String.valueOf(placeholder.getTargetId());
+            }
+        },
+        TARGET_ID_BASE62("targetIdBase62") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return Base62Util.fromBase10(placeholder.getTargetId());
+            }
+        },
+        IP("ip") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return protocol.getIp();
+            }
+        },
+        PORT("port") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                final String port = getPort(protocol);
+                return StringUtils.isEmpty(port) ? "" : (":" + port);
+            }
+        },
+        HOSTNAME("hostname") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return protocol.getHostname();
+            }
+        },
+        HOSTNAME_REQUEST("hostnameRequest") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return getRequestHost(protocol, requestUri);
+            }
+        },
+        PORT_REQUEST("portRequest") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return getRequestPort(protocol, requestUri);
+            }
+        },
+        HOSTNAME_WITH_DOMAIN_REQUEST("domainRequest") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return computeHostWithRequestDomain(protocol, requestUri);
+            }
+        },
+        ARTIFACT_FILENAME("artifactFileName") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return encode(placeholder.getSoftwareData().getFilename());
+            }
+        },
+        ARTIFACT_SHA1("artifactSHA1") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return placeholder.getSoftwareData().getSha1Hash();
+            }
+        },
+        ARTIFACT_ID_BASE10("artifactId") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return String.valueOf(placeholder.getSoftwareData().getArtifactId());
+            }
+        },
+        ARTIFACT_ID_BASE62("artifactIdBase62") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return Base62Util.fromBase10(placeholder.getSoftwareData().getArtifactId());
+            }
+        },
+        TENANT("tenant") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return placeholder.getTenant();
+            }
+        },
+        TENANT_ID_BASE10("tenantId") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return String.valueOf(placeholder.getTenantId());
+            }
+        },
+        TENANT_ID_BASE62("tenantIdBase62") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return Base62Util.fromBase10(placeholder.getTenantId());
+            }
+        },
+        SOFTWARE_MODULE_ID_BASE10("softwareModuleId") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return String.valueOf(placeholder.getSoftwareData().getSoftwareModuleId());
+            }
+        },
+        SOFTWARE_MODULE_ID_BASE62("softwareModuleIdBase62") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return Base62Util.fromBase10(placeholder.getSoftwareData().getSoftwareModuleId());
+            }
+        };
+
+        private static final Map<String, Placeholder> BY_NAME = new HashMap<>();
+
+        static {
+            Arrays.stream(values()).forEach(placeholder -> BY_NAME.put(placeholder.name, placeholder));
+        }
+
+        private final String name;
+
+        Placeholder(final String name) {
+            this.name = name;
+        }
+
+        private static Placeholder byName(final String name) {
+            return BY_NAME.get(name);
+        }
+
+        abstract String resolve(UrlProtocol protocol, URLPlaceholder placeholder, URI requestUri);
+    }
+
+    private static String encode(final String filename) {
+        try {
+            return URLEncoder.encode(filename, StandardCharsets.UTF_8.toString());
+        } catch (final UnsupportedEncodingException e) {
+            LOG.error("Could not encode {}", filename, e);
+            return filename;
+        }
+    }
+
+    private static String getRequestPort(final UrlProtocol protocol, final URI requestUri) {
+        if (requestUri == null) {
+            return getPort(protocol);
+        }
+
+        return requestUri.getPort() > 0 ? String.valueOf(requestUri.getPort()) : getPort(protocol);
+    }
+
+    private static String getRequestHost(final UrlProtocol protocol, final URI requestUri) {
+        if (requestUri == null) {
+            return protocol.getHostname();
+        }
+
+        return Optional.ofNullable(requestUri.getHost()).orElse(protocol.getHostname());
+    }
+
+    private static String getPort(final UrlProtocol protocol) {
+        return protocol.getPort() == null ? null : String.valueOf(protocol.getPort());
+    }
+
+    private static String computeHostWithRequestDomain(final UrlProtocol protocol, final URI requestUri) {
+
+        if (requestUri == null) {
+            return protocol.getHostname();
+        }
+
+        if (!protocol.getHostname().contains(".")) {
+            return protocol.getHostname();
+        }
+
+        final String host = StringUtils.delimitedListToStringArray(protocol.getHostname(), ".")[0].trim();
+
+        final List<String> domainElements = Arrays
+                .asList(StringUtils.delimitedListToStringArray(requestUri.getHost(), "."));
+        final String domain = StringUtils.collectionToDelimitedString(domainElements.subList(1, domainElements.size()),
+                ".");
+
+        if (StringUtils.isEmpty(domain)) {
+            return protocol.getHostname();
+        }
+
+        return host + "." + domain;
+    }
+}
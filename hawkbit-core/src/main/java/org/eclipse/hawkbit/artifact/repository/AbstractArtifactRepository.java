@@ -8,35 +8,77 @@
  */
 package org.eclipse.hawkbit.artifact.repository;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.security.DigestInputStream;
+import java.io.UncheckedIOException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.util.StringUtils;
+import org.springframework.beans.factory.DisposableBean;
 
 import com.google.common.io.BaseEncoding;
 import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Abstract utility class for ArtifactRepository implementations with common
  * functionality, e.g. computation of hashes.
+ * 
+ * The uploaded content is read in large chunks. Every chunk is written to the
+ * temp file and passed to the three digests concurrently while the next chunk
+ * is read, so that the upload is bound by the disk and not by the hashing.
  */
-public abstract class AbstractArtifactRepository implements ArtifactRepository {
-    private static final String TEMP_FILE_PREFIX = "tmp";
-    private static final String TEMP_FILE_SUFFIX = "artifactrepo";
+public abstract class AbstractArtifactRepository implements ArtifactRepository, DisposableBean {
+    protected static final String TEMP_FILE_PREFIX = "tmp";
+    protected static final String TEMP_FILE_SUFFIX = "artifactrepo";
+
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    private static final long IDLE_TIMEOUT = 60;
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractArtifactRepository.class);
 
+    private final ExecutorService hashingExecutor;
+
+    /**
+     * Constructor. The chunks are written and digested by one thread per
+     * processor. If all threads are busy, e.g. due to concurrent uploads, and
+     * a few chunks are queued, the uploading thread processes its chunk
+     * itself.
+     */
+    protected AbstractArtifactRepository() {
+        final int threads = Runtime.getRuntime().availableProcessors();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, IDLE_TIMEOUT, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads),
+                new ThreadFactoryBuilder().setNameFormat("artifact-hashing-%d").setDaemon(true).build(),
+                // run the rejected tasks even after the shutdown, the
+                // uploading thread is waiting for them
+                (task, rejectedBy) -> task.run());
+        executor.allowCoreThreadTimeOut(true);
+        this.hashingExecutor = executor;
+    }
+
+    /**
+     * Shuts the threads down that write and digest the uploaded content.
+     */
+    @Override
+    public void destroy() {
+        hashingExecutor.shutdown();
+    }
+
     @Override
     // suppress warning, of not strong enough hashing algorithm, SHA-1 and MD5
     // is not used security related
@@ -54,10 +96,10 @@ public abstract class AbstractArtifactRepository implements ArtifactRepository {
             throw new ArtifactStoreException(e.getMessage(), e);
         }
 
-        String tempFile = null;
-        try (final DigestInputStream inputstream = wrapInDigestInputStream(content, mdSHA1, mdMD5, mdSHA256)) {
-
-            tempFile = storeTempFile(inputstream);
+        File tempFile = null;
+        try (final InputStream inputstream = content) {
+            tempFile = createTempFile();
+            storeTempFile(inputstream, tempFile, mdSHA1, mdMD5, mdSHA256);
 
             final String sha1Hash16 = BaseEncoding.base16().lowerCase().encode(mdSHA1.digest());
             final String md5Hash16 = BaseEncoding.base16().lowerCase().encode(mdMD5.digest());
@@ -66,12 +108,12 @@ public abstract class AbstractArtifactRepository implements ArtifactRepository {
             checkHashes(sha1Hash16, md5Hash16, sha256Hash16, providedHashes);
 
             return store(sanitizeTenant(tenant), new DbArtifactHash(sha1Hash16, md5Hash16, sha256Hash16), contentType,
-                    tempFile);
+                    tempFile.getPath());
         } catch (final IOException e) {
             throw new ArtifactStoreException(e.getMessage(), e);
         } finally {
-            if (!StringUtils.isEmpty(tempFile)) {
-                deleteTempFile(tempFile);
+            if (tempFile != null) {
+                deleteTempFile(tempFile.getPath());
             }
         }
     }
@@ -84,18 +126,93 @@ public abstract class AbstractArtifactRepository implements ArtifactRepository {
         }
     }
 
+    /**
+     * Copies the content into a new temp file.
+     * 
+     * @param content
+     *            to store
+     * @return path of the created temp file
+     * @throws IOException
+     *             if the content cannot be read or stored
+     * @deprecated the content is stored and digested by
+     *             {@link #store(String, InputStream, String, String, DbArtifactHash)},
+     *             use {@link #createTempFile()} to define the location of the
+     *             temp file
+     */
+    @Deprecated
     protected String storeTempFile(final InputStream content) throws IOException {
         final File file = createTempFile();
+        storeTempFile(content, file);
+        return file.getPath();
+    }
+
+    /**
+     * Copies the content into the given file and updates the digests with it.
+     * The content is read chunk by chunk into two alternating buffers. While
+     * a chunk is written and digested by one task per digest and the file, the
+     * next chunk is read.
+     */
+    private void storeTempFile(final InputStream content, final File file, final MessageDigest... digests)
+            throws IOException {
+        final byte[][] buffers = { new byte[CHUNK_SIZE], new byte[CHUNK_SIZE] };
+
+        try (final OutputStream outputstream = new FileOutputStream(file)) {
+            CompletableFuture<Void> pending = CompletableFuture.completedFuture(null);
+            try {
+                int current = 0;
+                int read;
+                while ((read = ByteStreams.read(content, buffers[current], 0, CHUNK_SIZE)) > 0) {
+                    join(pending);
+                    pending = process(buffers[current], read, outputstream, digests);
+                    current = 1 - current;
+                }
+                join(pending);
+            } finally {
+                // the pending chunk must not be written after the file has
+                // been closed, e.g. if the content could not be read
+                pending.handle((result, e) -> null).join();
+            }
+        }
+    }
 
-        try (final OutputStream outputstream = new BufferedOutputStream(new FileOutputStream(file))) {
-            ByteStreams.copy(content, outputstream);
-            outputstream.flush();
+    private CompletableFuture<Void> process(final byte[] chunk, final int length,
+            final OutputStream outputstream, final MessageDigest... digests) {
+        final CompletableFuture<?>[] tasks = new CompletableFuture<?>[digests.length + 1];
+        for (int i = 0; i < digests.length; i++) {
+            final MessageDigest digest = digests[i];
+            tasks[i] = CompletableFuture.runAsync(() -> digest.update(chunk, 0, length), hashingExecutor);
         }
+        tasks[digests.length] = CompletableFuture.runAsync(() -> {
+            try {
+                outputstream.write(chunk, 0, length);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, hashingExecutor);
+        return CompletableFuture.allOf(tasks);
+    }
 
-        return file.getPath();
+    private static void join(final CompletableFuture<Void> pending) throws IOException {
+        try {
+            pending.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
     }
 
-    private static File createTempFile() {
+    /**
+     * Creates the temp file the content is stored into before it is handed
+     * over to {@link #store(String, DbArtifactHash, String, String)}. The
+     * default is a file in the temp directory of the JVM. Implementations that
+     * store the artifacts on a file-system should create it on the same volume
+     * so that it can be moved into place without copying.
+     * 
+     * @return the created temp file
+     */
+    protected File createTempFile() {
 
         try {
             return File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
@@ -130,11 +247,6 @@ public abstract class AbstractArtifactRepository implements ArtifactRepository {
     protected abstract AbstractDbArtifact store(final String tenant, final DbArtifactHash base16Hashes,
             final String contentType, final String tempFile) throws IOException;
 
-    private static DigestInputStream wrapInDigestInputStream(final InputStream input, final MessageDigest mdSHA1,
-            final MessageDigest mdMD5, final MessageDigest mdSHA256) {
-        return new DigestInputStream(new DigestInputStream(new DigestInputStream(input, mdSHA256), mdMD5), mdSHA1);
-    }
-
     protected static String sanitizeTenant(final String tenant) {
         return tenant.trim().toUpperCase();
     }
@@ -8,7 +8,10 @@
  */
 package org.eclipse.hawkbit.artifact.repository.model;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.util.Optional;
 
 import org.springframework.util.Assert;
 
@@ -68,4 +71,18 @@ public abstract class AbstractDbArtifact {
      * @return {@link InputStream} to read from artifact.
      */
     public abstract InputStream getFileInputStream();
+
+    /**
+     * Opens a {@link FileChannel} on this artifact if the repository keeps the
+     * artifact in a local file. The channel allows positional access. Caller
+     * has to take care of closing the channel.
+     * 
+     * @return {@link FileChannel} to read from artifact or empty if the
+     *         artifact is not stored in a local file
+     * @throws IOException
+     *             if the file cannot be opened
+     */
+    public Optional<FileChannel> openFileChannel() throws IOException {
+        return Optional.empty();
+    }
 }
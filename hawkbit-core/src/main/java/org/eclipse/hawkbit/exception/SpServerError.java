@@ -85,6 +85,12 @@ public enum SpServerError {
     SP_REST_SORT_PARAM_INVALID_DIRECTION("hawkbit.server.error.rest.param.invalidDirection",
             "The given sort parameter direction does not exist"),
 
+    /**
+     *
+     */
+    SP_REST_PAGING_CURSOR_INVALID("hawkbit.server.error.rest.param.invalidCursor",
+            "The given paging cursor is not valid"),
+
     /**
      *
      */
@@ -187,4 +187,22 @@ public class PropertyBasedArtifactUrlHandlerTest {
                         + SOFTWAREMODULEID + "/artifacts/" + FILENAME_ENCODE));
 
     }
+
+    @Test
+    @Description("Verfies that the port is removed together with its colon if not configured, that unknown placeholders "
+            + "are kept and that a changed ref pattern is taken into account.")
+    public void urlGenerationWithoutPortAndUnknownPlaceholder() {
+        final UrlProtocol proto = new UrlProtocol();
+        proto.setPort(null);
+        proto.setRef("{protocol}://{hostname}:{port}/{unknown}/{port}/{tenantId}/{artifactId}");
+        properties.getProtocols().put("download-http", proto);
+
+        assertThat(urlHandlerUnderTest.getUrls(placeholder, ApiType.DDI)).containsExactly(new ArtifactUrl(
+                "http".toUpperCase(), "download-http", "http://localhost/{unknown}/{port}/" + TENANT_ID + "/" + ARTIFACTID));
+
+        proto.setRef("{protocol}://{hostname}/{controllerId}");
+
+        assertThat(urlHandlerUnderTest.getUrls(placeholder, ApiType.DDI)).containsExactly(
+                new ArtifactUrl("http".toUpperCase(), "download-http", "http://localhost/" + CONTROLLER_ID));
+    }
 }
@@ -23,12 +23,14 @@ import org.eclipse.hawkbit.repository.EntityFactory;
 import org.eclipse.hawkbit.repository.SoftwareModuleManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.security.DdiSecurityProperties;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.FanoutExchange;
@@ -41,6 +43,7 @@ import org.springframework.amqp.rabbit.listener.ConditionalRejectingErrorHandler
 import org.springframework.amqp.rabbit.listener.RabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -51,10 +54,14 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.retry.backoff.ExponentialBackOffPolicy;
 import org.springframework.retry.support.RetryTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ErrorHandler;
 
 import com.google.common.collect.Maps;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
 /**
  * Spring configuration for AMQP based DMF communication for indirect device
  * integration.
@@ -234,6 +241,9 @@ public class AmqpConfiguration {
      *            for target repo access
      * @param entityFactory
      *            to create entities
+     * @param meterRegistry
+     *            to record the incoming messages if available, the
+     *            {@link Metrics#globalRegistry} otherwise
      *
      * @return handler service bean
      */
@@ -242,9 +252,35 @@ public class AmqpConfiguration {
             final AmqpMessageDispatcherService amqpMessageDispatcherService,
             final ControllerManagement controllerManagement, final EntityFactory entityFactory,
             final SystemSecurityContext systemSecurityContext,
-            final TenantConfigurationManagement tenantConfigurationManagement) {
+            final TenantConfigurationManagement tenantConfigurationManagement,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
         return new AmqpMessageHandlerService(rabbitTemplate, amqpMessageDispatcherService, controllerManagement,
-                entityFactory, systemSecurityContext, tenantConfigurationManagement);
+                entityFactory, systemSecurityContext, tenantConfigurationManagement,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    /**
+     * Create the AMQP handler service bean that consumes the incoming messages
+     * in batches if enabled by {@link AmqpProperties#getConsumer()}.
+     *
+     * @param amqpMessageHandlerService
+     *            to handle the single messages
+     * @param systemSecurityContext
+     *            to process the batches in the context of the tenant
+     * @param transactionManager
+     *            for the shared transactions of a batch
+     *
+     * @return batching handler service bean
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "hawkbit.dmf.rabbitmq.consumer", name = "batching")
+    public BatchingAmqpMessageHandlerService batchingAmqpMessageHandlerService(
+            final AmqpMessageHandlerService amqpMessageHandlerService,
+            final SystemSecurityContext systemSecurityContext,
+            final PlatformTransactionManager transactionManager) {
+        return new BatchingAmqpMessageHandlerService(amqpMessageHandlerService, systemSecurityContext,
+                transactionManager, new DelayedRequeueExceptionStrategy(amqpProperties.getRequeueDelay()),
+                amqpProperties.getConsumer().getLanes());
     }
 
     /**
@@ -262,13 +298,18 @@ public class AmqpConfiguration {
     }
 
     /**
-     * Create default amqp sender service bean.
+     * Create default amqp sender service bean, a
+     * {@link PipelinedAmqpMessageSenderService} if configured in
+     * {@link AmqpProperties#getSender()}.
      *
      * @return the default amqp sender service bean
      */
     @Bean
     @ConditionalOnMissingBean
     public AmqpMessageSenderService amqpSenderServiceBean() {
+        if (amqpProperties.getSender().isPipelined()) {
+            return new PipelinedAmqpMessageSenderService(rabbitTemplate(), amqpProperties.getSender());
+        }
         return new DefaultAmqpMessageSenderService(rabbitTemplate());
     }
 
@@ -288,13 +329,43 @@ public class AmqpConfiguration {
         return factory;
     }
 
+    /**
+     * Create the RabbitListenerContainerFactory for the
+     * {@link BatchingAmqpMessageHandlerService} if no
+     * batchListenerContainerFactory bean found. The container consumes with a
+     * single consumer so that the order of the messages of a device is kept
+     * across batches, acknowledgement is left to the listener.
+     *
+     * @return RabbitListenerContainerFactory bean
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "hawkbit.dmf.rabbitmq.consumer", name = "batching")
+    @ConditionalOnMissingBean(name = "batchListenerContainerFactory")
+    public RabbitListenerContainerFactory<SimpleMessageListenerContainer> batchListenerContainerFactory(
+            final SimpleRabbitListenerContainerFactoryConfigurer configurer, final ErrorHandler errorHandler) {
+        final ConfigurableRabbitListenerContainerFactory factory = new ConfigurableRabbitListenerContainerFactory(
+                amqpProperties.isMissingQueuesFatal(), amqpProperties.getDeclarationRetries(), errorHandler);
+        configurer.configure(factory, rabbitConnectionFactory);
+
+        final AmqpProperties.Consumer consumer = amqpProperties.getConsumer();
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(consumer.getBatchSize());
+        factory.setReceiveTimeout(consumer.getBatchTimeout());
+        factory.setPrefetchCount(consumer.getBatchSize());
+        factory.setConcurrentConsumers(1);
+        factory.setMaxConcurrentConsumers(1);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        return factory;
+    }
+
     /**
      * create the authentication bean for controller over amqp.
      *
      * @param systemManagement
      *            the systemManagement
-     * @param controllerManagement
-     *            the controllerManagement
+     * @param targetSecurityTokenCache
+     *            the targetSecurityTokenCache
      * @param tenantConfigurationManagement
      *            the tenantConfigurationManagement
      * @param tenantAware
@@ -308,11 +379,11 @@ public class AmqpConfiguration {
     @Bean
     @ConditionalOnMissingBean(AmqpControllerAuthentication.class)
     public AmqpControllerAuthentication amqpControllerAuthentication(final SystemManagement systemManagement,
-            final ControllerManagement controllerManagement,
+            final TargetSecurityTokenCache targetSecurityTokenCache,
             final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
             final DdiSecurityProperties ddiSecruityProperties, final SystemSecurityContext systemSecurityContext) {
-        return new AmqpControllerAuthentication(systemManagement, controllerManagement, tenantConfigurationManagement,
-                tenantAware, ddiSecruityProperties, systemSecurityContext);
+        return new AmqpControllerAuthentication(systemManagement, targetSecurityTokenCache,
+                tenantConfigurationManagement, tenantAware, ddiSecruityProperties, systemSecurityContext);
     }
 
     @Bean
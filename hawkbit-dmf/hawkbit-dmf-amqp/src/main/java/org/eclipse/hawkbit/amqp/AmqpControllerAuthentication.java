@@ -13,8 +13,8 @@ import java.util.List;
 import javax.annotation.PostConstruct;
 
 import org.eclipse.hawkbit.im.authentication.TenantAwareAuthenticationDetails;
-import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.security.ControllerPreAuthenticateSecurityTokenFilter;
 import org.eclipse.hawkbit.security.ControllerPreAuthenticatedAnonymousDownload;
@@ -46,7 +46,7 @@ public class AmqpControllerAuthentication {
 
     private List<PreAuthenticationFilter> filterChain;
 
-    private final ControllerManagement controllerManagement;
+    private final TargetSecurityTokenCache targetSecurityTokenCache;
 
     private final SystemManagement systemManagement;
 
@@ -62,7 +62,7 @@ public class AmqpControllerAuthentication {
      * Constructor.
      * 
      * @param systemManagement
-     * @param controllerManagement
+     * @param targetSecurityTokenCache
      * @param tenantConfigurationManagement
      * @param tenantAware
      *            current tenant
@@ -72,10 +72,10 @@ public class AmqpControllerAuthentication {
      *            security context
      */
     public AmqpControllerAuthentication(final SystemManagement systemManagement,
-            final ControllerManagement controllerManagement,
+            final TargetSecurityTokenCache targetSecurityTokenCache,
             final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
             final DdiSecurityProperties ddiSecruityProperties, final SystemSecurityContext systemSecurityContext) {
-        this.controllerManagement = controllerManagement;
+        this.targetSecurityTokenCache = targetSecurityTokenCache;
         this.systemManagement = systemManagement;
         this.tenantConfigurationManagement = tenantConfigurationManagement;
         this.tenantAware = tenantAware;
@@ -104,7 +104,7 @@ public class AmqpControllerAuthentication {
         filterChain.add(securityHeaderFilter);
 
         final ControllerPreAuthenticateSecurityTokenFilter securityTokenFilter = new ControllerPreAuthenticateSecurityTokenFilter(
-                tenantConfigurationManagement, controllerManagement, tenantAware, systemSecurityContext);
+                tenantConfigurationManagement, targetSecurityTokenCache, tenantAware, systemSecurityContext);
         filterChain.add(securityTokenFilter);
 
         final ControllerPreAuthenticatedAnonymousDownload anonymousDownloadFilter = new ControllerPreAuthenticatedAnonymousDownload(
@@ -41,6 +41,7 @@ import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TenantMetaData;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.util.IpUtil;
 import org.slf4j.Logger;
@@ -56,15 +57,19 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.util.CollectionUtils;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import com.google.common.collect.Lists;
+
 import static org.eclipse.hawkbit.repository.RepositoryConstants.MAX_ACTION_COUNT;
 
 /**
@@ -79,6 +84,12 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
 
     private static final Logger LOG = LoggerFactory.getLogger(AmqpMessageDispatcherService.class);
 
+    /**
+     * Number of targets that are read and checked for pending cancellations
+     * with one query when dispatching an assignment or multi-action event.
+     */
+    private static final int DISPATCH_BATCH_SIZE = 500;
+
     private final ArtifactUrlHandler artifactUrlHandler;
     private final AmqpMessageSenderService amqpSenderService;
     private final SystemSecurityContext systemSecurityContext;
@@ -141,13 +152,16 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
             return;
         }
 
-        final List<Target> filteredTargetList = getTargetsWithoutPendingCancellations(
-                assignedEvent.getActions().keySet());
-
-        if (!filteredTargetList.isEmpty()) {
-            LOG.debug("targetAssignDistributionSet retrieved. I will forward it to DMF broker.");
-            sendUpdateMessageToTarget(assignedEvent, filteredTargetList);
-        }
+        LOG.debug("targetAssignDistributionSet retrieved. I will forward it to DMF broker.");
+        final Map<String, ActionProperties> actions = assignedEvent.getActions();
+        distributionSetManagement.get(assignedEvent.getDistributionSetId()).ifPresent(ds -> {
+            final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules = getSoftwareModulesWithMetadata(
+                    ds);
+            final DispatchContext context = new DispatchContext();
+            forEachBatch(actions.keySet(), controllerIds -> getTargetsWithoutPendingCancellations(controllerIds)
+                    .forEach(target -> sendUpdateMessageToTarget(actions.get(target.getControllerId()), target,
+                            softwareModules, context)));
+        });
     }
 
     /**
@@ -165,9 +179,20 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         sendMultiActionRequestMessages(multiActionEvent.getTenant(), multiActionEvent.getControllerIds());
     }
 
-    private List<Target> getTargetsWithoutPendingCancellations(final Set<String> controllerIds) {
-        return targetManagement.getByControllerID(controllerIds).stream().filter(target -> {
-            if (hasPendingCancellations(target.getControllerId())) {
+    private static void forEachBatch(final Collection<String> controllerIds, final Consumer<List<String>> consumer) {
+        Lists.partition(new ArrayList<>(controllerIds), DISPATCH_BATCH_SIZE).forEach(consumer);
+    }
+
+    private List<Target> getTargetsWithoutPendingCancellations(final List<String> controllerIds) {
+        final List<Target> targets = getAmqpTargets(controllerIds);
+        if (targets.isEmpty()) {
+            return targets;
+        }
+
+        final Set<String> pendingCancellations = deploymentManagement.findControllerIdsWithPendingCancellations(
+                targets.stream().map(Target::getControllerId).collect(Collectors.toList()));
+        return targets.stream().filter(target -> {
+            if (pendingCancellations.contains(target.getControllerId())) {
                 LOG.debug("Target {} has pending cancellations. Will not send update message to it.",
                         target.getControllerId());
                 return false;
@@ -176,39 +201,41 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         }).collect(Collectors.toList());
     }
 
-    private void sendUpdateMessageToTarget(final TargetAssignDistributionSetEvent assignedEvent,
-            final List<Target> targets) {
-        distributionSetManagement.get(assignedEvent.getDistributionSetId()).ifPresent(ds -> {
-            final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules = getSoftwareModulesWithMetadata(
-                    ds);
-            targets.forEach(target -> sendUpdateMessageToTarget(
-                    assignedEvent.getActions().get(target.getControllerId()), target, softwareModules));
-        });
+    private List<Target> getAmqpTargets(final List<String> controllerIds) {
+        return targetManagement.getByControllerID(controllerIds).stream()
+                .filter(target -> IpUtil.isAmqpUri(target.getAddress())).collect(Collectors.toList());
     }
 
     private void sendMultiActionRequestMessages(final String tenant, final List<String> controllerIds) {
 
         final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModuleMetadata = new HashMap<>();
-        targetManagement.getByControllerID(controllerIds).stream()
-                .filter(target -> IpUtil.isAmqpUri(target.getAddress())).forEach(target -> {
+        final DispatchContext context = new DispatchContext();
+        forEachBatch(controllerIds, batch -> getAmqpTargets(batch).forEach(target -> {
 
-                    final List<Action> activeActions = deploymentManagement
-                            .findActiveActionsWithHighestWeight(target.getControllerId(), MAX_ACTION_COUNT);
+            final List<Action> activeActions = deploymentManagement
+                    .findActiveActionsWithHighestWeight(target.getControllerId(), MAX_ACTION_COUNT);
 
-                    activeActions.forEach(action -> action.getDistributionSet().getModules().forEach(
-                            module -> softwareModuleMetadata.computeIfAbsent(module, this::getSoftwareModuleMetadata)));
+            activeActions.forEach(action -> action.getDistributionSet().getModules().forEach(
+                    module -> softwareModuleMetadata.computeIfAbsent(module, this::getSoftwareModuleMetadata)));
 
-                    if (!activeActions.isEmpty()) {
-                        sendMultiActionRequestToTarget(tenant, target, activeActions,
-                                action -> action.getDistributionSet().getModules().stream()
-                                        .collect(Collectors.toMap(m -> m, softwareModuleMetadata::get)));
-                    }
-                });
+            if (!activeActions.isEmpty()) {
+                sendMultiActionRequestToTarget(tenant, target, activeActions,
+                        action -> action.getDistributionSet().getModules().stream()
+                                .collect(Collectors.toMap(m -> m, softwareModuleMetadata::get)),
+                        context);
+            }
+        }));
 
     }
 
     protected void sendMultiActionRequestToTarget(final String tenant, final Target target, final List<Action> actions,
             final Function<Action, Map<SoftwareModule, List<SoftwareModuleMetadata>>> getSoftwareModuleMetaData) {
+        sendMultiActionRequestToTarget(tenant, target, actions, getSoftwareModuleMetaData, new DispatchContext());
+    }
+
+    private void sendMultiActionRequestToTarget(final String tenant, final Target target, final List<Action> actions,
+            final Function<Action, Map<SoftwareModule, List<SoftwareModuleMetadata>>> getSoftwareModuleMetaData,
+            final DispatchContext context) {
 
         final URI targetAddress = target.getAddress();
         if (!IpUtil.isAmqpUri(targetAddress) || CollectionUtils.isEmpty(actions)) {
@@ -218,7 +245,7 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         final DmfMultiActionRequest multiActionRequest = new DmfMultiActionRequest();
         actions.forEach(action -> {
             final DmfActionRequest actionRequest = createDmfActionRequest(target, action,
-                    getSoftwareModuleMetaData.apply(action));
+                    getSoftwareModuleMetaData.apply(action), context);
             final int weight = deploymentManagement.getWeightConsideringDefault(action);
             multiActionRequest.addElement(getEventTypeForAction(action), actionRequest, weight);
         });
@@ -229,11 +256,11 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     }
 
     private DmfActionRequest createDmfActionRequest(final Target target, final Action action,
-            final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules) {
+            final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules, final DispatchContext context) {
         if (action.isCancelingOrCanceled()) {
             return createPlainActionRequest(action);
         }
-        return createDownloadAndUpdateRequest(target, action.getId(), softwareModules);
+        return createDownloadAndUpdateRequest(target, action.getId(), softwareModules, context);
     }
 
     private static DmfActionRequest createPlainActionRequest(final Action action) {
@@ -244,13 +271,18 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
 
     protected DmfDownloadAndUpdateRequest createDownloadAndUpdateRequest(final Target target, final Long actionId,
             final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules) {
+        return createDownloadAndUpdateRequest(target, actionId, softwareModules, new DispatchContext());
+    }
+
+    private DmfDownloadAndUpdateRequest createDownloadAndUpdateRequest(final Target target, final Long actionId,
+            final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules, final DispatchContext context) {
         final DmfDownloadAndUpdateRequest request = new DmfDownloadAndUpdateRequest();
         request.setActionId(actionId);
         request.setTargetSecurityToken(systemSecurityContext.runAsSystem(target::getSecurityToken));
 
         if (softwareModules != null) {
-            softwareModules.entrySet()
-                    .forEach(entry -> request.addSoftwareModule(convertToAmqpSoftwareModule(target, entry)));
+            softwareModules.forEach((module, metadata) -> request
+                    .addSoftwareModule(context.getSoftwareModule(module, metadata).toAmqpSoftwareModule(target)));
         }
         return request;
     }
@@ -337,6 +369,11 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
 
     protected void sendUpdateMessageToTarget(final ActionProperties action, final Target target,
             final Map<SoftwareModule, List<SoftwareModuleMetadata>> modules) {
+        sendUpdateMessageToTarget(action, target, modules, new DispatchContext());
+    }
+
+    private void sendUpdateMessageToTarget(final ActionProperties action, final Target target,
+            final Map<SoftwareModule, List<SoftwareModuleMetadata>> modules, final DispatchContext context) {
 
         final String tenant = action.getTenant();
 
@@ -345,7 +382,8 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
             return;
         }
 
-        final DmfDownloadAndUpdateRequest downloadAndUpdateRequest = createDownloadAndUpdateRequest(target, action.getId(), modules);
+        final DmfDownloadAndUpdateRequest downloadAndUpdateRequest = createDownloadAndUpdateRequest(target,
+                action.getId(), modules, context);
         final Message message = getMessageConverter().toMessage(downloadAndUpdateRequest,
                 createConnectorMessagePropertiesEvent(tenant, target.getControllerId(), getEventTypeForTarget(action)));
         amqpSenderService.sendMessage(message, targetAddress);
@@ -383,10 +421,6 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         return serviceMatcher == null || serviceMatcher.isFromSelf(event);
     }
 
-    private boolean hasPendingCancellations(final String controllerId) {
-        return deploymentManagement.hasPendingCancellations(controllerId);
-    }
-
     protected void sendCancelMessageToTarget(final String tenant, final String controllerId, final Long actionId,
             final URI address) {
         if (!IpUtil.isAmqpUri(address)) {
@@ -439,59 +473,100 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         return messageProperties;
     }
 
-    private DmfSoftwareModule convertToAmqpSoftwareModule(final Target target,
-            final Entry<SoftwareModule, List<SoftwareModuleMetadata>> entry) {
-        final DmfSoftwareModule amqpSoftwareModule = new DmfSoftwareModule();
-        amqpSoftwareModule.setModuleId(entry.getKey().getId());
-        amqpSoftwareModule.setModuleType(entry.getKey().getType().getKey());
-        amqpSoftwareModule.setModuleVersion(entry.getKey().getVersion());
-        amqpSoftwareModule.setArtifacts(convertArtifacts(target, entry.getKey().getArtifacts()));
-
-        if (!CollectionUtils.isEmpty(entry.getValue())) {
-            amqpSoftwareModule.setMetadata(convertMetadata(entry.getValue()));
-        }
-
-        return amqpSoftwareModule;
+    private Map<SoftwareModule, List<SoftwareModuleMetadata>> getSoftwareModulesWithMetadata(
+            final DistributionSet distributionSet) {
+        return distributionSet.getModules().stream().collect(Collectors.toMap(m -> m, this::getSoftwareModuleMetadata));
     }
 
-    private List<DmfMetadata> convertMetadata(final List<SoftwareModuleMetadata> metadata) {
-        return metadata.stream().map(md -> new DmfMetadata(md.getKey(), md.getValue())).collect(Collectors.toList());
+    private List<SoftwareModuleMetadata> getSoftwareModuleMetadata(final SoftwareModule module) {
+        return softwareModuleManagement.findMetaDataBySoftwareModuleIdAndTargetVisible(
+                PageRequest.of(0, RepositoryConstants.MAX_META_DATA_COUNT), module.getId()).getContent();
     }
 
-    private List<DmfArtifact> convertArtifacts(final Target target, final List<Artifact> localArtifacts) {
-        if (localArtifacts.isEmpty()) {
-            return Collections.emptyList();
-        }
+    /**
+     * Holds the parts of the DMF messages of one dispatch that are the same for
+     * all targets, i.e. the tenant metadata and the converted software modules
+     * with their metadata and artifacts. Only the artifact URLs are generated
+     * per target.
+     */
+    private final class DispatchContext {
+        private final Map<Long, AmqpSoftwareModule> softwareModules = new HashMap<>();
+        private TenantMetaData tenantMetaData;
 
-        return localArtifacts.stream().map(localArtifact -> convertArtifact(target, localArtifact))
-                .collect(Collectors.toList());
-    }
+        private AmqpSoftwareModule getSoftwareModule(final SoftwareModule module,
+                final List<SoftwareModuleMetadata> metadata) {
+            return softwareModules.computeIfAbsent(module.getId(), id -> new AmqpSoftwareModule(module, metadata));
+        }
 
-    private DmfArtifact convertArtifact(final Target target, final Artifact localArtifact) {
-        final DmfArtifact artifact = new DmfArtifact();
+        private TenantMetaData getTenantMetaData() {
+            if (tenantMetaData == null) {
+                tenantMetaData = systemManagement.getTenantMetadata();
+            }
+            return tenantMetaData;
+        }
 
-        artifact.setUrls(artifactUrlHandler
-                .getUrls(new URLPlaceholder(systemManagement.getTenantMetadata().getTenant(),
-                        systemManagement.getTenantMetadata().getId(), target.getControllerId(), target.getId(),
-                        new SoftwareData(localArtifact.getSoftwareModule().getId(), localArtifact.getFilename(),
-                                localArtifact.getId(), localArtifact.getSha1Hash())),
-                        ApiType.DMF)
-                .stream().collect(Collectors.toMap(ArtifactUrl::getProtocol, ArtifactUrl::getRef)));
+        /**
+         * Target independent part of a {@link DmfSoftwareModule}.
+         */
+        private final class AmqpSoftwareModule {
+            private final Long moduleId;
+            private final String moduleType;
+            private final String moduleVersion;
+            private final List<AmqpArtifact> artifacts;
+            private final List<DmfMetadata> metadata;
+
+            private AmqpSoftwareModule(final SoftwareModule module, final List<SoftwareModuleMetadata> metadata) {
+                this.moduleId = module.getId();
+                this.moduleType = module.getType().getKey();
+                this.moduleVersion = module.getVersion();
+                this.artifacts = module.getArtifacts().stream().map(AmqpArtifact::new).collect(Collectors.toList());
+                this.metadata = CollectionUtils.isEmpty(metadata) ? null
+                        : metadata.stream().map(md -> new DmfMetadata(md.getKey(), md.getValue()))
+                                .collect(Collectors.toList());
+            }
 
-        artifact.setFilename(localArtifact.getFilename());
-        artifact.setHashes(new DmfArtifactHash(localArtifact.getSha1Hash(), localArtifact.getMd5Hash()));
-        artifact.setSize(localArtifact.getSize());
-        return artifact;
-    }
+            private DmfSoftwareModule toAmqpSoftwareModule(final Target target) {
+                final DmfSoftwareModule amqpSoftwareModule = new DmfSoftwareModule();
+                amqpSoftwareModule.setModuleId(moduleId);
+                amqpSoftwareModule.setModuleType(moduleType);
+                amqpSoftwareModule.setModuleVersion(moduleVersion);
+                amqpSoftwareModule.setArtifacts(artifacts.isEmpty() ? Collections.emptyList()
+                        : artifacts.stream().map(artifact -> artifact.toAmqpArtifact(target))
+                                .collect(Collectors.toList()));
+                if (metadata != null) {
+                    amqpSoftwareModule.setMetadata(metadata);
+                }
+                return amqpSoftwareModule;
+            }
+        }
 
-    private Map<SoftwareModule, List<SoftwareModuleMetadata>> getSoftwareModulesWithMetadata(
-            final DistributionSet distributionSet) {
-        return distributionSet.getModules().stream().collect(Collectors.toMap(m -> m, this::getSoftwareModuleMetadata));
-    }
+        /**
+         * Target independent part of a {@link DmfArtifact}.
+         */
+        private final class AmqpArtifact {
+            private final SoftwareData softwareData;
+            private final DmfArtifactHash hashes;
+            private final long size;
+
+            private AmqpArtifact(final Artifact localArtifact) {
+                this.softwareData = new SoftwareData(localArtifact.getSoftwareModule().getId(),
+                        localArtifact.getFilename(), localArtifact.getId(), localArtifact.getSha1Hash());
+                this.hashes = new DmfArtifactHash(localArtifact.getSha1Hash(), localArtifact.getMd5Hash());
+                this.size = localArtifact.getSize();
+            }
 
-    private List<SoftwareModuleMetadata> getSoftwareModuleMetadata(final SoftwareModule module) {
-        return softwareModuleManagement.findMetaDataBySoftwareModuleIdAndTargetVisible(
-                PageRequest.of(0, RepositoryConstants.MAX_META_DATA_COUNT), module.getId()).getContent();
+            private DmfArtifact toAmqpArtifact(final Target target) {
+                final DmfArtifact artifact = new DmfArtifact();
+                artifact.setUrls(artifactUrlHandler
+                        .getUrls(new URLPlaceholder(getTenantMetaData().getTenant(), getTenantMetaData().getId(),
+                                target.getControllerId(), target.getId(), softwareData), ApiType.DMF)
+                        .stream().collect(Collectors.toMap(ArtifactUrl::getProtocol, ArtifactUrl::getRef)));
+                artifact.setFilename(softwareData.getFilename());
+                artifact.setHashes(hashes);
+                artifact.setSize(size);
+                return artifact;
+            }
+        }
     }
 
 }
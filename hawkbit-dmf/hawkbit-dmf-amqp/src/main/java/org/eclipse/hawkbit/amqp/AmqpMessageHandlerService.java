@@ -63,6 +63,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextImpl;
 import org.springframework.util.StringUtils;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /**
  *
  * {@link AmqpMessageHandlerService} handles all incoming target interaction
@@ -88,6 +91,12 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
 
     private static final String EMPTY_MESSAGE_BODY = "\"\"";
 
+    private static final String METRIC_MESSAGES = "hawkbit.dmf.messages";
+
+    private static final String TAG_NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
     /**
      * Constructor.
      * 
@@ -103,18 +112,21 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      *            the system Security Context
      * @param tenantConfigurationManagement
      *            the tenant configuration Management
+     * @param meterRegistry
+     *            to record the handling of the incoming messages
      */
     public AmqpMessageHandlerService(final RabbitTemplate rabbitTemplate,
             final AmqpMessageDispatcherService amqpMessageDispatcherService,
             final ControllerManagement controllerManagement, final EntityFactory entityFactory,
             final SystemSecurityContext systemSecurityContext,
-            final TenantConfigurationManagement tenantConfigurationManagement) {
+            final TenantConfigurationManagement tenantConfigurationManagement, final MeterRegistry meterRegistry) {
         super(rabbitTemplate);
         this.amqpMessageDispatcherService = amqpMessageDispatcherService;
         this.controllerManagement = controllerManagement;
         this.entityFactory = entityFactory;
         this.systemSecurityContext = systemSecurityContext;
         this.tenantConfigurationManagement = tenantConfigurationManagement;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -128,7 +140,8 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      *            the contentType of the message
      * @return a message if <null> no message is send back to sender
      */
-    @RabbitListener(queues = "${hawkbit.dmf.rabbitmq.receiverQueue:dmf_receiver}", containerFactory = "listenerContainerFactory")
+    @RabbitListener(queues = "${hawkbit.dmf.rabbitmq.receiverQueue:dmf_receiver}", containerFactory = "listenerContainerFactory",
+            autoStartup = "#{!${hawkbit.dmf.rabbitmq.consumer.batching:false}}")
     public Message onMessage(final Message message,
             @Header(name = MessageHeaderKey.TYPE, required = false) final String type,
             @Header(name = MessageHeaderKey.TENANT, required = false) final String tenant) {
@@ -153,6 +166,38 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
             throw new AmqpRejectAndDontRequeueException("Invalid message! tenant and type header are mandatory!");
         }
 
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            final Message response = handleMessage(message, type, tenant, virtualHost);
+            outcome = "success";
+            return response;
+        } finally {
+            sample.stop(Timer.builder(METRIC_MESSAGES).tag("type", toTag(MessageType.values(), type))
+                    .tag("topic", toTag(EventTopic.values(),
+                            message.getMessageProperties().getHeaders().get(MessageHeaderKey.TOPIC)))
+                    .tag("outcome", outcome).description("Incoming DMF messages").publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Maps a header value to the matching enum constant in order to keep the
+     * tag cardinality bounded.
+     */
+    private static String toTag(final Enum<?>[] constants, final Object value) {
+        if (value != null) {
+            for (final Enum<?> constant : constants) {
+                if (constant.name().equals(value.toString())) {
+                    return constant.name();
+                }
+            }
+        }
+        return TAG_NONE;
+    }
+
+    private Message handleMessage(final Message message, final String type, final String tenant,
+            final String virtualHost) {
         final SecurityContext oldContext = SecurityContextHolder.getContext();
         try {
             final MessageType messageType = MessageType.valueOf(type);
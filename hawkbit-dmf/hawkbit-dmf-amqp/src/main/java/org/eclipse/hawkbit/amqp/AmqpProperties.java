@@ -66,6 +66,24 @@ public class AmqpProperties {
      */
     private long requeueDelay = DEFAULT_REQUEUE_DELAY;
 
+    /**
+     * Settings of the sender of the outgoing DMF messages.
+     */
+    private final Sender sender = new Sender();
+
+    public Sender getSender() {
+        return sender;
+    }
+
+    /**
+     * Settings of the consumer of the incoming DMF messages.
+     */
+    private final Consumer consumer = new Consumer();
+
+    public Consumer getConsumer() {
+        return consumer;
+    }
+
     public long getRequeueDelay() {
         return requeueDelay;
     }
@@ -129,4 +147,183 @@ public class AmqpProperties {
     public void setEnabled(final boolean enabled) {
         this.enabled = enabled;
     }
+
+    /**
+     * Settings of the sender of the outgoing DMF messages.
+     */
+    public static class Sender {
+
+        private static final int DEFAULT_MAX_IN_FLIGHT = 1_000;
+        private static final int DEFAULT_BATCH_SIZE = 100;
+        private static final int DEFAULT_MAX_RETRIES = 3;
+        private static final long DEFAULT_RETRY_DELAY = 1_000;
+        private static final long DEFAULT_SEND_TIMEOUT = 30_000;
+        private static final long DEFAULT_SHUTDOWN_TIMEOUT = 10_000;
+
+        /**
+         * Publish the messages asynchronously in batches on a dedicated
+         * thread instead of sending every message synchronously on the
+         * calling thread. Broker confirms are only awaited if
+         * spring.rabbitmq.publisher-confirm-type is set to correlated.
+         */
+        private boolean pipelined;
+
+        /**
+         * Maximum number of messages that are queued or published but not yet
+         * confirmed by the broker. Senders block if the limit is reached.
+         */
+        private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+
+        /**
+         * Maximum number of messages that are published on one channel in one
+         * go.
+         */
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        /**
+         * Number of times a message that could not be published or has been
+         * rejected by the broker is published again before it is dropped.
+         */
+        private int maxRetries = DEFAULT_MAX_RETRIES;
+
+        /**
+         * Delay before the first retry in milliseconds, multiplied with the
+         * number of the retry for the subsequent ones.
+         */
+        private long retryDelay = DEFAULT_RETRY_DELAY;
+
+        /**
+         * Maximum time in milliseconds a sender blocks if the maximum number
+         * of messages in flight is reached.
+         */
+        private long sendTimeout = DEFAULT_SEND_TIMEOUT;
+
+        /**
+         * Maximum time in milliseconds to wait on shutdown for the queued,
+         * retried and unconfirmed messages before they are dropped.
+         */
+        private long shutdownTimeout = DEFAULT_SHUTDOWN_TIMEOUT;
+
+        public boolean isPipelined() {
+            return pipelined;
+        }
+
+        public void setPipelined(final boolean pipelined) {
+            this.pipelined = pipelined;
+        }
+
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public void setMaxInFlight(final int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(final int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public long getRetryDelay() {
+            return retryDelay;
+        }
+
+        public void setRetryDelay(final long retryDelay) {
+            this.retryDelay = retryDelay;
+        }
+
+        public long getSendTimeout() {
+            return sendTimeout;
+        }
+
+        public void setSendTimeout(final long sendTimeout) {
+            this.sendTimeout = sendTimeout;
+        }
+
+        public long getShutdownTimeout() {
+            return shutdownTimeout;
+        }
+
+        public void setShutdownTimeout(final long shutdownTimeout) {
+            this.shutdownTimeout = shutdownTimeout;
+        }
+    }
+
+    /**
+     * Settings of the consumer of the incoming DMF messages.
+     */
+    public static class Consumer {
+
+        private static final int DEFAULT_BATCH_SIZE = 100;
+        private static final long DEFAULT_BATCH_TIMEOUT = 100;
+        private static final int DEFAULT_LANES = 4;
+
+        /**
+         * Consume the messages in batches. The messages of a batch are
+         * distributed by tenant and thing ID onto lanes that are processed in
+         * parallel, action status and attribute updates of a lane are written
+         * in shared transactions and the batch is acknowledged at once.
+         */
+        private boolean batching;
+
+        /**
+         * Maximum number of messages of a batch.
+         */
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        /**
+         * Maximum time in milliseconds to wait for further messages before an
+         * incomplete batch is processed.
+         */
+        private long batchTimeout = DEFAULT_BATCH_TIMEOUT;
+
+        /**
+         * Number of lanes, i.e. threads, a batch is processed with.
+         */
+        private int lanes = DEFAULT_LANES;
+
+        public boolean isBatching() {
+            return batching;
+        }
+
+        public void setBatching(final boolean batching) {
+            this.batching = batching;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getBatchTimeout() {
+            return batchTimeout;
+        }
+
+        public void setBatchTimeout(final long batchTimeout) {
+            this.batchTimeout = batchTimeout;
+        }
+
+        public int getLanes() {
+            return lanes;
+        }
+
+        public void setLanes(final int lanes) {
+            this.lanes = lanes;
+        }
+    }
 }
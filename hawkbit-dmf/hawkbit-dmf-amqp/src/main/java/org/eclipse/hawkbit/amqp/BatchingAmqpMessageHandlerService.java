@@ -0,0 +1,261 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.hawkbit.dmf.amqp.api.EventTopic;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageHeaderKey;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageType;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.listener.FatalExceptionStrategy;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.rabbitmq.client.Channel;
+
+/**
+ * Consumes the incoming DMF messages in batches instead of one by one as the
+ * {@link AmqpMessageHandlerService} does. Every message is still handled by
+ * the {@link AmqpMessageHandlerService}.
+ *
+ * The messages of a batch are distributed onto lanes by tenant and thing ID,
+ * i.e. all messages of a device end up in the same lane and are handled in the
+ * order of their arrival. The lanes are processed in parallel. Consecutive
+ * action status and attribute updates of the same tenant within a lane are
+ * written in one transaction. If such a transaction fails its messages are
+ * handled one by one again so that only the failing messages are affected.
+ *
+ * The batch is acknowledged at once after all lanes have been processed.
+ * Messages that failed with a fatal exception are rejected, the others are
+ * requeued together with the subsequent messages of the same device.
+ */
+public class BatchingAmqpMessageHandlerService implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingAmqpMessageHandlerService.class);
+
+    private final AmqpMessageHandlerService amqpMessageHandlerService;
+    private final SystemSecurityContext systemSecurityContext;
+    private final TransactionTemplate transactionTemplate;
+    private final FatalExceptionStrategy exceptionStrategy;
+    private final int laneCount;
+    private final ExecutorService lanes;
+
+    /**
+     * Constructor.
+     *
+     * @param amqpMessageHandlerService
+     *            to handle the single messages
+     * @param systemSecurityContext
+     *            to open the shared transactions in the context of the
+     *            tenant
+     * @param transactionManager
+     *            for the shared transactions
+     * @param exceptionStrategy
+     *            to decide whether a failed message is rejected or requeued
+     * @param laneCount
+     *            number of lanes a batch is processed with
+     */
+    public BatchingAmqpMessageHandlerService(final AmqpMessageHandlerService amqpMessageHandlerService,
+            final SystemSecurityContext systemSecurityContext, final PlatformTransactionManager transactionManager,
+            final FatalExceptionStrategy exceptionStrategy, final int laneCount) {
+        this.amqpMessageHandlerService = amqpMessageHandlerService;
+        this.systemSecurityContext = systemSecurityContext;
+        this.exceptionStrategy = exceptionStrategy;
+        this.laneCount = laneCount;
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+
+        lanes = Executors.newFixedThreadPool(laneCount,
+                new ThreadFactoryBuilder().setNameFormat("dmf-lane-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Handles a batch of incoming DMF messages and acknowledges it.
+     *
+     * @param messages
+     *            the batch
+     * @param channel
+     *            to acknowledge the batch on
+     * @throws IOException
+     *             if the acknowledgement failed
+     */
+    @RabbitListener(queues = "${hawkbit.dmf.rabbitmq.receiverQueue:dmf_receiver}", containerFactory = "batchListenerContainerFactory")
+    public void onMessages(final List<Message> messages, final Channel channel) throws IOException {
+        final Map<Long, Boolean> failed = new ConcurrentHashMap<>();
+
+        CompletableFuture.allOf(distribute(messages).stream().filter(lane -> !lane.isEmpty())
+                .map(lane -> CompletableFuture.runAsync(() -> new Lane(failed).process(lane), lanes))
+                .toArray(CompletableFuture[]::new)).join();
+
+        acknowledge(messages, failed, channel);
+    }
+
+    private List<List<Message>> distribute(final List<Message> messages) {
+        final List<List<Message>> distributed = IntStream.range(0, laneCount)
+                .mapToObj(i -> new ArrayList<Message>()).collect(Collectors.toList());
+        messages.forEach(
+                message -> distributed.get(Math.floorMod(getDevice(message).hashCode(), laneCount)).add(message));
+        return distributed;
+    }
+
+    private static void acknowledge(final List<Message> messages, final Map<Long, Boolean> failed,
+            final Channel channel) throws IOException {
+        long lastAcknowledged = -1;
+        for (final Message message : messages) {
+            final long deliveryTag = message.getMessageProperties().getDeliveryTag();
+            final Boolean requeue = failed.get(deliveryTag);
+            if (requeue == null) {
+                lastAcknowledged = Math.max(lastAcknowledged, deliveryTag);
+            } else {
+                channel.basicReject(deliveryTag, requeue);
+            }
+        }
+
+        if (lastAcknowledged >= 0) {
+            channel.basicAck(lastAcknowledged, true);
+        }
+    }
+
+    private static String getHeader(final Message message, final String key) {
+        return Objects.toString(message.getMessageProperties().getHeaders().get(key), null);
+    }
+
+    private static String getTenant(final Message message) {
+        return getHeader(message, MessageHeaderKey.TENANT);
+    }
+
+    private static List<String> getDevice(final Message message) {
+        final List<String> device = new ArrayList<>(2);
+        device.add(getTenant(message));
+        device.add(getHeader(message, MessageHeaderKey.THING_ID));
+        return device;
+    }
+
+    private static boolean isUpdate(final Message message) {
+        final String topic = getHeader(message, MessageHeaderKey.TOPIC);
+        return MessageType.EVENT.name().equals(getHeader(message, MessageHeaderKey.TYPE))
+                && (EventTopic.UPDATE_ACTION_STATUS.name().equals(topic)
+                        || EventTopic.UPDATE_ATTRIBUTES.name().equals(topic))
+                && !StringUtils.isEmpty(getTenant(message));
+    }
+
+    @Override
+    public void destroy() {
+        lanes.shutdown();
+    }
+
+    /**
+     * Processes the messages of one lane in order.
+     */
+    private final class Lane {
+        private final Map<Long, Boolean> failed;
+        private final Set<List<String>> requeuedDevices = new HashSet<>();
+        private final List<Message> updates = new ArrayList<>();
+
+        private Lane(final Map<Long, Boolean> failed) {
+            this.failed = failed;
+        }
+
+        private void process(final List<Message> messages) {
+            for (final Message message : messages) {
+                if (!updates.isEmpty() && (!isUpdate(message)
+                        || !Objects.equals(getTenant(updates.get(0)), getTenant(message)))) {
+                    processUpdates();
+                }
+
+                if (isUpdate(message)) {
+                    updates.add(message);
+                } else {
+                    processMessage(message);
+                }
+            }
+            processUpdates();
+        }
+
+        private void processUpdates() {
+            final List<Message> pending = updates.stream().filter(message -> !requeueIfDeviceRequeued(message))
+                    .collect(Collectors.toList());
+            updates.clear();
+
+            if (pending.size() > 1 && processInTransaction(pending)) {
+                return;
+            }
+            pending.forEach(this::processMessage);
+        }
+
+        private boolean processInTransaction(final List<Message> messages) {
+            try {
+                systemSecurityContext.runAsSystemAsTenant(() -> transactionTemplate.execute(status -> {
+                    messages.forEach(BatchingAmqpMessageHandlerService.this::handle);
+                    return null;
+                }), getTenant(messages.get(0)));
+                return true;
+            } catch (final RuntimeException e) {
+                LOG.debug("Failed to process {} messages in one transaction, processing them one by one.",
+                        messages.size(), e);
+                return false;
+            }
+        }
+
+        private void processMessage(final Message message) {
+            if (requeueIfDeviceRequeued(message)) {
+                return;
+            }
+
+            try {
+                handle(message);
+            } catch (final RuntimeException e) {
+                final boolean requeue = !(e instanceof AmqpRejectAndDontRequeueException) && !exceptionStrategy
+                        .isFatal(new ListenerExecutionFailedException("Failed to handle DMF message", e, message));
+                LOG.warn("Failed to handle DMF message of thing {}, the message will be {}.",
+                        getHeader(message, MessageHeaderKey.THING_ID), requeue ? "requeued" : "rejected", e);
+                failed.put(message.getMessageProperties().getDeliveryTag(), requeue);
+                if (requeue) {
+                    requeuedDevices.add(getDevice(message));
+                }
+            }
+        }
+
+        private boolean requeueIfDeviceRequeued(final Message message) {
+            if (requeuedDevices.contains(getDevice(message))) {
+                failed.put(message.getMessageProperties().getDeliveryTag(), true);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private void handle(final Message message) {
+        amqpMessageHandlerService.onMessage(message, getHeader(message, MessageHeaderKey.TYPE), getTenant(message));
+    }
+}
@@ -0,0 +1,366 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hawkbit.amqp.AmqpProperties.Sender;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageHeaderKey;
+import org.eclipse.hawkbit.util.IpUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * {@link AmqpMessageSenderService} that publishes the messages asynchronously.
+ * The messages are queued and published in batches on one channel by a
+ * dedicated thread, so that the caller does not wait for a broker round-trip
+ * per message.
+ *
+ * The number of messages in flight, i.e. queued or published but not yet
+ * confirmed by the broker, is bounded by {@link Sender#getMaxInFlight()}.
+ * {@link #sendMessage(Message, URI)} blocks if the limit is reached, which
+ * slows down the {@link AmqpMessageDispatcherService} to the pace of the
+ * broker. Messages that could not be published or that are rejected by the
+ * broker are published again after a delay up to
+ * {@link Sender#getMaxRetries()} times.
+ *
+ * The messages of a thing are kept in order: only one message of a thing is
+ * in flight at a time, the subsequent messages of the thing are held back
+ * until it has been confirmed or dropped after its retries, so that e.g. a
+ * cancellation does not overtake the update it cancels even if the update is
+ * rejected by the broker. Messages without thing are not ordered.
+ *
+ * A message counts as confirmed once it is published if publisher confirms
+ * are not enabled on the connection factory.
+ */
+public class PipelinedAmqpMessageSenderService extends DefaultAmqpMessageSenderService implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PipelinedAmqpMessageSenderService.class);
+
+    private static final long POLL_TIMEOUT = 100;
+
+    private final Sender properties;
+    private final Semaphore inFlight;
+    private final AtomicLong sequence = new AtomicLong();
+    private final BlockingQueue<PendingMessage> queue = new LinkedBlockingQueue<>();
+    private final Queue<PendingMessage> released = new ConcurrentLinkedQueue<>();
+    private final Map<String, Lane> lanes = new HashMap<>();
+    private final Thread publisher;
+
+    private volatile boolean running = true;
+    private volatile boolean stopped;
+
+    /**
+     * Constructor.
+     *
+     * @param rabbitTemplate
+     *            the AMQP template
+     * @param properties
+     *            the sender properties
+     */
+    public PipelinedAmqpMessageSenderService(final RabbitTemplate rabbitTemplate, final Sender properties) {
+        super(rabbitTemplate);
+        this.properties = properties;
+        this.inFlight = new Semaphore(properties.getMaxInFlight());
+
+        publisher = new Thread(this::publishUntilStopped, "dmf-sender");
+        publisher.setDaemon(true);
+        publisher.start();
+    }
+
+    @Override
+    public void sendMessage(final Message message, final URI sendTo) {
+        if (!IpUtil.isAmqpUri(sendTo)) {
+            return;
+        }
+
+        if (!running) {
+            super.sendMessage(message, sendTo);
+            return;
+        }
+
+        if (isCorrelationIdEmpty(message)) {
+            message.getMessageProperties().setCorrelationId(UUID.randomUUID().toString());
+        }
+
+        acquire();
+        queue.add(new PendingMessage(sequence.incrementAndGet(), sendTo.getPath().substring(1), message));
+    }
+
+    private void acquire() {
+        try {
+            if (!inFlight.tryAcquire(properties.getSendTimeout(), TimeUnit.MILLISECONDS)) {
+                throw new AmqpTimeoutException(
+                        "Timed out after " + properties.getSendTimeout() + "ms waiting for the broker");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException(e);
+        }
+    }
+
+    /**
+     * @return the number of messages that can be sent before the sender
+     *         blocks
+     */
+    public int getAvailableCapacity() {
+        return inFlight.availablePermits();
+    }
+
+    private int getPending() {
+        return properties.getMaxInFlight() - inFlight.availablePermits();
+    }
+
+    private void publishUntilStopped() {
+        final List<PendingMessage> batch = new ArrayList<>(properties.getBatchSize());
+        while (!stopped && (running || getPending() > 0)) {
+            try {
+                nextBatch(batch);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            if (!batch.isEmpty()) {
+                publish(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Collects the next batch: the held back messages that are next in their
+     * lane, the due retries and the queued messages of the lanes without
+     * message in flight.
+     */
+    private void nextBatch(final List<PendingMessage> batch) throws InterruptedException {
+        final int batchSize = properties.getBatchSize();
+        for (PendingMessage pending = released.poll(); pending != null; pending = released.poll()) {
+            batch.add(pending);
+        }
+        addDueRetries(batch, batchSize);
+
+        if (batch.isEmpty()) {
+            final PendingMessage first = queue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                return;
+            }
+            addUnlessBlocked(first, batch);
+        }
+
+        final List<PendingMessage> queued = new ArrayList<>(Math.max(batchSize - batch.size(), 0));
+        queue.drainTo(queued, batchSize - batch.size());
+        queued.forEach(pending -> addUnlessBlocked(pending, batch));
+    }
+
+    private void addDueRetries(final List<PendingMessage> batch, final int batchSize) {
+        final long now = System.currentTimeMillis();
+        synchronized (lanes) {
+            for (final Lane lane : lanes.values()) {
+                if (batch.size() >= batchSize) {
+                    return;
+                }
+                if (lane.retryDue && lane.retryAt <= now) {
+                    lane.retryDue = false;
+                    batch.add(lane.inFlight);
+                }
+            }
+        }
+    }
+
+    private void addUnlessBlocked(final PendingMessage pending, final List<PendingMessage> batch) {
+        synchronized (lanes) {
+            final Lane lane = lanes.get(pending.lane);
+            if (lane != null) {
+                lane.waiting.add(pending);
+                return;
+            }
+            lanes.put(pending.lane, new Lane(pending));
+        }
+        batch.add(pending);
+    }
+
+    private void publish(final List<PendingMessage> batch) {
+        final boolean confirms = getRabbitTemplate().getConnectionFactory().isPublisherConfirms();
+        final AtomicInteger published = new AtomicInteger();
+
+        try {
+            getRabbitTemplate().invoke(operations -> {
+                for (final PendingMessage pending : batch) {
+                    LOGGER.debug("Sending message to exchange {} with correlationId {}", pending.exchange,
+                            pending.getCorrelationId());
+                    operations.send(pending.exchange, null, pending.message, createCorrelationData(pending));
+                    published.incrementAndGet();
+                }
+                return null;
+            });
+        } catch (final AmqpException e) {
+            LOGGER.warn("Failed to publish {} of {} DMF messages", batch.size() - published.get(), batch.size(), e);
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            final PendingMessage pending = batch.get(i);
+            if (i >= published.get()) {
+                settle(pending, pending.getAttempts(), false, "not published");
+            } else if (!confirms) {
+                settle(pending, pending.getAttempts(), true, null);
+            }
+        }
+    }
+
+    private CorrelationData createCorrelationData(final PendingMessage pending) {
+        final int attempt = pending.getAttempts();
+        final CorrelationData correlationData = new CorrelationData(pending.getCorrelationId());
+        correlationData.getFuture().addCallback(
+                confirm -> settle(pending, attempt, confirm != null && confirm.isAck(),
+                        confirm == null ? null : confirm.getReason()),
+                e -> settle(pending, attempt, false, e.getMessage()));
+        return correlationData;
+    }
+
+    private void settle(final PendingMessage pending, final int attempt, final boolean ack, final String cause) {
+        if (!pending.settle(attempt)) {
+            return;
+        }
+
+        if (ack) {
+            releaseNext(pending);
+            inFlight.release();
+        } else if (pending.getAttempts() > properties.getMaxRetries()) {
+            LOGGER.error("Dropped message with correlationId {} to exchange {} after {} attempts: {}",
+                    pending.getCorrelationId(), pending.exchange, pending.getAttempts(), cause);
+            releaseNext(pending);
+            inFlight.release();
+        } else {
+            LOGGER.debug("Retrying message with correlationId {} to exchange {}: {}", pending.getCorrelationId(),
+                    pending.exchange, cause);
+            scheduleRetry(pending, properties.getRetryDelay() * pending.getAttempts());
+        }
+    }
+
+    /**
+     * Retries the failed message after the given delay. The subsequent
+     * messages of its lane stay held back.
+     */
+    private void scheduleRetry(final PendingMessage pending, final long delay) {
+        synchronized (lanes) {
+            final Lane lane = lanes.get(pending.lane);
+            lane.retryAt = System.currentTimeMillis() + delay;
+            lane.retryDue = true;
+        }
+    }
+
+    /**
+     * Releases the next held back message of the lane of the given settled
+     * message.
+     */
+    private void releaseNext(final PendingMessage pending) {
+        synchronized (lanes) {
+            final Lane lane = lanes.get(pending.lane);
+            final PendingMessage next = lane.waiting.poll();
+            if (next == null) {
+                lanes.remove(pending.lane);
+                return;
+            }
+            lane.inFlight = next;
+            released.add(next);
+        }
+    }
+
+    /**
+     * Stops accepting messages and waits up to
+     * {@link Sender#getShutdownTimeout()} for the queued, retried and
+     * unconfirmed messages.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        publisher.join(properties.getShutdownTimeout());
+
+        stopped = true;
+        publisher.interrupt();
+        publisher.join(POLL_TIMEOUT);
+
+        final int dropped = getPending();
+        if (dropped > 0) {
+            LOGGER.warn("Dropped {} DMF messages that could not be published or confirmed before shutdown", dropped);
+        }
+    }
+
+    /**
+     * The messages of a thing that are held back while one of them is in
+     * flight.
+     */
+    private static final class Lane {
+        private final Queue<PendingMessage> waiting = new PriorityQueue<>(
+                Comparator.comparingLong(pending -> pending.sequence));
+        private PendingMessage inFlight;
+        private boolean retryDue;
+        private long retryAt;
+
+        private Lane(final PendingMessage inFlight) {
+            this.inFlight = inFlight;
+        }
+    }
+
+    private static final class PendingMessage {
+        private final long sequence;
+        private final String exchange;
+        private final String lane;
+        private final Message message;
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        private PendingMessage(final long sequence, final String exchange, final Message message) {
+            this.sequence = sequence;
+            this.exchange = exchange;
+            this.message = message;
+
+            // messages without thing get a lane of their own
+            final Object thingId = message.getMessageProperties().getHeaders().get(MessageHeaderKey.THING_ID);
+            this.lane = thingId == null ? exchange + "#" + sequence : exchange + "/" + thingId;
+        }
+
+        private String getCorrelationId() {
+            return message.getMessageProperties().getCorrelationId();
+        }
+
+        private int getAttempts() {
+            return attempts.get();
+        }
+
+        /**
+         * Marks the given attempt as settled, i.e. confirmed or failed.
+         *
+         * @return <code>false</code> if the attempt has already been settled
+         */
+        private boolean settle(final int attempt) {
+            return attempts.compareAndSet(attempt, attempt + 1);
+        }
+    }
+}
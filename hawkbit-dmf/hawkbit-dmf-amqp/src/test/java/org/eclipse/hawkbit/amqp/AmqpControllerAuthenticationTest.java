@@ -15,6 +15,8 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.MalformedURLException;
@@ -29,6 +31,7 @@ import org.eclipse.hawkbit.dmf.json.model.DmfDownloadResponse;
 import org.eclipse.hawkbit.repository.ArtifactManagement;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.repository.jpa.JpaEntityFactory;
 import org.eclipse.hawkbit.repository.jpa.model.JpaArtifact;
@@ -62,6 +65,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Story;
@@ -145,8 +149,11 @@ public class AmqpControllerAuthenticationTest {
         final SecurityContextTenantAware tenantAware = new SecurityContextTenantAware(authoritiesResolver);
         final SystemSecurityContext systemSecurityContext = new SystemSecurityContext(tenantAware);
 
-        authenticationManager = new AmqpControllerAuthentication(systemManagement, controllerManagement,
-                tenantConfigurationManagementMock, tenantAware, securityProperties, systemSecurityContext);
+        lenient().when(targetMock.getId()).thenReturn(TARGET_ID);
+
+        authenticationManager = new AmqpControllerAuthentication(systemManagement,
+                new TargetSecurityTokenCache(controllerManagement, tenantAware), tenantConfigurationManagementMock,
+                tenantAware, securityProperties, systemSecurityContext);
 
         authenticationManager.postConstruct();
 
@@ -156,7 +163,7 @@ public class AmqpControllerAuthenticationTest {
 
         amqpMessageHandlerService = new AmqpMessageHandlerService(rabbitTemplate,
                 mock(AmqpMessageDispatcherService.class), controllerManagement, new JpaEntityFactory(),
-                systemSecurityContext, tenantConfigurationManagementMock);
+                systemSecurityContext, tenantConfigurationManagementMock, new SimpleMeterRegistry());
 
         amqpAuthenticationMessageHandlerService = new AmqpAuthenticationMessageHandler(rabbitTemplate,
                 authenticationManager, artifactManagementMock, cacheMock, hostnameResolverMock, controllerManagement,
@@ -229,6 +236,26 @@ public class AmqpControllerAuthenticationTest {
         assertThat(authentication).isNotNull();
     }
 
+    @Test
+    @Description("Tests that the target security token is loaded only once for repeated authentications")
+    public void testRepeatedAuthenticationLoadsTargetOnce() {
+        when(controllerManagement.get(any(Long.class))).thenReturn(Optional.of(targetMock));
+        when(tenantConfigurationManagementMock.getConfigurationValue(
+                eq(TenantConfigurationKey.AUTHENTICATION_MODE_TARGET_SECURITY_TOKEN_ENABLED), eq(Boolean.class)))
+                        .thenReturn(CONFIG_VALUE_TRUE);
+        when(targetMock.getSecurityToken()).thenReturn(CONTROLLER_ID);
+        when(targetMock.getControllerId()).thenReturn(CONTROLLER_ID);
+
+        for (int i = 0; i < 3; i++) {
+            final DmfTenantSecurityToken securityToken = new DmfTenantSecurityToken(TENANT, TENANT_ID, CONTROLLER_ID,
+                    TARGET_ID, FileResource.createFileResourceBySha1(SHA1));
+            securityToken.putHeader(DmfTenantSecurityToken.AUTHORIZATION_HEADER, "TargetToken " + CONTROLLER_ID);
+            assertThat(authenticationManager.doAuthenticate(securityToken)).isNotNull();
+        }
+
+        verify(controllerManagement, times(1)).get(TARGET_ID);
+    }
+
     @Test
     @Description("Tests authentication message without principal")
     public void testAuthenticationMessageBadCredentialsWithoutPrincipal() {
@@ -11,11 +11,13 @@ package org.eclipse.hawkbit.amqp;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -207,6 +209,41 @@ public class AmqpMessageDispatcherServiceTest extends AbstractIntegrationTest {
         }
     }
 
+    @Test
+    @Description("Verifies that an assignment to multiple targets is dispatched in one batch that skips targets with pending cancellations and converts the software modules only once.")
+    public void testSendDownloadRequestToMultipleTargets() {
+        final DistributionSet ds = testdataFactory.createDistributionSet(UUID.randomUUID().toString());
+        testdataFactory.createArtifacts(ds.getModules().iterator().next().getId());
+        final Target secondTarget = targetManagement.create(entityFactory.target().create().controllerId("2")
+                .securityToken(TEST_TOKEN).address(AMQP_URI.toString()));
+        final Target cancelingTarget = targetManagement.create(entityFactory.target().create().controllerId("3")
+                .securityToken(TEST_TOKEN).address(AMQP_URI.toString()));
+
+        final List<Action> actions = assignDistributionSet(ds.getId(),
+                Arrays.asList(CONTROLLER_ID, secondTarget.getControllerId(), cancelingTarget.getControllerId()),
+                Action.ActionType.FORCED).getAssignedEntity();
+        final Action cancelingAction = actions.stream()
+                .filter(action -> action.getTarget().getControllerId().equals(cancelingTarget.getControllerId()))
+                .findAny().get();
+        deploymentManagement.cancelAction(cancelingAction.getId());
+
+        amqpMessageDispatcherService.targetAssignDistributionSet(new TargetAssignDistributionSetEvent(TENANT,
+                ds.getId(), actions, serviceMatcher.getServiceId(), true));
+
+        final ArgumentCaptor<Message> argumentCaptor = ArgumentCaptor.forClass(Message.class);
+        Mockito.verify(senderService, times(2)).sendMessage(argumentCaptor.capture(), eq(AMQP_URI));
+        assertThat(argumentCaptor.getAllValues())
+                .extracting(message -> message.getMessageProperties().getHeaders().get(MessageHeaderKey.THING_ID))
+                .containsExactlyInAnyOrder(CONTROLLER_ID, secondTarget.getControllerId());
+        for (final Message message : argumentCaptor.getAllValues()) {
+            final DmfDownloadAndUpdateRequest request = convertMessage(message, DmfDownloadAndUpdateRequest.class);
+            assertThat(request.getSoftwareModules()).hasSameSizeAs(ds.getModules());
+            assertThat(request.getSoftwareModules()).flatExtracting(DmfSoftwareModule::getArtifacts).isNotEmpty()
+                    .allSatisfy(artifact -> assertThat(artifact.getUrls()).containsEntry("http", "http://mockurl"));
+        }
+        Mockito.verify(systemManagement, times(1)).getTenantMetadata();
+    }
+
     @Test
     @Description("Verifies that sending update controller attributes event works.")
     public void sendUpdateAttributesRequest() {
@@ -77,6 +77,7 @@ import org.springframework.amqp.support.converter.MessageConversionException;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.http.HttpStatus;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Story;
@@ -101,6 +102,8 @@ public class AmqpMessageHandlerServiceTest {
 
     private MessageConverter messageConverter;
 
+    private SimpleMeterRegistry meterRegistry;
+
     @Mock
     private AmqpMessageDispatcherService amqpMessageDispatcherServiceMock;
 
@@ -162,8 +165,10 @@ public class AmqpMessageHandlerServiceTest {
         final SecurityContextTenantAware tenantAware = new SecurityContextTenantAware(authoritiesResolver);
         final SystemSecurityContext systemSecurityContext = new SystemSecurityContext(tenantAware);
 
+        meterRegistry = new SimpleMeterRegistry();
         amqpMessageHandlerService = new AmqpMessageHandlerService(rabbitTemplate, amqpMessageDispatcherServiceMock,
-                controllerManagementMock, entityFactoryMock, systemSecurityContext, tenantConfigurationManagement);
+                controllerManagementMock, entityFactoryMock, systemSecurityContext, tenantConfigurationManagement,
+                meterRegistry);
         amqpAuthenticationMessageHandlerService = new AmqpAuthenticationMessageHandler(rabbitTemplate,
                 authenticationManagerMock, artifactManagementMock, downloadIdCache, hostnameResolverMock,
                 controllerManagementMock, tenantAwareMock);
@@ -601,6 +606,25 @@ public class AmqpMessageHandlerServiceTest {
                         VIRTUAL_HOST));
     }
 
+    @Test
+    @Description("Verifies that the handling of the incoming messages is timed per message type, topic and outcome.")
+    public void messageHandlingIsTimed() {
+        final MessageProperties messageProperties = createMessageProperties(MessageType.THING_REMOVED);
+        messageProperties.setHeader(MessageHeaderKey.THING_ID, "1");
+        amqpMessageHandlerService.onMessage(messageConverter.toMessage(new byte[0], messageProperties),
+                MessageType.THING_REMOVED.name(), TENANT, VIRTUAL_HOST);
+
+        final Message invalidMessage = messageConverter.toMessage(new byte[0],
+                createMessageProperties(MessageType.THING_REMOVED));
+        assertThatExceptionOfType(AmqpRejectAndDontRequeueException.class).isThrownBy(() -> amqpMessageHandlerService
+                .onMessage(invalidMessage, MessageType.THING_REMOVED.name(), TENANT, VIRTUAL_HOST));
+
+        assertThat(meterRegistry.get("hawkbit.dmf.messages").tag("type", MessageType.THING_REMOVED.name())
+                .tag("topic", "none").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("hawkbit.dmf.messages").tag("type", MessageType.THING_REMOVED.name())
+                .tag("topic", "none").tag("outcome", "error").timer().count()).isEqualTo(1);
+    }
+
     private MessageProperties getThingCreatedMessageProperties(String thingId) {
         final MessageProperties messageProperties = createMessageProperties(MessageType.THING_CREATED);
         messageProperties.setHeader(MessageHeaderKey.THING_ID, thingId);
@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.hawkbit.dmf.amqp.api.EventTopic;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageHeaderKey;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageType;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.rabbitmq.client.Channel;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@ExtendWith(MockitoExtension.class)
+@Feature("Component Tests - Device Management Federation API")
+@Story("Batching Amqp Message Handler Service Test")
+public class BatchingAmqpMessageHandlerServiceTest {
+
+    private static final String TENANT = "DEFAULT";
+
+    @Mock
+    private AmqpMessageHandlerService amqpMessageHandlerService;
+
+    @Mock
+    private SystemSecurityContext systemSecurityContext;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Channel channel;
+
+    private final Map<String, List<Long>> handled = new ConcurrentHashMap<>();
+
+    private BatchingAmqpMessageHandlerService handlerService;
+
+    @BeforeEach
+    public void setup() {
+        lenient().when(systemSecurityContext.runAsSystemAsTenant(any(), anyString()))
+                .thenAnswer(invocation -> invocation.<Callable<?>> getArgument(0).call());
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        handlerService = new BatchingAmqpMessageHandlerService(amqpMessageHandlerService, systemSecurityContext,
+                transactionManager, new DelayedRequeueExceptionStrategy(0), 4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        handlerService.destroy();
+    }
+
+    @Test
+    @Description("Verifies that the messages of a device are handled in order and the batch is acknowledged at once.")
+    public void messagesOfDeviceAreHandledInOrder() throws IOException {
+        recordHandledMessages(null, null);
+
+        handlerService.onMessages(Arrays.asList(createUpdate(1, "a"), createUpdate(2, "b"), createUpdate(3, "a"),
+                createPing(4, "a"), createUpdate(5, "b"), createUpdate(6, "a")), channel);
+
+        assertThat(handled.get("a")).containsExactly(1L, 3L, 4L, 6L);
+        assertThat(handled.get("b")).containsExactly(2L, 5L);
+        verify(channel).basicAck(6, true);
+        verify(channel, never()).basicReject(anyLong(), anyBoolean());
+    }
+
+    @Test
+    @Description("Verifies that an invalid message is rejected while the other messages of the shared transaction are handled again and acknowledged.")
+    public void invalidMessageIsRejected() throws IOException {
+        recordHandledMessages(2L, new AmqpRejectAndDontRequeueException("invalid"));
+
+        handlerService.onMessages(Arrays.asList(createUpdate(1, "a"), createUpdate(2, "a"), createUpdate(3, "a")),
+                channel);
+
+        assertThat(handled.get("a")).containsExactly(1L, 1L, 3L);
+        verify(channel).basicReject(2, false);
+        verify(channel).basicAck(3, true);
+    }
+
+    @Test
+    @Description("Verifies that a message that failed temporarily is requeued together with the subsequent messages of the same device.")
+    public void failedMessageIsRequeuedWithSubsequentMessagesOfDevice() throws IOException {
+        recordHandledMessages(2L, new IllegalStateException("temporary"));
+
+        handlerService.onMessages(Arrays.asList(createPing(1, "a"), createPing(2, "a"), createPing(3, "b"),
+                createPing(4, "a")), channel);
+
+        assertThat(handled.get("a")).containsExactly(1L);
+        assertThat(handled.get("b")).containsExactly(3L);
+        verify(channel).basicReject(2, true);
+        verify(channel).basicReject(4, true);
+        verify(channel).basicAck(3, true);
+    }
+
+    private void recordHandledMessages(final Long failingTag, final RuntimeException failure) {
+        doAnswer(invocation -> {
+            final MessageProperties properties = invocation.<Message> getArgument(0).getMessageProperties();
+            if (Long.valueOf(properties.getDeliveryTag()).equals(failingTag)) {
+                throw failure;
+            }
+            handled.computeIfAbsent(properties.getHeader(MessageHeaderKey.THING_ID),
+                    thingId -> new CopyOnWriteArrayList<>()).add(properties.getDeliveryTag());
+            return null;
+        }).when(amqpMessageHandlerService).onMessage(any(Message.class), anyString(), anyString());
+    }
+
+    private static Message createUpdate(final long deliveryTag, final String thingId) {
+        final Message message = createMessage(deliveryTag, thingId, MessageType.EVENT);
+        message.getMessageProperties().setHeader(MessageHeaderKey.TOPIC, EventTopic.UPDATE_ATTRIBUTES.name());
+        return message;
+    }
+
+    private static Message createPing(final long deliveryTag, final String thingId) {
+        return createMessage(deliveryTag, thingId, MessageType.PING);
+    }
+
+    private static Message createMessage(final long deliveryTag, final String thingId, final MessageType type) {
+        final MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setDeliveryTag(deliveryTag);
+        messageProperties.setHeader(MessageHeaderKey.TENANT, TENANT);
+        messageProperties.setHeader(MessageHeaderKey.THING_ID, thingId);
+        messageProperties.setHeader(MessageHeaderKey.TYPE, type.name());
+        return new Message(new byte[0], messageProperties);
+    }
+}
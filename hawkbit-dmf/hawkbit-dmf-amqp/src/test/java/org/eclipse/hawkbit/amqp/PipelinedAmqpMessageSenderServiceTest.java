@@ -0,0 +1,274 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.awaitility.Awaitility;
+import org.eclipse.hawkbit.amqp.AmqpProperties.Sender;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageHeaderKey;
+import org.eclipse.hawkbit.util.IpUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.connection.CorrelationData.Confirm;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitOperations.OperationsCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@ExtendWith(MockitoExtension.class)
+@Feature("Component Tests - Device Management Federation API")
+@Story("Pipelined Amqp Message Sender Service Test")
+public class PipelinedAmqpMessageSenderServiceTest {
+
+    private static final URI AMQP_URI = IpUtil.createAmqpUri("vHost", "exchange");
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    @Mock
+    private RabbitOperations operations;
+
+    private final List<CorrelationData> published = new CopyOnWriteArrayList<>();
+
+    private final Sender properties = new Sender();
+
+    private PipelinedAmqpMessageSenderService senderService;
+
+    @BeforeEach
+    public void setup() {
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(rabbitTemplate.invoke(any()))
+                .thenAnswer(invocation -> invocation.<OperationsCallback<?>> getArgument(0).doInRabbit(operations));
+
+        properties.setMaxInFlight(2);
+        properties.setRetryDelay(10);
+        properties.setSendTimeout(200);
+        properties.setShutdownTimeout(200);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        if (senderService != null) {
+            senderService.destroy();
+        }
+    }
+
+    @Test
+    @Description("Verifies that the messages are published in order and the capacity is released without publisher confirms.")
+    public void messagesArePublishedInOrder() {
+        recordPublishedMessages();
+        senderService = new PipelinedAmqpMessageSenderService(rabbitTemplate, properties);
+
+        for (int i = 0; i < 10; i++) {
+            senderService.sendMessage(createMessage(String.valueOf(i)), AMQP_URI);
+        }
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == 10);
+        assertThat(published.stream().map(CorrelationData::getId).collect(Collectors.toList()))
+                .containsExactly("0", "1", "2", "3", "4", "5", "6", "7", "8", "9");
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> senderService.getAvailableCapacity() == 2);
+    }
+
+    @Test
+    @Description("Verifies that a message that could not be published is published again.")
+    public void failedMessageIsRetried() {
+        final AtomicInteger attempts = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new AmqpConnectException(new IllegalStateException("broker down"));
+            }
+            published.add(invocation.getArgument(3));
+            return null;
+        }).when(operations).send(eq("exchange"), isNull(), any(Message.class), any(CorrelationData.class));
+        senderService = new PipelinedAmqpMessageSenderService(rabbitTemplate, properties);
+
+        senderService.sendMessage(createMessage("retried"), AMQP_URI);
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == 1);
+        assertThat(attempts).hasValue(2);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> senderService.getAvailableCapacity() == 2);
+    }
+
+    @Test
+    @Description("Verifies that a message rejected by the broker is retried up to the configured maximum and the capacity is released afterwards.")
+    public void rejectedMessageIsDroppedAfterMaxRetries() {
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        doAnswer(invocation -> {
+            final CorrelationData correlationData = invocation.getArgument(3);
+            published.add(correlationData);
+            correlationData.getFuture().set(new Confirm(false, "rejected"));
+            return null;
+        }).when(operations).send(eq("exchange"), isNull(), any(Message.class), any(CorrelationData.class));
+        properties.setMaxRetries(2);
+        senderService = new PipelinedAmqpMessageSenderService(rabbitTemplate, properties);
+
+        senderService.sendMessage(createMessage("rejected"), AMQP_URI);
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> senderService.getAvailableCapacity() == 2);
+        assertThat(published).hasSize(3);
+    }
+
+    @Test
+    @Description("Verifies that the sender blocks and eventually fails if the broker does not confirm the messages in flight.")
+    public void sendBlocksIfBrokerDoesNotConfirm() {
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        recordPublishedMessages();
+        senderService = new PipelinedAmqpMessageSenderService(rabbitTemplate, properties);
+
+        senderService.sendMessage(createMessage("1"), AMQP_URI);
+        senderService.sendMessage(createMessage("2"), AMQP_URI);
+        assertThat(senderService.getAvailableCapacity()).isZero();
+
+        assertThatExceptionOfType(AmqpTimeoutException.class)
+                .isThrownBy(() -> senderService.sendMessage(createMessage("3"), AMQP_URI));
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == 2);
+        published.get(0).getFuture().set(new Confirm(true, null));
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> senderService.getAvailableCapacity() == 1);
+        senderService.sendMessage(createMessage("3"), AMQP_URI);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == 3);
+    }
+
+    @Test
+    @Description("Verifies that the subsequent messages of a thing are held back while a failed message of the thing is retried, "
+            + "but the messages of other things are not.")
+    public void retriedMessageIsNotOvertakenByMessagesOfTheSameThing() {
+        final AtomicInteger attempts = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new AmqpConnectException(new IllegalStateException("broker down"));
+            }
+            published.add(invocation.getArgument(3));
+            return null;
+        }).when(operations).send(eq("exchange"), isNull(), any(Message.class), any(CorrelationData.class));
+        properties.setMaxInFlight(3);
+        properties.setRetryDelay(300);
+        senderService = new PipelinedAmqpMessageSenderService(rabbitTemplate, properties);
+
+        senderService.sendMessage(createMessage("install", "thing"), AMQP_URI);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> attempts.get() == 1);
+        senderService.sendMessage(createMessage("cancel", "thing"), AMQP_URI);
+        senderService.sendMessage(createMessage("other", "otherThing"), AMQP_URI);
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == 3);
+        assertThat(published.stream().map(CorrelationData::getId).collect(Collectors.toList()))
+                .containsExactly("other", "install", "cancel");
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> senderService.getAvailableCapacity() == 3);
+    }
+
+    @Test
+    @Description("Verifies that the subsequent messages of a thing are held back until an unconfirmed message of the "
+            + "thing is confirmed, so that it cannot be overtaken if the broker rejects it.")
+    public void unconfirmedMessageIsNotOvertakenByMessagesOfTheSameThing() {
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        recordPublishedMessages();
+        properties.setMaxInFlight(3);
+        senderService = new PipelinedAmqpMessageSenderService(rabbitTemplate, properties);
+
+        senderService.sendMessage(createMessage("install", "thing"), AMQP_URI);
+        senderService.sendMessage(createMessage("cancel", "thing"), AMQP_URI);
+        senderService.sendMessage(createMessage("other", "otherThing"), AMQP_URI);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == 2);
+        published.get(1).getFuture().set(new Confirm(true, null));
+
+        // the rejected message is retried before the subsequent message of
+        // the thing is published
+        published.get(0).getFuture().set(new Confirm(false, "rejected"));
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == 3);
+        published.get(2).getFuture().set(new Confirm(true, null));
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == 4);
+        published.get(3).getFuture().set(new Confirm(true, null));
+
+        assertThat(published.stream().map(CorrelationData::getId).collect(Collectors.toList()))
+                .containsExactly("install", "other", "install", "cancel");
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> senderService.getAvailableCapacity() == 3);
+    }
+
+    @Test
+    @Description("Verifies that the shutdown waits for the retries and the confirmation of the messages in flight.")
+    public void shutdownAwaitsRetriesAndConfirms() throws Exception {
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        final AtomicInteger attempts = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new AmqpConnectException(new IllegalStateException("broker down"));
+            }
+            published.add(invocation.getArgument(3));
+            return null;
+        }).when(operations).send(eq("exchange"), isNull(), any(Message.class), any(CorrelationData.class));
+        properties.setRetryDelay(100);
+        properties.setShutdownTimeout(5_000);
+        senderService = new PipelinedAmqpMessageSenderService(rabbitTemplate, properties);
+
+        senderService.sendMessage(createMessage("retried"), AMQP_URI);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> attempts.get() == 1);
+        final CompletableFuture<Void> shutdown = CompletableFuture.runAsync(() -> {
+            try {
+                senderService.destroy();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == 1);
+        assertThat(shutdown).isNotDone();
+        published.get(0).getFuture().set(new Confirm(true, null));
+
+        shutdown.get(5, TimeUnit.SECONDS);
+        assertThat(senderService.getAvailableCapacity()).isEqualTo(2);
+    }
+
+    private void recordPublishedMessages() {
+        doAnswer(invocation -> published.add(invocation.getArgument(3))).when(operations).send(eq("exchange"),
+                isNull(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private static Message createMessage(final String correlationId) {
+        final MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setCorrelationId(correlationId);
+        return new Message(new byte[0], messageProperties);
+    }
+
+    private static Message createMessage(final String correlationId, final String thingId) {
+        final Message message = createMessage(correlationId);
+        message.getMessageProperties().setHeader(MessageHeaderKey.THING_ID, thingId);
+        return message;
+    }
+}
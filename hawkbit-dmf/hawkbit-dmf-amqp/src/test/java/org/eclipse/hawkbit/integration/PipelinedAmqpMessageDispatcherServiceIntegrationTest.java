@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.integration;
+
+import org.springframework.test.context.TestPropertySource;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Runs the {@link AmqpMessageDispatcherServiceIntegrationTest} against the
+ * pipelined sender.
+ */
+@Feature("Component Tests - Device Management Federation API")
+@Story("Amqp Message Dispatcher Service with pipelined sender")
+@TestPropertySource(properties = { "hawkbit.dmf.rabbitmq.sender.pipelined=true",
+        "hawkbit.dmf.rabbitmq.sender.batch-size=10" })
+public class PipelinedAmqpMessageDispatcherServiceIntegrationTest extends AmqpMessageDispatcherServiceIntegrationTest {
+}
@@ -8,7 +8,7 @@
  */
 package org.eclipse.hawkbit.security;
 
-import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 
@@ -30,7 +30,7 @@ import org.eclipse.hawkbit.tenancy.TenantAware;
  */
 public class HttpControllerPreAuthenticateSecurityTokenFilter extends AbstractHttpControllerAuthenticationFilter {
 
-    private final ControllerManagement controllerManagement;
+    private final TargetSecurityTokenCache targetSecurityTokenCache;
 
     /**
      * Constructor.
@@ -41,23 +41,24 @@ public class HttpControllerPreAuthenticateSecurityTokenFilter extends AbstractHt
      * @param tenantAware
      *            the tenant aware service to get configuration for the specific
      *            tenant
-     * @param controllerManagement
-     *            the controller management to retrieve the specific target
-     *            security token to verify
+     * @param targetSecurityTokenCache
+     *            the cache to retrieve the specific target security token to
+     *            verify
      * @param systemSecurityContext
      *            the system security context
      */
     public HttpControllerPreAuthenticateSecurityTokenFilter(
             final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
-            final ControllerManagement controllerManagement, final SystemSecurityContext systemSecurityContext) {
+            final TargetSecurityTokenCache targetSecurityTokenCache,
+            final SystemSecurityContext systemSecurityContext) {
         super(tenantConfigurationManagement, tenantAware, systemSecurityContext);
-        this.controllerManagement = controllerManagement;
+        this.targetSecurityTokenCache = targetSecurityTokenCache;
     }
 
     @Override
     protected PreAuthenticationFilter createControllerAuthenticationFilter() {
-        return new ControllerPreAuthenticateSecurityTokenFilter(tenantConfigurationManagement, controllerManagement,
-                tenantAware, systemSecurityContext);
+        return new ControllerPreAuthenticateSecurityTokenFilter(tenantConfigurationManagement,
+                targetSecurityTokenCache, tenantAware, systemSecurityContext);
     }
 
 }
@@ -113,6 +113,26 @@ public interface ControllerManagement {
     @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
     ActionStatus addInformationalActionStatus(@NotNull @Valid ActionStatusCreate create);
 
+    /**
+     * Simple addition of a message to an existing {@link ActionStatus} entry.
+     * No state changes.
+     *
+     * @param actionStatusId
+     *            of the {@link ActionStatus} to add the message to
+     * @param message
+     *            to add
+     *
+     * @return updated {@link ActionStatus} entity
+     *
+     * @throws AssignmentQuotaExceededException
+     *             if more than the allowed number of messages per entry are
+     *             inserted
+     * @throws EntityNotFoundException
+     *             if given action status does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    ActionStatus addActionStatusMessage(long actionStatusId, @NotEmpty String message);
+
     /**
      * Adds an {@link ActionStatus} entry for an update {@link Action} including
      * potential state changes for the target and the {@link Action} itself.
@@ -236,6 +256,24 @@ public interface ControllerManagement {
     @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
     Target findOrRegisterTargetIfItDoesNotExist(@NotEmpty String controllerId, @NotNull URI address, String name);
 
+    /**
+     * Registers a poll of an already known target that neither changed its
+     * {@link Target#getAddress()} nor requires an update of its
+     * {@link Target#getUpdateStatus()} without loading it. The
+     * {@link Target#getLastTargetQuery()} is updated with the next flush of
+     * the buffered polls.
+     *
+     * @param controllerId
+     *            reference
+     * @return <code>true</code> if the poll has been registered,
+     *         <code>false</code> if the polls are persisted eagerly or the
+     *         buffer is saturated and the caller has to use
+     *         {@link #findOrRegisterTargetIfItDoesNotExist(String, URI)}
+     *         instead
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    boolean registerUnchangedPoll(@NotEmpty String controllerId);
+
     /**
      * Retrieves last {@link Action} for a download of an artifact of given
      * module and target if exists and is not canceled.
@@ -13,6 +13,8 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotEmpty;
@@ -304,6 +306,31 @@ public interface DeploymentManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Slice<Action> findActionsByTarget(@NotEmpty String controllerId, @NotNull Pageable pageable);
 
+    /**
+     * Passes all {@link Action}s of the given {@link Target} that match the
+     * given RSQL query to the consumer in the order of their ID. The actions
+     * are read in batches, each in a transaction of its own, and released once
+     * consumed, so the memory consumption does not depend on the length of the
+     * action history.
+     *
+     * @param rsqlParam
+     *            rsql query string or <code>null</code> for all actions
+     * @param controllerId
+     *            the target which must be assigned to the actions
+     * @param consumer
+     *            called for each action
+     *
+     * @throws EntityNotFoundException
+     *             if target with given ID does not exist
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is used but not provided by the
+     *             given {@code fieldNameProvider}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    void forEachActionByTarget(String rsqlParam, @NotEmpty String controllerId, @NotNull Consumer<Action> consumer);
+
     /**
      * Retrieves all the {@link ActionStatus} entries of the given
      * {@link Action} and {@link Target}.
@@ -320,6 +347,40 @@ public interface DeploymentManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Page<ActionStatus> findActionStatusByAction(@NotNull Pageable pageReq, long actionId);
 
+    /**
+     * Retrieves the {@link ActionStatus} entries of the given {@link Action}
+     * without counting them, see {@link KeysetPageRequest} for iterating over
+     * all entries.
+     *
+     * @param pageReq
+     *            pagination parameter
+     * @param actionId
+     *            to be filtered on
+     * @return the corresponding {@link Slice} of {@link ActionStatus}
+     * 
+     * @throws EntityNotFoundException
+     *             if action with given ID does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Slice<ActionStatus> findActionStatusByActionWithoutCount(@NotNull Pageable pageReq, long actionId);
+
+    /**
+     * Passes all {@link ActionStatus} entries of the given {@link Action}
+     * together with their messages to the consumer in the order of their ID.
+     * The entries and their messages are read in batches, each in a
+     * transaction of its own, and released once consumed.
+     *
+     * @param actionId
+     *            to be filtered on
+     * @param consumer
+     *            called for each entry and its messages
+     *
+     * @throws EntityNotFoundException
+     *             if action with given ID does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    void forEachActionStatusByAction(long actionId, @NotNull BiConsumer<ActionStatus, List<String>> consumer);
+
     /**
      * Retrieves all messages for an {@link ActionStatus}.
      *
@@ -516,4 +577,17 @@ public interface DeploymentManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     boolean hasPendingCancellations(@NotEmpty String controllerId);
 
+    /**
+     * Retrieves the subset of the given controller IDs with an action in the
+     * {@link Action.Status#CANCELING} state, i.e. the bulk variant of
+     * {@link #hasPendingCancellations(String)}.
+     *
+     * @param controllerIds
+     *            of the targets to check
+     * @return the controller IDs of the targets with actions in CANCELING
+     *         state
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Set<String> findControllerIdsWithPendingCancellations(@NotNull Collection<String> controllerIds);
+
 }
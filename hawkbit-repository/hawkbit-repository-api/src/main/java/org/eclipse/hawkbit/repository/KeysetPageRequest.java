@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+
+/**
+ * A {@link PageRequest} that seeks to the entries after a given key instead of
+ * skipping an offset (keyset pagination). The key consists of the values of
+ * the sort properties of the last entry of the previous {@link Slice}. The
+ * entity ID is always appended as last sort property so that the key is
+ * unique. As no offset has to be skipped and no total count has to be
+ * calculated every slice is read with the same effort, which allows to iterate
+ * over large result sets in linear time.
+ *
+ * The {@link Slice#nextPageable()} of a slice that has been read with a
+ * {@link KeysetPageRequest} is again a {@link KeysetPageRequest} that seeks to
+ * the entries after the last entry of the slice.
+ */
+public final class KeysetPageRequest extends PageRequest {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String ID_PROPERTY = "id";
+
+    private final List<Object> after;
+    private final List<Object> last;
+
+    /**
+     * Creates a request for the first slice.
+     *
+     * @param limit
+     *            the maximum number of entries of the slice
+     * @param sort
+     *            the sort properties, the entity ID is appended if not
+     *            contained yet
+     */
+    public KeysetPageRequest(final int limit, final Sort sort) {
+        this(limit, sort, Collections.emptyList());
+    }
+
+    /**
+     * Creates a request for the slice after the given key.
+     *
+     * @param limit
+     *            the maximum number of entries of the slice
+     * @param sort
+     *            the sort properties, the entity ID is appended if not
+     *            contained yet
+     * @param after
+     *            the values of the sort properties of the last entry of the
+     *            previous slice or empty for the first slice. Reading the
+     *            slice fails with a
+     *            {@link org.eclipse.hawkbit.repository.exception.PagingCursorInvalidException}
+     *            if a value cannot be converted to the type of its property.
+     */
+    public KeysetPageRequest(final int limit, final Sort sort, final List<?> after) {
+        this(limit, withId(sort), after, null);
+    }
+
+    private KeysetPageRequest(final int limit, final Sort sort, final List<?> after, final List<?> last) {
+        super(0, limit, sort);
+        if (!after.isEmpty() && after.size() != sort.stream().count()) {
+            throw new IllegalArgumentException("Key does not match the sort properties");
+        }
+        this.after = Collections.unmodifiableList(new ArrayList<>(after));
+        this.last = last == null ? null : Collections.unmodifiableList(new ArrayList<>(last));
+    }
+
+    private static Sort withId(final Sort sort) {
+        if (sort.getOrderFor(ID_PROPERTY) != null) {
+            return sort;
+        }
+        return sort.and(Sort.by(Direction.ASC, ID_PROPERTY));
+    }
+
+    /**
+     * @return the values of the sort properties the slice starts after, in the
+     *         order of {@link #getSort()}, or empty for the first slice
+     */
+    public List<Object> getAfter() {
+        return after;
+    }
+
+    /**
+     * Attaches the key of the last entry of the slice read with this request
+     * so that {@link #next()} can seek to the subsequent slice.
+     *
+     * @param lastKey
+     *            the values of the sort properties of the last entry of the
+     *            slice
+     * @return a copy of this request that knows its successor
+     */
+    public KeysetPageRequest withLast(final List<?> lastKey) {
+        return new KeysetPageRequest(getPageSize(), getSort(), after, lastKey);
+    }
+
+    @Override
+    public long getOffset() {
+        return 0;
+    }
+
+    @Override
+    public KeysetPageRequest next() {
+        if (last == null) {
+            throw new IllegalStateException("The key of the last entry of the slice is not known");
+        }
+        return new KeysetPageRequest(getPageSize(), getSort(), last, null);
+    }
+
+    @Override
+    public KeysetPageRequest first() {
+        return new KeysetPageRequest(getPageSize(), getSort());
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return false;
+    }
+
+    @Override
+    public KeysetPageRequest previousOrFirst() {
+        return first();
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetPageRequest [after=" + after + ", getPageSize()=" + getPageSize() + ", getSort()=" + getSort()
+                + "]";
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + after.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!super.equals(obj)) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final KeysetPageRequest other = (KeysetPageRequest) obj;
+        return Objects.equals(after, other.after);
+    }
+}
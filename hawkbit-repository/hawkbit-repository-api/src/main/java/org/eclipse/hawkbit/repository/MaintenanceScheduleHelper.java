@@ -13,7 +13,13 @@ import java.time.LocalTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.hawkbit.repository.exception.InvalidMaintenanceScheduleException;
 import org.springframework.util.StringUtils;
@@ -29,12 +35,23 @@ import com.cronutils.parser.CronParser;
  * scheduling of maintenance window using a cron expression based scheduler. It
  * also provides a helper method for conversion of duration specified in
  * HH:mm:ss format to ISO format.
+ *
+ * The schedules are compiled once per combination of cron expression,
+ * duration and time zone. A compiled schedule keeps the next window starts
+ * precomputed, so that checking the maintenance window of the many actions
+ * that share a schedule does not evaluate the cron expression every time.
  */
 public final class MaintenanceScheduleHelper {
 
     private static final CronParser cronParser = new CronParser(
             CronDefinitionBuilder.instanceDefinitionFor(CronType.QUARTZ));
 
+    private static final int MAX_COMPILED_SCHEDULES = 1000;
+
+    private static final int PRECOMPUTED_WINDOWS = 8;
+
+    private static final Map<List<String>, CompiledSchedule> compiledSchedules = new ConcurrentHashMap<>();
+
     private MaintenanceScheduleHelper() {
         throw new IllegalStateException("Utility class");
     }
@@ -66,15 +83,28 @@ public final class MaintenanceScheduleHelper {
     public static Optional<ZonedDateTime> getNextMaintenanceWindow(final String cronSchedule, final String duration,
             final String timezone) {
         try {
-            final ExecutionTime scheduleExecutor = ExecutionTime.forCron(getCronFromExpression(cronSchedule));
-            final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.of(timezone));
-            final ZonedDateTime after = now.minus(convertToISODuration(duration));
-            return scheduleExecutor.nextExecution(after);
+            return getCompiledSchedule(cronSchedule, duration, timezone).getNextWindow();
         } catch (final RuntimeException ignored) {
             return Optional.empty();
         }
     }
 
+    private static CompiledSchedule getCompiledSchedule(final String cronSchedule, final String duration,
+            final String timezone) {
+        final List<String> key = Arrays.asList(cronSchedule, duration, timezone);
+        final CompiledSchedule compiled = compiledSchedules.get(key);
+        if (compiled != null) {
+            return compiled;
+        }
+
+        if (compiledSchedules.size() >= MAX_COMPILED_SCHEDULES) {
+            compiledSchedules.clear();
+        }
+        return compiledSchedules.computeIfAbsent(key,
+                k -> new CompiledSchedule(ExecutionTime.forCron(getCronFromExpression(cronSchedule)),
+                        convertToISODuration(duration), ZoneOffset.of(timezone)));
+    }
+
     /**
      * Parse the given cron expression with quartz parser.
      *
@@ -204,4 +234,65 @@ public final class MaintenanceScheduleHelper {
             throw new InvalidMaintenanceScheduleException(e.getMessage(), e);
         }
     }
+
+    /**
+     * Parsed maintenance schedule with the precomputed upcoming window starts.
+     * The starts are replaced once they do not cover the current time anymore.
+     */
+    private static final class CompiledSchedule {
+        private final ExecutionTime executionTime;
+        private final Duration duration;
+        private final ZoneOffset zone;
+        private volatile Windows windows;
+
+        private CompiledSchedule(final ExecutionTime executionTime, final Duration duration, final ZoneOffset zone) {
+            this.executionTime = executionTime;
+            this.duration = duration;
+            this.zone = zone;
+        }
+
+        private Optional<ZonedDateTime> getNextWindow() {
+            // a window that started within the duration is still active
+            final ZonedDateTime after = ZonedDateTime.now(zone).minus(duration);
+
+            Windows current = windows;
+            if (current == null || !current.covers(after)) {
+                current = new Windows(executionTime, after);
+                windows = current;
+            }
+            return current.getNext(after);
+        }
+    }
+
+    /**
+     * Consecutive window starts after a point in time.
+     */
+    private static final class Windows {
+        private final ZonedDateTime from;
+        private final List<ZonedDateTime> starts;
+
+        private Windows(final ExecutionTime executionTime, final ZonedDateTime from) {
+            this.from = from;
+
+            final List<ZonedDateTime> next = new ArrayList<>(PRECOMPUTED_WINDOWS);
+            Optional<ZonedDateTime> start = executionTime.nextExecution(from);
+            while (start.isPresent() && next.size() < PRECOMPUTED_WINDOWS) {
+                next.add(start.get());
+                start = executionTime.nextExecution(start.get());
+            }
+            this.starts = Collections.unmodifiableList(next);
+        }
+
+        private boolean covers(final ZonedDateTime after) {
+            if (after.isBefore(from)) {
+                return false;
+            }
+            // less starts than requested means that there are no further ones
+            return starts.size() < PRECOMPUTED_WINDOWS || after.isBefore(starts.get(starts.size() - 1));
+        }
+
+        private Optional<ZonedDateTime> getNext(final ZonedDateTime after) {
+            return starts.stream().filter(start -> start.isAfter(after)).findFirst();
+        }
+    }
 }
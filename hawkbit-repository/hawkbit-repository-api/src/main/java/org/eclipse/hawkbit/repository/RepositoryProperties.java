@@ -40,10 +40,23 @@ public class RepositoryProperties {
     private boolean publishTargetPollEvent = true;
 
     /**
-     * Maximum number of poll operations queued before flush.
+     * Maximum number of distinct targets with a buffered poll before flush.
+     * Repeated polls of an already buffered target do not count against this
+     * limit.
      */
     private int pollPersistenceQueueSize = 10_000;
 
+    /**
+     * Number of threads that flush the buffered polls of different tenants in
+     * parallel.
+     */
+    private int pollPersistenceFlushThreads = 4;
+
+    /**
+     * Number of lock stripes per tenant for buffering polls.
+     */
+    private int pollPersistenceLockStripes = 16;
+
     /**
      * Maximum time before queue is flushed in {@link TimeUnit#MILLISECONDS}.
      */
@@ -59,6 +72,51 @@ public class RepositoryProperties {
      */
     private int actionWeightIfAbsent = 1000;
 
+    /**
+     * Set to <code>true</code> to partition the scheduled background work
+     * among the live members of the cluster instead of letting every node run
+     * it for all tenants.
+     */
+    private boolean clusterPartitioningEnabled;
+
+    /**
+     * Interval of the cluster member lease renewal in
+     * {@link TimeUnit#MILLISECONDS}.
+     */
+    private long clusterHeartbeatInterval = TimeUnit.SECONDS.toMillis(10);
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} after which a cluster member that
+     * did not renew its lease is considered dead and its partitions are taken
+     * over by the remaining members.
+     */
+    private long clusterLeaseDuration = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * Number of virtual nodes per cluster member on the consistent hash ring.
+     */
+    private int clusterVirtualNodes = 64;
+
+    /**
+     * Number of rollouts of a tenant that are executed in parallel.
+     */
+    private int rolloutExecutionThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} a rollout is executed at most per
+     * run of the rollout handler. Long running phases like filling the groups
+     * with targets or creating the actions are continued with the next run.
+     */
+    private long rolloutExecutionTimeSlice = TimeUnit.SECONDS.toMillis(10);
+
+    /**
+     * Interval in {@link TimeUnit#MILLISECONDS} in which the auto assignments
+     * of a tenant are checked against all targets. In between only the created
+     * and updated targets are checked. Set to 0 to check all targets on every
+     * run.
+     */
+    private long autoAssignReconciliationInterval = TimeUnit.MINUTES.toMillis(10);
+
     public boolean isEagerPollPersistence() {
         return eagerPollPersistence;
     }
@@ -83,6 +141,22 @@ public class RepositoryProperties {
         this.pollPersistenceQueueSize = pollPersistenceQueueSize;
     }
 
+    public int getPollPersistenceFlushThreads() {
+        return pollPersistenceFlushThreads;
+    }
+
+    public void setPollPersistenceFlushThreads(final int pollPersistenceFlushThreads) {
+        this.pollPersistenceFlushThreads = pollPersistenceFlushThreads;
+    }
+
+    public int getPollPersistenceLockStripes() {
+        return pollPersistenceLockStripes;
+    }
+
+    public void setPollPersistenceLockStripes(final int pollPersistenceLockStripes) {
+        this.pollPersistenceLockStripes = pollPersistenceLockStripes;
+    }
+
     public boolean isRejectActionStatusForClosedAction() {
         return rejectActionStatusForClosedAction;
     }
@@ -107,4 +181,59 @@ public class RepositoryProperties {
         this.actionWeightIfAbsent = actionWeightIfAbsent;
     }
 
+    public boolean isClusterPartitioningEnabled() {
+        return clusterPartitioningEnabled;
+    }
+
+    public void setClusterPartitioningEnabled(final boolean clusterPartitioningEnabled) {
+        this.clusterPartitioningEnabled = clusterPartitioningEnabled;
+    }
+
+    public long getClusterHeartbeatInterval() {
+        return clusterHeartbeatInterval;
+    }
+
+    public void setClusterHeartbeatInterval(final long clusterHeartbeatInterval) {
+        this.clusterHeartbeatInterval = clusterHeartbeatInterval;
+    }
+
+    public long getClusterLeaseDuration() {
+        return clusterLeaseDuration;
+    }
+
+    public void setClusterLeaseDuration(final long clusterLeaseDuration) {
+        this.clusterLeaseDuration = clusterLeaseDuration;
+    }
+
+    public int getClusterVirtualNodes() {
+        return clusterVirtualNodes;
+    }
+
+    public void setClusterVirtualNodes(final int clusterVirtualNodes) {
+        this.clusterVirtualNodes = clusterVirtualNodes;
+    }
+
+    public int getRolloutExecutionThreads() {
+        return rolloutExecutionThreads;
+    }
+
+    public void setRolloutExecutionThreads(final int rolloutExecutionThreads) {
+        this.rolloutExecutionThreads = rolloutExecutionThreads;
+    }
+
+    public long getRolloutExecutionTimeSlice() {
+        return rolloutExecutionTimeSlice;
+    }
+
+    public void setRolloutExecutionTimeSlice(final long rolloutExecutionTimeSlice) {
+        this.rolloutExecutionTimeSlice = rolloutExecutionTimeSlice;
+    }
+
+    public long getAutoAssignReconciliationInterval() {
+        return autoAssignReconciliationInterval;
+    }
+
+    public void setAutoAssignReconciliationInterval(final long autoAssignReconciliationInterval) {
+        this.autoAssignReconciliationInterval = autoAssignReconciliationInterval;
+    }
 }
@@ -236,6 +236,42 @@ public interface RolloutManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_ROLLOUT_MANAGEMENT_READ)
     Page<Rollout> findByRsql(@NotNull Pageable pageable, @NotNull String rsqlParam, boolean deleted);
 
+    /**
+     * Retrieves all rollouts without counting them, see
+     * {@link KeysetPageRequest} for iterating over all rollouts.
+     *
+     * @param pageable
+     *            the page request to sort and limit the result
+     * @param deleted
+     *            flag if deleted rollouts should be included
+     * @return a slice of found rollouts
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_ROLLOUT_MANAGEMENT_READ)
+    Slice<Rollout> findAllWithoutCount(@NotNull Pageable pageable, boolean deleted);
+
+    /**
+     * Retrieves all rollouts found by the given specification without
+     * counting them, see {@link KeysetPageRequest} for iterating over all
+     * rollouts.
+     * 
+     * @param pageable
+     *            the page request to sort and limit the result
+     * @param rsqlParam
+     *            the specification to filter rollouts
+     * @param deleted
+     *            flag if deleted rollouts should be included
+     *
+     * @return a slice of found rollouts
+     * 
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is used but not provided by the
+     *             given {@code fieldNameProvider}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_ROLLOUT_MANAGEMENT_READ)
+    Slice<Rollout> findByRsqlWithoutCount(@NotNull Pageable pageable, @NotNull String rsqlParam, boolean deleted);
+
     /**
      * Finds rollouts by given text in name or description.
      *
@@ -12,6 +12,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import javax.validation.ConstraintViolationException;
 import javax.validation.Valid;
@@ -250,6 +251,28 @@ public interface TargetManagement {
     Page<Target> findByTargetFilterQueryAndNonDS(@NotNull Pageable pageRequest, long distributionSetId,
             @NotNull String rsqlParam);
 
+    /**
+     * Finds the targets of the given IDs that match the {@link TargetFilterQuery}
+     * and that don't have the specified distribution set in their action
+     * history.
+     *
+     * @param pageRequest
+     *            the pageRequest to enhance the query for paging and sorting
+     * @param distributionSetId
+     *            id of the {@link DistributionSet}
+     * @param rsqlParam
+     *            filter definition in RSQL syntax
+     * @param targetIds
+     *            the IDs of the targets to check
+     * @return a page of the found {@link Target}s
+     * 
+     * @throws EntityNotFoundException
+     *             if distribution set with given ID does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Page<Target> findByTargetFilterQueryAndNonDS(@NotNull Pageable pageRequest, long distributionSetId,
+            @NotNull String rsqlParam, @NotEmpty Collection<Long> targetIds);
+
     /**
      * Counts all targets for all the given parameter {@link TargetFilterQuery}
      * and that don't have the specified distribution set in their action
@@ -476,6 +499,47 @@ public interface TargetManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Page<Target> findByRsql(@NotNull Pageable pageable, @NotNull String rsqlParam);
 
+    /**
+     * Retrieves all targets without counting them, see
+     * {@link KeysetPageRequest} for iterating over all targets.
+     * 
+     * @param pageable
+     *            pagination parameter
+     * @param rsqlParam
+     *            in RSQL notation
+     *
+     * @return the found {@link Target}s, never {@code null}
+     * 
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is used but not provided by the
+     *             given {@code fieldNameProvider}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Slice<Target> findByRsqlWithoutCount(@NotNull Pageable pageable, @NotNull String rsqlParam);
+
+    /**
+     * Passes all targets matching the given RSQL query to the consumer in the
+     * order of their ID. Each batch of targets is read in a transaction of its
+     * own and released once consumed, so neither a transaction is held open
+     * nor the memory consumption depends on the number of targets, e.g. for
+     * exporting the whole fleet.
+     *
+     * @param rsqlParam
+     *            in RSQL notation or <code>null</code> for all targets
+     * @param consumer
+     *            called for each target
+     *
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is used but not provided by the
+     *             given {@code fieldNameProvider}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    void forEachByRsql(String rsqlParam, @NotNull Consumer<Target> consumer);
+
     /**
      * Retrieves all target based on {@link TargetFilterQuery}.
      * 
@@ -22,4 +22,14 @@ public interface AutoAssignExecutor {
      */
     void check();
 
+    /**
+     * Checks the target filter queries with an auto assign distribution set
+     * only against the targets that have been created or updated since the
+     * last check and triggers the assignment to the matching targets. By
+     * default all targets are checked by {@link #check()}.
+     */
+    default void checkChangedTargets() {
+        check();
+    }
+
 }
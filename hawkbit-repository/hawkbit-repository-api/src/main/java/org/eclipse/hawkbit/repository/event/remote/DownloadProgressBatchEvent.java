@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event.remote;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.hawkbit.repository.model.ActionStatus;
+
+/**
+ * TenantAwareEvent that contains the download progress of all downloads of a
+ * tenant that shipped bytes on the publishing node since its last batch. The
+ * progress is keyed by the ID of the {@link ActionStatus} that was written for
+ * the download request.
+ */
+public class DownloadProgressBatchEvent extends RemoteTenantAwareEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<Long, Long> shippedBytesSinceLast = new HashMap<>();
+
+    /**
+     * Default constructor.
+     */
+    public DownloadProgressBatchEvent() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tenant
+     *            the tenant
+     * @param applicationId
+     *            the application id
+     * @param shippedBytesSinceLast
+     *            shipped bytes since the last batch per {@link ActionStatus}
+     *            ID
+     */
+    public DownloadProgressBatchEvent(final String tenant, final String applicationId,
+            final Map<Long, Long> shippedBytesSinceLast) {
+        super(applicationId, tenant, applicationId);
+        this.shippedBytesSinceLast.putAll(shippedBytesSinceLast);
+    }
+
+    /**
+     * @return shipped bytes since the last batch per {@link ActionStatus} ID
+     */
+    public Map<Long, Long> getShippedBytesSinceLast() {
+        return shippedBytesSinceLast;
+    }
+}
@@ -14,7 +14,11 @@ import org.eclipse.hawkbit.repository.model.ActionStatus;
  * TenantAwareEvent that contains an updated download progress for a given
  * ActionStatus that was written for a download request.
  *
+ * @deprecated download progress is published in batches by
+ *             {@link DownloadProgressBatchEvent}. Kept to stay compatible with
+ *             nodes that still publish this event.
  */
+@Deprecated
 public class DownloadProgressEvent extends RemoteTenantAwareEvent {
 
     private static final long serialVersionUID = 1L;
@@ -12,6 +12,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.time.Duration;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
 import org.eclipse.hawkbit.repository.exception.InvalidMaintenanceScheduleException;
@@ -93,4 +94,21 @@ public class MaintenanceScheduleHelperTest {
                         .isInstanceOf(InvalidMaintenanceScheduleException.class)
                         .hasMessage("No valid maintenance window available after current time");
     }
+
+    @Test
+    @Description("Verifies that repeated calculations of the same schedule return the upcoming window")
+    public void getNextMaintenanceWindowRepeatedly() {
+        final String cronSchedule = "0 0/5 * ? * *"; // every five minutes
+        final String duration = "00:01";
+        final String timezone = "+00:00";
+
+        for (int i = 0; i < 3; i++) {
+            final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+            final ZonedDateTime start = MaintenanceScheduleHelper
+                    .getNextMaintenanceWindow(cronSchedule, duration, timezone).get();
+            assertThat(start.getMinute() % 5).isZero();
+            assertThat(start.getSecond()).isZero();
+            assertThat(start).isAfter(now.minusMinutes(1).minusSeconds(1)).isBefore(now.plusMinutes(5));
+        }
+    }
 }
@@ -16,6 +16,7 @@ import java.util.Optional;
 import org.eclipse.hawkbit.repository.event.remote.DistributionSetDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.DistributionSetTagDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.DistributionSetTypeDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressBatchEvent;
 import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
 import org.eclipse.hawkbit.repository.event.remote.MultiActionAssignEvent;
 import org.eclipse.hawkbit.repository.event.remote.MultiActionCancelEvent;
@@ -146,6 +147,9 @@ public class EventType {
         TYPES.put(40, TenantConfigurationCreatedEvent.class);
         TYPES.put(41, TenantConfigurationUpdatedEvent.class);
         TYPES.put(42, TenantConfigurationDeletedEvent.class);
+
+        // download
+        TYPES.put(43, DownloadProgressBatchEvent.class);
     }
 
     private int value;
@@ -0,0 +1,289 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hawkbit.cache.TenancyCacheManager;
+import org.eclipse.hawkbit.cache.TenantAwareCacheManager;
+import org.eclipse.hawkbit.repository.event.remote.MultiActionEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteIdEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteTenantAwareEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.AbstractActionEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.CancelTargetAssignmentEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TenantConfigurationCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TenantConfigurationUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.event.EventListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Node local cache of a change version per {@link Target}. The version changes
+ * whenever the state a target sees on its poll might have changed, i.e. on
+ * assignments, cancellations, action and target updates, attribute requests
+ * and on tenant configuration changes. The cache is kept coherent through the
+ * remote events which reach every node of the cluster.
+ *
+ * Additionally a tag, e.g. the ETag of the last poll response, can be stored
+ * for a version. It is only handed out as long as the version is unchanged,
+ * which allows to answer repeated polls without any database access.
+ *
+ * Note: all methods have to be called in the context of the tenant of the
+ * target.
+ */
+public class TargetChangeVersionCache {
+    private static final String CACHE_ID_NAME = "TargetChangeVersionId";
+    private static final String CACHE_VERSION_NAME = "TargetChangeVersion";
+    private static final String CACHE_TENANT_VERSION_NAME = "TargetChangeVersionTenant";
+    private static final String CACHE_TAG_NAME = "TargetChangeVersionTag";
+    private static final String TENANT_VERSION_KEY = "tenant";
+    private static final long DEFAULT_SIZE = 100_000;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final TenancyCacheManager cacheManager;
+    private final TenantAware tenantAware;
+
+    /**
+     * @param tenantAware
+     *            to get current tenant
+     * @param size
+     *            the maximum size of the cache
+     */
+    public TargetChangeVersionCache(final TenantAware tenantAware, final long size) {
+        this.tenantAware = tenantAware;
+
+        final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder().maximumSize(size);
+        final CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(cacheBuilder);
+
+        this.cacheManager = new TenantAwareCacheManager(caffeineCacheManager, tenantAware);
+    }
+
+    /**
+     * @param tenantAware
+     *            to get current tenant
+     */
+    public TargetChangeVersionCache(final TenantAware tenantAware) {
+        this(tenantAware, DEFAULT_SIZE);
+    }
+
+    /**
+     * Retrieves the current change version of the target with given
+     * controller ID. The version has to be retrieved before the state of the
+     * target is read so that a concurrent change is not missed.
+     *
+     * @param controllerId
+     *            of the target
+     * @return the current version or empty if the target is not known to the
+     *         cache yet, see {@link #register(String, long)}
+     */
+    public Optional<Version> getVersion(final String controllerId) {
+        final Long targetId = cacheManager.getCache(CACHE_ID_NAME).get(controllerId, Long.class);
+        if (targetId == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(currentVersion(targetId));
+    }
+
+    /**
+     * Makes the target known to the cache.
+     *
+     * @param controllerId
+     *            of the target
+     * @param targetId
+     *            of the target
+     */
+    public void register(final String controllerId, final long targetId) {
+        cacheManager.getCache(CACHE_ID_NAME).put(controllerId, targetId);
+    }
+
+    /**
+     * Stores a tag for the given version. The tag is discarded if the version
+     * is already outdated.
+     *
+     * @param version
+     *            the tag belongs to as retrieved by {@link #getVersion(String)}
+     * @param variant
+     *            of the tag, e.g. request attributes the tag depends on
+     * @param tag
+     *            to store
+     */
+    public void putTag(final Version version, final String variant, final String tag) {
+        if (version.equals(currentVersion(version.getTargetId()))) {
+            cacheManager.getCache(CACHE_TAG_NAME).put(version.getTargetId(), new VersionTag(version, variant, tag));
+        }
+    }
+
+    /**
+     * Retrieves the tag of the target with given controller ID.
+     *
+     * @param controllerId
+     *            of the target
+     * @param variant
+     *            the tag has been stored for
+     * @return the tag or empty if no tag has been stored for the variant or
+     *         the version has changed since
+     */
+    public Optional<String> getTag(final String controllerId, final String variant) {
+        final Long targetId = cacheManager.getCache(CACHE_ID_NAME).get(controllerId, Long.class);
+        if (targetId == null) {
+            return Optional.empty();
+        }
+
+        final VersionTag tag = cacheManager.getCache(CACHE_TAG_NAME).get(targetId, VersionTag.class);
+        if (tag == null || !Objects.equals(variant, tag.variant) || !tag.version.equals(currentVersion(targetId))) {
+            return Optional.empty();
+        }
+
+        return Optional.of(tag.tag);
+    }
+
+    private Version currentVersion(final long targetId) {
+        final Long targetVersion = cacheManager.getCache(CACHE_VERSION_NAME).get(targetId,
+                sequence::incrementAndGet);
+        final Long tenantVersion = cacheManager.getCache(CACHE_TENANT_VERSION_NAME)
+                .get(TENANT_VERSION_KEY, sequence::incrementAndGet);
+
+        return new Version(targetId, targetVersion, tenantVersion);
+    }
+
+    @EventListener(classes = { ActionCreatedEvent.class, ActionUpdatedEvent.class })
+    void changeOnAction(final AbstractActionEvent event) {
+        if (event.getTargetId() != null) {
+            change(event, event.getTargetId());
+        }
+    }
+
+    @EventListener(classes = { TargetUpdatedEvent.class, CancelTargetAssignmentEvent.class,
+            TargetAttributesRequestedEvent.class })
+    void changeOnTarget(final RemoteIdEvent event) {
+        change(event, event.getEntityId());
+    }
+
+    @EventListener(classes = TargetDeletedEvent.class)
+    void changeOnTargetDelete(final TargetDeletedEvent event) {
+        change(event, event.getEntityId());
+
+        if (event.getControllerId() != null) {
+            getCache(event, CACHE_ID_NAME).evict(event.getControllerId());
+        }
+    }
+
+    @EventListener(classes = TargetAssignDistributionSetEvent.class)
+    void changeOnAssignment(final TargetAssignDistributionSetEvent event) {
+        changeByControllerIds(event, event.getActions().keySet());
+    }
+
+    @EventListener(classes = MultiActionEvent.class)
+    void changeOnMultiAction(final MultiActionEvent event) {
+        changeByControllerIds(event, event.getControllerIds());
+    }
+
+    @EventListener(classes = { TenantConfigurationCreatedEvent.class, TenantConfigurationUpdatedEvent.class,
+            TenantConfigurationDeletedEvent.class })
+    void changeOnTenantConfiguration(final RemoteTenantAwareEvent event) {
+        getCache(event, CACHE_TENANT_VERSION_NAME).evict(TENANT_VERSION_KEY);
+    }
+
+    private void changeByControllerIds(final RemoteTenantAwareEvent event, final Collection<String> controllerIds) {
+        final Cache idCache = getCache(event, CACHE_ID_NAME);
+        controllerIds.forEach(controllerId -> {
+            final Long targetId = idCache.get(controllerId, Long.class);
+            if (targetId != null) {
+                change(event, targetId);
+            }
+        });
+    }
+
+    private void change(final RemoteTenantAwareEvent event, final long targetId) {
+        getCache(event, CACHE_VERSION_NAME).evict(targetId);
+        getCache(event, CACHE_TAG_NAME).evict(targetId);
+    }
+
+    private Cache getCache(final RemoteTenantAwareEvent event, final String name) {
+        return tenantAware.runAsTenant(event.getTenant(), () -> cacheManager.getCache(name));
+    }
+
+    /**
+     * Evicts all caches for a given tenant. All caches under a certain tenant
+     * gets evicted.
+     *
+     * @param tenant
+     *            the tenant to evict caches
+     */
+    public void evictCaches(final String tenant) {
+        cacheManager.evictCaches(tenant);
+    }
+
+    /**
+     * Change version of a {@link Target}. Versions are only comparable on the
+     * node they have been retrieved from.
+     */
+    public static final class Version {
+        private final long targetId;
+        private final long targetVersion;
+        private final long tenantVersion;
+
+        private Version(final long targetId, final long targetVersion, final long tenantVersion) {
+            this.targetId = targetId;
+            this.targetVersion = targetVersion;
+            this.tenantVersion = tenantVersion;
+        }
+
+        public long getTargetId() {
+            return targetId;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final Version other = (Version) obj;
+            return targetId == other.targetId && targetVersion == other.targetVersion
+                    && tenantVersion == other.tenantVersion;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(targetId, targetVersion, tenantVersion);
+        }
+    }
+
+    private static final class VersionTag {
+        private final Version version;
+        private final String variant;
+        private final String tag;
+
+        private VersionTag(final Version version, final String variant, final String tag) {
+            this.version = version;
+            this.variant = variant;
+            this.tag = tag;
+        }
+    }
+}
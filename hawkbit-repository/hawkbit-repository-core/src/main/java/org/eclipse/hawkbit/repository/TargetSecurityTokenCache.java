@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.hawkbit.cache.TenancyCacheManager;
+import org.eclipse.hawkbit.cache.TenantAwareCacheManager;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.event.EventListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hashing;
+
+/**
+ * Internal cache for the {@link Target#getSecurityToken()} used by the target
+ * token authentication. Only a hash of the token is kept. The cache is
+ * invalidated by {@link TargetUpdatedEvent}s and {@link TargetDeletedEvent}s
+ * which reach every node of the cluster.
+ *
+ * Note: all methods have to be called in the context of the tenant of the
+ * target with permission to read the {@link Target#getSecurityToken()}.
+ */
+public class TargetSecurityTokenCache {
+    private static final String CACHE_ID_NAME = "TargetSecurityTokenId";
+    private static final String CACHE_TOKEN_NAME = "TargetSecurityToken";
+    private static final long DEFAULT_SIZE = 100_000;
+    private static final long DEFAULT_EXPIRE_AFTER_WRITE = TimeUnit.MINUTES.toMillis(10);
+
+    private final TenancyCacheManager cacheManager;
+    private final TenantAware tenantAware;
+    private final ControllerManagement controllerManagement;
+    private final ConcurrentMap<String, AtomicLong> evictions = new ConcurrentHashMap<>();
+
+    /**
+     * @param controllerManagement
+     *            to load the targets on cache miss
+     * @param tenantAware
+     *            to get current tenant
+     * @param size
+     *            the maximum size of the cache
+     * @param expireAfterWrite
+     *            maximum time in {@link TimeUnit#MILLISECONDS} an entry is
+     *            kept in the cache
+     */
+    public TargetSecurityTokenCache(final ControllerManagement controllerManagement, final TenantAware tenantAware,
+            final long size, final long expireAfterWrite) {
+        this.controllerManagement = controllerManagement;
+        this.tenantAware = tenantAware;
+
+        final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder().maximumSize(size)
+                .expireAfterWrite(expireAfterWrite, TimeUnit.MILLISECONDS);
+        final CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(cacheBuilder);
+
+        this.cacheManager = new TenantAwareCacheManager(caffeineCacheManager, tenantAware);
+    }
+
+    /**
+     * @param controllerManagement
+     *            to load the targets on cache miss
+     * @param tenantAware
+     *            to get current tenant
+     */
+    public TargetSecurityTokenCache(final ControllerManagement controllerManagement, final TenantAware tenantAware) {
+        this(controllerManagement, tenantAware, DEFAULT_SIZE, DEFAULT_EXPIRE_AFTER_WRITE);
+    }
+
+    /**
+     * Retrieves the security token of the target with given controller ID
+     * from the cache or loads it on cache miss.
+     *
+     * @param controllerId
+     *            of the target
+     * @return the cached token or empty if the target does not exist
+     */
+    public Optional<CachedTargetSecurityToken> getByControllerId(final String controllerId) {
+        final Cache idCache = cacheManager.getCache(CACHE_ID_NAME);
+
+        final Long targetId = idCache.get(controllerId, Long.class);
+        if (targetId != null) {
+            final Optional<CachedTargetSecurityToken> cached = getByTargetId(targetId);
+            if (cached.isPresent() && controllerId.equals(cached.get().getControllerId())) {
+                return cached;
+            }
+            idCache.evict(controllerId);
+        }
+
+        return loadIntoCache(() -> controllerManagement.getByControllerId(controllerId));
+    }
+
+    /**
+     * Retrieves the security token of the target with given ID from the cache
+     * or loads it on cache miss.
+     *
+     * @param targetId
+     *            of the target
+     * @return the cached token or empty if the target does not exist
+     */
+    public Optional<CachedTargetSecurityToken> getByTargetId(final long targetId) {
+        final CachedTargetSecurityToken cached = cacheManager.getCache(CACHE_TOKEN_NAME).get(targetId,
+                CachedTargetSecurityToken.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        return loadIntoCache(() -> controllerManagement.get(targetId));
+    }
+
+    /**
+     * Loads the target and caches its token unless a token of the tenant was
+     * evicted in the meantime, i.e. the loaded token may be outdated. The
+     * check is done while the cache computes the entry so that a concurrent
+     * eviction either happens before the check or removes the cached token
+     * afterwards.
+     */
+    private Optional<CachedTargetSecurityToken> loadIntoCache(final Supplier<Optional<Target>> loader) {
+        final AtomicLong tenantEvictions = getEvictions(tenantAware.getCurrentTenant());
+        final long generation = tenantEvictions.get();
+
+        return loader.get().map(target -> {
+            final CachedTargetSecurityToken token = new CachedTargetSecurityToken(target.getControllerId(),
+                    hash(target.getSecurityToken()));
+
+            final Cache cache = cacheManager.getCache(CACHE_TOKEN_NAME);
+            if (cache.get(target.getId(), () -> tenantEvictions.get() == generation ? token : null) == null) {
+                cache.evict(target.getId());
+            }
+            cacheManager.getCache(CACHE_ID_NAME).put(target.getControllerId(), target.getId());
+
+            return token;
+        });
+    }
+
+    @EventListener(classes = TargetUpdatedEvent.class)
+    void invalidateOnTargetUpdate(final TargetUpdatedEvent event) {
+        final Cache cache = tenantAware.runAsTenant(event.getTenant(), () -> cacheManager.getCache(CACHE_TOKEN_NAME));
+        getEvictions(event.getTenant()).incrementAndGet();
+        cache.evict(event.getEntityId());
+    }
+
+    @EventListener(classes = TargetDeletedEvent.class)
+    void invalidateOnTargetDelete(final TargetDeletedEvent event) {
+        final Cache cache = tenantAware.runAsTenant(event.getTenant(), () -> cacheManager.getCache(CACHE_TOKEN_NAME));
+        getEvictions(event.getTenant()).incrementAndGet();
+        cache.evict(event.getEntityId());
+
+        if (event.getControllerId() != null) {
+            final Cache idCache = tenantAware.runAsTenant(event.getTenant(),
+                    () -> cacheManager.getCache(CACHE_ID_NAME));
+            idCache.evict(event.getControllerId());
+        }
+    }
+
+    private AtomicLong getEvictions(final String tenant) {
+        return evictions.computeIfAbsent(tenant.toUpperCase(), key -> new AtomicLong());
+    }
+
+    /**
+     * Evicts all caches for a given tenant. All caches under a certain tenant
+     * gets evicted.
+     *
+     * @param tenant
+     *            the tenant to evict caches
+     */
+    public void evictCaches(final String tenant) {
+        getEvictions(tenant).incrementAndGet();
+        cacheManager.evictCaches(tenant);
+    }
+
+    /**
+     * Hashes a security token in the same way as the cached tokens so that
+     * both can be compared.
+     *
+     * @param securityToken
+     *            to hash
+     * @return the hash or <code>null</code> if the token is <code>null</code>
+     */
+    public static String hash(final String securityToken) {
+        if (securityToken == null) {
+            return null;
+        }
+
+        return Hashing.sha256().hashString(securityToken, StandardCharsets.UTF_8).toString();
+    }
+
+    /**
+     * Cached controller ID and hashed security token of a {@link Target}.
+     */
+    public static final class CachedTargetSecurityToken {
+        private final String controllerId;
+        private final String securityTokenHash;
+
+        private CachedTargetSecurityToken(final String controllerId, final String securityTokenHash) {
+            this.controllerId = controllerId;
+            this.securityTokenHash = securityTokenHash;
+        }
+
+        public String getControllerId() {
+            return controllerId;
+        }
+
+        public String getSecurityTokenHash() {
+            return securityTokenHash;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache.CachedTargetSecurityToken;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.eclipse.hawkbit.tenancy.TenantAware.TenantRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Tests for {@link TargetSecurityTokenCache}.
+ */
+@Feature("Unit Tests - Repository")
+@Story("Target security token cache")
+public class TargetSecurityTokenCacheTest {
+
+    private static final String TENANT = "tenant";
+    private static final String OTHER_TENANT = "other";
+    private static final long TARGET_ID = 1L;
+    private static final String CONTROLLER_ID = "controller";
+
+    private ControllerManagement controllerManagement;
+
+    private String currentTenant = TENANT;
+
+    private TargetSecurityTokenCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        controllerManagement = mock(ControllerManagement.class);
+        final TenantAware tenantAware = mock(TenantAware.class);
+        when(tenantAware.getCurrentTenant()).thenAnswer(invocation -> currentTenant);
+        when(tenantAware.runAsTenant(anyString(), any())).thenAnswer(invocation -> {
+            final String previous = currentTenant;
+            currentTenant = invocation.getArgument(0);
+            try {
+                return invocation.<TenantRunner<?>> getArgument(1).run();
+            } finally {
+                currentTenant = previous;
+            }
+        });
+
+        cache = new TargetSecurityTokenCache(controllerManagement, tenantAware);
+    }
+
+    @Test
+    @Description("Verifies that a cached token is returned without loading the target again.")
+    public void cachedTokenIsReturned() {
+        final Target target = target(TENANT, "token");
+        when(controllerManagement.getByControllerId(CONTROLLER_ID)).thenReturn(Optional.of(target));
+
+        assertThat(cache.getByControllerId(CONTROLLER_ID)).map(CachedTargetSecurityToken::getSecurityTokenHash)
+                .hasValue(TargetSecurityTokenCache.hash("token"));
+        assertThat(cache.getByControllerId(CONTROLLER_ID)).map(CachedTargetSecurityToken::getSecurityTokenHash)
+                .hasValue(TargetSecurityTokenCache.hash("token"));
+        assertThat(cache.getByTargetId(TARGET_ID)).map(CachedTargetSecurityToken::getControllerId)
+                .hasValue(CONTROLLER_ID);
+
+        verify(controllerManagement).getByControllerId(CONTROLLER_ID);
+        verify(controllerManagement, times(0)).get(TARGET_ID);
+    }
+
+    @Test
+    @Description("Verifies that the cached token is evicted when the target is updated.")
+    public void tokenIsEvictedOnTargetUpdate() {
+        final Target target = target(TENANT, "token");
+        when(controllerManagement.get(TARGET_ID)).thenReturn(Optional.of(target));
+        assertThat(cache.getByTargetId(TARGET_ID)).map(CachedTargetSecurityToken::getSecurityTokenHash)
+                .hasValue(TargetSecurityTokenCache.hash("token"));
+
+        when(target.getSecurityToken()).thenReturn("changed");
+        cache.invalidateOnTargetUpdate(new TargetUpdatedEvent(target, "node"));
+
+        assertThat(cache.getByTargetId(TARGET_ID)).map(CachedTargetSecurityToken::getSecurityTokenHash)
+                .hasValue(TargetSecurityTokenCache.hash("changed"));
+        verify(controllerManagement, times(2)).get(TARGET_ID);
+    }
+
+    @Test
+    @Description("Verifies that the tokens of targets with the same ID are kept per tenant and that an update in "
+            + "one tenant neither evicts nor prevents caching the tokens of another tenant.")
+    public void tokensAreIsolatedPerTenant() {
+        final Target target = target(TENANT, "token");
+        final Target otherTarget = target(OTHER_TENANT, "other-token");
+        when(controllerManagement.get(TARGET_ID)).thenAnswer(invocation -> {
+            if (OTHER_TENANT.equals(currentTenant)) {
+                // another tenant's target is updated while the token is loaded
+                cache.invalidateOnTargetUpdate(new TargetUpdatedEvent(target, "node"));
+                return Optional.of(otherTarget);
+            }
+            return Optional.of(target);
+        });
+
+        assertThat(cache.getByTargetId(TARGET_ID)).map(CachedTargetSecurityToken::getSecurityTokenHash)
+                .hasValue(TargetSecurityTokenCache.hash("token"));
+        currentTenant = OTHER_TENANT;
+        assertThat(cache.getByTargetId(TARGET_ID)).map(CachedTargetSecurityToken::getSecurityTokenHash)
+                .hasValue(TargetSecurityTokenCache.hash("other-token"));
+        assertThat(cache.getByTargetId(TARGET_ID)).map(CachedTargetSecurityToken::getSecurityTokenHash)
+                .hasValue(TargetSecurityTokenCache.hash("other-token"));
+
+        currentTenant = TENANT;
+        assertThat(cache.getByTargetId(TARGET_ID)).map(CachedTargetSecurityToken::getSecurityTokenHash)
+                .hasValue(TargetSecurityTokenCache.hash("token"));
+
+        // loaded once in the other tenant and again in the updated tenant
+        verify(controllerManagement, times(3)).get(TARGET_ID);
+    }
+
+    private static Target target(final String tenant, final String securityToken) {
+        final Target target = mock(Target.class);
+        when(target.getId()).thenReturn(TARGET_ID);
+        when(target.getTenant()).thenReturn(tenant);
+        when(target.getControllerId()).thenReturn(CONTROLLER_ID);
+        when(target.getSecurityToken()).thenReturn(securityToken);
+        return target;
+    }
+}
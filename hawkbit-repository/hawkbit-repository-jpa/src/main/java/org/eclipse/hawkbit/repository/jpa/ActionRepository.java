@@ -153,6 +153,23 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction, Long>,
      */
     boolean existsByTargetControllerIdAndStatusAndActiveIsTrue(String controllerId, Action.Status currentStatus);
 
+    /**
+     * Retrieves the controller IDs of the given targets that have active
+     * actions with given action status.
+     *
+     * @param controllerIds
+     *            of the targets to check for actions
+     * @param currentStatus
+     *            of the active action to look for
+     *
+     * @return the controller IDs of the targets with one or more of such
+     *         actions
+     */
+    @Query("SELECT DISTINCT t.controllerId FROM JpaAction a JOIN a.target t WHERE t.controllerId IN :controllerIds AND a.status = :currentStatus AND a.active = true")
+    List<String> findControllerIdsByTargetControllerIdInAndStatusAndActiveIsTrue(
+            @Param("controllerIds") Collection<String> controllerIds,
+            @Param("currentStatus") Action.Status currentStatus);
+
     /**
      * Retrieves latest {@link Action} for given target and
      * {@link SoftwareModule}.
@@ -342,6 +359,18 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction, Long>,
      */
     Long countByTargetId(Long targetId);
 
+    /**
+     * Counts all {@link Action}s referring to the given targets grouped by
+     * target with a single query.
+     *
+     * @param targetIds
+     *            the targets to count the {@link Action}s
+     * @return list of target ID and count pairs. Targets without any
+     *         {@link Action} are not part of the result.
+     */
+    @Query("SELECT a.target.id, COUNT(a) FROM JpaAction a WHERE a.target.id IN :targetIds GROUP BY a.target.id")
+    List<Object[]> countByTargetIdInGroupByTargetId(@Param("targetIds") Collection<Long> targetIds);
+
     /**
      * Counts all {@link Action}s referring to the given DistributionSet.
      *
@@ -526,6 +555,60 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction, Long>,
     @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus(a.rolloutGroup.id, a.status , COUNT(a.id)) FROM JpaAction a WHERE a.rolloutGroup.id IN ?1 GROUP BY a.rolloutGroup.id, a.status")
     List<TotalTargetCountActionStatus> getStatusCountByRolloutGroupId(List<Long> rolloutGroupId);
 
+    /**
+     * Get the number of actions per rollout group and status which are
+     * affected by {@link #switchStatus(Status, List, boolean, Status)}.
+     *
+     * @param targetIds
+     *            the IDs of the targets of the actions which are affected
+     * @param active
+     *            the active flag of the actions which should be affected
+     * @param currentStatus
+     *            the current status of the actions which are affected
+     * @return list of objects with rollout group, status and action count
+     */
+    @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus(a.rolloutGroup.id, a.status, COUNT(a.id)) FROM JpaAction a WHERE a.target IN :targetsIds AND a.active = :active AND a.status = :currentStatus AND a.distributionSet.requiredMigrationStep = false GROUP BY a.rolloutGroup.id, a.status")
+    List<TotalTargetCountActionStatus> getRolloutGroupStatusCountForSwitchStatus(
+            @Param("targetsIds") List<Long> targetIds, @Param("active") boolean active,
+            @Param("currentStatus") Action.Status currentStatus);
+
+    /**
+     * Get the number of the given actions per rollout group and status.
+     *
+     * @param actionIds
+     *            the IDs of the actions
+     * @return list of objects with rollout group, status and action count
+     */
+    @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus(a.rolloutGroup.id, a.status, COUNT(a.id)) FROM JpaAction a WHERE a.id IN :actionIds GROUP BY a.rolloutGroup.id, a.status")
+    List<TotalTargetCountActionStatus> getRolloutGroupStatusCountByIdIn(
+            @Param("actionIds") Collection<Long> actionIds);
+
+    /**
+     * Get the number of the actions of the given targets per rollout group and
+     * status.
+     *
+     * @param targetIds
+     *            the IDs of the targets
+     * @return list of objects with rollout group, status and action count
+     */
+    @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus(a.rolloutGroup.id, a.status, COUNT(a.id)) FROM JpaAction a WHERE a.target.id IN :targetIds GROUP BY a.rolloutGroup.id, a.status")
+    List<TotalTargetCountActionStatus> getRolloutGroupStatusCountByTargetIdIn(
+            @Param("targetIds") Collection<Long> targetIds);
+
+    /**
+     * Retrieves the IDs of the rollout groups of the actions with the given
+     * status which have not been modified since the given time.
+     *
+     * @param status
+     *            set of action status
+     * @param lastModified
+     *            timestamp in millis
+     * @return the rollout group IDs
+     */
+    @Query("SELECT DISTINCT a.rolloutGroup.id FROM JpaAction a WHERE a.status IN :status AND a.lastModifiedAt < :lastModified")
+    List<Long> findRolloutGroupIdsByStatusInAndLastModifiedAtBefore(@Param("status") Collection<Status> status,
+            @Param("lastModified") long lastModified);
+
     /**
      * Deletes all actions with the given IDs.
      * 
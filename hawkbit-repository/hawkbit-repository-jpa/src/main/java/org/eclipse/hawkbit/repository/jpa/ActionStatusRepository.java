@@ -8,6 +8,9 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus;
 import org.eclipse.hawkbit.repository.model.Action;
@@ -92,4 +95,15 @@ public interface ActionStatusRepository
     @Query("SELECT message FROM JpaActionStatus actionstatus JOIN actionstatus.messages message WHERE actionstatus.action.id = :actionId AND message NOT LIKE :filter")
     Page<String> findMessagesByActionIdAndMessageNotLike(Pageable pageable, @Param("actionId") Long actionId,
             @Param("filter") String filter);
+
+    /**
+     * Finds the status messages of the given action status entries.
+     *
+     * @param actionStatusIds
+     *            to get the status messages for
+     *
+     * @return the pairs of action status ID and status message
+     */
+    @Query("SELECT actionstatus.id, message FROM JpaActionStatus actionstatus JOIN actionstatus.messages message WHERE actionstatus.id IN :actionStatusIds")
+    List<Object[]> findMessagesByActionStatusIdIn(@Param("actionStatusIds") Collection<Long> actionStatusIds);
 }
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import org.eclipse.hawkbit.repository.jpa.model.JpaClusterMember;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for the leases of the {@link JpaClusterMember}s.
+ */
+@Transactional(readOnly = true)
+public interface ClusterMemberRepository extends CrudRepository<JpaClusterMember, String> {
+
+    /**
+     * Deletes the lease of a member unless it was renewed since the given
+     * heartbeat was read.
+     *
+     * @param memberId
+     *            of the member
+     * @param lastHeartbeat
+     *            of the member as read before
+     * @return number of deleted leases
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM JpaClusterMember m WHERE m.memberId = :memberId AND m.lastHeartbeat = :lastHeartbeat")
+    int deleteByMemberIdAndLastHeartbeat(@Param("memberId") String memberId,
+            @Param("lastHeartbeat") long lastHeartbeat);
+}
@@ -24,15 +24,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
-import javax.persistence.Query;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
@@ -65,6 +59,7 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaAction_;
 import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSet;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget_;
+import org.eclipse.hawkbit.repository.jpa.poll.TargetPollPersistence;
 import org.eclipse.hawkbit.repository.jpa.specifications.ActionSpecifications;
 import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
 import org.eclipse.hawkbit.repository.jpa.utils.QuotaHelper;
@@ -93,17 +88,11 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
-import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
-
 /**
  * JPA based {@link ControllerManagement} implementation.
  *
@@ -113,7 +102,7 @@ import com.google.common.collect.Sets;
 public class JpaControllerManagement extends JpaActionManagement implements ControllerManagement {
     private static final Logger LOG = LoggerFactory.getLogger(JpaControllerManagement.class);
 
-    private final BlockingDeque<TargetPoll> queue;
+    private final TargetPollPersistence targetPollPersistence;
 
     @Autowired
     private EntityManager entityManager;
@@ -149,24 +138,15 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     private SoftwareModuleMetadataRepository softwareModuleMetadataRepository;
 
     @Autowired
-    private PlatformTransactionManager txManager;
+    private TenantAware tenantAware;
 
     @Autowired
-    private TenantAware tenantAware;
+    private RolloutGroupStatusCounter rolloutGroupStatusCounter;
 
-    JpaControllerManagement(final ScheduledExecutorService executorService,
+    JpaControllerManagement(final TargetPollPersistence targetPollPersistence,
             final RepositoryProperties repositoryProperties, final ActionRepository actionRepository) {
         super(actionRepository, repositoryProperties);
-
-        if (!repositoryProperties.isEagerPollPersistence()) {
-            executorService.scheduleWithFixedDelay(this::flushUpdateQueue,
-                    repositoryProperties.getPollPersistenceFlushTime(),
-                    repositoryProperties.getPollPersistenceFlushTime(), TimeUnit.MILLISECONDS);
-
-            queue = new LinkedBlockingDeque<>(repositoryProperties.getPollPersistenceQueueSize());
-        } else {
-            queue = null;
-        }
+        this.targetPollPersistence = targetPollPersistence;
     }
 
     @Override
@@ -369,7 +349,10 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     public void deleteExistingTarget(@NotEmpty final String controllerId) {
         final Target target = targetRepository.findByControllerId(controllerId)
                 .orElseThrow(() -> new EntityNotFoundException(Target.class, controllerId));
-         targetRepository.deleteById(target.getId());
+        // the actions are deleted by the database
+        rolloutGroupStatusCounter.recordDeletion(actionRepository
+                .getRolloutGroupStatusCountByTargetIdIn(Collections.singletonList(target.getId())));
+        targetRepository.deleteById(target.getId());
     }
 
     @Override
@@ -391,6 +374,12 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
                 .orElseGet(() -> createTarget(controllerId, address, name));
     }
 
+    @Override
+    public boolean registerUnchangedPoll(final String controllerId) {
+        return !repositoryProperties.isEagerPollPersistence() && targetPollPersistence
+                .offer(tenantAware.getCurrentTenant().toUpperCase(), controllerId, System.currentTimeMillis());
+    }
+
     private Target createTarget(final String controllerId, final URI address, String name) {
 
         final Target result = targetRepository.save((JpaTarget) entityFactory.target().create()
@@ -404,94 +393,15 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
         return result;
     }
 
-    /**
-     * Flush the update queue by means to persisting
-     * {@link Target#getLastTargetQuery()}.
-     */
-    private void flushUpdateQueue() {
-        LOG.debug("Run flushUpdateQueue.");
-
-        final int size = queue.size();
-        if (size <= 0) {
-            return;
-        }
-
-        LOG.debug("{} events in flushUpdateQueue.", size);
-
-        final Set<TargetPoll> events = Sets.newHashSetWithExpectedSize(queue.size());
-        final int drained = queue.drainTo(events);
-
-        if (drained <= 0) {
-            return;
-        }
-
-        try {
-            events.stream().collect(Collectors.groupingBy(TargetPoll::getTenant)).forEach((tenant, polls) -> {
-                final TransactionCallback<Void> createTransaction = status -> updateLastTargetQueries(tenant, polls);
-                tenantAware.runAsTenant(tenant,
-                        () -> DeploymentHelper.runInNewTransaction(txManager, "flushUpdateQueue", createTransaction));
-            });
-        } catch (final RuntimeException ex) {
-            LOG.error("Failed to persist UpdateQueue content.", ex);
-            return;
-        }
-
-        LOG.debug("{} events persisted.", drained);
-    }
-
-    private Void updateLastTargetQueries(final String tenant, final List<TargetPoll> polls) {
-        LOG.debug("Persist {} targetqueries.", polls.size());
-
-        final List<List<String>> pollChunks = Lists.partition(
-                polls.stream().map(TargetPoll::getControllerId).collect(Collectors.toList()),
-                Constants.MAX_ENTRIES_IN_STATEMENT);
-
-        pollChunks.forEach(chunk -> {
-            setLastTargetQuery(tenant, System.currentTimeMillis(), chunk);
-            chunk.forEach(controllerId -> afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
-                    .publishEvent(new TargetPollEvent(controllerId, tenant, eventPublisherHolder.getApplicationId()))));
-        });
-
-        return null;
-    }
-
-    /**
-     * Sets {@link Target#getLastTargetQuery()} by native SQL in order to avoid
-     * raising opt lock revision as this update is not mission critical and in fact
-     * only written by {@link ControllerManagement}, i.e. the target itself.
-     */
-    private void setLastTargetQuery(final String tenant, final long currentTimeMillis, final List<String> chunk) {
-        final Map<String, String> paramMapping = Maps.newHashMapWithExpectedSize(chunk.size());
-
-        for (int i = 0; i < chunk.size(); i++) {
-            paramMapping.put("cid" + i, chunk.get(i));
-        }
-
-        final Query updateQuery = entityManager.createNativeQuery(
-                "UPDATE sp_target SET last_target_query = #last_target_query WHERE controller_id IN ("
-                        + formatQueryInStatementParams(paramMapping.keySet()) + ") AND tenant = #tenant");
-
-        paramMapping.forEach(updateQuery::setParameter);
-        updateQuery.setParameter("last_target_query", currentTimeMillis);
-        updateQuery.setParameter("tenant", tenant);
-
-        final int updated = updateQuery.executeUpdate();
-        if (updated < chunk.size()) {
-            LOG.error("Targets polls could not be applied completely ({} instead of {}).", updated, chunk.size());
-        }
-    }
-
-    private static String formatQueryInStatementParams(final Collection<String> paramNames) {
-        return "#" + String.join(",#", paramNames);
-    }
-
     /**
      * Stores target directly to DB in case either {@link Target#getAddress()} or
-     * {@link Target#getUpdateStatus()} or {@link Target#getName()} changes or the buffer queue is full.
+     * {@link Target#getUpdateStatus()} or {@link Target#getName()} changes or the
+     * {@link TargetPollPersistence} is saturated.
      *
      */
     private Target updateTarget(final JpaTarget toUpdate, final URI address, final String name) {
-        if (isStoreEager(toUpdate, address, name) || !queue.offer(new TargetPoll(toUpdate))) {
+        if (isStoreEager(toUpdate, address, name) || !targetPollPersistence.offer(toUpdate.getTenant(),
+                toUpdate.getControllerId(), System.currentTimeMillis())) {
             if (isAddressChanged(toUpdate.getAddress(), address)) {
                 toUpdate.setAddress(address.toString());
             }
@@ -877,6 +787,20 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
         return actionStatusRepository.save(statusMessage);
     }
 
+    @Override
+    @Transactional
+    @Retryable(include = {
+            ConcurrencyFailureException.class }, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
+    public ActionStatus addActionStatusMessage(final long actionStatusId, final String message) {
+        final JpaActionStatus actionStatus = actionStatusRepository.findById(actionStatusId)
+                .orElseThrow(() -> new EntityNotFoundException(ActionStatus.class, actionStatusId));
+        actionStatus.addMessage(message);
+
+        assertActionStatusMessageQuota(actionStatus);
+
+        return actionStatusRepository.save(actionStatus);
+    }
+
     private JpaAction getActionAndThrowExceptionIfNotFound(final Long actionId) {
         return actionRepository.findById(actionId)
                 .orElseThrow(() -> new EntityNotFoundException(Action.class, actionId));
@@ -940,64 +864,6 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
                         Collectors.mapping(o -> (SoftwareModuleMetadata) o[1], Collectors.toList())));
     }
 
-    private static class TargetPoll {
-
-        private final String tenant;
-        private final String controllerId;
-
-        TargetPoll(final Target target) {
-            this.tenant = target.getTenant();
-            this.controllerId = target.getControllerId();
-        }
-
-        public String getTenant() {
-            return tenant;
-        }
-
-        public String getControllerId() {
-            return controllerId;
-        }
-
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + (controllerId == null ? 0 : controllerId.hashCode());
-            result = prime * result + (tenant == null ? 0 : tenant.hashCode());
-            return result;
-        }
-
-        @Override
-        public boolean equals(final Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            final TargetPoll other = (TargetPoll) obj;
-            if (controllerId == null) {
-                if (other.controllerId != null) {
-                    return false;
-                }
-            } else if (!controllerId.equals(other.controllerId)) {
-                return false;
-            }
-            if (tenant == null) {
-                if (other.tenant != null) {
-                    return false;
-                }
-            } else if (!tenant.equals(other.tenant)) {
-                return false;
-            }
-            return true;
-        }
-
-    }
-
     /**
      * Cancels given {@link Action} for this {@link Target}. The method will
      * immediately add a {@link Status#CANCELED} status to the action. However,
@@ -21,6 +21,8 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -94,6 +96,7 @@ import org.springframework.retry.policy.SimpleRetryPolicy;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
@@ -132,6 +135,7 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
     private final DistributionSetRepository distributionSetRepository;
     private final TargetRepository targetRepository;
     private final ActionStatusRepository actionStatusRepository;
+    private final NoCountPagingRepository criteriaNoCountDao;
     private final AuditorAware<String> auditorProvider;
     private final VirtualPropertyReplacer virtualPropertyReplacer;
     private final PlatformTransactionManager txManager;
@@ -143,20 +147,24 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
     private final TenantAware tenantAware;
     private final Database database;
     private final RetryTemplate retryTemplate;
+    private final RolloutGroupStatusCounter rolloutGroupStatusCounter;
 
     protected JpaDeploymentManagement(final EntityManager entityManager, final ActionRepository actionRepository,
             final DistributionSetRepository distributionSetRepository, final TargetRepository targetRepository,
-            final ActionStatusRepository actionStatusRepository, final AuditorAware<String> auditorProvider,
-            final EventPublisherHolder eventPublisherHolder, final AfterTransactionCommitExecutor afterCommit,
-            final VirtualPropertyReplacer virtualPropertyReplacer, final PlatformTransactionManager txManager,
+            final ActionStatusRepository actionStatusRepository, final NoCountPagingRepository criteriaNoCountDao,
+            final AuditorAware<String> auditorProvider, final EventPublisherHolder eventPublisherHolder,
+            final AfterTransactionCommitExecutor afterCommit, final VirtualPropertyReplacer virtualPropertyReplacer,
+            final PlatformTransactionManager txManager,
             final TenantConfigurationManagement tenantConfigurationManagement, final QuotaManagement quotaManagement,
             final SystemSecurityContext systemSecurityContext, final TenantAware tenantAware, final Database database,
-            final RepositoryProperties repositoryProperties) {
+            final RepositoryProperties repositoryProperties,
+            final RolloutGroupStatusCounter rolloutGroupStatusCounter) {
         super(actionRepository, repositoryProperties);
         this.entityManager = entityManager;
         this.distributionSetRepository = distributionSetRepository;
         this.targetRepository = targetRepository;
         this.actionStatusRepository = actionStatusRepository;
+        this.criteriaNoCountDao = criteriaNoCountDao;
         this.auditorProvider = auditorProvider;
         this.virtualPropertyReplacer = virtualPropertyReplacer;
         this.txManager = txManager;
@@ -171,6 +179,7 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
         this.tenantAware = tenantAware;
         this.database = database;
         retryTemplate = createRetryTemplate();
+        this.rolloutGroupStatusCounter = rolloutGroupStatusCounter;
     }
 
     @Override
@@ -412,6 +421,8 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
             ConcurrencyFailureException.class }, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
     public void cancelInactiveScheduledActionsForTargets(final List<Long> targetIds) {
         if (!isMultiAssignmentsEnabled()) {
+            rolloutGroupStatusCounter.recordStatusChange(actionRepository
+                    .getRolloutGroupStatusCountForSwitchStatus(targetIds, false, Status.SCHEDULED), Status.CANCELED);
             actionRepository.switchStatus(Status.CANCELED, targetIds, false, Status.SCHEDULED);
         } else {
             LOG.debug("The Multi Assignments feature is enabled: No need to cancel inactive scheduled actions.");
@@ -641,24 +652,38 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
     @Override
     public Slice<Action> findActionsByTarget(final String controllerId, final Pageable pageable) {
         throwExceptionIfTargetDoesNotExist(controllerId);
-        return actionRepository.findByTargetControllerId(pageable, controllerId);
+        return criteriaNoCountDao.findAll(byControllerId(controllerId), pageable, JpaAction.class)
+                .map(Action.class::cast);
     }
 
     @Override
-    public Page<Action> findActionsByTarget(final String rsqlParam, final String controllerId,
+    public Slice<Action> findActionsByTarget(final String rsqlParam, final String controllerId,
             final Pageable pageable) {
         throwExceptionIfTargetDoesNotExist(controllerId);
 
         final Specification<JpaAction> byTargetSpec = createSpecificationFor(controllerId, rsqlParam);
-        final Page<JpaAction> actions = actionRepository.findAll(byTargetSpec, pageable);
-        return convertAcPage(actions, pageable);
+        return criteriaNoCountDao.findAll(byTargetSpec, pageable, JpaAction.class).map(Action.class::cast);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachActionByTarget(final String rsqlParam, final String controllerId,
+            final Consumer<Action> consumer) {
+        throwExceptionIfTargetDoesNotExist(controllerId);
+
+        final Specification<JpaAction> spec = rsqlParam == null ? byControllerId(controllerId)
+                : createSpecificationFor(controllerId, rsqlParam);
+        criteriaNoCountDao.forEach(spec, JpaAction.class, consumer);
     }
 
     private Specification<JpaAction> createSpecificationFor(final String controllerId, final String rsqlParam) {
         final Specification<JpaAction> spec = RSQLUtility.parse(rsqlParam, ActionFields.class, virtualPropertyReplacer,
                 database);
-        return (root, query, cb) -> cb.and(spec.toPredicate(root, query, cb),
-                cb.equal(root.get(JpaAction_.target).get(JpaTarget_.controllerId), controllerId));
+        return spec.and(byControllerId(controllerId));
+    }
+
+    private static Specification<JpaAction> byControllerId(final String controllerId) {
+        return (root, query, cb) -> cb.equal(root.get(JpaAction_.target).get(JpaTarget_.controllerId), controllerId);
     }
 
     private static Page<Action> convertAcPage(final Page<JpaAction> findAll, final Pageable pageable) {
@@ -736,6 +761,38 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
         return actionStatusRepository.findByActionId(pageReq, actionId);
     }
 
+    @Override
+    public Slice<ActionStatus> findActionStatusByActionWithoutCount(final Pageable pageReq, final long actionId) {
+        if (!actionRepository.existsById(actionId)) {
+            throw new EntityNotFoundException(Action.class, actionId);
+        }
+
+        return criteriaNoCountDao.findAll(
+                (root, query, cb) -> cb.equal(root.get(JpaActionStatus_.action).get(JpaAction_.id), actionId),
+                pageReq, JpaActionStatus.class).map(ActionStatus.class::cast);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachActionStatusByAction(final long actionId,
+            final BiConsumer<ActionStatus, List<String>> consumer) {
+        if (!actionRepository.existsById(actionId)) {
+            throw new EntityNotFoundException(Action.class, actionId);
+        }
+
+        criteriaNoCountDao.forEachSlice(
+                (root, query, cb) -> cb.equal(root.get(JpaActionStatus_.action).get(JpaAction_.id), actionId),
+                JpaActionStatus.class, slice -> {
+                    final Map<Long, List<String>> messages = actionStatusRepository
+                            .findMessagesByActionStatusIdIn(
+                                    slice.stream().map(JpaActionStatus::getId).collect(Collectors.toList()))
+                            .stream().collect(Collectors.groupingBy(row -> (Long) row[0],
+                                    Collectors.mapping(row -> (String) row[1], Collectors.toList())));
+                    slice.forEach(status -> consumer.accept(status,
+                            messages.getOrDefault(status.getId(), Collections.emptyList())));
+                });
+    }
+
     @Override
     public Page<String> findMessagesByActionStatusId(final Pageable pageable, final long actionStatusId) {
         final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
@@ -826,8 +883,18 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
         deleteQuery.setParameter("tenant", tenantAware.getCurrentTenant().toUpperCase());
         deleteQuery.setParameter("last_modified_at", lastModified);
 
+        // the rows to be deleted are not known upfront due to the row limit,
+        // so the counters of all possibly affected rollout groups are
+        // recalculated afterwards
+        final List<Long> rolloutGroupIds = actionRepository.findRolloutGroupIdsByStatusInAndLastModifiedAtBefore(status,
+                lastModified);
+
         LOG.debug("Action cleanup: Executing the following (native) query: {}", deleteQuery);
-        return deleteQuery.executeUpdate();
+        final int deleted = deleteQuery.executeUpdate();
+        if (deleted > 0 && !rolloutGroupIds.isEmpty()) {
+            rolloutGroupStatusCounter.reconcile(rolloutGroupIds);
+        }
+        return deleted;
     }
 
     @Override
@@ -836,6 +903,15 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
                 Action.Status.CANCELING);
     }
 
+    @Override
+    public Set<String> findControllerIdsWithPendingCancellations(final Collection<String> controllerIds) {
+        return Lists.partition(new ArrayList<>(controllerIds), Constants.MAX_ENTRIES_IN_STATEMENT).stream()
+                .flatMap(chunk -> actionRepository
+                        .findControllerIdsByTargetControllerIdInAndStatusAndActiveIsTrue(chunk, Action.Status.CANCELING)
+                        .stream())
+                .collect(Collectors.toSet());
+    }
+
     private static String getQueryForDeleteActionsByStatusAndLastModifiedBeforeString(final Database database) {
         return QUERY_DELETE_ACTIONS_BY_STATE_AND_LAST_MODIFIED.getOrDefault(database,
                 QUERY_DELETE_ACTIONS_BY_STATE_AND_LAST_MODIFIED_DEFAULT);
@@ -10,7 +10,9 @@ package org.eclipse.hawkbit.repository.jpa;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -18,6 +20,7 @@ import javax.persistence.EntityManager;
 
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.QuotaManagement;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.RolloutApprovalStrategy;
 import org.eclipse.hawkbit.repository.RolloutExecutor;
 import org.eclipse.hawkbit.repository.RolloutGroupManagement;
@@ -28,6 +31,7 @@ import org.eclipse.hawkbit.repository.event.remote.RolloutGroupDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.RolloutUpdatedEvent;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.RolloutIllegalStateException;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
@@ -63,6 +67,13 @@ import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionException;
 import org.springframework.util.StringUtils;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /**
  * A Jpa implementation of {@link RolloutExecutor}
  */
@@ -80,6 +91,11 @@ public class JpaRolloutExecutor implements RolloutExecutor {
      */
     private static final int TRANSACTION_ACTIONS = 5_000;
 
+    private static final String METRIC_EXECUTION = "hawkbit.rollout.execution";
+    private static final String METRIC_ROWS = "hawkbit.rollout.rows";
+    private static final String TAG_PHASE = "phase";
+    private static final String TAG_TYPE = "type";
+
     /**
      * Action statuses that result in a terminated action
      */
@@ -106,6 +122,11 @@ public class JpaRolloutExecutor implements RolloutExecutor {
     private final PlatformTransactionManager txManager;
     private final RolloutApprovalStrategy rolloutApprovalStrategy;
     private final ApplicationContext context;
+    private final MeterRegistry meterRegistry;
+    private final RolloutGroupStatusCounter rolloutGroupStatusCounter;
+    private final RepositoryProperties repositoryProperties;
+    private final Counter assignedTargetsCounter;
+    private final Counter createdActionsCounter;
 
     /**
      * Constructor
@@ -117,7 +138,9 @@ public class JpaRolloutExecutor implements RolloutExecutor {
             final RolloutGroupManagement rolloutGroupManagement, final QuotaManagement quotaManagement,
             final DeploymentManagement deploymentManagement, final TargetManagement targetManagement,
             final EventPublisherHolder eventPublisherHolder, final PlatformTransactionManager txManager,
-            final RolloutApprovalStrategy rolloutApprovalStrategy, final ApplicationContext context) {
+            final RolloutApprovalStrategy rolloutApprovalStrategy, final ApplicationContext context,
+            final MeterRegistry meterRegistry, final RolloutGroupStatusCounter rolloutGroupStatusCounter,
+            final RepositoryProperties repositoryProperties) {
         this.rolloutTargetGroupRepository = rolloutTargetGroupRepository;
         this.entityManager = entityManager;
         this.rolloutRepository = rolloutRepository;
@@ -133,15 +156,37 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         this.txManager = txManager;
         this.rolloutApprovalStrategy = rolloutApprovalStrategy;
         this.context = context;
+        this.meterRegistry = meterRegistry;
+        this.rolloutGroupStatusCounter = rolloutGroupStatusCounter;
+        this.repositoryProperties = repositoryProperties;
+        this.assignedTargetsCounter = Counter.builder(METRIC_ROWS).tag(TAG_TYPE, "targets-assigned")
+                .description("Targets assigned to rollout groups").register(meterRegistry);
+        this.createdActionsCounter = Counter.builder(METRIC_ROWS).tag(TAG_TYPE, "actions-created")
+                .description("Scheduled actions created for rollout groups").register(meterRegistry);
     }
 
     @Override
     public void execute(final Rollout rollout) {
         LOGGER.debug("handle rollout {}", rollout.getId());
 
+        final RolloutStatus phase = rollout.getStatus();
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            handleRollout(rollout, System.currentTimeMillis() + repositoryProperties.getRolloutExecutionTimeSlice());
+        } finally {
+            sample.stop(Timer.builder(METRIC_EXECUTION).tag(TAG_PHASE, phase.name())
+                    .description("Execution of a rollout by phase").register(meterRegistry));
+        }
+    }
+
+    /**
+     * Handles the current phase of the rollout. The long running phases stop
+     * once the deadline has passed and are continued with the next run.
+     */
+    private void handleRollout(final Rollout rollout, final long deadline) {
         switch (rollout.getStatus()) {
         case CREATING:
-            handleCreateRollout((JpaRollout) rollout);
+            handleCreateRollout((JpaRollout) rollout, deadline);
             break;
         case DELETING:
             handleDeleteRollout((JpaRollout) rollout);
@@ -150,7 +195,7 @@ public class JpaRolloutExecutor implements RolloutExecutor {
             handleReadyRollout(rollout);
             break;
         case STARTING:
-            handleStartingRollout(rollout);
+            handleStartingRollout(rollout, deadline);
             break;
         case RUNNING:
             handleRunningRollout((JpaRollout) rollout);
@@ -161,7 +206,11 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         }
     }
 
-    private void handleCreateRollout(final JpaRollout rollout) {
+    private static boolean isExpired(final long deadline) {
+        return System.currentTimeMillis() >= deadline;
+    }
+
+    private void handleCreateRollout(final JpaRollout rollout, final long deadline) {
         LOGGER.debug("handleCreateRollout called for rollout {}", rollout.getId());
 
         final List<RolloutGroup> rolloutGroups = rolloutGroupManagement.findByRollout(
@@ -170,6 +219,7 @@ public class JpaRolloutExecutor implements RolloutExecutor {
 
         int readyGroups = 0;
         int totalTargets = 0;
+        boolean filling = false;
         for (final RolloutGroup group : rolloutGroups) {
             if (RolloutGroupStatus.READY == group.getStatus()) {
                 readyGroups++;
@@ -177,7 +227,15 @@ public class JpaRolloutExecutor implements RolloutExecutor {
                 continue;
             }
 
-            final RolloutGroup filledGroup = fillRolloutGroupWithTargets(rollout, group);
+            // at least one group is filled per run so that the rollout
+            // progresses even if the deadline has already passed
+            if (filling && isExpired(deadline)) {
+                LOGGER.debug("Filling the groups of rollout {} is continued with the next run.", rollout.getId());
+                break;
+            }
+            filling = true;
+
+            final RolloutGroup filledGroup = fillRolloutGroupWithTargets(rollout, group, deadline);
             if (RolloutGroupStatus.READY == filledGroup.getStatus()) {
                 readyGroups++;
                 totalTargets += filledGroup.getTotalTargets();
@@ -253,10 +311,10 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         }
     }
 
-    private void handleStartingRollout(final Rollout rollout) {
+    private void handleStartingRollout(final Rollout rollout, final long deadline) {
         LOGGER.debug("handleStartingRollout called for rollout {}", rollout.getId());
 
-        if (ensureAllGroupsAreScheduled(rollout)) {
+        if (ensureAllGroupsAreScheduled(rollout, deadline)) {
             startFirstRolloutGroup(rollout);
         }
     }
@@ -298,6 +356,7 @@ public class JpaRolloutExecutor implements RolloutExecutor {
                 final Iterable<JpaAction> iterable = scheduledActions::iterator;
                 final List<Long> actionIds = StreamSupport.stream(iterable.spliterator(), false).map(Action::getId)
                         .collect(Collectors.toList());
+                rolloutGroupStatusCounter.recordDeletion(actionRepository.getRolloutGroupStatusCountByIdIn(actionIds));
                 actionRepository.deleteByIdIn(actionIds);
                 afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
                         .publishEvent(new RolloutUpdatedEvent(rollout, eventPublisherHolder.getApplicationId())));
@@ -344,6 +403,9 @@ public class JpaRolloutExecutor implements RolloutExecutor {
             final long targetCount = countTargetsFrom(rolloutGroup);
             if (rolloutGroup.getTotalTargets() != targetCount) {
                 updateTotalTargetCount(rolloutGroup, targetCount);
+                // targets have been deleted, correct the counters in case of
+                // a deletion that has not been recorded
+                rolloutGroupStatusCounter.reconcile(Collections.singletonList(rolloutGroup.getId()));
             }
 
             // error state check, do we need to stop the whole
@@ -390,12 +452,11 @@ public class JpaRolloutExecutor implements RolloutExecutor {
     }
 
     private boolean isRolloutGroupComplete(final JpaRollout rollout, final JpaRolloutGroup rolloutGroup) {
-        final Long actionsLeftForRollout = ActionType.DOWNLOAD_ONLY == rollout.getActionType()
-                ? actionRepository.countByRolloutAndRolloutGroupAndStatusNotIn(rollout, rolloutGroup,
-                        DOWNLOAD_ONLY_ACTION_TERMINATION_STATUSES)
-                : actionRepository.countByRolloutAndRolloutGroupAndStatusNotIn(rollout, rolloutGroup,
-                        DEFAULT_ACTION_TERMINATION_STATUSES);
-        return actionsLeftForRollout == 0;
+        final List<Status> terminationStatuses = ActionType.DOWNLOAD_ONLY == rollout.getActionType()
+                ? DOWNLOAD_ONLY_ACTION_TERMINATION_STATUSES
+                : DEFAULT_ACTION_TERMINATION_STATUSES;
+        return rolloutGroupStatusCounter.getCounts(rolloutGroup.getId()).entrySet().stream()
+                .noneMatch(count -> count.getValue() > 0 && !terminationStatuses.contains(count.getKey()));
     }
 
     private boolean checkErrorState(final Rollout rollout, final RolloutGroup rolloutGroup) {
@@ -464,18 +525,31 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         rolloutRepository.save(jpaRollout);
     }
 
-    private boolean ensureAllGroupsAreScheduled(final Rollout rollout) {
+    private boolean ensureAllGroupsAreScheduled(final Rollout rollout, final long deadline) {
         final JpaRollout jpaRollout = (JpaRollout) rollout;
 
         final List<JpaRolloutGroup> groupsToBeScheduled = rolloutGroupRepository.findByRolloutAndStatus(rollout,
                 RolloutGroupStatus.READY);
-        final long scheduledGroups = groupsToBeScheduled.stream()
-                .filter(group -> scheduleRolloutGroup(jpaRollout, group)).count();
+        int scheduledGroups = 0;
+        boolean scheduling = false;
+        for (final JpaRolloutGroup group : groupsToBeScheduled) {
+            // at least one group is scheduled per run so that the rollout
+            // progresses even if the deadline has already passed
+            if (scheduling && isExpired(deadline)) {
+                break;
+            }
+            scheduling = true;
+
+            if (scheduleRolloutGroup(jpaRollout, group, deadline)) {
+                scheduledGroups++;
+            }
+        }
 
         return scheduledGroups == groupsToBeScheduled.size();
     }
 
-    private RolloutGroup fillRolloutGroupWithTargets(final JpaRollout rollout, final RolloutGroup group1) {
+    private RolloutGroup fillRolloutGroupWithTargets(final JpaRollout rollout, final RolloutGroup group1,
+            final long deadline) {
         RolloutHelper.verifyRolloutInStatus(rollout, RolloutStatus.CREATING);
 
         final JpaRolloutGroup group = (JpaRolloutGroup) group1;
@@ -491,19 +565,22 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         final List<Long> readyGroups = RolloutHelper.getGroupsByStatusIncludingGroup(rollout.getRolloutGroups(),
                 RolloutGroupStatus.READY, group);
 
-        final long targetsInGroupFilter = DeploymentHelper.runInNewTransaction(txManager,
-                "countAllTargetsByTargetFilterQueryAndNotInRolloutGroups",
-                count -> targetManagement.countByRsqlAndNotInRolloutGroups(readyGroups, groupTargetFilter));
-        final long expectedInGroup = Math
-                .round((double) (group.getTargetPercentage() / 100) * (double) targetsInGroupFilter);
         final long currentlyInGroup = DeploymentHelper.runInNewTransaction(txManager,
                 "countRolloutTargetGroupByRolloutGroup",
                 count -> rolloutTargetGroupRepository.countByRolloutGroup(group));
+        final long targetsInGroupFilter = DeploymentHelper.runInNewTransaction(txManager,
+                "countAllTargetsByTargetFilterQueryAndNotInRolloutGroups",
+                count -> targetManagement.countByRsqlAndNotInRolloutGroups(readyGroups, groupTargetFilter));
+        // the targets already assigned to the group, e.g. by a previous run,
+        // are excluded by the filter but belong to the percentage
+        final long expectedInGroup = Math.round(
+                (double) (group.getTargetPercentage() / 100) * (double) (targetsInGroupFilter + currentlyInGroup));
 
         // Switch the Group status to READY, when there are enough Targets in
         // the Group
         if (currentlyInGroup >= expectedInGroup) {
             group.setStatus(RolloutGroupStatus.READY);
+            group.setTotalTargets(Math.toIntExact(currentlyInGroup));
             return rolloutGroupRepository.save(group);
         }
 
@@ -514,9 +591,17 @@ public class JpaRolloutExecutor implements RolloutExecutor {
             do {
                 // Add up to TRANSACTION_TARGETS of the left targets
                 // In case a TransactionException is thrown this loop aborts
-                targetsLeftToAdd -= assignTargetsToGroupInNewTransaction(rollout, group, groupTargetFilter,
+                final long assigned = assignTargetsToGroupInNewTransaction(rollout, group, groupTargetFilter,
                         Math.min(TRANSACTION_TARGETS, targetsLeftToAdd));
-            } while (targetsLeftToAdd > 0);
+                assignedTargetsCounter.increment(assigned);
+                targetsLeftToAdd -= assigned;
+            } while (targetsLeftToAdd > 0 && !isExpired(deadline));
+
+            if (targetsLeftToAdd > 0) {
+                LOGGER.debug("Filling group {} is continued with the next run, {} targets left.", group.getId(),
+                        targetsLeftToAdd);
+                return group;
+            }
 
             group.setStatus(RolloutGroupStatus.READY);
             group.setTotalTargets(
@@ -550,13 +635,14 @@ public class JpaRolloutExecutor implements RolloutExecutor {
      * Schedules a group of the rollout. Scheduled Actions are created to
      * achieve this. The creation of those Actions is allowed to fail.
      */
-    private boolean scheduleRolloutGroup(final JpaRollout rollout, final JpaRolloutGroup group) {
+    private boolean scheduleRolloutGroup(final JpaRollout rollout, final JpaRolloutGroup group,
+            final long deadline) {
         final long targetsInGroup = rolloutTargetGroupRepository.countByRolloutGroup(group);
         final long countOfActions = actionRepository.countByRolloutAndRolloutGroup(rollout, group);
 
         long actionsLeft = targetsInGroup - countOfActions;
         if (actionsLeft > 0) {
-            actionsLeft -= createActionsForRolloutGroup(rollout, group);
+            actionsLeft -= createActionsForRolloutGroup(rollout, group, deadline);
         }
 
         if (actionsLeft <= 0) {
@@ -567,15 +653,17 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         return false;
     }
 
-    private long createActionsForRolloutGroup(final Rollout rollout, final RolloutGroup group) {
+    private long createActionsForRolloutGroup(final Rollout rollout, final RolloutGroup group,
+            final long deadline) {
         long totalActionsCreated = 0;
         try {
             long actionsCreated;
             do {
                 actionsCreated = createActionsForTargetsInNewTransaction(rollout.getId(), group.getId(),
                         TRANSACTION_TARGETS);
+                createdActionsCounter.increment(actionsCreated);
                 totalActionsCreated += actionsCreated;
-            } while (actionsCreated > 0);
+            } while (actionsCreated > 0 && !isExpired(deadline));
 
         } catch (final TransactionException e) {
             LOGGER.warn("Transaction assigning Targets to RolloutGroup failed", e);
@@ -597,7 +685,7 @@ public class JpaRolloutExecutor implements RolloutExecutor {
             final long forceTime = rollout.getForcedTime();
 
             final Page<Target> targets = targetManagement.findByInRolloutGroupWithoutAction(pageRequest, groupId);
-            if (targets.getTotalElements() > 0) {
+            if (targets.hasContent()) {
                 createScheduledAction(targets.getContent(), distributionSet, actionType, forceTime, rollout, group);
             }
 
@@ -605,14 +693,24 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         });
     }
 
+    /**
+     * Assigns the targets to the group. The entries are written with the
+     * configured JDBC batch writing when the transaction is flushed, the same
+     * as if they were saved one by one.
+     */
     private void createAssignmentOfTargetsToGroup(final Page<Target> targets, final RolloutGroup group) {
-        targets.forEach(target -> rolloutTargetGroupRepository.save(new RolloutTargetGroup(group, target)));
+        rolloutTargetGroupRepository.saveAll(targets.stream().map(target -> new RolloutTargetGroup(group, target))
+                .collect(Collectors.toList()));
     }
 
     /**
      * Creates an action entry into the action repository. In case of existing
      * scheduled actions the scheduled actions gets canceled. A scheduled action
-     * is created in-active.
+     * is created in-active. The actions of all given targets are quota checked
+     * with one grouped count query per statement chunk instead of one query
+     * per target. Persisting them with saveAll still issues one insert per
+     * action, EclipseLink does not batch the inserts of entities with IDENTITY
+     * generated IDs.
      */
     private void createScheduledAction(final Collection<Target> targets, final DistributionSet distributionSet,
             final ActionType actionType, final Long forcedTime, final Rollout rollout,
@@ -623,10 +721,10 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         // created.
         final List<Long> targetIds = targets.stream().map(Target::getId).collect(Collectors.toList());
         deploymentManagement.cancelInactiveScheduledActionsForTargets(targetIds);
-        targets.forEach(target -> {
 
-            assertActionsPerTargetQuota(target, 1);
+        assertActionsPerTargetQuota(targetIds, 1);
 
+        final List<JpaAction> actions = targets.stream().map(target -> {
             final JpaAction action = new JpaAction();
             action.setTarget(target);
             action.setActive(false);
@@ -638,22 +736,33 @@ public class JpaRolloutExecutor implements RolloutExecutor {
             action.setRolloutGroup(rolloutGroup);
             action.setInitiatedBy(rollout.getCreatedBy());
             rollout.getWeight().ifPresent(action::setWeight);
-            actionRepository.save(action);
-        });
+            return action;
+        }).collect(Collectors.toList());
+
+        actionRepository.saveAll(actions);
     }
 
     /**
      * Enforces the quota defining the maximum number of {@link Action}s per
-     * {@link Target}.
+     * {@link Target} for all given targets.
      *
-     * @param target
-     *            The target
+     * @param targetIds
+     *            The targets
      * @param requested
-     *            number of actions to check
+     *            number of actions to check per target
      */
-    private void assertActionsPerTargetQuota(final Target target, final int requested) {
+    private void assertActionsPerTargetQuota(final List<Long> targetIds, final int requested) {
         final int quota = quotaManagement.getMaxActionsPerTarget();
-        QuotaHelper.assertAssignmentQuota(target.getId(), requested, quota, Action.class, Target.class,
-                actionRepository::countByTargetId);
+        if (quota <= 0) {
+            return;
+        }
+
+        final Map<Long, Long> actionCounts = Maps.newHashMapWithExpectedSize(targetIds.size());
+        Lists.partition(targetIds, Constants.MAX_ENTRIES_IN_STATEMENT)
+                .forEach(chunk -> actionRepository.countByTargetIdInGroupByTargetId(chunk)
+                        .forEach(count -> actionCounts.put((Long) count[0], (Long) count[1])));
+
+        targetIds.forEach(targetId -> QuotaHelper.assertAssignmentQuota(targetId, requested, quota, Action.class,
+                Target.class, id -> actionCounts.getOrDefault(id, 0L)));
     }
 }
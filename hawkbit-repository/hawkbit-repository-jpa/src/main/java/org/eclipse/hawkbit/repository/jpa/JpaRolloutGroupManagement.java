@@ -66,7 +66,7 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
 
     private final RolloutRepository rolloutRepository;
 
-    private final ActionRepository actionRepository;
+    private final RolloutGroupStatusCounter rolloutGroupStatusCounter;
 
     private final TargetRepository targetRepository;
 
@@ -79,14 +79,14 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
     private final Database database;
 
     JpaRolloutGroupManagement(final RolloutGroupRepository rolloutGroupRepository,
-            final RolloutRepository rolloutRepository, final ActionRepository actionRepository,
+            final RolloutRepository rolloutRepository, final RolloutGroupStatusCounter rolloutGroupStatusCounter,
             final TargetRepository targetRepository, final EntityManager entityManager,
             final VirtualPropertyReplacer virtualPropertyReplacer, final RolloutStatusCache rolloutStatusCache,
             final Database database) {
 
         this.rolloutGroupRepository = rolloutGroupRepository;
         this.rolloutRepository = rolloutRepository;
-        this.actionRepository = actionRepository;
+        this.rolloutGroupStatusCounter = rolloutGroupStatusCounter;
         this.targetRepository = targetRepository;
         this.entityManager = entityManager;
         this.virtualPropertyReplacer = virtualPropertyReplacer;
@@ -173,7 +173,8 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
                 .getRolloutGroupStatus(rolloutGroupId);
 
         if (CollectionUtils.isEmpty(rolloutStatusCountItems)) {
-            rolloutStatusCountItems = actionRepository.getStatusCountByRolloutGroupId(rolloutGroupId);
+            rolloutStatusCountItems = rolloutGroupStatusCounter
+                    .getStatusCounts(Collections.singletonList(rolloutGroupId));
             rolloutStatusCache.putRolloutGroupStatus(rolloutGroupId, rolloutStatusCountItems);
         }
 
@@ -192,8 +193,8 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
                 .collect(Collectors.toList());
 
         if (!rolloutGroupIds.isEmpty()) {
-            final List<TotalTargetCountActionStatus> resultList = actionRepository
-                    .getStatusCountByRolloutGroupId(rolloutGroupIds);
+            final List<TotalTargetCountActionStatus> resultList = rolloutGroupStatusCounter
+                    .getStatusCounts(rolloutGroupIds);
             final Map<Long, List<TotalTargetCountActionStatus>> fromDb = resultList.stream()
                     .collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId));
 
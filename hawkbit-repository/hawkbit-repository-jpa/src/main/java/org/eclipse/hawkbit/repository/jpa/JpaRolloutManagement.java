@@ -15,7 +15,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import javax.validation.ConstraintDeclarationException;
@@ -42,6 +49,7 @@ import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupCreatedEve
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.EntityReadOnlyException;
 import org.eclipse.hawkbit.repository.exception.RolloutIllegalStateException;
+import org.eclipse.hawkbit.repository.jpa.cluster.ClusterPartitioner;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
@@ -69,6 +77,7 @@ import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.dao.ConcurrencyFailureException;
@@ -82,6 +91,7 @@ import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.AsyncResult;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -90,18 +100,21 @@ import org.springframework.util.concurrent.ListenableFuture;
 import org.springframework.validation.annotation.Validated;
 
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * JPA implementation of {@link RolloutManagement}.
  */
 @Validated
 @Transactional(readOnly = true)
-public class JpaRolloutManagement extends AbstractRolloutManagement {
+public class JpaRolloutManagement extends AbstractRolloutManagement implements DisposableBean {
     private static final Logger LOGGER = LoggerFactory.getLogger(JpaRolloutManagement.class);
 
     private static final List<RolloutStatus> ACTIVE_ROLLOUTS = Arrays.asList(RolloutStatus.CREATING,
             RolloutStatus.DELETING, RolloutStatus.STARTING, RolloutStatus.READY, RolloutStatus.RUNNING);
 
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
     @Autowired
     private RolloutRepository rolloutRepository;
 
@@ -120,12 +133,24 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
     @Autowired
     private RolloutStatusCache rolloutStatusCache;
 
+    @Autowired
+    private ClusterPartitioner clusterPartitioner;
+
+    @Autowired
+    private NoCountPagingRepository criteriaNoCountDao;
+
     private final RolloutExecutor rolloutExecutor;
 
     private final EventPublisherHolder eventPublisherHolder;
 
     private final Database database;
 
+    private final ThreadPoolExecutor workers;
+
+    private final ExecutorService rolloutWorkers;
+
+    private final Map<Long, Lock> rolloutLocks = new ConcurrentHashMap<>();
+
     public JpaRolloutManagement(final TargetManagement targetManagement, final DeploymentManagement deploymentManagement,
             final RolloutGroupManagement rolloutGroupManagement,
             final DistributionSetManagement distributionSetManagement, final ApplicationContext context,
@@ -133,13 +158,33 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
             final PlatformTransactionManager txManager, final TenantAware tenantAware, final LockRegistry lockRegistry,
             final Database database, final RolloutApprovalStrategy rolloutApprovalStrategy,
             final TenantConfigurationManagement tenantConfigurationManagement,
-            final SystemSecurityContext systemSecurityContext, final RolloutExecutor rolloutExecutor) {
+            final SystemSecurityContext systemSecurityContext, final RolloutExecutor rolloutExecutor,
+            final int rolloutExecutionThreads) {
         super(targetManagement, deploymentManagement, rolloutGroupManagement, distributionSetManagement, context,
                 virtualPropertyReplacer, txManager, tenantAware, lockRegistry, rolloutApprovalStrategy,
                 tenantConfigurationManagement, systemSecurityContext);
         this.eventPublisherHolder = eventPublisherHolder;
         this.database = database;
         this.rolloutExecutor = rolloutExecutor;
+
+        this.workers = new ThreadPoolExecutor(rolloutExecutionThreads, rolloutExecutionThreads,
+                1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("rollout-executor-%d").setDaemon(true).build());
+        workers.allowCoreThreadTimeOut(true);
+        this.rolloutWorkers = new DelegatingSecurityContextExecutorService(workers);
+    }
+
+    /**
+     * Shuts the workers down and waits for the rollouts being executed.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            LOGGER.warn("Rollout executions did not finish within {} seconds, interrupting them.",
+                    SHUTDOWN_TIMEOUT_SECONDS);
+            workers.shutdownNow();
+        }
     }
 
     @Override
@@ -157,6 +202,23 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
         return JpaRolloutHelper.convertPage(findByCriteriaAPI(pageable, specList), pageable);
     }
 
+    @Override
+    public Slice<Rollout> findAllWithoutCount(final Pageable pageable, final boolean deleted) {
+        final Specification<JpaRollout> spec = RolloutSpecification.isDeletedWithDistributionSet(deleted);
+        return criteriaNoCountDao.findAll(spec, pageable, JpaRollout.class).map(Rollout.class::cast);
+    }
+
+    @Override
+    public Slice<Rollout> findByRsqlWithoutCount(final Pageable pageable, final String rsqlParam,
+            final boolean deleted) {
+        final Specification<JpaRollout> spec = RSQLUtility.parse(rsqlParam, RolloutFields.class,
+                virtualPropertyReplacer, database);
+        return criteriaNoCountDao
+                .findAll(spec.and(RolloutSpecification.isDeletedWithDistributionSet(deleted)), pageable,
+                        JpaRollout.class)
+                .map(Rollout.class::cast);
+    }
+
     /**
      * Executes findAll with the given {@link Rollout} {@link Specification}s.
      */
@@ -398,27 +460,62 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
             return;
         }
 
-        final String tenant = tenantAware.getCurrentTenant();
+        final String handlerId = tenantAware.getCurrentTenant() + "-rollout-";
+
+        // every rollout is a partition of its own so that large rollouts of
+        // the same tenant are spread over the cluster and executed in
+        // parallel, the tenant context is passed on to the workers
+        final List<Long> responsible = rollouts.stream()
+                .filter(rolloutId -> clusterPartitioner.isResponsible(handlerId + rolloutId))
+                .collect(Collectors.toList());
+        if (responsible.size() == 1) {
+            handleRolloutWithLock(handlerId, responsible.get(0));
+            return;
+        }
 
-        final String handlerId = tenant + "-rollout";
-        final Lock lock = lockRegistry.obtain(handlerId);
+        CompletableFuture.allOf(responsible.stream()
+                .map(rolloutId -> CompletableFuture.runAsync(() -> handleRolloutWithLock(handlerId, rolloutId),
+                        rolloutWorkers))
+                .toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void handleRolloutWithLock(final String handlerId, final long rolloutId) {
+        // a rollout is executed by one thread at a time, others skip it
+        // instead of waiting. The lock registry is not used as it shares its
+        // locks between different keys.
+        final Lock lock = rolloutLocks.computeIfAbsent(rolloutId, id -> new ReentrantLock());
         if (!lock.tryLock()) {
             return;
         }
 
         try {
-            rollouts.forEach(rolloutId -> DeploymentHelper.runInNewTransaction(txManager, handlerId + "-" + rolloutId,
-                    status -> handleRollout(rolloutId)));
+            // the lock has been removed meanwhile by the last execution
+            if (rolloutLocks.get(rolloutId) != lock) {
+                return;
+            }
+            final boolean active = DeploymentHelper.runInNewTransaction(txManager, handlerId + rolloutId,
+                    status -> handleRollout(rolloutId));
+            if (!active) {
+                rolloutLocks.remove(rolloutId);
+            }
+        } catch (final RuntimeException e) {
+            LOGGER.error("Failed to handle rollout {}", rolloutId, e);
         } finally {
             lock.unlock();
         }
     }
 
-    private long handleRollout(final long rolloutId) {
-        final JpaRollout rollout = rolloutRepository.findById(rolloutId)
-                .orElseThrow(() -> new EntityNotFoundException(Rollout.class, rolloutId));
-        runInUserContext(rollout, () -> rolloutExecutor.execute(rollout));
-        return 0;
+    /**
+     * @return <code>true</code> if the rollout is still active after its
+     *         execution
+     */
+    private boolean handleRollout(final long rolloutId) {
+        final Optional<JpaRollout> rollout = rolloutRepository.findById(rolloutId);
+        if (!rollout.isPresent() || !ACTIVE_ROLLOUTS.contains(rollout.get().getStatus())) {
+            return false;
+        }
+        runInUserContext(rollout.get(), () -> rolloutExecutor.execute(rollout.get()));
+        return ACTIVE_ROLLOUTS.contains(rollout.get().getStatus());
     }
 
     @Override
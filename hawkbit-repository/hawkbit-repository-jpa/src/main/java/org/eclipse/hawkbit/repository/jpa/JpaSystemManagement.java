@@ -19,6 +19,8 @@ import org.eclipse.hawkbit.artifact.repository.ArtifactRepository;
 import org.eclipse.hawkbit.cache.TenancyCacheManager;
 import org.eclipse.hawkbit.repository.RolloutStatusCache;
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.TargetChangeVersionCache;
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache;
 import org.eclipse.hawkbit.repository.TenantStatsManagement;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
@@ -123,6 +125,12 @@ public class JpaSystemManagement implements CurrentTenantCacheKeyGenerator, Syst
     @Autowired
     private RolloutStatusCache rolloutStatusCache;
 
+    @Autowired
+    private TargetSecurityTokenCache targetSecurityTokenCache;
+
+    @Autowired
+    private TargetChangeVersionCache targetChangeVersionCache;
+
     @Autowired
     private ArtifactRepository artifactRepository;
 
@@ -248,6 +256,8 @@ public class JpaSystemManagement implements CurrentTenantCacheKeyGenerator, Syst
         final String tenant = t.toUpperCase();
         cacheManager.evictCaches(tenant);
         rolloutStatusCache.evictCaches(tenant);
+        targetSecurityTokenCache.evictCaches(tenant);
+        targetChangeVersionCache.evictCaches(tenant);
         tenantAware.runAsTenant(tenant, () -> {
             entityManager.setProperty(PersistenceUnitProperties.MULTITENANT_PROPERTY_DEFAULT, tenant);
             tenantMetaDataRepository.deleteByTenantIgnoreCase(tenant);
@@ -17,6 +17,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
@@ -77,6 +78,7 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.orm.jpa.vendor.Database;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
@@ -120,6 +122,10 @@ public class JpaTargetManagement implements TargetManagement {
 
     private final Database database;
 
+    private final ActionRepository actionRepository;
+
+    private final RolloutGroupStatusCounter rolloutGroupStatusCounter;
+
     public JpaTargetManagement(final EntityManager entityManager, final QuotaManagement quotaManagement,
             final TargetRepository targetRepository, final TargetMetadataRepository targetMetadataRepository,
             final RolloutGroupRepository rolloutGroupRepository,
@@ -128,7 +134,8 @@ public class JpaTargetManagement implements TargetManagement {
             final TargetTagRepository targetTagRepository, final NoCountPagingRepository criteriaNoCountDao,
             final EventPublisherHolder eventPublisherHolder, final TenantAware tenantAware,
             final AfterTransactionCommitExecutor afterCommit, final VirtualPropertyReplacer virtualPropertyReplacer,
-            final Database database) {
+            final Database database, final ActionRepository actionRepository,
+            final RolloutGroupStatusCounter rolloutGroupStatusCounter) {
         this.entityManager = entityManager;
         this.quotaManagement = quotaManagement;
         this.targetRepository = targetRepository;
@@ -143,6 +150,8 @@ public class JpaTargetManagement implements TargetManagement {
         this.afterCommit = afterCommit;
         this.virtualPropertyReplacer = virtualPropertyReplacer;
         this.database = database;
+        this.actionRepository = actionRepository;
+        this.rolloutGroupStatusCounter = rolloutGroupStatusCounter;
     }
 
     @Override
@@ -300,7 +309,7 @@ public class JpaTargetManagement implements TargetManagement {
 
     @Override
     public Slice<Target> findAll(final Pageable pageable) {
-        return convertPage(criteriaNoCountDao.findAll(pageable, JpaTarget.class), pageable);
+        return criteriaNoCountDao.findAll(pageable, JpaTarget.class).map(Target.class::cast);
     }
 
     @Override
@@ -319,6 +328,22 @@ public class JpaTargetManagement implements TargetManagement {
                 RSQLUtility.parse(targetFilterQuery, TargetFields.class, virtualPropertyReplacer, database), pageable);
     }
 
+    @Override
+    public Slice<Target> findByRsqlWithoutCount(final Pageable pageable, final String rsqlParam) {
+        return criteriaNoCountDao
+                .findAll(RSQLUtility.parse(rsqlParam, TargetFields.class, virtualPropertyReplacer, database), pageable,
+                        JpaTarget.class)
+                .map(Target.class::cast);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachByRsql(final String rsqlParam, final Consumer<Target> consumer) {
+        final Specification<JpaTarget> spec = rsqlParam == null ? null
+                : RSQLUtility.parse(rsqlParam, TargetFields.class, virtualPropertyReplacer, database);
+        criteriaNoCountDao.forEach(spec, JpaTarget.class, consumer);
+    }
+
     private Page<Target> findTargetsBySpec(final Specification<JpaTarget> spec, final Pageable pageable) {
         return convertPage(targetRepository.findAll(spec, pageable), pageable);
     }
@@ -352,6 +377,9 @@ public class JpaTargetManagement implements TargetManagement {
                     targets.stream().map(Target::getId).collect(Collectors.toList()));
         }
 
+        // the actions are deleted by the database
+        rolloutGroupStatusCounter
+                .recordDeletion(actionRepository.getRolloutGroupStatusCountByTargetIdIn(targetIDs));
         targetRepository.deleteByIdIn(targetIDs);
 
         afterCommit
@@ -369,6 +397,8 @@ public class JpaTargetManagement implements TargetManagement {
     public void deleteByControllerID(final String controllerID) {
         final Target target = getByControllerIdAndThrowIfNotFound(controllerID);
 
+        rolloutGroupStatusCounter.recordDeletion(actionRepository
+                .getRolloutGroupStatusCountByTargetIdIn(Collections.singletonList(target.getId())));
         targetRepository.deleteById(target.getId());
     }
 
@@ -669,6 +699,21 @@ public class JpaTargetManagement implements TargetManagement {
 
     }
 
+    @Override
+    public Page<Target> findByTargetFilterQueryAndNonDS(final Pageable pageRequest, final long distributionSetId,
+            final String targetFilterQuery, final Collection<Long> targetIds) {
+        throwEntityNotFoundIfDsDoesNotExist(distributionSetId);
+
+        final Specification<JpaTarget> spec = RSQLUtility.parse(targetFilterQuery, TargetFields.class,
+                virtualPropertyReplacer, database);
+
+        return findTargetsBySpec(
+                (root, cq, cb) -> cb.and(TargetSpecifications.hasIdIn(targetIds).toPredicate(root, cq, cb),
+                        spec.toPredicate(root, cq, cb), TargetSpecifications
+                                .hasNotDistributionSetInActions(distributionSetId).toPredicate(root, cq, cb)),
+                pageRequest);
+    }
+
     @Override
     public Page<Target> findByTargetFilterQueryAndNotInRolloutGroups(final Pageable pageRequest,
             final Collection<Long> groups, final String targetFilterQuery) {
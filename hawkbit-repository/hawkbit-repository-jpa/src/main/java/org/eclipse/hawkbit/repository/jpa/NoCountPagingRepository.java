@@ -9,22 +9,45 @@
 package org.eclipse.hawkbit.repository.jpa;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import javax.persistence.Entity;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.SingularAttribute;
 
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
+import org.eclipse.hawkbit.repository.exception.PagingCursorInvalidException;
+import org.springframework.beans.DirectFieldAccessor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
 
 /**
  * Workaround as spring data does not provide a {@link Slice} based
@@ -34,11 +57,19 @@ import org.springframework.stereotype.Repository;
 @Repository
 public class NoCountPagingRepository {
 
+    private static final int BATCH_SIZE = 500;
+    private static final String ID_PROPERTY = "id";
+
     @Autowired
     protected EntityManager em;
 
+    @Autowired
+    private PlatformTransactionManager txManager;
+
     /**
-     * Searches without the need for an extra count query.
+     * Searches without the need for an extra count query. A
+     * {@link KeysetPageRequest} seeks to the entries after its key instead of
+     * skipping an offset.
      *
      * @param spec
      *            to search for
@@ -55,6 +86,10 @@ public class NoCountPagingRepository {
      */
     public <T, I extends Serializable> Slice<T> findAll(final Specification<T> spec, final Pageable pageable,
             final Class<T> domainClass) {
+        if (pageable instanceof KeysetPageRequest) {
+            return findAfter(spec, (KeysetPageRequest) pageable, domainClass);
+        }
+
         final SimpleJpaNoCountRepository<T, I> noCountDao = new SimpleJpaNoCountRepository<>(domainClass, em);
         return noCountDao.findAll(spec, pageable);
     }
@@ -74,10 +109,188 @@ public class NoCountPagingRepository {
      *      org.springframework.data.domain.Pageable)
      */
     public <T, I extends Serializable> Slice<T> findAll(final Pageable pageable, final Class<T> domainClass) {
+        if (pageable instanceof KeysetPageRequest) {
+            return findAfter(null, (KeysetPageRequest) pageable, domainClass);
+        }
+
         final SimpleJpaNoCountRepository<T, I> noCountDao = new SimpleJpaNoCountRepository<>(domainClass, em);
         return noCountDao.findAll(pageable);
     }
 
+    /**
+     * Passes all entities matching the given specification to the consumer in
+     * the order of their ID, see {@link #forEachSlice(Specification, Class, Consumer)}.
+     *
+     * @param spec
+     *            to search for or <code>null</code> for all entities
+     * @param domainClass
+     *            of the {@link Entity}
+     * @param consumer
+     *            called for each entity
+     */
+    public <T> void forEach(final Specification<T> spec, final Class<T> domainClass,
+            final Consumer<? super T> consumer) {
+        forEachSlice(spec, domainClass, slice -> slice.forEach(consumer));
+    }
+
+    /**
+     * Passes all entities matching the given specification to the consumer in
+     * slices of {@link #BATCH_SIZE} in the order of their ID. Each slice is
+     * read by means of a {@link KeysetPageRequest} and consumed in a short
+     * read only transaction of its own, so that neither the database has to
+     * hold a cursor or a transaction open over the whole result nor the memory
+     * consumption grows with the size of the result. The entities are detached
+     * from the persistence context once consumed.
+     *
+     * @param spec
+     *            to search for or <code>null</code> for all entities
+     * @param domainClass
+     *            of the {@link Entity}
+     * @param consumer
+     *            called for each slice within its transaction
+     */
+    public <T> void forEachSlice(final Specification<T> spec, final Class<T> domainClass,
+            final Consumer<List<T>> consumer) {
+        final TransactionTemplate transaction = new TransactionTemplate(txManager);
+        transaction.setName("forEach-" + domainClass.getSimpleName());
+        transaction.setReadOnly(true);
+
+        Pageable pageable = new KeysetPageRequest(BATCH_SIZE, Sort.by(Direction.ASC, ID_PROPERTY));
+        while (pageable.isPaged()) {
+            final KeysetPageRequest request = (KeysetPageRequest) pageable;
+            pageable = transaction.execute(status -> {
+                final Slice<T> slice = findAfter(spec, request, domainClass);
+                consumer.accept(slice.getContent());
+                slice.forEach(em::detach);
+                return slice.nextPageable();
+            });
+        }
+    }
+
+    /**
+     * Reads one entry more than requested to find out if there is a next
+     * slice, so neither an offset nor a count has to be calculated by the
+     * database.
+     */
+    private <T, I extends Serializable> Slice<T> findAfter(final Specification<T> spec,
+            final KeysetPageRequest pageable, final Class<T> domainClass) {
+        final SimpleJpaNoCountRepository<T, I> noCountDao = new SimpleJpaNoCountRepository<>(domainClass, em);
+        final Specification<T> afterSpec = Specification.where(spec).and(after(pageable))
+                .and(orderedBy(pageable.getSort()));
+        final List<T> content = new ArrayList<>(
+                noCountDao.findAll(afterSpec, PageRequest.of(0, pageable.getPageSize() + 1)).getContent());
+
+        if (content.size() <= pageable.getPageSize()) {
+            return new SliceImpl<>(content, pageable, false);
+        }
+
+        content.remove(pageable.getPageSize());
+        final DirectFieldAccessor lastEntry = new DirectFieldAccessor(content.get(content.size() - 1));
+        final List<Object> lastKey = pageable.getSort().stream()
+                .map(order -> lastEntry.getPropertyValue(order.getProperty())).collect(Collectors.toList());
+        return new SliceImpl<>(content, pageable.withLast(lastKey), true);
+    }
+
+    /**
+     * Lexicographic comparison of the sort properties with the key, i.e.
+     * <code>(p1 > v1) or (p1 = v1 and p2 > v2) or ...</code>. Null values are
+     * considered lower than any other value, see {@link #orderedBy(Sort)}.
+     */
+    private static <T> Specification<T> after(final KeysetPageRequest pageable) {
+        final List<Order> orders = pageable.getSort().toList();
+        final List<Object> key = pageable.getAfter();
+
+        return (root, query, cb) -> {
+            if (key.isEmpty()) {
+                return null;
+            }
+
+            final List<Predicate> alternatives = new ArrayList<>(orders.size());
+            final List<Predicate> equalPrefix = new ArrayList<>(orders.size());
+            for (int i = 0; i < orders.size(); i++) {
+                final Order order = orders.get(i);
+                final Path<Comparable<Object>> path = getPath(root, order.getProperty());
+                final Comparable<Object> value = convert(key.get(i), path.getJavaType());
+
+                final Predicate beyond = beyond(cb, path, value, order.isAscending());
+                if (beyond != null) {
+                    final List<Predicate> alternative = new ArrayList<>(equalPrefix);
+                    alternative.add(beyond);
+                    alternatives.add(cb.and(alternative.toArray(new Predicate[0])));
+                }
+                equalPrefix.add(value == null ? cb.isNull(path) : cb.equal(path, value));
+            }
+
+            return cb.or(alternatives.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Orders by the sort properties with null values lower than any other
+     * value. The default null ordering differs between the databases (e.g.
+     * H2 and MySQL sort nulls first in ascending order, PostgreSQL and DB2
+     * last), so nullable properties are preceded by an explicit null check to
+     * match the comparison of {@link #after(KeysetPageRequest)}.
+     */
+    private static <T> Specification<T> orderedBy(final Sort sort) {
+        return (root, query, cb) -> {
+            final List<javax.persistence.criteria.Order> orders = new ArrayList<>();
+            for (final Order order : sort) {
+                final Path<Comparable<Object>> path = getPath(root, order.getProperty());
+                if (isNullable(root, order.getProperty())) {
+                    orders.add(order(cb, cb.selectCase().when(cb.isNull(path), 0).otherwise(1),
+                            order.isAscending()));
+                }
+                orders.add(order(cb, path, order.isAscending()));
+            }
+            query.orderBy(orders);
+            return null;
+        };
+    }
+
+    private static javax.persistence.criteria.Order order(final CriteriaBuilder cb, final Expression<?> expression,
+            final boolean ascending) {
+        return ascending ? cb.asc(expression) : cb.desc(expression);
+    }
+
+    private static <T> boolean isNullable(final Root<T> root, final String property) {
+        final Attribute<? super T, ?> attribute = root.getModel().getAttribute(property);
+        return !ID_PROPERTY.equals(property) && !attribute.getJavaType().isPrimitive()
+                && (!(attribute instanceof SingularAttribute) || ((SingularAttribute<?, ?>) attribute).isOptional());
+    }
+
+    private static <T> Path<Comparable<Object>> getPath(final Root<T> root, final String property) {
+        return root.get(property);
+    }
+
+    private static Predicate beyond(final CriteriaBuilder cb, final Path<Comparable<Object>> path,
+            final Comparable<Object> value, final boolean ascending) {
+        if (value == null) {
+            return ascending ? cb.isNotNull(path) : null;
+        }
+        return ascending ? cb.greaterThan(path, value) : cb.or(cb.lessThan(path, value), cb.isNull(path));
+    }
+
+    /**
+     * Converts a key value of the cursor to the type of the sort property.
+     *
+     * @throws PagingCursorInvalidException
+     *             if the value cannot be converted, i.e. the cursor has not
+     *             been issued for the sort properties
+     */
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> convert(final Object value, final Class<?> type) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return (Comparable<Object>) DefaultConversionService.getSharedInstance().convert(value,
+                    ClassUtils.resolvePrimitiveIfNecessary(type));
+        } catch (final ConversionException e) {
+            throw new PagingCursorInvalidException(e);
+        }
+    }
+
     /**
      * Repository implementation with disabled count query.
      * 
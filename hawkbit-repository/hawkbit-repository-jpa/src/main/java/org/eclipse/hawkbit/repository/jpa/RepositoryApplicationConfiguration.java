@@ -17,6 +17,9 @@ import javax.sql.DataSource;
 
 import com.google.common.collect.Maps;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
 import org.eclipse.hawkbit.artifact.repository.ArtifactRepository;
 import org.eclipse.hawkbit.repository.ArtifactManagement;
 import org.eclipse.hawkbit.repository.ControllerManagement;
@@ -37,8 +40,10 @@ import org.eclipse.hawkbit.repository.RolloutStatusCache;
 import org.eclipse.hawkbit.repository.SoftwareModuleManagement;
 import org.eclipse.hawkbit.repository.SoftwareModuleTypeManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.TargetChangeVersionCache;
 import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache;
 import org.eclipse.hawkbit.repository.TargetTagManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.repository.TenantStatsManagement;
@@ -65,15 +70,21 @@ import org.eclipse.hawkbit.repository.jpa.builder.JpaRolloutBuilder;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaSoftwareModuleBuilder;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaSoftwareModuleMetadataBuilder;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaTargetFilterQueryBuilder;
+import org.eclipse.hawkbit.repository.jpa.cluster.ClusterPartitioner;
+import org.eclipse.hawkbit.repository.jpa.cluster.LeaseBasedClusterPartitioner;
 import org.eclipse.hawkbit.repository.jpa.configuration.MultiTenantJpaTransactionManager;
 import org.eclipse.hawkbit.repository.jpa.event.JpaEventEntityManager;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitDefaultServiceExecutor;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.helper.AfterTransactionCommitExecutorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.EntityInterceptorHolder;
+import org.eclipse.hawkbit.repository.jpa.model.helper.RolloutGroupStatusCounterHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SecurityTokenGeneratorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SystemSecurityContextHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.TenantAwareHolder;
+import org.eclipse.hawkbit.repository.jpa.poll.CoalescingTargetPollPersistence;
+import org.eclipse.hawkbit.repository.jpa.poll.TargetPollPersistence;
+import org.eclipse.hawkbit.repository.jpa.poll.TargetPollPersistenceMetrics;
 import org.eclipse.hawkbit.repository.jpa.rollout.RolloutScheduler;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.PauseRolloutGroupAction;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.StartNextGroupRolloutGroupSuccessAction;
@@ -110,6 +121,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.data.domain.AuditorAware;
@@ -168,15 +180,16 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    ThresholdRolloutGroupErrorCondition thresholdRolloutGroupErrorCondition(final ActionRepository actionRepository) {
-        return new ThresholdRolloutGroupErrorCondition(actionRepository);
+    ThresholdRolloutGroupErrorCondition thresholdRolloutGroupErrorCondition(
+            final RolloutGroupStatusCounter rolloutGroupStatusCounter) {
+        return new ThresholdRolloutGroupErrorCondition(rolloutGroupStatusCounter);
     }
 
     @Bean
     @ConditionalOnMissingBean
     ThresholdRolloutGroupSuccessCondition thresholdRolloutGroupSuccessCondition(
-            final ActionRepository actionRepository) {
-        return new ThresholdRolloutGroupSuccessCondition(actionRepository);
+            final RolloutGroupStatusCounter rolloutGroupStatusCounter) {
+        return new ThresholdRolloutGroupSuccessCondition(rolloutGroupStatusCounter);
     }
 
     @Bean
@@ -215,6 +228,34 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
         return new RolloutStatusCache(tenantAware);
     }
 
+    /**
+     * {@link TargetSecurityTokenCache} bean. The {@link ControllerManagement}
+     * is injected lazily as the cache is evicted by the
+     * {@link SystemManagement} which is in turn reachable from the
+     * {@link ControllerManagement}.
+     *
+     * @return a new {@link TargetSecurityTokenCache}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    TargetSecurityTokenCache targetSecurityTokenCache(@Lazy final ControllerManagement controllerManagement,
+            final TenantAware tenantAware) {
+        return new TargetSecurityTokenCache(controllerManagement, tenantAware);
+    }
+
+    /**
+     * {@link TargetChangeVersionCache} bean.
+     *
+     * @param tenantAware
+     *            to get current tenant
+     * @return a new {@link TargetChangeVersionCache}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    TargetChangeVersionCache targetChangeVersionCache(final TenantAware tenantAware) {
+        return new TargetChangeVersionCache(tenantAware);
+    }
+
     @Bean
     @ConditionalOnMissingBean
     ApplicationEventFilter applicationEventFilter(final RepositoryProperties repositoryProperties) {
@@ -355,6 +396,29 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
         return AfterTransactionCommitExecutorHolder.getInstance();
     }
 
+    /**
+     * {@link RolloutGroupStatusCounter} bean.
+     *
+     * @return a new {@link RolloutGroupStatusCounter}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    RolloutGroupStatusCounter rolloutGroupStatusCounter(final EntityManager entityManager,
+            final RolloutGroupStatusCountRepository rolloutGroupStatusCountRepository,
+            final ActionRepository actionRepository) {
+        return new RolloutGroupStatusCounter(entityManager, rolloutGroupStatusCountRepository, actionRepository);
+    }
+
+    /**
+     *
+     * @return the singleton instance of the
+     *         {@link RolloutGroupStatusCounterHolder}
+     */
+    @Bean
+    RolloutGroupStatusCounterHolder rolloutGroupStatusCounterHolder() {
+        return RolloutGroupStatusCounterHolder.getInstance();
+    }
+
     /**
      * Defines the validation processor bean.
      *
@@ -511,11 +575,12 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
             final TargetTagRepository targetTagRepository, final NoCountPagingRepository criteriaNoCountDao,
             final EventPublisherHolder eventPublisherHolder, final TenantAware tenantAware,
             final AfterTransactionCommitExecutor afterCommit, final VirtualPropertyReplacer virtualPropertyReplacer,
-            final JpaProperties properties) {
+            final JpaProperties properties, final ActionRepository actionRepository,
+            final RolloutGroupStatusCounter rolloutGroupStatusCounter) {
         return new JpaTargetManagement(entityManager, quotaManagement, targetRepository, targetMetadataRepository,
                 rolloutGroupRepository, distributionSetRepository, targetFilterQueryRepository, targetTagRepository,
                 criteriaNoCountDao, eventPublisherHolder, tenantAware, afterCommit, virtualPropertyReplacer,
-                properties.getDatabase());
+                properties.getDatabase(), actionRepository, rolloutGroupStatusCounter);
     }
 
     /**
@@ -628,11 +693,13 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
             final QuotaManagement quotaManagement, final DeploymentManagement deploymentManagement,
             final TargetManagement targetManagement, final EventPublisherHolder eventPublisherHolder,
             final PlatformTransactionManager txManager, final RolloutApprovalStrategy rolloutApprovalStrategy,
-            final ApplicationContext context) {
+            final ApplicationContext context, final ObjectProvider<MeterRegistry> meterRegistry,
+            final RolloutGroupStatusCounter rolloutGroupStatusCounter, final RepositoryProperties repositoryProperties) {
         return new JpaRolloutExecutor(rolloutTargetGroupRepository, entityManager, rolloutRepository, actionRepository,
                 rolloutGroupRepository, afterCommit, tenantAware, rolloutGroupManagement, quotaManagement,
                 deploymentManagement, targetManagement, eventPublisherHolder, txManager, rolloutApprovalStrategy,
-                context);
+                context, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), rolloutGroupStatusCounter,
+                repositoryProperties);
     }
 
     @Bean
@@ -644,11 +711,13 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
             final PlatformTransactionManager txManager, final TenantAware tenantAware, final LockRegistry lockRegistry,
             final JpaProperties properties, final RolloutApprovalStrategy rolloutApprovalStrategy,
             final TenantConfigurationManagement tenantConfigurationManagement,
-            final SystemSecurityContext systemSecurityContext, final RolloutExecutor rolloutExecutor) {
+            final SystemSecurityContext systemSecurityContext, final RolloutExecutor rolloutExecutor,
+            final RepositoryProperties repositoryProperties) {
         return new JpaRolloutManagement(targetManagement, deploymentManagement, rolloutGroupManagement,
                 distributionSetManagement, context, eventPublisherHolder, virtualPropertyReplacer, txManager,
                 tenantAware, lockRegistry, properties.getDatabase(), rolloutApprovalStrategy,
-                tenantConfigurationManagement, systemSecurityContext, rolloutExecutor);
+                tenantConfigurationManagement, systemSecurityContext, rolloutExecutor,
+                repositoryProperties.getRolloutExecutionThreads());
     }
 
     /**
@@ -673,11 +742,11 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @Bean
     @ConditionalOnMissingBean
     RolloutGroupManagement rolloutGroupManagement(final RolloutGroupRepository rolloutGroupRepository,
-            final RolloutRepository rolloutRepository, final ActionRepository actionRepository,
+            final RolloutRepository rolloutRepository, final RolloutGroupStatusCounter rolloutGroupStatusCounter,
             final TargetRepository targetRepository, final EntityManager entityManager,
             final VirtualPropertyReplacer virtualPropertyReplacer, final RolloutStatusCache rolloutStatusCache,
             final JpaProperties properties) {
-        return new JpaRolloutGroupManagement(rolloutGroupRepository, rolloutRepository, actionRepository,
+        return new JpaRolloutGroupManagement(rolloutGroupRepository, rolloutRepository, rolloutGroupStatusCounter,
                 targetRepository, entityManager, virtualPropertyReplacer, rolloutStatusCache, properties.getDatabase());
     }
 
@@ -691,16 +760,68 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     DeploymentManagement deploymentManagement(final EntityManager entityManager,
             final ActionRepository actionRepository, final DistributionSetRepository distributionSetRepository,
             final TargetRepository targetRepository, final ActionStatusRepository actionStatusRepository,
-            final AuditorAware<String> auditorProvider, final EventPublisherHolder eventPublisherHolder,
-            final AfterTransactionCommitExecutor afterCommit, final VirtualPropertyReplacer virtualPropertyReplacer,
-            final PlatformTransactionManager txManager,
+            final NoCountPagingRepository criteriaNoCountDao, final AuditorAware<String> auditorProvider,
+            final EventPublisherHolder eventPublisherHolder, final AfterTransactionCommitExecutor afterCommit,
+            final VirtualPropertyReplacer virtualPropertyReplacer, final PlatformTransactionManager txManager,
             final TenantConfigurationManagement tenantConfigurationManagement, final QuotaManagement quotaManagement,
             final SystemSecurityContext systemSecurityContext, final TenantAware tenantAware,
-            final JpaProperties properties, final RepositoryProperties repositoryProperties) {
+            final JpaProperties properties, final RepositoryProperties repositoryProperties,
+            final RolloutGroupStatusCounter rolloutGroupStatusCounter) {
         return new JpaDeploymentManagement(entityManager, actionRepository, distributionSetRepository, targetRepository,
-                actionStatusRepository, auditorProvider, eventPublisherHolder, afterCommit, virtualPropertyReplacer,
+                actionStatusRepository, criteriaNoCountDao, auditorProvider, eventPublisherHolder, afterCommit, virtualPropertyReplacer,
                 txManager, tenantConfigurationManagement, quotaManagement, systemSecurityContext, tenantAware,
-                properties.getDatabase(), repositoryProperties);
+                properties.getDatabase(), repositoryProperties, rolloutGroupStatusCounter);
+    }
+
+    /**
+     * {@link CoalescingTargetPollPersistence} bean.
+     *
+     * @return a new {@link TargetPollPersistence}
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    TargetPollPersistence targetPollPersistence(final ScheduledExecutorService executorService,
+            final RepositoryProperties repositoryProperties, final EntityManager entityManager,
+            final PlatformTransactionManager txManager, final TenantAware tenantAware,
+            final AfterTransactionCommitExecutor afterCommit, final EventPublisherHolder eventPublisherHolder) {
+        return new CoalescingTargetPollPersistence(executorService, repositoryProperties, entityManager, txManager,
+                tenantAware, afterCommit, eventPublisherHolder);
+    }
+
+    /**
+     * {@link TargetPollPersistenceMetrics} bean bound to the available
+     * {@link MeterRegistry} or the {@link Metrics#globalRegistry} otherwise.
+     *
+     * @return a new {@link TargetPollPersistenceMetrics}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    TargetPollPersistenceMetrics targetPollPersistenceMetrics(final TargetPollPersistence targetPollPersistence,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+        final TargetPollPersistenceMetrics metrics = new TargetPollPersistenceMetrics(targetPollPersistence);
+        metrics.bindTo(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        return metrics;
+    }
+
+    /**
+     * {@link LeaseBasedClusterPartitioner} bean. Every member is responsible
+     * for all partitions if
+     * {@link RepositoryProperties#isClusterPartitioningEnabled()} is not set.
+     * The lease is released on shutdown by the inferred destroy method.
+     *
+     * @return a new {@link ClusterPartitioner}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    ClusterPartitioner clusterPartitioner(final ScheduledExecutorService executorService,
+            final RepositoryProperties repositoryProperties, final ClusterMemberRepository clusterMemberRepository,
+            final PlatformTransactionManager txManager) {
+        if (!repositoryProperties.isClusterPartitioningEnabled()) {
+            return partitionKey -> true;
+        }
+
+        return new LeaseBasedClusterPartitioner(executorService, repositoryProperties, clusterMemberRepository,
+                txManager);
     }
 
     /**
@@ -710,9 +831,9 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      */
     @Bean
     @ConditionalOnMissingBean
-    ControllerManagement controllerManagement(final ScheduledExecutorService executorService,
+    ControllerManagement controllerManagement(final TargetPollPersistence targetPollPersistence,
             final RepositoryProperties repositoryProperties, final ActionRepository actionRepository) {
-        return new JpaControllerManagement(executorService, repositoryProperties, actionRepository);
+        return new JpaControllerManagement(targetPollPersistence, repositoryProperties, actionRepository);
     }
 
     @Bean
@@ -768,19 +889,29 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            to get all target filter queries
      * @param targetManagement
      *            to get targets
+     * @param entityManager
+     *            to load the changed targets
+     * @param clusterPartitioner
+     *            to collect the changes of the tenants this node is
+     *            responsible for
      * @param deploymentManagement
      *            to assign distribution sets to targets
      * @param transactionManager
      *            to run transactions
+     * @param meterRegistry
+     *            to record the auto assignment runs
      * @return a new {@link AutoAssignChecker}
      */
     @Bean
     @ConditionalOnMissingBean
     AutoAssignExecutor autoAssignExecutor(final TargetFilterQueryManagement targetFilterQueryManagement,
-            final TargetManagement targetManagement, final DeploymentManagement deploymentManagement,
-            final PlatformTransactionManager transactionManager, final TenantAware tenantAware) {
-        return new AutoAssignChecker(targetFilterQueryManagement, targetManagement, deploymentManagement,
-                transactionManager, tenantAware);
+            final TargetManagement targetManagement, final EntityManager entityManager,
+            final ClusterPartitioner clusterPartitioner, final DeploymentManagement deploymentManagement,
+            final PlatformTransactionManager transactionManager, final TenantAware tenantAware,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+        return new AutoAssignChecker(targetFilterQueryManagement, targetManagement, entityManager,
+                clusterPartitioner, deploymentManagement, transactionManager, tenantAware,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
     }
 
     /**
@@ -799,6 +930,11 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            to run a check as tenant
      * @param lockRegistry
      *            to lock the tenant for auto assignment
+     * @param clusterPartitioner
+     *            to process only the tenants this cluster member is
+     *            responsible for
+     * @param repositoryProperties
+     *            to get the reconciliation interval
      * @return a new {@link AutoAssignChecker}
      */
     @Bean
@@ -809,8 +945,10 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @ConditionalOnProperty(prefix = "hawkbit.autoassign.scheduler", name = "enabled", matchIfMissing = true)
     AutoAssignScheduler autoAssignScheduler(final SystemManagement systemManagement,
             final SystemSecurityContext systemSecurityContext, final AutoAssignExecutor autoAssignExecutor,
-            final LockRegistry lockRegistry) {
-        return new AutoAssignScheduler(systemManagement, systemSecurityContext, autoAssignExecutor, lockRegistry);
+            final LockRegistry lockRegistry, final ClusterPartitioner clusterPartitioner,
+            final RepositoryProperties repositoryProperties) {
+        return new AutoAssignScheduler(systemManagement, systemSecurityContext, autoAssignExecutor, lockRegistry,
+                clusterPartitioner, repositoryProperties);
     }
 
     /**
@@ -838,6 +976,9 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            to run as system
      * @param lockRegistry
      *            to lock the tenant for auto assignment
+     * @param clusterPartitioner
+     *            to process only the tenants this cluster member is
+     *            responsible for
      * @param cleanupTasks
      *            a list of cleanup tasks
      * 
@@ -849,8 +990,9 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @ConditionalOnProperty(prefix = "hawkbit.autocleanup.scheduler", name = "enabled", matchIfMissing = true)
     AutoCleanupScheduler autoCleanupScheduler(final SystemManagement systemManagement,
             final SystemSecurityContext systemSecurityContext, final LockRegistry lockRegistry,
-            final List<CleanupTask> cleanupTasks) {
-        return new AutoCleanupScheduler(systemManagement, systemSecurityContext, lockRegistry, cleanupTasks);
+            final ClusterPartitioner clusterPartitioner, final List<CleanupTask> cleanupTasks) {
+        return new AutoCleanupScheduler(systemManagement, systemSecurityContext, lockRegistry, clusterPartitioner,
+                cleanupTasks);
     }
 
     /**
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.LockModeType;
+
+import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroupStatusCount;
+import org.eclipse.hawkbit.repository.jpa.model.RolloutGroupStatusCountId;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for the {@link JpaRolloutGroupStatusCount}s.
+ */
+@Transactional(readOnly = true)
+public interface RolloutGroupStatusCountRepository
+        extends CrudRepository<JpaRolloutGroupStatusCount, RolloutGroupStatusCountId> {
+
+    /**
+     * Retrieves the non-zero counters of the given rollout groups.
+     *
+     * @param rolloutGroupIds
+     *            of the rollout groups
+     * @return list of objects with group, status and action count
+     */
+    @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus(c.rolloutGroupId, c.status, c.actionCount) FROM JpaRolloutGroupStatusCount c WHERE c.rolloutGroupId IN :rolloutGroupIds AND c.actionCount <> 0")
+    List<TotalTargetCountActionStatus> getStatusCountByRolloutGroupIdIn(
+            @Param("rolloutGroupIds") Collection<Long> rolloutGroupIds);
+
+    /**
+     * Retrieves the counters of the given rollout groups and locks them
+     * against concurrent changes until the end of the transaction. The
+     * counters are locked in the same order as they are changed by
+     * {@link #addToActionCount(Long, Status, long)}, i.e. by rollout group and
+     * status.
+     *
+     * @param rolloutGroupIds
+     *            of the rollout groups
+     * @return the locked counters
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Transactional
+    @Query("SELECT c FROM JpaRolloutGroupStatusCount c WHERE c.rolloutGroupId IN :rolloutGroupIds ORDER BY c.rolloutGroupId, c.status")
+    List<JpaRolloutGroupStatusCount> lockByRolloutGroupIdIn(@Param("rolloutGroupIds") Collection<Long> rolloutGroupIds);
+
+    /**
+     * Adds the given delta to a counter.
+     *
+     * @param rolloutGroupId
+     *            of the counter
+     * @param status
+     *            of the counter
+     * @param delta
+     *            to add, negative to subtract
+     * @return the number of updated counters, i.e. <code>0</code> if the
+     *         counter does not exist
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JpaRolloutGroupStatusCount c SET c.actionCount = c.actionCount + :delta WHERE c.rolloutGroupId = :rolloutGroupId AND c.status = :status")
+    int addToActionCount(@Param("rolloutGroupId") Long rolloutGroupId, @Param("status") Status status,
+            @Param("delta") long delta);
+
+    /**
+     * Overwrites a counter.
+     *
+     * @param rolloutGroupId
+     *            of the counter
+     * @param status
+     *            of the counter
+     * @param actionCount
+     *            the new value
+     * @return the number of updated counters, i.e. <code>0</code> if the
+     *         counter does not exist
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JpaRolloutGroupStatusCount c SET c.actionCount = :actionCount WHERE c.rolloutGroupId = :rolloutGroupId AND c.status = :status")
+    int setActionCount(@Param("rolloutGroupId") Long rolloutGroupId, @Param("status") Status status,
+            @Param("actionCount") long actionCount);
+}
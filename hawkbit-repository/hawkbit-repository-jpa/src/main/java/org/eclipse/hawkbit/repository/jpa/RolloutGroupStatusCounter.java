@@ -0,0 +1,328 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroupStatusCount;
+import org.eclipse.hawkbit.repository.jpa.model.RolloutGroupStatusCountId;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Maintains the number of actions per rollout group and action status in
+ * {@link JpaRolloutGroupStatusCount} so that the rollout conditions and the
+ * rollout group status do not have to count the actions.
+ *
+ * The changes of the actions are collected per transaction and written just
+ * before the commit, i.e. every counter row is updated once per transaction
+ * and in a stable order to avoid deadlocks between concurrent transactions.
+ * The counters are read in the same transaction including the changes
+ * collected so far.
+ */
+public class RolloutGroupStatusCounter {
+    private static final Logger LOG = LoggerFactory.getLogger(RolloutGroupStatusCounter.class);
+
+    private static final Comparator<RolloutGroupStatusCountId> KEY_ORDER = Comparator
+            .comparing(RolloutGroupStatusCountId::getRolloutGroupId).thenComparing(RolloutGroupStatusCountId::getStatus);
+
+    private static final HawkBitEclipseLinkJpaDialect JPA_DIALECT = new HawkBitEclipseLinkJpaDialect();
+
+    private final EntityManager entityManager;
+    private final RolloutGroupStatusCountRepository statusCountRepository;
+    private final ActionRepository actionRepository;
+
+    /**
+     * Constructor.
+     *
+     * @param entityManager
+     *            to flush the pending action changes
+     * @param statusCountRepository
+     *            for the counters
+     * @param actionRepository
+     *            to recalculate the counters
+     */
+    public RolloutGroupStatusCounter(final EntityManager entityManager,
+            final RolloutGroupStatusCountRepository statusCountRepository, final ActionRepository actionRepository) {
+        this.entityManager = entityManager;
+        this.statusCountRepository = statusCountRepository;
+        this.actionRepository = actionRepository;
+    }
+
+    /**
+     * Prepares the current transaction for changes of the counters. Has to be
+     * called before the changes of the actions are flushed for the first time
+     * so that the changes are written before the commit.
+     */
+    public void prepare() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            getPendingCounts();
+        }
+    }
+
+    /**
+     * Records the creation of a rollout group, its counters are created with
+     * the current transaction.
+     *
+     * @param rolloutGroupId
+     *            of the created group
+     */
+    public void recordCreation(final Long rolloutGroupId) {
+        getPendingCounts().createdGroups.add(rolloutGroupId);
+    }
+
+    /**
+     * Records a change of the number of actions of a rollout group in a
+     * status.
+     *
+     * @param rolloutGroupId
+     *            of the actions
+     * @param status
+     *            of the actions
+     * @param delta
+     *            the number of added actions, negative for removed actions
+     */
+    public void record(final Long rolloutGroupId, final Status status, final long delta) {
+        if (rolloutGroupId == null || status == null || delta == 0) {
+            return;
+        }
+        getPendingCounts().deltas.merge(new RolloutGroupStatusCountId(rolloutGroupId, status), delta, Long::sum);
+    }
+
+    /**
+     * Records the deletion of actions that bypasses the entity listeners, e.g.
+     * by a bulk delete query.
+     *
+     * @param deleted
+     *            the number of deleted actions per rollout group and status
+     */
+    public void recordDeletion(final Collection<TotalTargetCountActionStatus> deleted) {
+        deleted.forEach(count -> record(count.getId(), count.getStatus(), -count.getCount()));
+    }
+
+    /**
+     * Records the status change of actions that bypasses the entity
+     * listeners, e.g. by a bulk update query.
+     *
+     * @param changed
+     *            the number of changed actions per rollout group and previous
+     *            status
+     * @param newStatus
+     *            the status the actions have been changed to
+     */
+    public void recordStatusChange(final Collection<TotalTargetCountActionStatus> changed, final Status newStatus) {
+        changed.forEach(count -> {
+            record(count.getId(), count.getStatus(), -count.getCount());
+            record(count.getId(), newStatus, count.getCount());
+        });
+    }
+
+    /**
+     * @param rolloutGroupId
+     *            of the group
+     * @return the number of actions of the group per status
+     */
+    public Map<Status, Long> getCounts(final Long rolloutGroupId) {
+        final Map<Status, Long> counts = new EnumMap<>(Status.class);
+        getStatusCounts(Lists.newArrayList(rolloutGroupId))
+                .forEach(count -> counts.put(count.getStatus(), count.getCount()));
+        return counts;
+    }
+
+    /**
+     * @param rolloutGroupId
+     *            of the group
+     * @param status
+     *            of the actions
+     * @return the number of actions of the group in the given status
+     */
+    public long getCount(final Long rolloutGroupId, final Status status) {
+        return getCounts(rolloutGroupId).getOrDefault(status, 0L);
+    }
+
+    /**
+     * @param rolloutGroupIds
+     *            of the groups
+     * @return the number of actions per group and status, without empty
+     *         status
+     */
+    public List<TotalTargetCountActionStatus> getStatusCounts(final Collection<Long> rolloutGroupIds) {
+        flush();
+        if (rolloutGroupIds.size() <= Constants.MAX_ENTRIES_IN_STATEMENT) {
+            return statusCountRepository.getStatusCountByRolloutGroupIdIn(rolloutGroupIds);
+        }
+        return Lists.partition(new ArrayList<>(rolloutGroupIds), Constants.MAX_ENTRIES_IN_STATEMENT).stream()
+                .flatMap(chunk -> statusCountRepository.getStatusCountByRolloutGroupIdIn(chunk).stream())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Recalculates the counters of the given rollout groups from the actions,
+     * e.g. after actions have been deleted by a native query.
+     *
+     * The counters are locked before the actions are counted. Concurrent
+     * transactions change the actions before they change the counters, so
+     * their changes are either committed before the actions are counted or
+     * added to the recalculated counters afterwards.
+     *
+     * @param rolloutGroupIds
+     *            of the groups
+     */
+    public void reconcile(final Collection<Long> rolloutGroupIds) {
+        flush();
+        final Set<Long> sortedGroupIds = new TreeSet<>(rolloutGroupIds);
+        Lists.partition(new ArrayList<>(sortedGroupIds), Constants.MAX_ENTRIES_IN_STATEMENT).forEach(chunk -> {
+            final Set<RolloutGroupStatusCountId> existing = statusCountRepository.lockByRolloutGroupIdIn(chunk)
+                    .stream().map(count -> new RolloutGroupStatusCountId(count.getRolloutGroupId(), count.getStatus()))
+                    .collect(Collectors.toSet());
+            final Map<RolloutGroupStatusCountId, Long> actual = actionRepository.getStatusCountByRolloutGroupId(chunk)
+                    .stream().collect(Collectors.toMap(
+                            count -> new RolloutGroupStatusCountId(count.getId(), count.getStatus()),
+                            TotalTargetCountActionStatus::getCount));
+            chunk.forEach(rolloutGroupId -> {
+                for (final Status status : Status.values()) {
+                    final RolloutGroupStatusCountId key = new RolloutGroupStatusCountId(rolloutGroupId, status);
+                    final long count = actual.getOrDefault(key, 0L);
+                    if (!existing.contains(key)) {
+                        entityManager.persist(new JpaRolloutGroupStatusCount(rolloutGroupId, status, count));
+                    } else {
+                        statusCountRepository.setActionCount(rolloutGroupId, status, count);
+                    }
+                }
+            });
+        });
+        entityManager.flush();
+    }
+
+    /**
+     * Writes the changes collected in the current transaction so far.
+     */
+    private void flush() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        // the flush records the changes of the actions not written yet
+        flushEntityManager();
+        final PendingCounts pending = findPendingCounts();
+        if (pending != null) {
+            pending.write();
+        }
+    }
+
+    /**
+     * Flushes the entity manager. As the flush may happen before the commit,
+     * the exceptions are translated the same way as by the transaction
+     * manager on commit.
+     */
+    private void flushEntityManager() {
+        try {
+            entityManager.flush();
+        } catch (final RuntimeException e) {
+            final DataAccessException translated = JPA_DIALECT.translateExceptionIfPossible(e);
+            throw translated == null ? e : translated;
+        }
+    }
+
+    private PendingCounts getPendingCounts() {
+        final PendingCounts pending = findPendingCounts();
+        if (pending != null) {
+            return pending;
+        }
+        final PendingCounts created = new PendingCounts();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(created);
+        } else {
+            LOG.warn("Rollout group status counters changed outside of a transaction, the change is lost.");
+        }
+        return created;
+    }
+
+    private PendingCounts findPendingCounts() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager
+                .getSynchronizations()) {
+            if (synchronization instanceof PendingCounts && ((PendingCounts) synchronization).isOf(this)) {
+                return (PendingCounts) synchronization;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Changes of the counters collected in one transaction.
+     */
+    private final class PendingCounts extends TransactionSynchronizationAdapter {
+        private final Set<Long> createdGroups = new TreeSet<>();
+        private final SortedMap<RolloutGroupStatusCountId, Long> deltas = new TreeMap<>(KEY_ORDER);
+
+        private boolean isOf(final RolloutGroupStatusCounter counter) {
+            return RolloutGroupStatusCounter.this == counter;
+        }
+
+        @Override
+        public void beforeCommit(final boolean readOnly) {
+            if (!readOnly) {
+                // the flush records the changes of the actions not written yet
+                flushEntityManager();
+            }
+            write();
+        }
+
+        private void write() {
+            while (!createdGroups.isEmpty() || !deltas.isEmpty()) {
+                final Set<Long> groups = new TreeSet<>(createdGroups);
+                final SortedMap<RolloutGroupStatusCountId, Long> changes = new TreeMap<>(deltas);
+                createdGroups.clear();
+                deltas.clear();
+
+                groups.forEach(rolloutGroupId -> {
+                    for (final Status status : Status.values()) {
+                        final Long delta = changes.remove(new RolloutGroupStatusCountId(rolloutGroupId, status));
+                        entityManager.persist(
+                                new JpaRolloutGroupStatusCount(rolloutGroupId, status, delta == null ? 0 : delta));
+                    }
+                });
+
+                changes.forEach((key, delta) -> {
+                    if (delta != 0 && statusCountRepository.addToActionCount(key.getRolloutGroupId(),
+                            key.getStatus(), delta) == 0) {
+                        LOG.debug("Rollout group {} does not exist anymore, ignoring status count change.",
+                                key.getRolloutGroupId());
+                    }
+                });
+
+                entityManager.flush();
+            }
+        }
+    }
+}
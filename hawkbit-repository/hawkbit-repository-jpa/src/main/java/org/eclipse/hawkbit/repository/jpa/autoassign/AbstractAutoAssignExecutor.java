@@ -8,6 +8,7 @@
  */
 package org.eclipse.hawkbit.repository.jpa.autoassign;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -100,22 +101,42 @@ public abstract class AbstractAutoAssignExecutor implements AutoAssignExecutor {
         do {
             filterQueries = targetFilterQueryManagement.findWithAutoAssignDS(query);
 
-            filterQueries.forEach(filterQuery -> {
-                try {
-                    runInUserContext(filterQuery, () -> consumer.accept(filterQuery));
-                } catch (final RuntimeException ex) {
-                    LOGGER.debug(
-                            "Exception on forEachFilterWithAutoAssignDS execution for tenant {} with filter id {}. Continue with next filter query.",
-                            filterQuery.getTenant(), filterQuery.getId(), ex);
-                    LOGGER.error(
-                            "Exception on forEachFilterWithAutoAssignDS execution for tenant {} with filter id {} and error message [{}]. "
-                                    + "Continue with next filter query.",
-                            filterQuery.getTenant(), filterQuery.getId(), ex.getMessage());
-                }
-            });
+            filterQueries.forEach(filterQuery -> acceptInUserContext(filterQuery, consumer));
         } while ((query = filterQueries.nextPageable()) != Pageable.unpaged());
     }
 
+    protected List<TargetFilterQuery> findFiltersWithAutoAssignDS() {
+        final List<TargetFilterQuery> filters = new ArrayList<>();
+        Page<TargetFilterQuery> filterQueries;
+        Pageable query = PageRequest.of(0, PAGE_SIZE);
+
+        do {
+            filterQueries = targetFilterQueryManagement.findWithAutoAssignDS(query);
+            filters.addAll(filterQueries.getContent());
+        } while ((query = filterQueries.nextPageable()) != Pageable.unpaged());
+
+        return filters;
+    }
+
+    protected void forEachFilter(final List<TargetFilterQuery> filterQueries,
+            final Consumer<TargetFilterQuery> consumer) {
+        filterQueries.forEach(filterQuery -> acceptInUserContext(filterQuery, consumer));
+    }
+
+    private void acceptInUserContext(final TargetFilterQuery filterQuery, final Consumer<TargetFilterQuery> consumer) {
+        try {
+            runInUserContext(filterQuery, () -> consumer.accept(filterQuery));
+        } catch (final RuntimeException ex) {
+            LOGGER.debug(
+                    "Exception on forEachFilterWithAutoAssignDS execution for tenant {} with filter id {}. Continue with next filter query.",
+                    filterQuery.getTenant(), filterQuery.getId(), ex);
+            LOGGER.error(
+                    "Exception on forEachFilterWithAutoAssignDS execution for tenant {} with filter id {} and error message [{}]. "
+                            + "Continue with next filter query.",
+                    filterQuery.getTenant(), filterQuery.getId(), ex.getMessage());
+        }
+    }
+
     /**
      * Runs target assignments within a dedicated transaction for a given list of
      * controllerIDs
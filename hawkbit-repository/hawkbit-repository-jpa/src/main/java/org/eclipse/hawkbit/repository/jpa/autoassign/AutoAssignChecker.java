@@ -8,39 +8,95 @@
  */
 package org.eclipse.hawkbit.repository.jpa.autoassign;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
 import javax.persistence.PersistenceException;
+import javax.persistence.TypedQuery;
 
 import org.eclipse.hawkbit.exception.AbstractServerRtException;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.event.remote.entity.RemoteEntityEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetFilterQueryCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetFilterQueryUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.jpa.cluster.ClusterPartitioner;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.jpa.rsql.RSQLTargetMatcher;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
 import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.eclipse.persistence.annotations.BatchFetchType;
+import org.eclipse.persistence.config.QueryHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.google.common.collect.Lists;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /**
  * Checks if targets need a new distribution set (DS) based on the target filter
  * queries and assigns the new DS when necessary. First all target filter
  * queries are listed. For every target filter query (TFQ) the auto assign DS is
  * retrieved. All targets get listed per target filter query, that match the TFQ
  * and that don't have the auto assign DS in their action history.
+ *
+ * In addition the created and updated targets are collected from the
+ * {@link TargetCreatedEvent}s and {@link TargetUpdatedEvent}s, which include
+ * the changes of the attributes and tags, so that
+ * {@link #checkChangedTargets()} only has to check these targets. They are
+ * loaded together with the attributes read by the target filter queries and
+ * matched in memory by the {@link RSQLTargetMatcher}. Only the candidates are
+ * checked by the database before they are assigned in batches. The changes are
+ * only collected for the tenants this node is responsible for.
  */
 public class AutoAssignChecker extends AbstractAutoAssignExecutor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AutoAssignChecker.class);
 
+    private static final String METRIC_PREFIX = "hawkbit.autoassign";
+
+    /**
+     * Maximum number of changed targets per tenant to check in memory. All
+     * targets are checked if more targets have been changed.
+     */
+    private static final int MAX_CHANGED_TARGETS = 10_000;
+
     private final TargetManagement targetManagement;
 
+    private final EntityManager entityManager;
+
+    private final ClusterPartitioner clusterPartitioner;
+
+    private final Timer checkTimer;
+
+    private final Counter assignedTargetsCounter;
+
+    private final Map<String, Set<Long>> changedTargets = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<Long>> changedFilters = new ConcurrentHashMap<>();
+
+    private final Set<String> tenantsToCheck = ConcurrentHashMap.newKeySet();
+
     /**
      * Instantiates a new auto assign checker
      *
@@ -48,18 +104,34 @@ public class AutoAssignChecker extends AbstractAutoAssignExecutor {
      *            to get all target filter queries
      * @param targetManagement
      *            to get targets
+     * @param entityManager
+     *            to load the changed targets
+     * @param clusterPartitioner
+     *            to collect the changes of the tenants this node is
+     *            responsible for
      * @param deploymentManagement
      *            to assign distribution sets to targets
      * @param transactionManager
      *            to run transactions
      * @param tenantAware
      *            to handle the tenant context
+     * @param meterRegistry
+     *            to record the duration of the checks and the assigned
+     *            targets
      */
     public AutoAssignChecker(final TargetFilterQueryManagement targetFilterQueryManagement,
-            final TargetManagement targetManagement, final DeploymentManagement deploymentManagement,
-            final PlatformTransactionManager transactionManager, final TenantAware tenantAware) {
+            final TargetManagement targetManagement, final EntityManager entityManager,
+            final ClusterPartitioner clusterPartitioner, final DeploymentManagement deploymentManagement,
+            final PlatformTransactionManager transactionManager, final TenantAware tenantAware,
+            final MeterRegistry meterRegistry) {
         super(targetFilterQueryManagement, deploymentManagement, transactionManager, tenantAware);
         this.targetManagement = targetManagement;
+        this.entityManager = entityManager;
+        this.clusterPartitioner = clusterPartitioner;
+        this.checkTimer = Timer.builder(METRIC_PREFIX + ".check").description("Auto assignment checks of a tenant")
+                .register(meterRegistry);
+        this.assignedTargetsCounter = Counter.builder(METRIC_PREFIX + ".targets")
+                .description("Targets assigned by auto assignment").register(meterRegistry);
     }
 
     @Override
@@ -67,7 +139,138 @@ public class AutoAssignChecker extends AbstractAutoAssignExecutor {
     public void check() {
         LOGGER.debug("Auto assigned check call");
 
-        forEachFilterWithAutoAssignDS(this::checkByTargetFilterQueryAndAssignDS);
+        // all changes until now are covered by this check
+        final String tenant = getTenantKey(getTenantAware().getCurrentTenant());
+        tenantsToCheck.remove(tenant);
+        changedTargets.remove(tenant);
+        changedFilters.remove(tenant);
+
+        checkTimer.record(() -> forEachFilterWithAutoAssignDS(this::checkByTargetFilterQueryAndAssignDS));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void checkChangedTargets() {
+        final String tenant = getTenantKey(getTenantAware().getCurrentTenant());
+        if (tenantsToCheck.contains(tenant)) {
+            check();
+            return;
+        }
+
+        final Set<Long> targetIds = drain(changedTargets, tenant);
+        final Set<Long> filterIds = drain(changedFilters, tenant);
+        if (targetIds.isEmpty() && filterIds.isEmpty()) {
+            return;
+        }
+
+        LOGGER.debug("Auto assigned check call for {} changed targets and {} changed filters", targetIds.size(),
+                filterIds.size());
+
+        checkTimer.record(() -> {
+            final List<TargetFilterQuery> filterQueries = findFiltersWithAutoAssignDS();
+            if (filterQueries.isEmpty()) {
+                return;
+            }
+            final List<JpaTarget> targets = findTargets(targetIds, getFetchedAttributes(filterQueries, filterIds));
+
+            forEachFilter(filterQueries, targetFilterQuery -> {
+                if (filterIds.contains(targetFilterQuery.getId())) {
+                    checkByTargetFilterQueryAndAssignDS(targetFilterQuery);
+                } else if (!targets.isEmpty()) {
+                    checkTargetsByTargetFilterQueryAndAssignDS(targetFilterQuery, targets);
+                }
+            });
+        });
+    }
+
+    /**
+     * Collects the created and updated targets to check them with the next
+     * {@link #checkChangedTargets()}.
+     *
+     * @param event
+     *            the {@link TargetCreatedEvent} or {@link TargetUpdatedEvent}
+     */
+    @EventListener(classes = { TargetCreatedEvent.class, TargetUpdatedEvent.class })
+    public void onTargetChanged(final RemoteEntityEvent<?> event) {
+        final String tenant = getTenantKey(event.getTenant());
+        if (tenantsToCheck.contains(tenant) || !clusterPartitioner.isResponsible(event.getTenant())) {
+            return;
+        }
+
+        changedTargets.compute(tenant, (key, targetIds) -> {
+            final Set<Long> changed = targetIds == null ? new HashSet<>() : targetIds;
+            changed.add(event.getEntityId());
+            if (changed.size() > MAX_CHANGED_TARGETS) {
+                // too many changes, check all targets instead
+                tenantsToCheck.add(tenant);
+                return null;
+            }
+            return changed;
+        });
+    }
+
+    /**
+     * Collects the created and updated target filter queries to check them
+     * against all targets with the next {@link #checkChangedTargets()}.
+     *
+     * @param event
+     *            the {@link TargetFilterQueryCreatedEvent} or
+     *            {@link TargetFilterQueryUpdatedEvent}
+     */
+    @EventListener(classes = { TargetFilterQueryCreatedEvent.class, TargetFilterQueryUpdatedEvent.class })
+    public void onTargetFilterQueryChanged(final RemoteEntityEvent<?> event) {
+        if (!clusterPartitioner.isResponsible(event.getTenant())) {
+            return;
+        }
+        changedFilters.compute(getTenantKey(event.getTenant()), (key, filterIds) -> {
+            final Set<Long> changed = filterIds == null ? new HashSet<>() : filterIds;
+            changed.add(event.getEntityId());
+            return changed;
+        });
+    }
+
+    private static Set<Long> drain(final Map<String, Set<Long>> changes, final String tenant) {
+        final Set<Long> drained = changes.remove(tenant);
+        return drained == null ? Collections.emptySet() : drained;
+    }
+
+    /**
+     * Collects the attributes of the targets which are read in memory by the
+     * target filter queries that are checked against the changed targets.
+     * Invalid queries are skipped, they fail when they are checked.
+     */
+    private static Set<String> getFetchedAttributes(final List<TargetFilterQuery> filterQueries,
+            final Set<Long> changedFilterIds) {
+        final Set<String> attributes = new HashSet<>();
+        filterQueries.stream().filter(filterQuery -> !changedFilterIds.contains(filterQuery.getId()))
+                .forEach(filterQuery -> {
+                    try {
+                        attributes.addAll(RSQLTargetMatcher.getFetchedAttributes(filterQuery.getQuery()));
+                    } catch (final AbstractServerRtException e) {
+                        LOGGER.debug("Invalid target filter query {}", filterQuery.getId(), e);
+                    }
+                });
+        return attributes;
+    }
+
+    /**
+     * Loads the targets with the given attributes, every attribute is fetched
+     * with one query per chunk of targets instead of one query per target.
+     */
+    private List<JpaTarget> findTargets(final Set<Long> targetIds, final Set<String> fetchedAttributes) {
+        return Lists.partition(Lists.newArrayList(targetIds), Constants.MAX_ENTRIES_IN_STATEMENT).stream()
+                .flatMap(ids -> {
+                    final TypedQuery<JpaTarget> query = entityManager
+                            .createQuery("SELECT t FROM JpaTarget t WHERE t.id IN :ids", JpaTarget.class)
+                            .setParameter("ids", ids).setHint(QueryHints.BATCH_TYPE, BatchFetchType.IN)
+                            .setHint(QueryHints.BATCH_SIZE, Constants.MAX_ENTRIES_IN_STATEMENT);
+                    fetchedAttributes.forEach(attribute -> query.setHint(QueryHints.BATCH, "t." + attribute));
+                    return query.getResultList().stream();
+                }).collect(Collectors.toList());
+    }
+
+    private static String getTenantKey(final String tenant) {
+        return tenant.toUpperCase();
     }
 
     /**
@@ -88,6 +291,7 @@ public class AutoAssignChecker extends AbstractAutoAssignExecutor {
                                 targetFilterQuery.getAutoAssignDistributionSet().getId(), targetFilterQuery.getQuery())
                         .getContent().stream().map(Target::getControllerId).collect(Collectors.toList());
                 count = runTransactionalAssignment(targetFilterQuery, controllerIds);
+                assignedTargetsCounter.increment(count);
 
             } while (count == Constants.MAX_ENTRIES_IN_STATEMENT);
 
@@ -97,4 +301,37 @@ public class AutoAssignChecker extends AbstractAutoAssignExecutor {
 
     }
 
+    /**
+     * Matches the changed targets in memory and assigns the DS to the
+     * candidates that match the target filter query in the database and that
+     * don't have the DS in their action history yet.
+     *
+     * @param targetFilterQuery
+     *            the target filter query
+     * @param targets
+     *            the changed targets
+     */
+    private void checkTargetsByTargetFilterQueryAndAssignDS(final TargetFilterQuery targetFilterQuery,
+            final List<JpaTarget> targets) {
+        try {
+            final Predicate<JpaTarget> matcher = RSQLTargetMatcher.compile(targetFilterQuery.getQuery());
+            final List<Long> candidates = targets.stream().filter(matcher).map(Target::getId)
+                    .collect(Collectors.toList());
+
+            for (final List<Long> targetIds : Lists.partition(candidates, Constants.MAX_ENTRIES_IN_STATEMENT)) {
+                final List<String> controllerIds = targetManagement
+                        .findByTargetFilterQueryAndNonDS(PageRequest.of(0, Constants.MAX_ENTRIES_IN_STATEMENT),
+                                targetFilterQuery.getAutoAssignDistributionSet().getId(), targetFilterQuery.getQuery(),
+                                targetIds)
+                        .getContent().stream().map(Target::getControllerId).collect(Collectors.toList());
+                if (!controllerIds.isEmpty()) {
+                    assignedTargetsCounter.increment(runTransactionalAssignment(targetFilterQuery, controllerIds));
+                }
+            }
+
+        } catch (PersistenceException | AbstractServerRtException e) {
+            LOGGER.error("Error during auto assign check of target filter query " + targetFilterQuery.getId(), e);
+        }
+    }
+
 }
@@ -8,10 +8,14 @@
  */
 package org.eclipse.hawkbit.repository.jpa.autoassign;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.autoassign.AutoAssignExecutor;
+import org.eclipse.hawkbit.repository.jpa.cluster.ClusterPartitioner;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,7 +23,10 @@ import org.springframework.integration.support.locks.LockRegistry;
 import org.springframework.scheduling.annotation.Scheduled;
 
 /**
- * Scheduler to check target filters for auto assignment of distribution sets
+ * Scheduler to check target filters for auto assignment of distribution sets.
+ * Only the changed targets of a tenant are checked on every run, all targets
+ * are checked once per
+ * {@link RepositoryProperties#getAutoAssignReconciliationInterval()}.
  */
 public class AutoAssignScheduler {
     private static final Logger LOGGER = LoggerFactory.getLogger(AutoAssignScheduler.class);
@@ -34,6 +41,12 @@ public class AutoAssignScheduler {
 
     private final LockRegistry lockRegistry;
 
+    private final ClusterPartitioner clusterPartitioner;
+
+    private final RepositoryProperties repositoryProperties;
+
+    private final Map<String, Long> lastReconciliations = new ConcurrentHashMap<>();
+
     /**
      * Instantiates a new AutoAssignScheduler
      * 
@@ -45,14 +58,22 @@ public class AutoAssignScheduler {
      *            to run a check as tenant
      * @param lockRegistry
      *            to acquire a lock per tenant
+     * @param clusterPartitioner
+     *            to process only the tenants this cluster member is
+     *            responsible for
+     * @param repositoryProperties
+     *            to get the reconciliation interval
      */
     public AutoAssignScheduler(final SystemManagement systemManagement,
             final SystemSecurityContext systemSecurityContext, final AutoAssignExecutor autoAssignExecutor,
-            final LockRegistry lockRegistry) {
+            final LockRegistry lockRegistry, final ClusterPartitioner clusterPartitioner,
+            final RepositoryProperties repositoryProperties) {
         this.systemManagement = systemManagement;
         this.systemSecurityContext = systemSecurityContext;
         this.autoAssignExecutor = autoAssignExecutor;
         this.lockRegistry = lockRegistry;
+        this.clusterPartitioner = clusterPartitioner;
+        this.repositoryProperties = repositoryProperties;
     }
 
     /**
@@ -83,11 +104,34 @@ public class AutoAssignScheduler {
         }
 
         try {
-            systemManagement.forEachTenant(tenant -> autoAssignExecutor.check());
+            systemManagement.forEachTenant(tenant -> {
+                if (!clusterPartitioner.isResponsible(tenant)) {
+                    // the changes are only collected while this node is
+                    // responsible, so all targets are checked on take over
+                    lastReconciliations.remove(tenant);
+                    return;
+                }
+                if (isReconciliationDue(tenant)) {
+                    autoAssignExecutor.check();
+                } else {
+                    autoAssignExecutor.checkChangedTargets();
+                }
+            });
         } finally {
             lock.unlock();
         }
 
         return null;
     }
+
+    private boolean isReconciliationDue(final String tenant) {
+        final long now = System.currentTimeMillis();
+        final Long lastReconciliation = lastReconciliations.get(tenant);
+        if (lastReconciliation != null
+                && now - lastReconciliation < repositoryProperties.getAutoAssignReconciliationInterval()) {
+            return false;
+        }
+        lastReconciliations.put(tenant, now);
+        return true;
+    }
 }
@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.concurrent.locks.Lock;
 
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.jpa.cluster.ClusterPartitioner;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +33,7 @@ public class AutoCleanupScheduler {
     private final SystemManagement systemManagement;
     private final SystemSecurityContext systemSecurityContext;
     private final LockRegistry lockRegistry;
+    private final ClusterPartitioner clusterPartitioner;
     private final List<CleanupTask> cleanupTasks;
 
     /**
@@ -44,15 +46,19 @@ public class AutoCleanupScheduler {
      *            The system security context.
      * @param lockRegistry
      *            A registry for shared locks.
+     * @param clusterPartitioner
+     *            To process only the tenants this cluster member is
+     *            responsible for.
      * @param cleanupTasks
      *            A list of cleanup tasks.
      */
     public AutoCleanupScheduler(final SystemManagement systemManagement,
             final SystemSecurityContext systemSecurityContext, final LockRegistry lockRegistry,
-            final List<CleanupTask> cleanupTasks) {
+            final ClusterPartitioner clusterPartitioner, final List<CleanupTask> cleanupTasks) {
         this.systemManagement = systemManagement;
         this.systemSecurityContext = systemSecurityContext;
         this.lockRegistry = lockRegistry;
+        this.clusterPartitioner = clusterPartitioner;
         this.cleanupTasks = cleanupTasks;
     }
 
@@ -70,26 +76,33 @@ public class AutoCleanupScheduler {
     }
 
     /**
-     * Method which executes each registered cleanup task for each tenant.
+     * Method which executes each registered cleanup task for each tenant this
+     * cluster member is responsible for.
      */
     @SuppressWarnings("squid:S3516")
     private Void executeAutoCleanup() {
-        systemManagement.forEachTenant(tenant -> cleanupTasks.forEach(task -> {
-            final Lock lock = obtainLock(task, tenant);
-            if (!lock.tryLock()) {
-                return;
+        systemManagement.forEachTenant(tenant -> {
+            if (clusterPartitioner.isResponsible(tenant)) {
+                cleanupTasks.forEach(task -> executeCleanupTask(task, tenant));
             }
-            try {
-                task.run();
-            } catch (final RuntimeException e) {
-                LOGGER.error("Cleanup task failed.", e);
-            } finally {
-                lock.unlock();
-            }
-        }));
+        });
         return null;
     }
 
+    private void executeCleanupTask(final CleanupTask task, final String tenant) {
+        final Lock lock = obtainLock(task, tenant);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            task.run();
+        } catch (final RuntimeException e) {
+            LOGGER.error("Cleanup task failed.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
     private Lock obtainLock(final CleanupTask task, final String tenant) {
         return lockRegistry.obtain(AUTO_CLEANUP + SEP + task.getId() + SEP + tenant);
     }
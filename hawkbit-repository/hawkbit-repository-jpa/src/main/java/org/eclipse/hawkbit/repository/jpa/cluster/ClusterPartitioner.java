@@ -0,0 +1,26 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.cluster;
+
+/**
+ * Partitions scheduled background work among the members of a cluster. Every
+ * partition key is assigned to exactly one live member so that each member
+ * only processes its own share.
+ */
+@FunctionalInterface
+public interface ClusterPartitioner {
+
+    /**
+     * @param partitionKey
+     *            identifying a unit of work, e.g. a tenant
+     * @return <code>true</code> if this member is responsible for the given
+     *         partition
+     */
+    boolean isResponsible(String partitionKey);
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * Immutable consistent hash ring of cluster members. Every member is placed
+ * multiple times on the ring so that the partitions are spread evenly and a
+ * membership change only moves the partitions of the joined or left member.
+ */
+final class ConsistentHashRing {
+
+    private static final HashFunction HASH = Hashing.murmur3_32();
+
+    private final List<String> members;
+    private final NavigableMap<Integer, String> ring = new TreeMap<>();
+
+    ConsistentHashRing(final List<String> members, final int virtualNodes) {
+        this.members = Collections.unmodifiableList(members);
+
+        members.forEach(member -> {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(member + "#" + i), member);
+            }
+        });
+    }
+
+    List<String> getMembers() {
+        return members;
+    }
+
+    /**
+     * @param partitionKey
+     *            to look up
+     * @return the member responsible for the given partition or
+     *         <code>null</code> if the ring is empty
+     */
+    String getOwner(final String partitionKey) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+
+        final Map.Entry<Integer, String> owner = ring.ceilingEntry(hash(partitionKey));
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    private static int hash(final String value) {
+        return HASH.hashString(value, StandardCharsets.UTF_8).asInt();
+    }
+}
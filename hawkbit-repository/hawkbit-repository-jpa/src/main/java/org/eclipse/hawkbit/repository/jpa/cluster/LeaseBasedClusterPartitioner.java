@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.cluster;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.jpa.ClusterMemberRepository;
+import org.eclipse.hawkbit.repository.jpa.model.JpaClusterMember;
+import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * {@link ClusterPartitioner} based on leases in the database. Every member
+ * renews its lease periodically and picks up the live members of the cluster
+ * with the same heartbeat. The partitions are assigned to the live members by
+ * a {@link ConsistentHashRing}, i.e. they are rebalanced automatically once a
+ * member joins, leaves or misses to renew its lease.
+ *
+ * The heartbeats of the other members are never compared with the own clock,
+ * as the clocks of the members may be skewed. A member is considered dead
+ * once its heartbeat has not changed for the lease duration measured by the
+ * own clock.
+ *
+ * Note: the members may see a membership change at slightly different times.
+ * A partition can be processed by two members within that time frame, so the
+ * work that is partitioned still has to be safe for concurrent execution.
+ */
+public class LeaseBasedClusterPartitioner implements ClusterPartitioner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LeaseBasedClusterPartitioner.class);
+
+    private final String memberId = UUID.randomUUID().toString();
+
+    private final ClusterMemberRepository clusterMemberRepository;
+    private final PlatformTransactionManager txManager;
+    private final long leaseDuration;
+    private final int virtualNodes;
+    private final ScheduledFuture<?> heartbeat;
+    // heartbeats of the other members and when they were seen first, only
+    // accessed on lease renewal
+    private final Map<String, HeartbeatObservation> observations = new HashMap<>();
+
+    private volatile ConsistentHashRing ring = new ConsistentHashRing(Collections.emptyList(), 0);
+    private volatile long lastRenewal;
+    private long lastHeartbeat;
+
+    /**
+     * Constructor. Schedules the periodic lease renewal.
+     *
+     * @param scheduler
+     *            to trigger the periodic lease renewal
+     * @param repositoryProperties
+     *            for the heartbeat and lease timing
+     * @param clusterMemberRepository
+     *            to store the lease
+     * @param txManager
+     *            to renew the lease in its own transaction
+     */
+    public LeaseBasedClusterPartitioner(final ScheduledExecutorService scheduler,
+            final RepositoryProperties repositoryProperties, final ClusterMemberRepository clusterMemberRepository,
+            final PlatformTransactionManager txManager) {
+        this.clusterMemberRepository = clusterMemberRepository;
+        this.txManager = txManager;
+        this.leaseDuration = repositoryProperties.getClusterLeaseDuration();
+        this.virtualNodes = Math.max(1, repositoryProperties.getClusterVirtualNodes());
+
+        heartbeat = scheduler.scheduleWithFixedDelay(this::renewLease, 0,
+                repositoryProperties.getClusterHeartbeatInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean isResponsible(final String partitionKey) {
+        if (!hasValidLease()) {
+            renewLease();
+            if (!hasValidLease()) {
+                // other members take over the partitions after the lease
+                // expired, so process nothing until the lease is renewed
+                return false;
+            }
+        }
+
+        return memberId.equals(ring.getOwner(partitionKey));
+    }
+
+    private boolean hasValidLease() {
+        return System.currentTimeMillis() - lastRenewal < leaseDuration;
+    }
+
+    /**
+     * Renews the lease of this member, removes expired leases and updates the
+     * membership view.
+     */
+    synchronized void renewLease() {
+        final long now = System.currentTimeMillis();
+        // the heartbeat has to change with every renewal, even if the clock
+        // is set back
+        lastHeartbeat = Math.max(now, lastHeartbeat + 1);
+
+        try {
+            final List<String> liveMembers = DeploymentHelper.runInNewTransaction(txManager, "renewClusterLease",
+                    status -> {
+                        clusterMemberRepository.save(new JpaClusterMember(memberId, lastHeartbeat));
+                        return findLiveMembers(now);
+                    });
+
+            updateMembers(liveMembers);
+            lastRenewal = now;
+        } catch (final RuntimeException e) {
+            LOG.error("Failed to renew lease of cluster member {}.", memberId, e);
+        }
+    }
+
+    private List<String> findLiveMembers(final long now) {
+        final Map<String, HeartbeatObservation> seen = new HashMap<>();
+        final List<String> liveMembers = new ArrayList<>();
+
+        for (final JpaClusterMember member : clusterMemberRepository.findAll()) {
+            if (memberId.equals(member.getMemberId())) {
+                continue;
+            }
+
+            HeartbeatObservation observation = observations.get(member.getMemberId());
+            if (observation == null || observation.heartbeat != member.getLastHeartbeat()) {
+                observation = new HeartbeatObservation(member.getLastHeartbeat(), now);
+            }
+
+            if (now - observation.seenAt < leaseDuration) {
+                seen.put(member.getMemberId(), observation);
+                liveMembers.add(member.getMemberId());
+            } else {
+                // keeps the lease if the member renewed it in the meantime
+                clusterMemberRepository.deleteByMemberIdAndLastHeartbeat(member.getMemberId(),
+                        member.getLastHeartbeat());
+            }
+        }
+
+        observations.clear();
+        observations.putAll(seen);
+
+        return liveMembers;
+    }
+
+    private void updateMembers(final List<String> liveMembers) {
+        final List<String> members = new ArrayList<>(liveMembers);
+        members.add(memberId);
+        Collections.sort(members);
+
+        if (!members.equals(ring.getMembers())) {
+            LOG.info("Cluster membership changed to {} members, rebalancing partitions of member {}.",
+                    members.size(), memberId);
+            ring = new ConsistentHashRing(members, virtualNodes);
+        }
+    }
+
+    /**
+     * Stops the lease renewal and releases the lease so that the remaining
+     * members take over the partitions with their next heartbeat.
+     */
+    public void shutdown() {
+        heartbeat.cancel(false);
+
+        try {
+            DeploymentHelper.runInNewTransaction(txManager, "releaseClusterLease", status -> {
+                clusterMemberRepository.deleteById(memberId);
+                return null;
+            });
+        } catch (final RuntimeException e) {
+            LOG.warn("Failed to release lease of cluster member {}.", memberId, e);
+        }
+    }
+
+    /**
+     * @return ID of this cluster member
+     */
+    public String getMemberId() {
+        return memberId;
+    }
+
+    private static final class HeartbeatObservation {
+        private final long heartbeat;
+        private final long seenAt;
+
+        private HeartbeatObservation(final long heartbeat, final long seenAt) {
+            this.heartbeat = heartbeat;
+            this.seenAt = seenAt;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.model;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+/**
+ * Lease of a cluster member. The lease is renewed by the member itself with
+ * every heartbeat. This entity is not tenant aware as the cluster membership
+ * is shared by all tenants.
+ */
+@Table(name = "sp_cluster_member")
+@Entity
+public class JpaClusterMember implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "member_id", nullable = false, updatable = false, length = 64)
+    @Size(min = 1, max = 64)
+    @NotNull
+    private String memberId;
+
+    @Column(name = "last_heartbeat", nullable = false)
+    private long lastHeartbeat;
+
+    /**
+     * Default constructor needed for JPA entities.
+     */
+    public JpaClusterMember() {
+        // Default constructor needed for JPA entities.
+    }
+
+    /**
+     * Standard constructor.
+     *
+     * @param memberId
+     *            of the cluster member
+     * @param lastHeartbeat
+     *            time of the lease renewal in milliseconds since epoch
+     */
+    public JpaClusterMember(final String memberId, final long lastHeartbeat) {
+        this.memberId = memberId;
+        this.lastHeartbeat = lastHeartbeat;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public long getLastHeartbeat() {
+        return lastHeartbeat;
+    }
+
+    public void setLastHeartbeat(final long lastHeartbeat) {
+        this.lastHeartbeat = lastHeartbeat;
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.model;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.persistence.annotations.ConversionValue;
+import org.eclipse.persistence.annotations.Convert;
+import org.eclipse.persistence.annotations.ObjectTypeConverter;
+
+/**
+ * Number of the actions of a {@link RolloutGroup} in an action status. The
+ * counters are maintained with every change of the actions so that the
+ * rollout conditions do not have to count the actions. This entity is not
+ * tenant aware as the rollout group IDs are unique across tenants.
+ */
+@IdClass(RolloutGroupStatusCountId.class)
+@Table(name = "sp_rolloutgroup_status_count")
+@Entity
+public class JpaRolloutGroupStatusCount implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "rolloutgroup_id", nullable = false, updatable = false)
+    private Long rolloutGroupId;
+
+    @Id
+    @Column(name = "status", nullable = false, updatable = false)
+    @ObjectTypeConverter(name = "status", objectType = Status.class, dataType = Integer.class, conversionValues = {
+            @ConversionValue(objectValue = "FINISHED", dataValue = "0"),
+            @ConversionValue(objectValue = "ERROR", dataValue = "1"),
+            @ConversionValue(objectValue = "WARNING", dataValue = "2"),
+            @ConversionValue(objectValue = "RUNNING", dataValue = "3"),
+            @ConversionValue(objectValue = "CANCELED", dataValue = "4"),
+            @ConversionValue(objectValue = "CANCELING", dataValue = "5"),
+            @ConversionValue(objectValue = "RETRIEVED", dataValue = "6"),
+            @ConversionValue(objectValue = "DOWNLOAD", dataValue = "7"),
+            @ConversionValue(objectValue = "SCHEDULED", dataValue = "8"),
+            @ConversionValue(objectValue = "CANCEL_REJECTED", dataValue = "9"),
+            @ConversionValue(objectValue = "DOWNLOADED", dataValue = "10") })
+    @Convert("status")
+    private Status status;
+
+    @Column(name = "action_count", nullable = false)
+    private long actionCount;
+
+    /**
+     * Default constructor needed for JPA entities.
+     */
+    public JpaRolloutGroupStatusCount() {
+        // Default constructor needed for JPA entities.
+    }
+
+    /**
+     * Standard constructor.
+     *
+     * @param rolloutGroupId
+     *            of the counted actions
+     * @param status
+     *            of the counted actions
+     * @param actionCount
+     *            the number of actions
+     */
+    public JpaRolloutGroupStatusCount(final Long rolloutGroupId, final Status status, final long actionCount) {
+        this.rolloutGroupId = rolloutGroupId;
+        this.status = status;
+        this.actionCount = actionCount;
+    }
+
+    public Long getRolloutGroupId() {
+        return rolloutGroupId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getActionCount() {
+        return actionCount;
+    }
+
+    public void setActionCount(final long actionCount) {
+        this.actionCount = actionCount;
+    }
+}
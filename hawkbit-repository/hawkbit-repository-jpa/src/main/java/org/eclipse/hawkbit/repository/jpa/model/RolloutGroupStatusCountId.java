@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import org.eclipse.hawkbit.repository.model.Action.Status;
+
+/**
+ * Combined unique key of the table {@link JpaRolloutGroupStatusCount}.
+ */
+public class RolloutGroupStatusCountId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long rolloutGroupId;
+    private Status status;
+
+    /**
+     * default constructor necessary for JPA.
+     */
+    public RolloutGroupStatusCountId() {
+        // default constructor necessary for JPA, empty.
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param rolloutGroupId
+     *            the rollout group for this key
+     * @param status
+     *            the action status for this key
+     */
+    public RolloutGroupStatusCountId(final Long rolloutGroupId, final Status status) {
+        this.rolloutGroupId = rolloutGroupId;
+        this.status = status;
+    }
+
+    public Long getRolloutGroupId() {
+        return rolloutGroupId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof RolloutGroupStatusCountId)) {
+            return false;
+        }
+        final RolloutGroupStatusCountId other = (RolloutGroupStatusCountId) obj;
+        return Objects.equals(rolloutGroupId, other.rolloutGroupId) && status == other.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rolloutGroupId, status);
+    }
+}
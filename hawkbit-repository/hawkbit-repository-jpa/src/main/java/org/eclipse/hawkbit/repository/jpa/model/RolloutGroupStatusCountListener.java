@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.model;
+
+import org.eclipse.hawkbit.repository.jpa.RolloutGroupStatusCounter;
+import org.eclipse.hawkbit.repository.jpa.model.helper.RolloutGroupStatusCounterHolder;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.BaseEntity;
+import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.queries.UpdateObjectQuery;
+import org.eclipse.persistence.sessions.changesets.ChangeRecord;
+import org.eclipse.persistence.sessions.changesets.DirectToFieldChangeRecord;
+
+/**
+ * Listens to the creation of {@link JpaRolloutGroup}s and the changes of the
+ * status of {@link JpaAction}s and records them in the
+ * {@link RolloutGroupStatusCounter}.
+ *
+ */
+public class RolloutGroupStatusCountListener extends DescriptorEventAdapter {
+
+    private static final String STATUS = "status";
+
+    @Override
+    public void postClone(final DescriptorEvent event) {
+        // the entity may be changed in the transaction
+        getCounter().prepare();
+    }
+
+    @Override
+    public void prePersist(final DescriptorEvent event) {
+        getCounter().prepare();
+    }
+
+    @Override
+    public void postInsert(final DescriptorEvent event) {
+        final Object object = event.getObject();
+        if (object instanceof JpaRolloutGroup) {
+            getCounter().recordCreation(((JpaRolloutGroup) object).getId());
+        } else if (object instanceof JpaAction) {
+            final JpaAction action = (JpaAction) object;
+            getCounter().record(BaseEntity.getIdOrNull(action.getRolloutGroup()), action.getStatus(), 1);
+        }
+    }
+
+    @Override
+    public void postUpdate(final DescriptorEvent event) {
+        final Object object = event.getObject();
+        if (!(object instanceof JpaAction)) {
+            return;
+        }
+
+        final ObjectChangeSet changeSet = ((UpdateObjectQuery) event.getQuery()).getObjectChangeSet();
+        final ChangeRecord change = changeSet == null ? null : changeSet.getChangesForAttributeNamed(STATUS);
+        if (!(change instanceof DirectToFieldChangeRecord)) {
+            return;
+        }
+
+        final Object oldStatus = ((DirectToFieldChangeRecord) change).getOldValue();
+        final Object newStatus = ((DirectToFieldChangeRecord) change).getNewValue();
+        if (oldStatus instanceof Status && newStatus instanceof Status && oldStatus != newStatus) {
+            final Long rolloutGroupId = BaseEntity.getIdOrNull(((JpaAction) object).getRolloutGroup());
+            getCounter().record(rolloutGroupId, (Status) oldStatus, -1);
+            getCounter().record(rolloutGroupId, (Status) newStatus, 1);
+        }
+    }
+
+    @Override
+    public void postDelete(final DescriptorEvent event) {
+        final Object object = event.getObject();
+        if (object instanceof JpaAction) {
+            final JpaAction action = (JpaAction) object;
+            getCounter().record(BaseEntity.getIdOrNull(action.getRolloutGroup()), action.getStatus(), -1);
+        }
+    }
+
+    private static RolloutGroupStatusCounter getCounter() {
+        return RolloutGroupStatusCounterHolder.getInstance().getRolloutGroupStatusCounter();
+    }
+
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.model.helper;
+
+import org.eclipse.hawkbit.repository.jpa.RolloutGroupStatusCounter;
+import org.eclipse.hawkbit.repository.jpa.model.RolloutGroupStatusCountListener;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * A singleton bean which holds the {@link RolloutGroupStatusCounter} to have
+ * access to it in beans not instantiated by spring e.g. the
+ * {@link RolloutGroupStatusCountListener} which cannot be autowired.
+ *
+ */
+public final class RolloutGroupStatusCounterHolder {
+
+    private static final RolloutGroupStatusCounterHolder SINGLETON = new RolloutGroupStatusCounterHolder();
+
+    @Autowired
+    private RolloutGroupStatusCounter rolloutGroupStatusCounter;
+
+    private RolloutGroupStatusCounterHolder() {
+
+    }
+
+    /**
+     * @return the rollout group status counter holder singleton instance
+     */
+    public static RolloutGroupStatusCounterHolder getInstance() {
+        return SINGLETON;
+    }
+
+    /**
+     * @return the rolloutGroupStatusCounter
+     */
+    public RolloutGroupStatusCounter getRolloutGroupStatusCounter() {
+        return rolloutGroupStatusCounter;
+    }
+
+    /**
+     * @param rolloutGroupStatusCounter
+     *            the rolloutGroupStatusCounter to set
+     */
+    public void setRolloutGroupStatusCounter(final RolloutGroupStatusCounter rolloutGroupStatusCounter) {
+        this.rolloutGroupStatusCounter = rolloutGroupStatusCounter;
+    }
+
+}
@@ -0,0 +1,437 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.poll;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
+import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * {@link TargetPollPersistence} that coalesces polls per tenant in lock
+ * striped maps. Repeated polls of the same target collapse into the latest
+ * poll time so that a flush writes every polling target at most once. Tenants
+ * are flushed in parallel, each in its own transaction. Polls of a failed flush
+ * are buffered again and the buffers of tenants without polls are removed.
+ */
+public class CoalescingTargetPollPersistence implements TargetPollPersistence {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CoalescingTargetPollPersistence.class);
+
+    /**
+     * Resolution in milliseconds in which polls are written with the same
+     * statement.
+     */
+    private static final long POLL_TIME_RESOLUTION = 1_000;
+
+    private final ConcurrentMap<String, TenantPolls> tenants = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+
+    private final int capacity;
+    private final int lockStripes;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService flushExecutor;
+
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager txManager;
+    private final TenantAware tenantAware;
+    private final AfterTransactionCommitExecutor afterCommit;
+    private final EventPublisherHolder eventPublisherHolder;
+
+    /**
+     * Constructor. Schedules the periodic flush unless
+     * {@link RepositoryProperties#isEagerPollPersistence()} is set.
+     *
+     * @param scheduler
+     *            to trigger the periodic flush
+     * @param repositoryProperties
+     *            for the buffer sizing and flush timing
+     * @param entityManager
+     *            to persist the polls
+     * @param txManager
+     *            to run each tenant flush in its own transaction
+     * @param tenantAware
+     *            to run the flush in the context of the tenant
+     * @param afterCommit
+     *            to publish the {@link TargetPollEvent}s after the flush
+     * @param eventPublisherHolder
+     *            to publish the {@link TargetPollEvent}s
+     */
+    public CoalescingTargetPollPersistence(final ScheduledExecutorService scheduler,
+            final RepositoryProperties repositoryProperties, final EntityManager entityManager,
+            final PlatformTransactionManager txManager, final TenantAware tenantAware,
+            final AfterTransactionCommitExecutor afterCommit, final EventPublisherHolder eventPublisherHolder) {
+        this.capacity = repositoryProperties.getPollPersistenceQueueSize();
+        this.lockStripes = Math.max(1, repositoryProperties.getPollPersistenceLockStripes());
+        this.scheduler = scheduler;
+        this.entityManager = entityManager;
+        this.txManager = txManager;
+        this.tenantAware = tenantAware;
+        this.afterCommit = afterCommit;
+        this.eventPublisherHolder = eventPublisherHolder;
+        this.flushExecutor = Executors.newFixedThreadPool(
+                Math.max(1, repositoryProperties.getPollPersistenceFlushThreads()),
+                new ThreadFactoryBuilder().setNameFormat("poll-persistence-flush-%d").setDaemon(true).build());
+
+        if (!repositoryProperties.isEagerPollPersistence()) {
+            scheduler.scheduleWithFixedDelay(this::flush, repositoryProperties.getPollPersistenceFlushTime(),
+                    repositoryProperties.getPollPersistenceFlushTime(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public boolean offer(final String tenant, final String controllerId, final long pollTime) {
+        Offer offered;
+        do {
+            offered = tenants.computeIfAbsent(tenant, key -> new TenantPolls(lockStripes)).offer(controllerId,
+                    pollTime);
+        } while (offered == Offer.RETIRED);
+
+        if (offered == Offer.REJECTED) {
+            rejected.increment();
+            requestFlush();
+        }
+
+        return true;
+    }
+
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        }
+    }
+
+    @Override
+    public void flush() {
+        if (pending.get() <= 0 || !flushing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            LOG.debug("{} target polls pending for flush.", pending.get());
+
+            final List<Future<?>> flushes = new ArrayList<>(tenants.size());
+            tenants.forEach((tenant, polls) -> {
+                if (polls.isEmpty()) {
+                    removeIfEmpty(tenant, polls);
+                } else {
+                    flushes.add(flushExecutor.submit(() -> flushTenant(tenant, polls)));
+                }
+            });
+
+            awaitFlushes(flushes);
+        } finally {
+            flushing.set(false);
+        }
+    }
+
+    private static void awaitFlushes(final List<Future<?>> flushes) {
+        for (final Future<?> flush : flushes) {
+            try {
+                flush.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final ExecutionException e) {
+                LOG.error("Failed to persist target polls.", e.getCause());
+            }
+        }
+    }
+
+    private void flushTenant(final String tenant, final TenantPolls polls) {
+        final Map<String, Long> drained = polls.drain();
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        try {
+            tenantAware.runAsTenant(tenant, () -> DeploymentHelper.runInNewTransaction(txManager,
+                    "flushTargetPolls-" + tenant, status -> updateLastTargetQueries(tenant, drained)));
+            flushed.add(drained.size());
+            LOG.debug("{} target polls of tenant {} persisted.", drained.size(), tenant);
+            removeIfEmpty(tenant, polls);
+        } catch (final RuntimeException ex) {
+            LOG.error("Failed to persist {} target polls of tenant {}, retrying with the next flush.", drained.size(),
+                    tenant, ex);
+            polls.restore(drained);
+        }
+    }
+
+    private void removeIfEmpty(final String tenant, final TenantPolls polls) {
+        tenants.computeIfPresent(tenant, (key, current) -> current == polls && polls.retire() ? null : current);
+    }
+
+    /**
+     * Updates the polls grouped by poll time. The polls within
+     * {@link #POLL_TIME_RESOLUTION} are written in chunks with the earliest
+     * poll time of the group, so no target gets a poll time later than its
+     * own poll while the targets polling at about the same time are still
+     * updated with one statement.
+     */
+    private Void updateLastTargetQueries(final String tenant, final Map<String, Long> polls) {
+        LOG.debug("Persist {} targetqueries.", polls.size());
+
+        final Map<Long, List<Map.Entry<String, Long>>> groups = polls.entrySet().stream()
+                .collect(Collectors.groupingBy(poll -> poll.getValue() / POLL_TIME_RESOLUTION));
+
+        groups.values().forEach(group -> Lists.partition(group, Constants.MAX_ENTRIES_IN_STATEMENT).forEach(chunk -> {
+            final List<String> controllerIds = chunk.stream().map(Map.Entry::getKey).collect(Collectors.toList());
+            setLastTargetQuery(tenant, chunk.stream().mapToLong(Map.Entry::getValue).min().getAsLong(),
+                    controllerIds);
+            controllerIds.forEach(controllerId -> afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
+                    .publishEvent(new TargetPollEvent(controllerId, tenant, eventPublisherHolder.getApplicationId()))));
+        }));
+
+        return null;
+    }
+
+    /**
+     * Sets {@link Target#getLastTargetQuery()} by native SQL in order to avoid
+     * raising opt lock revision as this update is not mission critical and in
+     * fact only written by {@link ControllerManagement}, i.e. the target
+     * itself.
+     */
+    private void setLastTargetQuery(final String tenant, final long lastTargetQuery, final List<String> chunk) {
+        final Map<String, String> paramMapping = Maps.newHashMapWithExpectedSize(chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            paramMapping.put("cid" + i, chunk.get(i));
+        }
+
+        final Query updateQuery = entityManager.createNativeQuery(
+                "UPDATE sp_target SET last_target_query = #last_target_query WHERE controller_id IN ("
+                        + formatQueryInStatementParams(paramMapping.keySet()) + ") AND tenant = #tenant");
+
+        paramMapping.forEach(updateQuery::setParameter);
+        updateQuery.setParameter("last_target_query", lastTargetQuery);
+        updateQuery.setParameter("tenant", tenant);
+
+        final int updated = updateQuery.executeUpdate();
+        if (updated < chunk.size()) {
+            LOG.error("Targets polls could not be applied completely ({} instead of {}).", updated, chunk.size());
+        }
+    }
+
+    private static String formatQueryInStatementParams(final Iterable<String> paramNames) {
+        return "#" + String.join(",#", paramNames);
+    }
+
+    /**
+     * Shuts the flush workers down after persisting the remaining polls.
+     */
+    public void shutdown() {
+        flush();
+        flushExecutor.shutdown();
+    }
+
+    /**
+     * @return number of tenants with buffered polls
+     */
+    int getTenantCount() {
+        return tenants.size();
+    }
+
+    @Override
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    @Override
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public long getFlushedCount() {
+        return flushed.sum();
+    }
+
+    /**
+     * Buffered polls of one tenant, striped by controller ID to keep lock
+     * contention between polling targets low.
+     */
+    private final class TenantPolls {
+
+        private final Stripe[] stripes;
+
+        /**
+         * Set while the buffer is removed, offers have to use a new buffer
+         * then.
+         */
+        private volatile boolean retired;
+
+        private TenantPolls(final int lockStripes) {
+            stripes = new Stripe[lockStripes];
+            for (int i = 0; i < lockStripes; i++) {
+                stripes[i] = new Stripe();
+            }
+        }
+
+        private Offer offer(final String controllerId, final long pollTime) {
+            final Stripe stripe = getStripe(controllerId);
+
+            synchronized (stripe) {
+                if (retired) {
+                    return Offer.RETIRED;
+                }
+
+                final Long buffered = stripe.polls.get(controllerId);
+                if (buffered != null) {
+                    if (pollTime > buffered) {
+                        stripe.polls.put(controllerId, pollTime);
+                    }
+                    coalesced.increment();
+                    return Offer.ACCEPTED;
+                }
+
+                if (pending.incrementAndGet() > capacity) {
+                    pending.decrementAndGet();
+                    return Offer.REJECTED;
+                }
+
+                stripe.polls.put(controllerId, pollTime);
+                accepted.increment();
+                return Offer.ACCEPTED;
+            }
+        }
+
+        private Stripe getStripe(final String controllerId) {
+            return stripes[Math.floorMod(controllerId.hashCode(), stripes.length)];
+        }
+
+        /**
+         * Buffers the polls of a failed flush again. Polls buffered in the
+         * meantime are kept if they are later. The capacity is not checked as
+         * the polls have been accepted already.
+         */
+        private void restore(final Map<String, Long> polls) {
+            polls.forEach((controllerId, pollTime) -> {
+                final Stripe stripe = getStripe(controllerId);
+
+                synchronized (stripe) {
+                    final Long buffered = stripe.polls.putIfAbsent(controllerId, pollTime);
+                    if (buffered == null) {
+                        pending.incrementAndGet();
+                    } else if (pollTime > buffered) {
+                        stripe.polls.put(controllerId, pollTime);
+                    }
+                }
+            });
+        }
+
+        /**
+         * Retires the buffer if it is empty. Must be called while the buffer
+         * is locked in the tenant map to keep concurrent offers from creating
+         * a new buffer before the removal is decided.
+         *
+         * @return <code>true</code> if the buffer is empty and has been retired
+         */
+        private boolean retire() {
+            retired = true;
+            if (isEmpty()) {
+                return true;
+            }
+
+            retired = false;
+            return false;
+        }
+
+        private boolean isEmpty() {
+            for (final Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    if (!stripe.polls.isEmpty()) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private Map<String, Long> drain() {
+            final Map<String, Long> drained = new HashMap<>();
+
+            for (final Stripe stripe : stripes) {
+                final Map<String, Long> polls;
+                synchronized (stripe) {
+                    polls = stripe.polls;
+                    stripe.polls = new HashMap<>();
+                }
+                pending.addAndGet(-polls.size());
+                drained.putAll(polls);
+            }
+
+            return drained;
+        }
+    }
+
+    private enum Offer {
+        ACCEPTED, REJECTED, RETIRED
+    }
+
+    private static final class Stripe {
+        private Map<String, Long> polls = new HashMap<>();
+    }
+}
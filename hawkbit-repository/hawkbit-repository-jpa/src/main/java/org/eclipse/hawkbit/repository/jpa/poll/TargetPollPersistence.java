@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.poll;
+
+import org.eclipse.hawkbit.repository.model.Target;
+
+/**
+ * Write-behind engine for {@link Target#getLastTargetQuery()}. Polls are
+ * buffered and persisted asynchronously so that the number of database writes
+ * scales with the number of distinct polling targets rather than the number of
+ * poll requests.
+ */
+public interface TargetPollPersistence {
+
+    /**
+     * Buffers a poll of the given target for delayed persistence.
+     *
+     * @param tenant
+     *            of the polling target
+     * @param controllerId
+     *            of the polling target
+     * @param pollTime
+     *            time of the poll in milliseconds since epoch
+     *
+     * @return <code>true</code> if the poll has been accepted,
+     *         <code>false</code> if the engine is saturated and the caller has
+     *         to persist the poll on its own
+     */
+    boolean offer(String tenant, String controllerId, long pollTime);
+
+    /**
+     * Persists all buffered polls.
+     */
+    void flush();
+
+    /**
+     * @return number of distinct targets with a buffered poll that has not
+     *         been persisted yet
+     */
+    int getPendingCount();
+
+    /**
+     * @return maximum number of distinct targets that can be buffered
+     */
+    int getCapacity();
+
+    /**
+     * @return total number of polls that have been accepted for a target that
+     *         had no buffered poll yet
+     */
+    long getAcceptedCount();
+
+    /**
+     * @return total number of polls that have been merged into an already
+     *         buffered poll of the same target
+     */
+    long getCoalescedCount();
+
+    /**
+     * @return total number of polls that have been rejected as the engine was
+     *         saturated
+     */
+    long getRejectedCount();
+
+    /**
+     * @return total number of target polls that have been persisted
+     */
+    long getFlushedCount();
+}
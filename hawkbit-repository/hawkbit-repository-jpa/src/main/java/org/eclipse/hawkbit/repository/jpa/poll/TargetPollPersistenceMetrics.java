@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.poll;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Exposes the queue depth and throughput of a {@link TargetPollPersistence}.
+ */
+public class TargetPollPersistenceMetrics implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "hawkbit.poll.persistence";
+    private static final String TAG_RESULT = "result";
+
+    private final TargetPollPersistence targetPollPersistence;
+
+    /**
+     * @param targetPollPersistence
+     *            to observe
+     */
+    public TargetPollPersistenceMetrics(final TargetPollPersistence targetPollPersistence) {
+        this.targetPollPersistence = targetPollPersistence;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + ".pending", targetPollPersistence, TargetPollPersistence::getPendingCount)
+                .description("Distinct targets with a buffered poll that has not been persisted yet")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".capacity", targetPollPersistence, TargetPollPersistence::getCapacity)
+                .description("Maximum number of distinct targets with a buffered poll").register(registry);
+
+        FunctionCounter
+                .builder(METRIC_PREFIX + ".polls", targetPollPersistence, TargetPollPersistence::getAcceptedCount)
+                .tag(TAG_RESULT, "accepted").description("Polls offered to the poll persistence").register(registry);
+        FunctionCounter
+                .builder(METRIC_PREFIX + ".polls", targetPollPersistence, TargetPollPersistence::getCoalescedCount)
+                .tag(TAG_RESULT, "coalesced").description("Polls offered to the poll persistence").register(registry);
+        FunctionCounter
+                .builder(METRIC_PREFIX + ".polls", targetPollPersistence, TargetPollPersistence::getRejectedCount)
+                .tag(TAG_RESULT, "rejected").description("Polls offered to the poll persistence").register(registry);
+        FunctionCounter
+                .builder(METRIC_PREFIX + ".flushed", targetPollPersistence, TargetPollPersistence::getFlushedCount)
+                .description("Target polls persisted by the poll persistence").register(registry);
+    }
+}
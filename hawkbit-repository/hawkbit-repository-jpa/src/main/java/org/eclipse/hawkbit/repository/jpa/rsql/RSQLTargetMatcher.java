@@ -0,0 +1,268 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import java.text.Normalizer;
+import java.text.Normalizer.Form;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.hawkbit.repository.TargetFields;
+import org.eclipse.hawkbit.repository.exception.RSQLParameterSyntaxException;
+import org.eclipse.hawkbit.repository.exception.RSQLParameterUnsupportedFieldException;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility.ParsedRsql;
+import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility.ResolvedField;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.MetaData;
+import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.repository.rsql.VirtualPropertyReplacer;
+import org.springframework.util.StringUtils;
+
+import cz.jirutka.rsql.parser.ast.AndNode;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.OrNode;
+import cz.jirutka.rsql.parser.ast.RSQLVisitor;
+
+/**
+ * Compiles a target filter query into a {@link Predicate} that is evaluated
+ * in memory on the fields, attributes, tags and metadata of a
+ * {@link JpaTarget}, e.g. to find the targets of a small set of changed
+ * targets that may match the query without querying the database.
+ *
+ * The predicate is conservative: it accepts every target that the query
+ * matches in the database, but it may accept targets that the query doesn't
+ * match. Only the positive comparisons (<em>==</em> and <em>=in=</em>) on
+ * string fields are evaluated, case and accent insensitive. All other
+ * comparisons, like the negations, ranges, time stamps, empty values or
+ * {@link VirtualPropertyReplacer} macros, accept every target. Hence the
+ * accepted targets have to be confirmed by the query in the database.
+ */
+public final class RSQLTargetMatcher {
+
+    private static final Predicate<JpaTarget> MAY_MATCH = target -> true;
+
+    private static final List<String> EVALUATED_OPERATORS = Arrays.asList("==", "=in=");
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}");
+
+    private RSQLTargetMatcher() {
+        // utility class
+    }
+
+    /**
+     * Compiles the target filter query into a predicate on targets.
+     *
+     * @param rsql
+     *            the target filter query
+     * @return the predicate which accepts at least the targets matched by the
+     *         query
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is not a {@link TargetFields}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     */
+    public static Predicate<JpaTarget> compile(final String rsql) {
+        final ParsedRsql<TargetFields> parsedRsql = RSQLUtility.parseAndValidate(rsql, TargetFields.class);
+        return parsedRsql.getRootNode().accept(new CompilingRSQLVisitor(parsedRsql));
+    }
+
+    /**
+     * Returns the lazily loaded attributes of {@link JpaTarget} which are read
+     * by the predicate of the query, so that they can be fetched together with
+     * the targets.
+     *
+     * @param rsql
+     *            the target filter query
+     * @return the names of the attributes
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is not a {@link TargetFields}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     */
+    public static Set<String> getFetchedAttributes(final String rsql) {
+        final ParsedRsql<TargetFields> parsedRsql = RSQLUtility.parseAndValidate(rsql, TargetFields.class);
+        return parsedRsql.getRootNode().accept(new FetchedAttributesRSQLVisitor(parsedRsql))
+                .collect(Collectors.toSet());
+    }
+
+    private static final class CompilingRSQLVisitor implements RSQLVisitor<Predicate<JpaTarget>, Void> {
+        private final ParsedRsql<TargetFields> parsedRsql;
+
+        private CompilingRSQLVisitor(final ParsedRsql<TargetFields> parsedRsql) {
+            this.parsedRsql = parsedRsql;
+        }
+
+        @Override
+        public Predicate<JpaTarget> visit(final AndNode node, final Void param) {
+            final List<Predicate<JpaTarget>> children = node.getChildren().stream()
+                    .map(child -> child.accept(this)).collect(Collectors.toList());
+            return target -> children.stream().allMatch(child -> child.test(target));
+        }
+
+        @Override
+        public Predicate<JpaTarget> visit(final OrNode node, final Void param) {
+            final List<Predicate<JpaTarget>> children = node.getChildren().stream()
+                    .map(child -> child.accept(this)).collect(Collectors.toList());
+            return target -> children.stream().anyMatch(child -> child.test(target));
+        }
+
+        @Override
+        public Predicate<JpaTarget> visit(final ComparisonNode node, final Void param) {
+            if (!isEvaluated(node)) {
+                return MAY_MATCH;
+            }
+
+            final Function<JpaTarget, Stream<String>> values = getValues(parsedRsql.getField(node), node);
+            if (values == null) {
+                return MAY_MATCH;
+            }
+
+            final List<Pattern> patterns = node.getArguments().stream().map(RSQLTargetMatcher::toPattern)
+                    .collect(Collectors.toList());
+            return target -> values.apply(target).filter(Objects::nonNull).map(RSQLTargetMatcher::normalize)
+                    .anyMatch(value -> patterns.stream().anyMatch(pattern -> pattern.matcher(value).matches()));
+        }
+    }
+
+    private static final class FetchedAttributesRSQLVisitor implements RSQLVisitor<Stream<String>, Void> {
+        private final ParsedRsql<TargetFields> parsedRsql;
+
+        private FetchedAttributesRSQLVisitor(final ParsedRsql<TargetFields> parsedRsql) {
+            this.parsedRsql = parsedRsql;
+        }
+
+        @Override
+        public Stream<String> visit(final AndNode node, final Void param) {
+            return node.getChildren().stream().flatMap(child -> child.accept(this));
+        }
+
+        @Override
+        public Stream<String> visit(final OrNode node, final Void param) {
+            return node.getChildren().stream().flatMap(child -> child.accept(this));
+        }
+
+        @Override
+        public Stream<String> visit(final ComparisonNode node, final Void param) {
+            if (!isEvaluated(node)) {
+                return Stream.empty();
+            }
+            return Stream.of(getFetchedAttribute(parsedRsql.getField(node).getEnumField())).filter(Objects::nonNull);
+        }
+    }
+
+    private static boolean isEvaluated(final ComparisonNode node) {
+        return EVALUATED_OPERATORS.contains(node.getOperator().getSymbol())
+                && node.getArguments().stream().allMatch(RSQLTargetMatcher::isEvaluated);
+    }
+
+    /**
+     * Returns the lazily loaded attribute of a target which provides the
+     * values of the field or <code>null</code> if the values are not lazily
+     * loaded.
+     */
+    private static String getFetchedAttribute(final TargetFields field) {
+        switch (field) {
+        case ATTRIBUTE:
+            return "controllerAttributes";
+        case ASSIGNEDDS:
+            return "assignedDistributionSet";
+        case INSTALLEDDS:
+            return "installedDistributionSet";
+        case TAG:
+            return "tags";
+        case METADATA:
+            return "metadata";
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Returns the function that provides the values of the field of a target
+     * or <code>null</code> if the field is not evaluated in memory.
+     */
+    private static Function<JpaTarget, Stream<String>> getValues(final ResolvedField<TargetFields> field,
+            final ComparisonNode node) {
+        final String[] graph = AbstractFieldNameRSQLVisitor.getSubAttributesFrom(node.getSelector());
+        final String subAttribute = normalize(graph[graph.length - 1]);
+
+        switch (field.getEnumField()) {
+        case ID:
+        case CONTROLLERID:
+            return target -> Stream.of(target.getControllerId());
+        case NAME:
+            return target -> Stream.of(target.getName());
+        case DESCRIPTION:
+            return target -> Stream.of(target.getDescription());
+        case UPDATESTATUS:
+            return target -> Stream.of(target.getUpdateStatus()).filter(Objects::nonNull).map(Enum::name);
+        case ATTRIBUTE:
+            return target -> getAttributeValues(target.getControllerAttributes(), subAttribute);
+        case ASSIGNEDDS:
+            return target -> getDistributionSetValues(target.getAssignedDistributionSet(), subAttribute);
+        case INSTALLEDDS:
+            return target -> getDistributionSetValues(target.getInstalledDistributionSet(), subAttribute);
+        case TAG:
+            return target -> target.getTags().stream().map(TargetTag::getName);
+        case METADATA:
+            return target -> target.getMetadata().stream()
+                    .filter(metadata -> subAttribute.equals(normalize(metadata.getKey()))).map(MetaData::getValue);
+        default:
+            return null;
+        }
+    }
+
+    private static Stream<String> getAttributeValues(final Map<String, String> attributes, final String key) {
+        if (attributes == null) {
+            return Stream.empty();
+        }
+        return attributes.entrySet().stream().filter(entry -> key.equals(normalize(entry.getKey())))
+                .map(Entry::getValue);
+    }
+
+    private static Stream<String> getDistributionSetValues(final DistributionSet distributionSet,
+            final String subAttribute) {
+        if (distributionSet == null) {
+            return Stream.empty();
+        }
+        return Stream.of("NAME".equals(subAttribute) ? distributionSet.getName() : distributionSet.getVersion());
+    }
+
+    /**
+     * Empty values, macros and escaped characters are not evaluated in memory.
+     */
+    private static boolean isEvaluated(final String value) {
+        return !StringUtils.isEmpty(value) && !value.contains("$") && !value.contains("\\");
+    }
+
+    private static Pattern toPattern(final String value) {
+        return Pattern.compile(Arrays.stream(normalize(value).split("\\*", -1)).map(Pattern::quote)
+                .collect(Collectors.joining(".*")), Pattern.DOTALL);
+    }
+
+    /**
+     * Normalizes the value like a case and accent insensitive collation, which
+     * ignores trailing spaces, does.
+     */
+    private static String normalize(final String value) {
+        return COMBINING_MARKS.matcher(Normalizer.normalize(value, Form.NFD)).replaceAll("")
+                .toUpperCase(Locale.ROOT).replaceAll("\\s+$", "");
+    }
+}
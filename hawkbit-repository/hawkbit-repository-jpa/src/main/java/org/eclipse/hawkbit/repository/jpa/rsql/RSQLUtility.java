@@ -13,6 +13,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -52,6 +54,8 @@ import org.springframework.orm.jpa.vendor.Database;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.Lists;
 
 import cz.jirutka.rsql.parser.RSQLParser;
@@ -103,6 +107,17 @@ public final class RSQLUtility {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RSQLUtility.class);
 
+    private static final int PARSED_RSQL_CACHE_SIZE = 1000;
+
+    /**
+     * The parsed and validated queries by RSQL string and field enum. The same
+     * queries are used over and over again, e.g. by target filter queries and
+     * auto assignments, and the specifications are evaluated for both the page
+     * and the count query.
+     */
+    private static final Cache<List<Object>, ParsedRsql<?>> PARSED_RSQL_CACHE = Caffeine.newBuilder()
+            .maximumSize(PARSED_RSQL_CACHE_SIZE).build();
+
     /**
      * private constructor due utility class.
      */
@@ -153,9 +168,22 @@ public final class RSQLUtility {
      */
     public static <A extends Enum<A> & FieldNameProvider> void validateRsqlFor(final String rsql,
             final Class<A> fieldNameProvider) {
-        final RSQLVisitor<Void, String> visitor = new ValidationRSQLVisitor<>(fieldNameProvider);
-        final Node rootNode = parseRsql(rsql);
-        rootNode.accept(visitor);
+        parseAndValidate(rsql, fieldNameProvider);
+    }
+
+    /**
+     * Parses and validates the RSQL string or returns the cached result of a
+     * former call. Invalid queries are not cached.
+     */
+    @SuppressWarnings("unchecked")
+    static <A extends Enum<A> & FieldNameProvider> ParsedRsql<A> parseAndValidate(final String rsql,
+            final Class<A> fieldNameProvider) {
+        return (ParsedRsql<A>) PARSED_RSQL_CACHE.get(Arrays.asList(rsql, fieldNameProvider), key -> {
+            final ValidationRSQLVisitor<A> visitor = new ValidationRSQLVisitor<>(fieldNameProvider);
+            final Node rootNode = parseRsql(rsql);
+            rootNode.accept(visitor);
+            return new ParsedRsql<>(rootNode, visitor.fields);
+        });
     }
 
     private static Node parseRsql(final String rsql) {
@@ -170,9 +198,54 @@ public final class RSQLUtility {
         }
     }
 
+    /**
+     * A parsed and validated RSQL query with the fields of its comparisons
+     * resolved against the {@link FieldNameProvider}. It is not modified after
+     * its creation and can be used by multiple threads.
+     */
+    static final class ParsedRsql<A extends Enum<A> & FieldNameProvider> {
+        private final Node rootNode;
+        private final Map<ComparisonNode, ResolvedField<A>> fields;
+
+        private ParsedRsql(final Node rootNode, final Map<ComparisonNode, ResolvedField<A>> fields) {
+            this.rootNode = rootNode;
+            this.fields = fields;
+        }
+
+        Node getRootNode() {
+            return rootNode;
+        }
+
+        ResolvedField<A> getField(final ComparisonNode node) {
+            return fields.get(node);
+        }
+    }
+
+    static final class ResolvedField<A extends Enum<A> & FieldNameProvider> {
+        private final A enumField;
+        private final String property;
+
+        private ResolvedField(final A enumField, final String property) {
+            this.enumField = enumField;
+            this.property = property;
+        }
+
+        A getEnumField() {
+            return enumField;
+        }
+
+        String getProperty() {
+            return property;
+        }
+    }
+
     private static final class ValidationRSQLVisitor<A extends Enum<A> & FieldNameProvider>
             extends AbstractFieldNameRSQLVisitor<A> implements RSQLVisitor<Void, String> {
 
+        // the nodes are immutable and compared by identity as equal
+        // comparisons may occur multiple times in a query
+        private final Map<ComparisonNode, ResolvedField<A>> fields = new IdentityHashMap<>();
+
         public ValidationRSQLVisitor(final Class<A> fieldNameProvider) {
             super(fieldNameProvider);
         }
@@ -190,7 +263,7 @@ public final class RSQLUtility {
         @Override
         public Void visit(final ComparisonNode node, final String param) {
             final A fieldName = getFieldEnumByName(node);
-            getAndValidatePropertyFieldName(fieldName, node);
+            fields.put(node, new ResolvedField<>(fieldName, getAndValidatePropertyFieldName(fieldName, node)));
             return null;
         }
 
@@ -219,12 +292,18 @@ public final class RSQLUtility {
 
         @Override
         public Predicate toPredicate(final Root<T> root, final CriteriaQuery<?> query, final CriteriaBuilder cb) {
-            final Node rootNode = parseRsql(rsql);
-            query.distinct(true);
+            final ParsedRsql<A> parsedRsql = parseAndValidate(rsql, enumType);
 
-            final JpaQueryRSQLVisitor<A, T> jpqQueryRSQLVisitor = new JpaQueryRSQLVisitor<>(root, cb, enumType,
-                    virtualPropertyReplacer, database, query);
-            final List<Predicate> accept = rootNode.<List<Predicate>, String> accept(jpqQueryRSQLVisitor);
+            final JpaQueryRSQLVisitor<A, T> jpqQueryRSQLVisitor = new JpaQueryRSQLVisitor<>(root, cb, parsedRsql,
+                    enumType, virtualPropertyReplacer, database, query);
+            final List<Predicate> accept = parsedRsql.rootNode.<List<Predicate>, String> accept(jpqQueryRSQLVisitor);
+
+            // only the outer joins of to-many associations duplicate the
+            // entities, distinct is not reset as other specifications might
+            // need it
+            if (jpqQueryRSQLVisitor.isDistinctNeeded()) {
+                query.distinct(true);
+            }
 
             if (!CollectionUtils.isEmpty(accept)) {
                 return cb.and(accept.toArray(new Predicate[accept.size()]));
@@ -254,24 +333,28 @@ public final class RSQLUtility {
         private static final List<String> NO_JOINS_OPERATOR = Lists.newArrayList("!=", "=out=");
 
         private final Map<Integer, Set<Join<Object, Object>>> joinsInLevel = new HashMap<>(3);
+        private final Map<Integer, Map<String, ToManySubquery>> subqueriesInLevel = new HashMap<>(3);
 
         private final CriteriaBuilder cb;
         private final CriteriaQuery<?> query;
         private final Database database;
         private final Root<T> root;
+        private final ParsedRsql<A> parsedRsql;
         private final SimpleTypeConverter simpleTypeConverter;
         private final VirtualPropertyReplacer virtualPropertyReplacer;
 
         private int level;
         private boolean isOrLevel;
         private boolean joinsNeeded;
+        private boolean toManyJoined;
 
-        private JpaQueryRSQLVisitor(final Root<T> root, final CriteriaBuilder cb, final Class<A> enumType,
-                final VirtualPropertyReplacer virtualPropertyReplacer, final Database database,
-                final CriteriaQuery<?> query) {
+        private JpaQueryRSQLVisitor(final Root<T> root, final CriteriaBuilder cb, final ParsedRsql<A> parsedRsql,
+                final Class<A> enumType, final VirtualPropertyReplacer virtualPropertyReplacer,
+                final Database database, final CriteriaQuery<?> query) {
             super(enumType);
             this.root = root;
             this.cb = cb;
+            this.parsedRsql = parsedRsql;
             this.query = query;
             this.virtualPropertyReplacer = virtualPropertyReplacer;
             this.simpleTypeConverter = new SimpleTypeConverter();
@@ -283,10 +366,12 @@ public final class RSQLUtility {
             level++;
             isOrLevel = isOr;
             joinsInLevel.put(level, new HashSet<>(2));
+            subqueriesInLevel.put(level, new LinkedHashMap<>(2));
         }
 
         private void endLevel() {
             joinsInLevel.remove(level);
+            subqueriesInLevel.remove(level);
             level--;
             isOrLevel = false;
         }
@@ -319,10 +404,16 @@ public final class RSQLUtility {
             return toSingleList(cb.conjunction());
         }
 
+        private boolean isDistinctNeeded() {
+            return toManyJoined;
+        }
+
         @Override
         public List<Predicate> visit(final OrNode node, final String param) {
             beginLevel(true);
             final List<Predicate> childs = acceptChilds(node);
+            // the comparisons on to-many associations that share a subquery
+            subqueriesInLevel.get(level).values().forEach(subquery -> childs.add(subquery.toPredicate()));
             endLevel();
             if (!childs.isEmpty()) {
                 return toSingleList(cb.or(childs.toArray(new Predicate[childs.size()])));
@@ -363,6 +454,7 @@ public final class RSQLUtility {
         @SuppressWarnings("unchecked")
         private Path<?> getJoinFieldPath(final Path<?> fieldPath, final String fieldNameSplit) {
             if (fieldPath instanceof PluralJoin) {
+                toManyJoined = true;
                 final Join<Object, ?> join = (Join<Object, ?>) fieldPath;
                 final From<?, Object> joinParent = join.getParent();
                 final Optional<Join<Object, Object>> currentJoinOfType = findCurrentJoinOfType(join.getJavaType());
@@ -397,8 +489,18 @@ public final class RSQLUtility {
         // https://jira.sonarsource.com/browse/SONARJAVA-1478
         @SuppressWarnings({ "squid:S2095" })
         public List<Predicate> visit(final ComparisonNode node, final String param) {
-            final A fieldName = getFieldEnumByName(node);
-            final String finalProperty = getAndValidatePropertyFieldName(fieldName, node);
+            // the field has been resolved and validated with the parsing
+            final ResolvedField<A> resolvedField = parsedRsql.getField(node);
+            final A fieldName = resolvedField.enumField;
+            final String finalProperty = resolvedField.property;
+
+            if (isSubqueryApplicable(node)) {
+                final Optional<String> toManyPath = getToManyPath(getSubAttributesFrom(finalProperty),
+                        fieldName.isMap());
+                if (toManyPath.isPresent()) {
+                    return toExistsSubQueryPredicate(node, fieldName, finalProperty, toManyPath.get());
+                }
+            }
 
             final List<String> values = node.getArguments();
             final List<Object> transformedValues = new ArrayList<>();
@@ -417,6 +519,61 @@ public final class RSQLUtility {
             return !NO_JOINS_OPERATOR.contains(node.getOperator().getSymbol());
         }
 
+        /**
+         * Comparisons on a to-many association are checked with a correlated
+         * subquery instead of an outer join, except for the comparisons that
+         * handle the association without any element like the negations and
+         * the comparisons with empty values.
+         */
+        private static boolean isSubqueryApplicable(final ComparisonNode node) {
+            return areJoinsNeeded(node) && node.getArguments().stream().noneMatch(StringUtils::isEmpty);
+        }
+
+        /**
+         * Returns the part of the field path up to the first to-many
+         * association if there is any. The joins of the path navigation are
+         * removed again.
+         */
+        private Optional<String> getToManyPath(final String[] split, final boolean isMapKeyField) {
+            Path<?> fieldPath = root;
+            for (int i = 0; i < split.length && !(isMapKeyField && i == (split.length - 1)); i++) {
+                fieldPath = fieldPath.get(split[i]);
+                if (fieldPath instanceof Join) {
+                    ((Join<?, ?>) fieldPath).getParent().getJoins().remove(fieldPath);
+                }
+                if (fieldPath instanceof PluralJoin) {
+                    return Optional.of(String.join(FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR,
+                            Arrays.copyOf(split, i + 1)));
+                }
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * Maps the comparison on a to-many association to an EXISTS subquery.
+         * The comparisons of an OR level on the same association share one
+         * subquery that is added when the level ends.
+         */
+        private List<Predicate> toExistsSubQueryPredicate(final ComparisonNode node, final A enumField,
+                final String finalProperty, final String toManyPath) {
+            final boolean shared = level > 0 && isOrLevel;
+            final ToManySubquery subquery = shared
+                    ? subqueriesInLevel.get(level).computeIfAbsent(toManyPath,
+                            path -> new ToManySubquery(enumField))
+                    : new ToManySubquery(enumField);
+
+            final Path<Object> fieldPath = subquery.getFieldPath(getSubAttributesFrom(finalProperty),
+                    enumField.isMap());
+            final List<Object> transformedValues = new ArrayList<>();
+            for (final String value : node.getArguments()) {
+                transformedValues.add(convertValueIfNecessary(node, enumField, value, fieldPath));
+            }
+            subquery.add(mapToPredicate(node, fieldPath, node.getArguments(), transformedValues, enumField,
+                    finalProperty).get(0));
+
+            return shared ? Collections.emptyList() : toSingleList(subquery.toPredicate());
+        }
+
         private Object convertValueIfNecessary(final ComparisonNode node, final A fieldName, final String value,
                 final Path<Object> fieldPath) {
             // in case the value of an rsql query e.g. type==application is an
@@ -666,6 +823,7 @@ public final class RSQLUtility {
         private void clearOuterJoinsIfNotNeeded() {
             if (!joinsNeeded) {
                 root.getJoins().clear();
+                toManyJoined = false;
             }
         }
 
@@ -767,12 +925,62 @@ public final class RSQLUtility {
                 if (!CollectionUtils.isEmpty(accept)) {
                     childs.addAll(accept);
                 } else {
-                    LOGGER.debug("visit logical node children but could not parse it, ignoring {}", node2);
+                    LOGGER.debug("visit logical node children but got no predicate of it, ignoring {}", node2);
                 }
             }
             return childs;
         }
 
+        /**
+         * Correlated subquery on the entity for the comparisons on a to-many
+         * association. The subquery joins the association with an inner join
+         * and the comparisons added to it share this join.
+         */
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private final class ToManySubquery {
+            private final A enumField;
+            private final Subquery<?> subquery;
+            private final Root subqueryRoot;
+            private final Map<String, Join<?, ?>> joins = new HashMap<>(2);
+            private final List<Predicate> predicates = new ArrayList<>(2);
+
+            private ToManySubquery(final A enumField) {
+                this.enumField = enumField;
+                final Class<?> javaType = root.getJavaType();
+                subquery = query.subquery(javaType);
+                subqueryRoot = subquery.from(javaType);
+            }
+
+            private Path<Object> getFieldPath(final String[] split, final boolean isMapKeyField) {
+                return (Path<Object>) JpaQueryRSQLVisitor.getFieldPath(subqueryRoot, split, isMapKeyField,
+                        this::getJoinFieldPath).orElseThrow(
+                                () -> createRSQLParameterUnsupportedException("RSQL field path cannot be empty", null));
+            }
+
+            private Path<?> getJoinFieldPath(final Path<?> fieldPath, final String fieldNameSplit) {
+                if (fieldPath instanceof Join) {
+                    // replace the join of the path navigation
+                    final From<?, ?> parent = ((Join<?, ?>) fieldPath).getParent();
+                    parent.getJoins().remove(fieldPath);
+                    return joins.computeIfAbsent(fieldNameSplit, name -> parent.join(name, JoinType.INNER));
+                }
+                return fieldPath;
+            }
+
+            private void add(final Predicate predicate) {
+                predicates.add(predicate);
+            }
+
+            private Predicate toPredicate() {
+                final Predicate equalPredicate = cb.equal(root.get(enumField.identifierFieldName()),
+                        subqueryRoot.get(enumField.identifierFieldName()));
+                final Predicate subQueryPredicate = predicates.size() == 1 ? predicates.get(0)
+                        : cb.or(predicates.toArray(new Predicate[predicates.size()]));
+                subquery.select(subqueryRoot).where(cb.and(equalPredicate, subQueryPredicate));
+                return cb.exists(subquery);
+            }
+        }
+
     }
 
 }
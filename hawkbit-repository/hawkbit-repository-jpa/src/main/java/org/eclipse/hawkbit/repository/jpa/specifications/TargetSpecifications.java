@@ -271,6 +271,17 @@ public final class TargetSpecifications {
                 distributionSetId);
     }
 
+    /**
+     * {@link Specification} for retrieving {@link Target}s by their IDs.
+     *
+     * @param ids
+     *            the IDs of the targets
+     * @return the {@link Target} {@link Specification}
+     */
+    public static Specification<JpaTarget> hasIdIn(final Collection<Long> ids) {
+        return (targetRoot, query, cb) -> targetRoot.get(JpaTarget_.id).in(ids);
+    }
+
     /**
      * {@link Specification} for retrieving {@link Target}s that don't have the
      * given distribution set in their action history
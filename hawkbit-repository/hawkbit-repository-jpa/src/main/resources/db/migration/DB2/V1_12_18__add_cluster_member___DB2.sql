@@ -0,0 +1,6 @@
+CREATE TABLE sp_cluster_member 
+( 
+	member_id      VARCHAR(64) NOT NULL, 
+	last_heartbeat BIGINT NOT NULL, 
+	PRIMARY KEY (member_id) 
+); 
@@ -0,0 +1,5 @@
+create table sp_cluster_member (
+	member_id varchar(64) not null,
+	last_heartbeat bigint not null,
+	primary key (member_id)
+);
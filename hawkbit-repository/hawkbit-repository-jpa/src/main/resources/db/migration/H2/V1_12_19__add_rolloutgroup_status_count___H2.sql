@@ -0,0 +1,39 @@
+create table sp_rolloutgroup_status_count (
+	rolloutgroup_id bigint not null,
+	status integer not null,
+	action_count bigint not null,
+	primary key (rolloutgroup_id, status)
+);
+
+alter table sp_rolloutgroup_status_count
+	add constraint fk_rolloutgroup_status_count_group
+	foreign key (rolloutgroup_id)
+	references sp_rolloutgroup (id)
+	on delete cascade;
+
+insert into sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	select id, 0, 0 from sp_rolloutgroup;
+insert into sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	select id, 1, 0 from sp_rolloutgroup;
+insert into sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	select id, 2, 0 from sp_rolloutgroup;
+insert into sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	select id, 3, 0 from sp_rolloutgroup;
+insert into sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	select id, 4, 0 from sp_rolloutgroup;
+insert into sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	select id, 5, 0 from sp_rolloutgroup;
+insert into sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	select id, 6, 0 from sp_rolloutgroup;
+insert into sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	select id, 7, 0 from sp_rolloutgroup;
+insert into sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	select id, 8, 0 from sp_rolloutgroup;
+insert into sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	select id, 9, 0 from sp_rolloutgroup;
+insert into sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	select id, 10, 0 from sp_rolloutgroup;
+
+update sp_rolloutgroup_status_count
+	set action_count = (select count(a.id) from sp_action a
+		where a.rolloutgroup = sp_rolloutgroup_status_count.rolloutgroup_id and a.status = sp_rolloutgroup_status_count.status);
@@ -0,0 +1,36 @@
+CREATE TABLE sp_rolloutgroup_status_count
+(
+	rolloutgroup_id NUMERIC(19) NOT NULL,
+	status INTEGER NOT NULL,
+	action_count NUMERIC(19) NOT NULL,
+	PRIMARY KEY (rolloutgroup_id, status)
+);
+
+ALTER TABLE sp_rolloutgroup_status_count ADD CONSTRAINT fk_rolloutgroup_status_count_group FOREIGN KEY (rolloutgroup_id) REFERENCES sp_rolloutgroup (id) ON DELETE CASCADE;
+
+INSERT INTO sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	SELECT id, 0, 0 FROM sp_rolloutgroup;
+INSERT INTO sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	SELECT id, 1, 0 FROM sp_rolloutgroup;
+INSERT INTO sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	SELECT id, 2, 0 FROM sp_rolloutgroup;
+INSERT INTO sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	SELECT id, 3, 0 FROM sp_rolloutgroup;
+INSERT INTO sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	SELECT id, 4, 0 FROM sp_rolloutgroup;
+INSERT INTO sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	SELECT id, 5, 0 FROM sp_rolloutgroup;
+INSERT INTO sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	SELECT id, 6, 0 FROM sp_rolloutgroup;
+INSERT INTO sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	SELECT id, 7, 0 FROM sp_rolloutgroup;
+INSERT INTO sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	SELECT id, 8, 0 FROM sp_rolloutgroup;
+INSERT INTO sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	SELECT id, 9, 0 FROM sp_rolloutgroup;
+INSERT INTO sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count)
+	SELECT id, 10, 0 FROM sp_rolloutgroup;
+
+UPDATE sp_rolloutgroup_status_count
+	SET action_count = (SELECT COUNT(a.id) FROM sp_action a
+		WHERE a.rolloutgroup = sp_rolloutgroup_status_count.rolloutgroup_id AND a.status = sp_rolloutgroup_status_count.status);
@@ -11,7 +11,10 @@ package org.eclipse.hawkbit.repository.event.remote;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
@@ -81,18 +84,36 @@ public class RemoteTenantAwareEventTest extends AbstractRemoteEventTest {
     }
 
     @Test
-    @Description("Verifies that a DownloadProgressEvent can be properly serialized and deserialized")
+    @Description("Verifies that the download progress of a single action status can be properly serialized and deserialized")
     public void reloadDownloadProgessByRemoteEvent() {
-        final DownloadProgressEvent downloadProgressEvent = new DownloadProgressEvent(TENANT_DEFAULT, 1L, 3L,
-                APPLICATION_ID_DEFAULT);
+        final DownloadProgressBatchEvent downloadProgressEvent = new DownloadProgressBatchEvent(TENANT_DEFAULT,
+                APPLICATION_ID_DEFAULT, Collections.singletonMap(1L, 3L));
 
-        final DownloadProgressEvent remoteEventProtoStuff = createProtoStuffEvent(downloadProgressEvent);
+        final DownloadProgressBatchEvent remoteEventProtoStuff = createProtoStuffEvent(downloadProgressEvent);
         assertThat(downloadProgressEvent).isEqualTo(remoteEventProtoStuff);
 
-        final DownloadProgressEvent remoteEventJackson = createJacksonEvent(downloadProgressEvent);
+        final DownloadProgressBatchEvent remoteEventJackson = createJacksonEvent(downloadProgressEvent);
         assertThat(downloadProgressEvent).isEqualTo(remoteEventJackson);
     }
 
+    @Test
+    @Description("Verifies that a DownloadProgressBatchEvent can be properly serialized and deserialized")
+    public void reloadDownloadProgessBatchByRemoteEvent() {
+        final Map<Long, Long> shippedBytes = new HashMap<>();
+        shippedBytes.put(1L, 3L);
+        shippedBytes.put(2L, 5L);
+        final DownloadProgressBatchEvent batchEvent = new DownloadProgressBatchEvent(TENANT_DEFAULT,
+                APPLICATION_ID_DEFAULT, shippedBytes);
+
+        final DownloadProgressBatchEvent remoteEventProtoStuff = createProtoStuffEvent(batchEvent);
+        assertThat(batchEvent).isEqualTo(remoteEventProtoStuff);
+        assertThat(remoteEventProtoStuff.getShippedBytesSinceLast()).isEqualTo(shippedBytes);
+
+        final DownloadProgressBatchEvent remoteEventJackson = createJacksonEvent(batchEvent);
+        assertThat(batchEvent).isEqualTo(remoteEventJackson);
+        assertThat(remoteEventJackson.getShippedBytesSinceLast()).isEqualTo(shippedBytes);
+    }
+
     @Test
     @Description("Verifies that a TargetAssignDistributionSetEvent can be properly serialized and deserialized")
     public void testTargetAssignDistributionSetEvent() {
@@ -12,9 +12,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.concurrent.TimeUnit;
 
-import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.jpa.poll.TargetPollPersistence;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.test.matcher.Expect;
 import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
@@ -30,11 +30,13 @@ import io.qameta.allure.Story;
 @Story("Controller Management")
 @TestPropertySource(locations = "classpath:/jpa-test.properties", properties = {
         "hawkbit.server.repository.eagerPollPersistence=false",
-        "hawkbit.server.repository.pollPersistenceFlushTime=1000" })
+        "hawkbit.server.repository.pollPersistenceFlushTime=3600000" })
 public class LazyControllerManagementTest extends AbstractJpaIntegrationTest {
 
+    // the periodic flush is effectively disabled by the flush time, the tests
+    // flush on their own to avoid races with the background flush
     @Autowired
-    private RepositoryProperties repositoryProperties;
+    private TargetPollPersistence targetPollPersistence;
 
     @Test
     @Description("Verfies that lazy target poll update is executed as specified.")
@@ -46,7 +48,49 @@ public class LazyControllerManagementTest extends AbstractJpaIntegrationTest {
 
         TimeUnit.MILLISECONDS.sleep(10);
         controllerManagement.findOrRegisterTargetIfItDoesNotExist("AA", LOCALHOST);
-        TimeUnit.MILLISECONDS.sleep(repositoryProperties.getPollPersistenceFlushTime() + 1);
+        assertThat(targetManagement.get(target.getId()).get().getLastTargetQuery())
+                .isEqualTo(target.getLastTargetQuery());
+        targetPollPersistence.flush();
+
+        final Target updated = targetManagement.get(target.getId()).get();
+
+        assertThat(updated.getOptLockRevision()).isEqualTo(target.getOptLockRevision());
+        assertThat(updated.getLastTargetQuery()).isGreaterThan(target.getLastTargetQuery());
+    }
+
+    @Test
+    @Description("Verfies that repeated polls of the same target are coalesced into a single lazy update.")
+    @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
+            @Expect(type = TargetPollEvent.class, count = 2) })
+    public void repeatedPollsAreCoalesced() throws InterruptedException {
+        final Target target = controllerManagement.findOrRegisterTargetIfItDoesNotExist("AA", LOCALHOST);
+
+        TimeUnit.MILLISECONDS.sleep(10);
+        for (int i = 0; i < 5; i++) {
+            controllerManagement.findOrRegisterTargetIfItDoesNotExist("AA", LOCALHOST);
+        }
+        assertThat(targetPollPersistence.getPendingCount()).isEqualTo(1);
+        targetPollPersistence.flush();
+
+        final Target updated = targetManagement.get(target.getId()).get();
+
+        assertThat(updated.getOptLockRevision()).isEqualTo(target.getOptLockRevision());
+        assertThat(updated.getLastTargetQuery()).isGreaterThan(target.getLastTargetQuery());
+        assertThat(targetPollPersistence.getPendingCount()).isZero();
+    }
+
+    @Test
+    @Description("Verfies that a poll of an unchanged target is registered without loading the target and persisted "
+            + "lazily.")
+    @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
+            @Expect(type = TargetPollEvent.class, count = 2) })
+    public void registerUnchangedPollIsPersistedLazily() throws InterruptedException {
+        final Target target = controllerManagement.findOrRegisterTargetIfItDoesNotExist("AA", LOCALHOST);
+
+        TimeUnit.MILLISECONDS.sleep(10);
+        assertThat(controllerManagement.registerUnchangedPoll("AA")).isTrue();
+        assertThat(targetPollPersistence.getPendingCount()).isEqualTo(1);
+        targetPollPersistence.flush();
 
         final Target updated = targetManagement.get(target.getId()).get();
 
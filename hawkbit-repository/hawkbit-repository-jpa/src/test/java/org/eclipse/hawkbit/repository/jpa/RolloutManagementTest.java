@@ -10,17 +10,26 @@ package org.eclipse.hawkbit.repository.jpa;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import javax.validation.ConstraintViolationException;
 import javax.validation.ValidationException;
@@ -28,6 +37,7 @@ import javax.validation.ValidationException;
 import org.assertj.core.api.Assertions;
 import org.assertj.core.api.Condition;
 import org.eclipse.hawkbit.repository.OffsetBasedPageRequest;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.builder.RolloutCreate;
 import org.eclipse.hawkbit.repository.builder.RolloutGroupCreate;
 import org.eclipse.hawkbit.repository.event.remote.RolloutDeletedEvent;
@@ -48,8 +58,12 @@ import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
 import org.eclipse.hawkbit.repository.exception.EntityReadOnlyException;
 import org.eclipse.hawkbit.repository.exception.MultiAssignmentIsNotEnabledException;
 import org.eclipse.hawkbit.repository.exception.RolloutIllegalStateException;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
+import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
+import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup;
+import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
 import org.eclipse.hawkbit.repository.jpa.utils.MultipleInvokeHelper;
 import org.eclipse.hawkbit.repository.jpa.utils.SuccessCondition;
 import org.eclipse.hawkbit.repository.model.Action;
@@ -71,14 +85,20 @@ import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.model.TotalTargetCountStatus;
 import org.eclipse.hawkbit.repository.test.matcher.Expect;
 import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
+import org.eclipse.hawkbit.security.HawkbitSecurityProperties;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
@@ -92,6 +112,24 @@ import io.qameta.allure.Story;
 @Story("Rollout Management")
 public class RolloutManagementTest extends AbstractJpaIntegrationTest {
 
+    @Autowired
+    private RolloutGroupStatusCounter rolloutGroupStatusCounter;
+
+    @Autowired
+    private HawkbitSecurityProperties securityProperties;
+
+    @Autowired
+    private RolloutGroupStatusCountRepository rolloutGroupStatusCountRepository;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Autowired
+    private RepositoryProperties repositoryProperties;
+
+    @Autowired
+    private LockRegistry lockRegistry;
+
     @BeforeEach
     public void reset() {
         this.approvalStrategy.setApprovalNeeded(false);
@@ -593,6 +631,189 @@ public class RolloutManagementTest extends AbstractJpaIntegrationTest {
 
     }
 
+    @Test
+    @Description("Verify that the rollout group status counters match the actions of the groups.")
+    public void rolloutGroupStatusCountersMatchActions() {
+        final Rollout createdRollout = createSimpleTestRolloutWithTargetsAndDistributionSet(8, 2, 4, "50", "80");
+        assertRolloutGroupStatusCountersMatchActions(createdRollout);
+
+        rolloutManagement.start(createdRollout.getId());
+        rolloutManagement.handleRollouts();
+        assertRolloutGroupStatusCountersMatchActions(createdRollout);
+
+        changeStatusForRunningActions(createdRollout, Status.ERROR, 1);
+        changeStatusForAllRunningActions(createdRollout, Status.FINISHED);
+        rolloutManagement.handleRollouts();
+        assertRolloutGroupStatusCountersMatchActions(createdRollout);
+
+        final List<Action> runningActions = findActionsByRolloutAndStatus(createdRollout, Status.RUNNING);
+        targetManagement.delete(Arrays.asList(runningActions.get(0).getTarget().getId()));
+        targetManagement.deleteByControllerID(
+                findActionsByRolloutAndStatus(createdRollout, Status.SCHEDULED).get(0).getTarget().getControllerId());
+        assertRolloutGroupStatusCountersMatchActions(createdRollout);
+
+        rolloutManagement.handleRollouts();
+        assertRolloutGroupStatusCountersMatchActions(createdRollout);
+    }
+
+    @Test
+    @Description("Verify that an action change committed while the rollout group status counters are reconciled is not lost.")
+    public void rolloutGroupStatusCountersKeepConcurrentChangesOnReconcile() {
+        final Rollout createdRollout = createSimpleTestRolloutWithTargetsAndDistributionSet(4, 1, 1, "50", "80");
+        rolloutManagement.start(createdRollout.getId());
+        rolloutManagement.handleRollouts();
+        final Long groupId = rolloutGroupManagement.findByRollout(PAGE, createdRollout.getId()).getContent().get(0)
+                .getId();
+        final Long actionId = findActionsByRolloutAndStatus(createdRollout, Status.RUNNING).get(0).getId();
+
+        // changes an action after the actions have been counted
+        final CompletableFuture<Void> concurrentChange = new CompletableFuture<>();
+        final ActionRepository countingActionRepository = mock(ActionRepository.class,
+                AdditionalAnswers.delegatesTo(actionRepository));
+        doAnswer(invocation -> {
+            final Object counts = actionRepository
+                    .getStatusCountByRolloutGroupId(invocation.<List<Long>> getArgument(0));
+            CompletableFuture.runAsync(new DelegatingSecurityContextRunnable(() -> DeploymentHelper
+                    .runInNewTransaction(txManager, "concurrentChange", status -> {
+                        final JpaAction action = actionRepository.findById(actionId).get();
+                        action.setStatus(Status.ERROR);
+                        return actionRepository.save(action);
+                    }))).whenComplete((result, ex) -> concurrentChange.complete(null));
+            try {
+                concurrentChange.get(200, TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException e) {
+                // blocked by the locked counters
+            }
+            return counts;
+        }).when(countingActionRepository).getStatusCountByRolloutGroupId(anyList());
+        final RolloutGroupStatusCounter counter = new RolloutGroupStatusCounter(entityManager,
+                rolloutGroupStatusCountRepository, countingActionRepository);
+
+        DeploymentHelper.runInNewTransaction(txManager, "reconcile", status -> {
+            counter.reconcile(Collections.singletonList(groupId));
+            return null;
+        });
+        concurrentChange.join();
+
+        assertThat(rolloutGroupStatusCounter.getCount(groupId, Status.ERROR)).isEqualTo(1);
+        assertRolloutGroupStatusCountersMatchActions(createdRollout);
+    }
+
+    @Test
+    @Description("Verify that a rollout group which was filled partially by a previous run is filled completely when the filling is continued.")
+    public void partiallyFilledRolloutGroupIsCompletedInTimeSlices() {
+        final long timeSlice = repositoryProperties.getRolloutExecutionTimeSlice();
+        repositoryProperties.setRolloutExecutionTimeSlice(1);
+        try {
+            final Rollout rollout = createRolloutWithoutHandling("resumed", 10, 2);
+            // the first group has been filled partially when the time slice
+            // of a previous run passed
+            final JpaRolloutGroup firstGroup = rolloutGroupRepository.findByRolloutOrderByIdAsc((JpaRollout) rollout)
+                    .get(0);
+            rolloutTargetGroupRepository.saveAll(targetManagement.findByRsql(PAGE, "controllerId==resumed-*")
+                    .getContent().subList(0, 4).stream().map(target -> new RolloutTargetGroup(firstGroup, target))
+                    .collect(Collectors.toList()));
+
+            handleRolloutsUntil(RolloutStatus.READY, rollout);
+
+            assertRolloutGroupsFilled(rollout, 5, 5);
+        } finally {
+            repositoryProperties.setRolloutExecutionTimeSlice(timeSlice);
+        }
+    }
+
+    @Test
+    @Description("Verify that the rollouts of a tenant which are executed in parallel and in time slices get their groups filled and scheduled completely.")
+    public void rolloutsExecutedInParallelAreFilledAndScheduledCompletely() {
+        final long timeSlice = repositoryProperties.getRolloutExecutionTimeSlice();
+        repositoryProperties.setRolloutExecutionTimeSlice(1);
+        try {
+            final List<Rollout> rollouts = Arrays.asList(createRolloutWithoutHandling("parallel1", 12, 3),
+                    createRolloutWithoutHandling("parallel2", 9, 2), createRolloutWithoutHandling("parallel3", 7, 4));
+
+            handleRolloutsUntil(RolloutStatus.READY, rollouts.toArray(new Rollout[0]));
+            assertRolloutGroupsFilled(rollouts.get(0), 4, 4, 4);
+            assertRolloutGroupsFilled(rollouts.get(1), 5, 4);
+            assertRolloutGroupsFilled(rollouts.get(2), 2, 2, 2, 1);
+
+            rollouts.forEach(rollout -> rolloutManagement.start(rollout.getId()));
+            handleRolloutsUntil(RolloutStatus.RUNNING, rollouts.toArray(new Rollout[0]));
+            rollouts.forEach(rollout -> assertThat(actionRepository.countByRolloutIdAndStatus(rollout.getId(),
+                    Status.SCHEDULED) + actionRepository.countByRolloutIdAndStatus(rollout.getId(), Status.RUNNING))
+                            .isEqualTo(rolloutManagement.get(rollout.getId()).get().getTotalTargets()));
+        } finally {
+            repositoryProperties.setRolloutExecutionTimeSlice(timeSlice);
+        }
+    }
+
+    @Test
+    @Description("Verify that a rollout is handled while a lock of the lock registry which shares its stripe with the rollout is held.")
+    public void rolloutIsHandledWhileLockOfSameStripeIsHeld() throws InterruptedException {
+        final Rollout rollout = createRolloutWithoutHandling("striped", 4, 2);
+        // the default lock registry shares one lock between the keys with
+        // the same lowest 8 bits of the hash code
+        final int stripe = (tenantAware.getCurrentTenant() + "-rollout-" + rollout.getId()).hashCode() & 0xFF;
+        final String collidingKey = IntStream.iterate(0, i -> i + 1).mapToObj(i -> "other-" + i)
+                .filter(key -> (key.hashCode() & 0xFF) == stripe).findFirst().get();
+
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+            final Lock lock = lockRegistry.obtain(collidingKey);
+            lock.lock();
+            try {
+                locked.countDown();
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+        locked.await();
+        try {
+            handleRolloutsUntil(RolloutStatus.READY, rollout);
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    private Rollout createRolloutWithoutHandling(final String name, final int amountTargets, final int amountGroups) {
+        testdataFactory.createTargets(amountTargets, name + "-", name);
+        return rolloutManagement.create(
+                entityFactory.rollout().create().name(name).targetFilterQuery("controllerId==" + name + "-*")
+                        .set(testdataFactory.createDistributionSet(name)),
+                amountGroups, new RolloutGroupConditionBuilder().withDefaults().build());
+    }
+
+    private void handleRolloutsUntil(final RolloutStatus status, final Rollout... rollouts) {
+        for (int run = 0; run < 20 && !Arrays.stream(rollouts)
+                .allMatch(rollout -> status == rolloutManagement.get(rollout.getId()).get().getStatus()); run++) {
+            rolloutManagement.handleRollouts();
+        }
+        Arrays.stream(rollouts).forEach(
+                rollout -> assertThat(rolloutManagement.get(rollout.getId()).get().getStatus()).isEqualTo(status));
+    }
+
+    private void assertRolloutGroupsFilled(final Rollout rollout, final Integer... expectedTargets) {
+        final List<JpaRolloutGroup> groups = rolloutGroupRepository
+                .findByRolloutOrderByIdAsc((JpaRollout) rolloutManagement.get(rollout.getId()).get());
+        assertThat(groups).extracting(RolloutGroup::getTotalTargets).containsExactly(expectedTargets);
+        assertThat(groups).extracting(rolloutTargetGroupRepository::countByRolloutGroup)
+                .containsExactly(Arrays.stream(expectedTargets).map(Long::valueOf).toArray(Long[]::new));
+        assertThat(rolloutManagement.get(rollout.getId()).get().getTotalTargets())
+                .isEqualTo(Arrays.stream(expectedTargets).mapToLong(Integer::longValue).sum());
+    }
+
+    private void assertRolloutGroupStatusCountersMatchActions(final Rollout rollout) {
+        final List<Long> groupIds = rolloutGroupManagement.findByRollout(PAGE, rollout.getId()).getContent().stream()
+                .map(RolloutGroup::getId).collect(Collectors.toList());
+        assertThat(rolloutGroupStatusCounter.getStatusCounts(groupIds))
+                .usingElementComparatorOnFields("id", "status", "count")
+                .containsExactlyInAnyOrderElementsOf(actionRepository.getStatusCountByRolloutGroupId(groupIds));
+    }
+
     @Test
     @Description("Verify that the targets have the right status during a download_only rollout.")
     public void countCorrectStatusForEachTargetDuringDownloadOnlyRollout() {
@@ -1569,6 +1790,36 @@ public class RolloutManagementTest extends AbstractJpaIntegrationTest {
 
     }
 
+    @Test
+    @Description("Verify that the 'max actions per target' quota is enforced for all targets of a rollout group when the group is scheduled, also beyond the targets checked with one statement.")
+    public void startRolloutFailsIfActionsPerTargetQuotaIsViolatedBeyondStatementChunk() {
+        final int maxActions = securityProperties.getDos().getMaxActionsPerTarget();
+        final String rolloutName = "quotaChunk";
+        final List<Target> targets = testdataFactory.createTargets(Constants.MAX_ENTRIES_IN_STATEMENT + 1,
+                rolloutName, rolloutName);
+        assignDistributionSet(testdataFactory.createDistributionSet("manual"),
+                targets.get(Constants.MAX_ENTRIES_IN_STATEMENT));
+        final Rollout rollout = testdataFactory.createRolloutByVariables(rolloutName, rolloutName, 1,
+                "controllerId==" + rolloutName + "-*", testdataFactory.createDistributionSet(rolloutName), "50", "5");
+
+        securityProperties.getDos().setMaxActionsPerTarget(1);
+        try {
+            rolloutManagement.start(rollout.getId());
+            rolloutManagement.handleRollouts();
+
+            // the last target exceeds the quota, no action is created
+            assertThat(actionRepository.existsByRolloutId(rollout.getId())).isFalse();
+            assertThat(rolloutManagement.get(rollout.getId()).get().getStatus()).isEqualTo(RolloutStatus.STARTING);
+        } finally {
+            securityProperties.getDos().setMaxActionsPerTarget(maxActions);
+        }
+
+        rolloutManagement.handleRollouts();
+        assertThat(rolloutManagement.get(rollout.getId()).get().getStatus()).isEqualTo(RolloutStatus.RUNNING);
+        assertThat(actionRepository.findByRolloutIdAndStatus(PAGE, rollout.getId(), Status.RUNNING)
+                .getTotalElements()).isEqualTo(targets.size());
+    }
+
     @Test
     @Description("Verify rollout creation fails if the 'max rollout groups per rollout' quota is violated.")
     public void createRolloutWithIllegalAmountOfGroups() throws Exception {
@@ -18,8 +18,11 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.validation.ConstraintViolationException;
@@ -27,6 +30,7 @@ import javax.validation.ConstraintViolationException;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.eclipse.hawkbit.im.authentication.SpPermission;
 import org.eclipse.hawkbit.repository.FilterParams;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
 import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
@@ -60,6 +64,12 @@ import org.eclipse.hawkbit.repository.test.util.WithUser;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.google.common.collect.Iterables;
 
@@ -1092,6 +1102,59 @@ public class TargetManagementTest extends AbstractJpaIntegrationTest {
         validateFoundTargetsByRsql(rsqlOrControllerIdNotEqualFilter, controllerId1, controllerId2);
     }
 
+    @Test
+    @Description("Verifies that the targets matching the query are passed to the consumer batch by batch, each "
+            + "batch within a read only transaction of its own.")
+    public void forEachByRsqlReadsEachBatchInOwnTransaction() {
+        testdataFactory.createTargets(510, "batch");
+        testdataFactory.createTargets(5, "other");
+
+        final List<String> controllerIds = new ArrayList<>();
+        final Set<Object> transactions = Collections.newSetFromMap(new IdentityHashMap<>());
+        targetManagement.forEachByRsql("controllerId==batch*", target -> {
+            assertThat(TransactionSynchronizationManager.isCurrentTransactionReadOnly()).isTrue();
+            controllerIds.add(target.getControllerId());
+            TransactionSynchronizationManager.getResourceMap().values().stream()
+                    .filter(EntityManagerHolder.class::isInstance).forEach(transactions::add);
+        });
+
+        assertThat(controllerIds).hasSize(510).allMatch(controllerId -> controllerId.startsWith("batch"));
+        assertThat(transactions).hasSize(2);
+    }
+
+    @Test
+    @Description("Verifies that the targets are read slice by slice in the order of a nullable property with the "
+            + "null values lower than any other value, independent of the default null ordering of the database.")
+    public void findTargetsWithKeysetOrderedByNullableProperty() {
+        final TargetTag tag = targetTagManagement.create(entityFactory.tag().create().name("keyset"));
+        final List<Target> targets = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            targets.add(targetManagement.create(entityFactory.target().create().controllerId("keyset-" + i)
+                    .description(i % 2 == 0 ? null : "description-" + i)));
+        }
+        toggleTagAssignment(targets, tag);
+
+        assertThat(findAllWithKeyset(Direction.ASC, targetManagement::findAll)).containsExactly("keyset-0",
+                "keyset-2", "keyset-4", "keyset-1", "keyset-3", "keyset-5");
+        assertThat(findAllWithKeyset(Direction.DESC, targetManagement::findAll)).containsExactly("keyset-5",
+                "keyset-3", "keyset-1", "keyset-0", "keyset-2", "keyset-4");
+        assertThat(findAllWithKeyset(Direction.DESC,
+                pageable -> targetManagement.findByRsqlWithoutCount(pageable, "tag==keyset"))).containsExactly(
+                        "keyset-5", "keyset-3", "keyset-1", "keyset-0", "keyset-2", "keyset-4");
+    }
+
+    private static List<String> findAllWithKeyset(final Direction direction,
+            final Function<Pageable, Slice<Target>> finder) {
+        final List<String> controllerIds = new ArrayList<>();
+        Pageable pageable = new KeysetPageRequest(2, Sort.by(direction, "description"));
+        while (pageable.isPaged()) {
+            final Slice<Target> slice = finder.apply(pageable);
+            slice.forEach(target -> controllerIds.add(target.getControllerId()));
+            pageable = slice.nextPageable();
+        }
+        return controllerIds;
+    }
+
     private void validateFoundTargetsByRsql(final String rsqlFilter, final String... controllerIds) {
         final Page<Target> foundTargetsByMetadataAndControllerId = targetManagement.findByRsql(PAGE, rsqlFilter);
 
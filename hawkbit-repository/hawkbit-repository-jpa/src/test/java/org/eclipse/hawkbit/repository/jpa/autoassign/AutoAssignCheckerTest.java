@@ -10,11 +10,26 @@ package org.eclipse.hawkbit.repository.jpa.autoassign;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
+
+import org.awaitility.Awaitility;
+import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
+import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
 import org.eclipse.hawkbit.repository.exception.InvalidAutoAssignDistributionSetException;
 import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
 import org.eclipse.hawkbit.repository.jpa.ActionRepository;
@@ -25,11 +40,21 @@ import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetAssignmentResult;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
+import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
+import org.eclipse.persistence.jpa.JpaEntityManagerFactory;
+import org.eclipse.persistence.sessions.Session;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
@@ -313,4 +338,98 @@ public class AutoAssignCheckerTest extends AbstractJpaIntegrationTest {
         assertThat(actions).hasSize(amountOfTargets);
         assertThat(actions).allMatch(action -> !action.getWeight().isPresent());
     }
+
+    @Test
+    @Description("Verifies that only the changed targets are checked against the auto assignments and that changed auto assignments are checked against all targets")
+    public void checkChangedTargets() {
+        final DistributionSet ds = testdataFactory.createDistributionSet();
+        final TargetTag tag = targetTagManagement.create(entityFactory.tag().create().name("autoassign"));
+        final List<Target> targets = testdataFactory.createTargets(3, "changed");
+        toggleTagAssignment(targets.subList(0, 1), tag);
+        autoAssignChecker.check();
+
+        // the new auto assignment is checked against all targets
+        targetFilterQueryManagement.create(entityFactory.targetFilterQuery().create().name("a")
+                .query("tag==autoassign").autoAssignDistributionSet(ds));
+        assertChangedTargetsAssigned(targets.get(0).getControllerId());
+
+        // the changed targets are checked against the auto assignment
+        toggleTagAssignment(targets.subList(1, 2), tag);
+        final Target created = testdataFactory.createTarget("changed-created");
+        toggleTagAssignment(Collections.singletonList(created), tag);
+        assertChangedTargetsAssigned(targets.get(0).getControllerId(), targets.get(1).getControllerId(),
+                created.getControllerId());
+
+        // the already assigned targets are not assigned again
+        autoAssignChecker.checkChangedTargets();
+        assertThat(deploymentManagement.findActionsAll(PAGE).getContent()).hasSize(3);
+    }
+
+    @Test
+    @Description("Verifies that the changed targets are loaded with the attributes read by the auto assignments in a constant number of queries")
+    public void changedTargetsAreLoadedWithFetchedAttributes() {
+        final DistributionSet ds = testdataFactory.createDistributionSet();
+        targetFilterQueryManagement.create(entityFactory.targetFilterQuery().create().name("fetched")
+                .query("tag==none,metadata.key==none,assignedds.name==none").autoAssignDistributionSet(ds));
+        final List<Target> targets = testdataFactory.createTargets(50, "fetched");
+        autoAssignChecker.check();
+
+        targets.forEach(target -> autoAssignChecker.onTargetChanged(new TargetUpdatedEvent(target, "test")));
+        final AtomicInteger statements = new AtomicInteger();
+        final SessionEventAdapter statementCounter = new SessionEventAdapter() {
+            @Override
+            public void preExecuteQuery(final SessionEvent event) {
+                statements.incrementAndGet();
+            }
+        };
+        final Session session = entityManager.getEntityManagerFactory().unwrap(JpaEntityManagerFactory.class)
+                .getServerSession();
+        session.getEventManager().addListener(statementCounter);
+        try {
+            autoAssignChecker.checkChangedTargets();
+        } finally {
+            session.getEventManager().removeListener(statementCounter);
+        }
+
+        // the filters, the targets, their tags, metadata and assigned
+        // distribution sets are read once each
+        assertThat(statements.get()).isLessThan(targets.size() / 5);
+        assertThat(deploymentManagement.findActionsAll(PAGE).getContent()).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that the changes are only collected for the tenants this node is responsible for")
+    public void changesAreOnlyCollectedForResponsibleTenants() {
+        final TargetFilterQueryManagement filterQueryManagement = mock(TargetFilterQueryManagement.class);
+        when(filterQueryManagement.findWithAutoAssignDS(any())).thenReturn(Page.empty());
+        final TenantAware currentTenant = mock(TenantAware.class);
+        when(currentTenant.getCurrentTenant()).thenReturn("responsible", "other");
+        final AutoAssignChecker checker = new AutoAssignChecker(filterQueryManagement, mock(TargetManagement.class),
+                mock(EntityManager.class), "responsible"::equals, mock(DeploymentManagement.class),
+                mock(PlatformTransactionManager.class), currentTenant, new SimpleMeterRegistry());
+
+        checker.onTargetChanged(targetUpdatedEvent("responsible", 1L));
+        checker.onTargetChanged(targetUpdatedEvent("other", 2L));
+        checker.checkChangedTargets();
+        verify(filterQueryManagement).findWithAutoAssignDS(any());
+
+        checker.checkChangedTargets();
+        verifyNoMoreInteractions(filterQueryManagement);
+    }
+
+    private static TargetUpdatedEvent targetUpdatedEvent(final String tenant, final long targetId) {
+        final TargetUpdatedEvent event = mock(TargetUpdatedEvent.class);
+        when(event.getTenant()).thenReturn(tenant);
+        when(event.getEntityId()).thenReturn(targetId);
+        return event;
+    }
+
+    private void assertChangedTargetsAssigned(final String... controllerIds) {
+        // the events of the changes are delivered asynchronously
+        Awaitility.await().pollInSameThread().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            autoAssignChecker.checkChangedTargets();
+            assertThat(deploymentManagement.findActionsAll(PAGE).getContent())
+                    .extracting(action -> action.getTarget().getControllerId()).containsOnly(controllerIds);
+        });
+    }
 }
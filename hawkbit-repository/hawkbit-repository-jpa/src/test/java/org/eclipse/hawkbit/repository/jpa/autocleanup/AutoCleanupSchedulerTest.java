@@ -14,6 +14,7 @@ import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.jpa.cluster.ClusterPartitioner;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,6 +37,9 @@ public class AutoCleanupSchedulerTest extends AbstractJpaIntegrationTest {
     @Autowired
     private LockRegistry lockRegistry;
 
+    @Autowired
+    private ClusterPartitioner clusterPartitioner;
+
     @BeforeEach
     public void setUp() {
         counter.set(0);
@@ -45,8 +49,9 @@ public class AutoCleanupSchedulerTest extends AbstractJpaIntegrationTest {
     @Description("Verifies that all cleanup handlers are executed regardless if one of them throws an error")
     public void executeHandlerChain() {
 
-        new AutoCleanupScheduler(systemManagement, systemSecurityContext, lockRegistry, Arrays.asList(
-                new SuccessfulCleanup(), new SuccessfulCleanup(), new FailingCleanup(), new SuccessfulCleanup())).run();
+        new AutoCleanupScheduler(systemManagement, systemSecurityContext, lockRegistry, clusterPartitioner,
+                Arrays.asList(new SuccessfulCleanup(), new SuccessfulCleanup(), new FailingCleanup(),
+                        new SuccessfulCleanup())).run();
 
         assertThat(counter.get()).isEqualTo(4);
 
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.jpa.ClusterMemberRepository;
+import org.eclipse.hawkbit.repository.jpa.model.JpaClusterMember;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Component Tests - Repository")
+@Story("Cluster partitioning")
+public class LeaseBasedClusterPartitionerTest extends AbstractJpaIntegrationTest {
+
+    private static final List<String> PARTITIONS = IntStream.range(0, 100).mapToObj(i -> "tenant" + i)
+            .collect(Collectors.toList());
+
+    @Autowired
+    private ClusterMemberRepository clusterMemberRepository;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+        clusterMemberRepository.deleteAll();
+    }
+
+    @Test
+    @Description("Verifies that every partition is assigned to exactly one live member and that the partitions of a "
+            + "member that left the cluster are taken over by the remaining members.")
+    public void partitionsAreRebalancedOnMembershipChange() {
+        final LeaseBasedClusterPartitioner first = createPartitioner();
+        final LeaseBasedClusterPartitioner second = createPartitioner();
+        // the first member learns about the second member with its next
+        // heartbeat
+        first.renewLease();
+
+        final List<String> ownedByFirst = PARTITIONS.stream().filter(first::isResponsible)
+                .collect(Collectors.toList());
+        final List<String> ownedBySecond = PARTITIONS.stream().filter(second::isResponsible)
+                .collect(Collectors.toList());
+
+        assertThat(ownedByFirst).isNotEmpty().doesNotContainAnyElementsOf(ownedBySecond);
+        assertThat(ownedBySecond).isNotEmpty();
+        assertThat(ownedByFirst.size() + ownedBySecond.size()).isEqualTo(PARTITIONS.size());
+
+        second.shutdown();
+        first.renewLease();
+
+        assertThat(PARTITIONS).allMatch(first::isResponsible);
+        first.shutdown();
+    }
+
+    @Test
+    @Description("Verifies that a member whose clock is behind is kept as long as it renews its lease and that the "
+            + "lease of a member which stopped renewing it is removed after the lease duration.")
+    public void leasesExpireIndependentOfClockSkew() throws InterruptedException {
+        final long leaseDuration = 500;
+        // the clock of the other member is far behind
+        clusterMemberRepository.save(new JpaClusterMember("skewed", 1000));
+        final LeaseBasedClusterPartitioner partitioner = createPartitioner(leaseDuration);
+
+        TimeUnit.MILLISECONDS.sleep(leaseDuration / 2);
+        clusterMemberRepository.save(new JpaClusterMember("skewed", 1001));
+        TimeUnit.MILLISECONDS.sleep(leaseDuration / 2 + 1);
+        partitioner.renewLease();
+
+        assertThat(clusterMemberRepository.existsById("skewed")).isTrue();
+        assertThat(PARTITIONS).anyMatch(partition -> !partitioner.isResponsible(partition));
+
+        TimeUnit.MILLISECONDS.sleep(leaseDuration + 1);
+        partitioner.renewLease();
+
+        assertThat(clusterMemberRepository.existsById("skewed")).isFalse();
+        assertThat(PARTITIONS).allMatch(partitioner::isResponsible);
+        partitioner.shutdown();
+    }
+
+    private LeaseBasedClusterPartitioner createPartitioner() {
+        return createPartitioner(new RepositoryProperties().getClusterLeaseDuration());
+    }
+
+    private LeaseBasedClusterPartitioner createPartitioner(final long leaseDuration) {
+        final RepositoryProperties properties = new RepositoryProperties();
+        properties.setClusterHeartbeatInterval(TimeUnit.HOURS.toMillis(1));
+        properties.setClusterLeaseDuration(leaseDuration);
+
+        final LeaseBasedClusterPartitioner partitioner = new LeaseBasedClusterPartitioner(scheduler, properties,
+                clusterMemberRepository, txManager);
+        partitioner.renewLease();
+
+        return partitioner;
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.poll;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
+import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.eclipse.hawkbit.tenancy.TenantAware.TenantRunner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Tests for {@link CoalescingTargetPollPersistence}.
+ */
+@Feature("Unit Tests - Repository")
+@Story("Target poll persistence")
+public class CoalescingTargetPollPersistenceTest {
+
+    private static final String TENANT = "tenant";
+
+    private final Map<String, Long> written = new HashMap<>();
+
+    private TenantAware tenantAware;
+
+    private CoalescingTargetPollPersistence persistence;
+
+    @BeforeEach
+    public void setUp() {
+        final EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.createNativeQuery(anyString())).thenAnswer(invocation -> updateQuery());
+        tenantAware = mock(TenantAware.class);
+        when(tenantAware.runAsTenant(anyString(), any())).thenAnswer(invocation -> invocation
+                .<TenantRunner<?>> getArgument(1).run());
+
+        final RepositoryProperties repositoryProperties = new RepositoryProperties();
+        repositoryProperties.setEagerPollPersistence(true);
+        persistence = new CoalescingTargetPollPersistence(mock(ScheduledExecutorService.class),
+                repositoryProperties, entityManager, mock(PlatformTransactionManager.class), tenantAware,
+                mock(AfterTransactionCommitExecutor.class), EventPublisherHolder.getInstance());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        persistence.shutdown();
+    }
+
+    @Test
+    @Description("Verifies that no target is written with a poll time later than its own poll.")
+    public void pollsAreWrittenWithTheirPollTime() {
+        final long pollTime = 1_000_000;
+        persistence.offer(TENANT, "first", pollTime);
+        persistence.offer(TENANT, "second", pollTime + 500);
+        persistence.offer(TENANT, "later", pollTime + 5_000);
+        persistence.offer(TENANT, "later", pollTime + 6_000);
+
+        persistence.flush();
+
+        assertThat(written).containsEntry("first", pollTime).containsEntry("second", pollTime)
+                .containsEntry("later", pollTime + 6_000).hasSize(3);
+    }
+
+    @Test
+    @Description("Verifies that the polls of a failed flush are buffered again and merged with the latest polls.")
+    public void pollsOfFailedFlushAreBufferedAgain() {
+        doThrow(new IllegalStateException("database down"))
+                .doAnswer(invocation -> invocation.<TenantRunner<?>> getArgument(1).run()).when(tenantAware)
+                .runAsTenant(anyString(), any());
+        persistence.offer(TENANT, "first", 1_000);
+        persistence.offer(TENANT, "second", 5_000);
+
+        persistence.flush();
+        assertThat(written).isEmpty();
+        assertThat(persistence.getPendingCount()).isEqualTo(2);
+
+        persistence.offer(TENANT, "first", 2_000);
+        persistence.offer(TENANT, "third", 3_000);
+        persistence.flush();
+
+        assertThat(written).containsEntry("first", 2_000L).containsEntry("second", 5_000L)
+                .containsEntry("third", 3_000L).hasSize(3);
+        assertThat(persistence.getPendingCount()).isZero();
+        assertThat(persistence.getFlushedCount()).isEqualTo(3);
+    }
+
+    @Test
+    @Description("Verifies that the buffers of tenants without polls are removed after the flush.")
+    public void buffersOfFlushedTenantsAreRemoved() {
+        for (int i = 0; i < 10; i++) {
+            persistence.offer(TENANT + i, "controller", 1_000);
+        }
+        assertThat(persistence.getTenantCount()).isEqualTo(10);
+
+        persistence.flush();
+        assertThat(persistence.getTenantCount()).isZero();
+
+        assertThat(persistence.offer(TENANT, "controller", 2_000)).isTrue();
+        assertThat(persistence.getTenantCount()).isEqualTo(1);
+        persistence.flush();
+
+        assertThat(written).containsEntry("controller", 2_000L);
+        assertThat(persistence.getTenantCount()).isZero();
+    }
+
+    private Query updateQuery() {
+        final Map<String, Object> parameters = new HashMap<>();
+        final Query query = mock(Query.class);
+        when(query.setParameter(anyString(), any())).thenAnswer(invocation -> {
+            parameters.put(invocation.getArgument(0), invocation.getArgument(1));
+            return query;
+        });
+        when(query.executeUpdate()).thenAnswer(invocation -> {
+            final Long pollTime = (Long) parameters.get("last_target_query");
+            parameters.forEach((name, value) -> {
+                if (name.startsWith("cid")) {
+                    written.put((String) value, pollTime);
+                }
+            });
+            return parameters.size() - 2;
+        });
+        return query;
+    }
+}
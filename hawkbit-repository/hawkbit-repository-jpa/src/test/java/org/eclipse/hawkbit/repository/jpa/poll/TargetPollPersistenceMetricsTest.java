@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.poll;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Tests for {@link TargetPollPersistenceMetrics}.
+ */
+@Feature("Unit Tests - Repository")
+@Story("Target poll persistence")
+public class TargetPollPersistenceMetricsTest {
+
+    @Test
+    @Description("Verifies that the queue depth and the throughput of the poll persistence are exposed.")
+    public void exposesQueueDepthAndThroughput() {
+        final TargetPollPersistence persistence = mock(TargetPollPersistence.class);
+        when(persistence.getPendingCount()).thenReturn(3);
+        when(persistence.getCapacity()).thenReturn(10);
+        when(persistence.getAcceptedCount()).thenReturn(5L);
+        when(persistence.getCoalescedCount()).thenReturn(7L);
+        when(persistence.getRejectedCount()).thenReturn(1L);
+        when(persistence.getFlushedCount()).thenReturn(2L);
+
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        new TargetPollPersistenceMetrics(persistence).bindTo(registry);
+
+        assertThat(registry.get("hawkbit.poll.persistence.pending").gauge().value()).isEqualTo(3);
+        assertThat(registry.get("hawkbit.poll.persistence.capacity").gauge().value()).isEqualTo(10);
+        assertThat(registry.get("hawkbit.poll.persistence.polls").tag("result", "accepted").functionCounter().count())
+                .isEqualTo(5);
+        assertThat(registry.get("hawkbit.poll.persistence.polls").tag("result", "coalesced").functionCounter().count())
+                .isEqualTo(7);
+        assertThat(registry.get("hawkbit.poll.persistence.polls").tag("result", "rejected").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("hawkbit.poll.persistence.flushed").functionCounter().count()).isEqualTo(2);
+    }
+}
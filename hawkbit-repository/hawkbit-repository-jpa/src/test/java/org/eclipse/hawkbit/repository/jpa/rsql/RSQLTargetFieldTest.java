@@ -232,6 +232,12 @@ public class RSQLTargetFieldTest extends AbstractJpaIntegrationTest {
                 0);
         assertRSQLQuery("(" + TargetFields.TAG.name() + "!=TAG1" + OR + TargetFields.TAG.name() + "!=TAG2)" + AND
                 + TargetFields.CONTROLLERID.name() + "!=targetId1235", 4);
+        assertRSQLQuery(TargetFields.TAG.name() + "==Tag1" + AND + TargetFields.TAG.name() + "==Tag3", 1);
+        assertRSQLQuery(TargetFields.TAG.name() + "==Tag1" + OR + TargetFields.TAG.name() + "==Tag3", 4);
+        assertRSQLQuery(TargetFields.TAG.name() + "==Tag2" + OR + TargetFields.ATTRIBUTE.name() + ".revision==1.1"
+                + OR + TargetFields.TAG.name() + "==Tag3", 3);
+        assertRSQLQuery("(" + TargetFields.TAG.name() + "==Tag1" + OR + TargetFields.METADATA.name()
+                + ".metaKey==value)" + AND + TargetFields.ATTRIBUTE.name() + ".revision==1*", 2);
     }
 
     private void assertRSQLQuery(final String rsqlParam, final long expcetedTargets) {
@@ -239,5 +245,6 @@ public class RSQLTargetFieldTest extends AbstractJpaIntegrationTest {
         final long countTargetsAll = findTargetPage.getTotalElements();
         assertThat(findTargetPage).isNotNull();
         assertThat(countTargetsAll).isEqualTo(expcetedTargets);
+        assertThat(findTargetPage.getContent()).hasSize((int) expcetedTargets);
     }
 }
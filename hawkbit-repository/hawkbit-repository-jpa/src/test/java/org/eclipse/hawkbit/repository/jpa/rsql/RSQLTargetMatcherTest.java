@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTargetTag;
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("RSQL target matcher")
+public class RSQLTargetMatcherTest {
+
+    @Test
+    @Description("Verifies that the positive comparisons are evaluated on the fields and tags of the target.")
+    public void positiveComparisonsAreEvaluated() {
+        final JpaTarget target = new JpaTarget("controller-1", "token");
+        target.setDescription("Kitchen Sensor");
+        target.addTag(new JpaTargetTag("Beta", null, null));
+
+        assertMatches(target, "controllerId==controller-1");
+        assertMatches(target, "description==kitchen*;updatestatus=in=(pending,unknown)");
+        assertMatches(target, "tag==alpha,tag==beta");
+        assertNoMatch(target, "controllerId==controller-2");
+        assertNoMatch(target, "attribute.revision==1.0");
+        assertNoMatch(target, "description==sensor");
+        assertNoMatch(target, "tag==beta;name==other");
+        assertNoMatch(target, "assignedds.name==ds");
+    }
+
+    @Test
+    @Description("Verifies that the comparisons which are not evaluated in memory accept the target.")
+    public void otherComparisonsMayMatch() {
+        final JpaTarget target = new JpaTarget("controller-1", "token");
+
+        assertMatches(target, "controllerId!=controller-1");
+        assertMatches(target, "tag=out=(beta)");
+        assertMatches(target, "createdAt=lt=${NOW_TS}");
+        assertMatches(target, "description==''");
+        assertMatches(target, "controllerId==controller-2,lastControllerRequestAt=le=0");
+    }
+
+    @Test
+    @Description("Verifies that the lazily loaded attributes read by the evaluated comparisons are fetched.")
+    public void attributesOfEvaluatedComparisonsAreFetched() {
+        assertThat(RSQLTargetMatcher.getFetchedAttributes("controllerId==controller-1;description==sensor"))
+                .isEmpty();
+        assertThat(RSQLTargetMatcher.getFetchedAttributes(
+                "tag==beta,(attribute.revision==1.0;metadata.key=in=(a,b)),assignedds.name==ds;installedds.version==1"))
+                        .containsOnly("tags", "controllerAttributes", "metadata", "assignedDistributionSet",
+                                "installedDistributionSet");
+        assertThat(RSQLTargetMatcher.getFetchedAttributes("tag!=beta;attribute.revision==''")).isEmpty();
+    }
+
+    private static void assertMatches(final JpaTarget target, final String rsql) {
+        assertThat(RSQLTargetMatcher.compile(rsql).test(target)).as(rsql).isTrue();
+    }
+
+    private static void assertNoMatch(final JpaTarget target, final String rsql) {
+        assertThat(RSQLTargetMatcher.compile(rsql).test(target)).as(rsql).isFalse();
+    }
+}
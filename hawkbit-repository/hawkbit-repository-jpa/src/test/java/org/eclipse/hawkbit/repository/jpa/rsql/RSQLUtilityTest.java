@@ -150,6 +150,19 @@ public class RSQLUtilityTest {
         RSQLUtility.validateRsqlFor(rsqlWithMixedCase, TargetFields.class);
     }
 
+    @Test
+    @Description("Verify that a query validated for one field enum is validated again for another one")
+    public void sameRsqlValidatedPerFieldEnum() {
+        final String rsql = "TESTFIELD == abcd";
+        RSQLUtility.validateRsqlFor(rsql, TestFieldEnum.class);
+        RSQLUtility.validateRsqlFor(rsql, TestFieldEnum.class);
+
+        assertThatExceptionOfType(RSQLParameterUnsupportedFieldException.class)
+                .isThrownBy(() -> RSQLUtility.validateRsqlFor(rsql, TargetFields.class));
+        assertThatExceptionOfType(RSQLParameterUnsupportedFieldException.class)
+                .isThrownBy(() -> RSQLUtility.validateRsqlFor(rsql, TargetFields.class));
+    }
+
     @Test
     public void wrongRsqlSyntaxThrowSyntaxException() {
         final String wrongRSQL = "name==abc;d";
@@ -8,6 +8,7 @@
  */
 package org.eclipse.hawkbit.ddi.rest.resource;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -38,6 +39,9 @@ import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.http.HttpRequest;
 import org.springframework.util.CollectionUtils;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
 /**
  * Utility class for the DDI API.
  */
@@ -47,7 +51,25 @@ public final class DataConversionHelper {
 
     }
 
-    static List<DdiChunk> createChunks(final Target target, final Action uAction,
+    /**
+     * Creates the chunks of the deployment base resource of the given action.
+     * Public to be benchmarked outside of this package.
+     *
+     * @param target
+     *            the action belongs to
+     * @param uAction
+     *            of the deployment
+     * @param artifactUrlHandler
+     *            to create the download links of the artifacts
+     * @param systemManagement
+     *            to look up the tenant of the links
+     * @param request
+     *            the links are created for
+     * @param controllerManagement
+     *            to look up the target visible metadata of the modules
+     * @return the chunks, one per software module
+     */
+    public static List<DdiChunk> createChunks(final Target target, final Action uAction,
             final ArtifactUrlHandler artifactUrlHandler, final SystemManagement systemManagement,
             final HttpRequest request, final ControllerManagement controllerManagement) {
 
@@ -143,6 +165,34 @@ public final class DataConversionHelper {
         return result;
     }
 
+    /**
+     * Calculates the ETag of the given {@link DdiControllerBase} from the
+     * polling configuration and links it consists of. This is equivalent to a
+     * hash of the rendered response but does not require it.
+     *
+     * @param controllerBase
+     *            to calculate the ETag for
+     * @param mediaType
+     *            the response is rendered in if it results in a different
+     *            body, e.g. CBOR, or <code>null</code>
+     * @return the quoted ETag
+     */
+    static String calculateEtag(final DdiControllerBase controllerBase, final String mediaType) {
+        final Hasher hasher = Hashing.murmur3_128().newHasher();
+        putField(hasher, String.valueOf(mediaType));
+        putField(hasher, controllerBase.getConfig().getPolling().getSleep());
+        controllerBase.getLinks().forEach(link -> {
+            putField(hasher, link.getRel().value());
+            putField(hasher, link.getHref());
+        });
+
+        return "\"" + hasher.hash() + "\"";
+    }
+
+    private static void putField(final Hasher hasher, final String value) {
+        hasher.putString(value, StandardCharsets.UTF_8).putChar('\n');
+    }
+
     /**
      * Calculates an etag for the given {@link Action} based on the entities
      * hashcode and the {@link Action#isHitAutoForceTime(long)} to reflect a
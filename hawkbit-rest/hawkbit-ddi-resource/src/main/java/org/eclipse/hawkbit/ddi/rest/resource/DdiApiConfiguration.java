@@ -8,11 +8,25 @@
  */
 package org.eclipse.hawkbit.ddi.rest.resource;
 
+import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.rest.RestConfiguration;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 
 /**
  * Enable {@link ComponentScan} in the resource package to setup all
@@ -24,4 +38,61 @@ import org.springframework.stereotype.Controller;
 @Import(RestConfiguration.class)
 public class DdiApiConfiguration {
 
+    /**
+     * {@link DownloadAuditAggregator} bean.
+     *
+     * @param controllerManagement
+     *            to record the downloads
+     * @param systemSecurityContext
+     *            to record the downloads in the context of the controller
+     * @param window
+     *            in milliseconds within repeated downloads of a software
+     *            module are folded into one action status entry
+     * @return a new {@link DownloadAuditAggregator}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    DownloadAuditAggregator downloadAuditAggregator(final ControllerManagement controllerManagement,
+            final SystemSecurityContext systemSecurityContext,
+            @Value("${hawkbit.server.ddi.download.audit.window:60000}") final long window) {
+        return new DownloadAuditAggregator(controllerManagement, systemSecurityContext, window);
+    }
+
+    /**
+     * {@link DownloadProgressAggregator} bean.
+     *
+     * @param eventPublisher
+     *            to publish the aggregated download progress
+     * @param serviceMatcher
+     *            for the application id of the published events if available
+     * @param bus
+     *            for the application id of the published events otherwise
+     * @return a new {@link DownloadProgressAggregator}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    DownloadProgressAggregator downloadProgressAggregator(final ApplicationEventPublisher eventPublisher,
+            final ObjectProvider<ServiceMatcher> serviceMatcher, final BusProperties bus) {
+        return new DownloadProgressAggregator(eventPublisher, serviceMatcher.getIfAvailable(), bus);
+    }
+
+    /**
+     * Registers the {@link DdiMetricsInterceptor} for the DDI API.
+     *
+     * @param meterRegistry
+     *            to record the requests if available, the
+     *            {@link Metrics#globalRegistry} otherwise
+     * @return the {@link WebMvcConfigurer} adding the interceptor
+     */
+    @Bean
+    WebMvcConfigurer ddiMetricsConfigurer(final ObjectProvider<MeterRegistry> meterRegistry) {
+        final DdiMetricsInterceptor interceptor = new DdiMetricsInterceptor(
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(final InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor);
+            }
+        };
+    }
 }
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link HandlerInterceptor} that records the duration of every request
+ * handled by the {@link DdiRootController} per endpoint, i.e. handler method,
+ * and response status. The timers publish a percentile histogram so that the
+ * latency distribution can be aggregated across the nodes of a cluster.
+ */
+public class DdiMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String METRIC_REQUESTS = "hawkbit.ddi.requests";
+    private static final String SAMPLE_ATTRIBUTE = DdiMetricsInterceptor.class.getName() + ".sample";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param meterRegistry
+     *            to record the requests
+     */
+    public DdiMetricsInterceptor(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+            final Object handler) {
+        if (isDdiHandler(handler)) {
+            request.setAttribute(SAMPLE_ATTRIBUTE, Timer.start(meterRegistry));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+            final Object handler, final Exception ex) {
+        final Object sample = request.getAttribute(SAMPLE_ATTRIBUTE);
+        if (!(sample instanceof Timer.Sample)) {
+            return;
+        }
+        request.removeAttribute(SAMPLE_ATTRIBUTE);
+
+        ((Timer.Sample) sample).stop(Timer.builder(METRIC_REQUESTS)
+                .tag("endpoint", ((HandlerMethod) handler).getMethod().getName())
+                .tag("status", String.valueOf(response.getStatus()))
+                .tag("exception", ex == null ? "none" : ex.getClass().getSimpleName())
+                .description("Requests handled by the DDI API").publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private static boolean isDdiHandler(final Object handler) {
+        return handler instanceof HandlerMethod
+                && DdiRootController.class.isAssignableFrom(((HandlerMethod) handler).getBeanType());
+    }
+}
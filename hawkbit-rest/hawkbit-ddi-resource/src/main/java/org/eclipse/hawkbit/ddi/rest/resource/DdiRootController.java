@@ -10,8 +10,10 @@ package org.eclipse.hawkbit.ddi.rest.resource;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
@@ -40,16 +42,17 @@ import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.EntityFactory;
 import org.eclipse.hawkbit.repository.RepositoryConstants;
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.TargetChangeVersionCache;
+import org.eclipse.hawkbit.repository.TargetChangeVersionCache.Version;
 import org.eclipse.hawkbit.repository.UpdateMode;
 import org.eclipse.hawkbit.repository.builder.ActionStatusCreate;
-import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
 import org.eclipse.hawkbit.repository.exception.ArtifactBinaryNotFoundException;
 import org.eclipse.hawkbit.repository.exception.CancelActionNotAllowedException;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.SoftwareModuleNotAssignedToTargetException;
 import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
 import org.eclipse.hawkbit.repository.model.Action.Status;
-import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.Artifact;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.Target;
@@ -62,9 +65,6 @@ import org.eclipse.hawkbit.util.IpUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cloud.bus.BusProperties;
-import org.springframework.cloud.bus.ServiceMatcher;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Scope;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -91,15 +91,6 @@ public class DdiRootController implements DdiRootControllerRestApi {
     private static final Logger LOG = LoggerFactory.getLogger(DdiRootController.class);
     private static final String GIVEN_ACTION_IS_NOT_ASSIGNED_TO_GIVEN_TARGET = "given action ({}) is not assigned to given target ({}).";
 
-    @Autowired
-    private ApplicationEventPublisher eventPublisher;
-
-    @Autowired(required = false)
-    private ServiceMatcher serviceMatcher;
-
-    @Autowired
-    private BusProperties bus;
-
     @Autowired
     private ControllerManagement controllerManagement;
 
@@ -124,6 +115,15 @@ public class DdiRootController implements DdiRootControllerRestApi {
     @Autowired
     private EntityFactory entityFactory;
 
+    @Autowired
+    private DownloadAuditAggregator downloadAuditAggregator;
+
+    @Autowired
+    private DownloadProgressAggregator downloadProgressAggregator;
+
+    @Autowired
+    private TargetChangeVersionCache targetChangeVersionCache;
+
     @Override
     public ResponseEntity<List<DdiArtifact>> getSoftwareModulesArtifacts(@PathVariable("tenant") final String tenant,
             @PathVariable("controllerId") final String controllerId,
@@ -147,18 +147,55 @@ public class DdiRootController implements DdiRootControllerRestApi {
             @PathVariable("controllerId") final String controllerId) {
         LOG.debug("getControllerBase({})", controllerId);
 
-        final Target target = controllerManagement.findOrRegisterTargetIfItDoesNotExist(controllerId, IpUtil
-                .getClientIpFromRequest(requestResponseContextHolder.getHttpServletRequest(), securityProperties));
+        final HttpServletRequest request = requestResponseContextHolder.getHttpServletRequest();
+        final URI address = IpUtil.getClientIpFromRequest(request, securityProperties);
+        final String mediaType = request.getHeader(HttpHeaders.ACCEPT);
+        final String variant = address + " " + mediaType;
+
+        // the target state is unchanged since the response the client
+        // already has, so the poll is answered without database access
+        final String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            final Optional<String> eTag = targetChangeVersionCache.getTag(controllerId, variant);
+            if (eTag.isPresent() && HttpUtil.matchesHttpHeader(ifNoneMatch, eTag.get())
+                    && controllerManagement.registerUnchangedPoll(controllerId)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.get()).build();
+            }
+        }
+
+        final Optional<Version> version = targetChangeVersionCache.getVersion(controllerId);
+
+        final Target target = controllerManagement.findOrRegisterTargetIfItDoesNotExist(controllerId, address);
         final Action action = controllerManagement.findActiveActionWithHighestWeight(controllerId).orElse(null);
 
         checkAndCancelExpiredAction(action);
 
-        return new ResponseEntity<>(
-                DataConversionHelper.fromTarget(target, action,
-                        action == null ? controllerManagement.getPollingTime()
-                                : controllerManagement.getPollingTimeForAction(action.getId()),
-                        tenantAware),
-                HttpStatus.OK);
+        final DdiControllerBase controllerBase = DataConversionHelper.fromTarget(target, action,
+                action == null ? controllerManagement.getPollingTime()
+                        : controllerManagement.getPollingTimeForAction(action.getId()),
+                tenantAware);
+        // JSON and HAL JSON responses are equal, only CBOR differs
+        final String eTag = DataConversionHelper.calculateEtag(controllerBase,
+                mediaType != null && mediaType.contains(DdiRestConstants.MEDIA_TYPE_CBOR)
+                        ? DdiRestConstants.MEDIA_TYPE_CBOR
+                        : null);
+
+        if (!version.isPresent() || version.get().getTargetId() != target.getId()) {
+            targetChangeVersionCache.register(controllerId, target.getId());
+        } else if (isIndependentOfTime(action)) {
+            targetChangeVersionCache.putTag(version.get(), variant, eTag);
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(controllerBase);
+    }
+
+    /**
+     * The response of actions with maintenance window or forced time changes
+     * over time without any change of the action itself.
+     */
+    private static boolean isIndependentOfTime(final Action action) {
+        return action == null
+                || (!action.hasMaintenanceSchedule() && action.getActionType() != ActionType.TIMEFORCED);
     }
 
     @Override
@@ -190,31 +227,27 @@ public class DdiRootController implements DdiRootControllerRestApi {
             if (ifMatch != null && !HttpUtil.matchesHttpHeader(ifMatch, artifact.getSha1Hash())) {
                 result = new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
             } else {
-                final ActionStatus action = checkAndLogDownload(requestResponseContextHolder.getHttpServletRequest(),
+                final long statusId = checkAndLogDownload(requestResponseContextHolder.getHttpServletRequest(),
                         target, module.getId());
 
-                final Long statusId = action.getId();
-
                 result = FileStreamingUtil.writeFileResponse(file, artifact.getFilename(), artifact.getCreatedAt(),
                         requestResponseContextHolder.getHttpServletResponse(),
                         requestResponseContextHolder.getHttpServletRequest(),
-                        (length, shippedSinceLastEvent,
-                                total) -> eventPublisher.publishEvent(new DownloadProgressEvent(
-                                        tenantAware.getCurrentTenant(), statusId, shippedSinceLastEvent,
-                                        serviceMatcher != null ? serviceMatcher.getServiceId() : bus.getId())));
+                        (length, shippedSinceLastEvent, total) -> downloadProgressAggregator
+                                .record(tenantAware.getCurrentTenant(), statusId, shippedSinceLastEvent));
 
             }
         }
         return result;
     }
 
-    private ActionStatus checkAndLogDownload(final HttpServletRequest request, final Target target, final Long module) {
+    private long checkAndLogDownload(final HttpServletRequest request, final Target target, final Long module) {
         final Action action = controllerManagement
                 .getActionForDownloadByTargetAndSoftwareModule(target.getControllerId(), module)
                 .orElseThrow(() -> new SoftwareModuleNotAssignedToTargetException(module, target.getControllerId()));
         final String range = request.getHeader("Range");
 
-        String message;
+        final String message;
         if (range != null) {
             message = RepositoryConstants.SERVER_MESSAGE_PREFIX + "Target downloads range " + range + " of: "
                     + request.getRequestURI();
@@ -222,8 +255,9 @@ public class DdiRootController implements DdiRootControllerRestApi {
             message = RepositoryConstants.SERVER_MESSAGE_PREFIX + "Target downloads " + request.getRequestURI();
         }
 
-        return controllerManagement.addInformationalActionStatus(
-                entityFactory.actionStatus().create(action.getId()).status(Status.DOWNLOAD).message(message));
+        return downloadAuditAggregator.record(tenantAware.getCurrentTenant(), action.getId(), module, range != null,
+                () -> controllerManagement.addInformationalActionStatus(
+                        entityFactory.actionStatus().create(action.getId()).status(Status.DOWNLOAD).message(message)));
     }
 
     private static boolean checkModule(final String fileName, final SoftwareModule module) {
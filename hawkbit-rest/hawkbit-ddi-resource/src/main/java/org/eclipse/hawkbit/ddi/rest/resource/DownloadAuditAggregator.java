@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.RepositoryConstants;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.ActionStatus;
+import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Aggregates the download audit {@link ActionStatus} entries of the DDI API.
+ * The first download of a {@link SoftwareModule} within an {@link Action} is
+ * recorded immediately. Further downloads of the same module, e.g. the range
+ * requests of a resumed download, are folded into that entry within the
+ * configured window and summarized by a single message once the window is
+ * closed.
+ */
+public class DownloadAuditAggregator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DownloadAuditAggregator.class);
+
+    private static final String PROP_FLUSH_DELAY_PLACEHOLDER = "${hawkbit.server.ddi.download.audit.flushDelay:10000}";
+
+    private final ConcurrentMap<DownloadKey, DownloadAudit> audits = new ConcurrentHashMap<>();
+    private final Queue<DownloadAudit> closed = new ConcurrentLinkedQueue<>();
+
+    private final ControllerManagement controllerManagement;
+    private final SystemSecurityContext systemSecurityContext;
+    private final long window;
+
+    /**
+     * Constructor.
+     *
+     * @param controllerManagement
+     *            to write the summary of the folded downloads
+     * @param systemSecurityContext
+     *            to write the summary in the context of the controller
+     * @param window
+     *            in milliseconds within further downloads are folded into
+     *            the entry of the first download. Every download is recorded
+     *            on its own if not positive.
+     */
+    public DownloadAuditAggregator(final ControllerManagement controllerManagement,
+            final SystemSecurityContext systemSecurityContext, final long window) {
+        this.controllerManagement = controllerManagement;
+        this.systemSecurityContext = systemSecurityContext;
+        this.window = window;
+    }
+
+    /**
+     * Records a download of the given module.
+     *
+     * @param tenant
+     *            of the downloading target
+     * @param actionId
+     *            the download belongs to
+     * @param moduleId
+     *            of the downloaded {@link SoftwareModule}
+     * @param range
+     *            <code>true</code> for a range request
+     * @param statusCreator
+     *            to record the download if it cannot be folded into an
+     *            already recorded download
+     * @return ID of the {@link ActionStatus} the download is recorded in
+     */
+    public long record(final String tenant, final long actionId, final long moduleId, final boolean range,
+            final Supplier<ActionStatus> statusCreator) {
+        if (window <= 0) {
+            return statusCreator.get().getId();
+        }
+
+        final DownloadKey key = new DownloadKey(actionId, moduleId);
+        final long now = System.currentTimeMillis();
+
+        while (true) {
+            // only decide under the map lock whether a status has to be
+            // created, concurrent downloads of the same module are folded
+            // into the new entry and wait for the ID of its status
+            final AtomicReference<DownloadAudit> replaced = new AtomicReference<>();
+            final AtomicBoolean created = new AtomicBoolean();
+            final DownloadAudit recorded = audits.compute(key, (downloadKey, current) -> {
+                if (current != null && current.isOpen(now) && !current.statusId.isCompletedExceptionally()) {
+                    current.fold(range);
+                    return current;
+                }
+
+                replaced.set(current);
+                created.set(true);
+                return new DownloadAudit(tenant, now);
+            });
+
+            if (replaced.get() != null && !replaced.get().statusId.isCompletedExceptionally()) {
+                closed.add(replaced.get());
+            }
+
+            if (created.get()) {
+                createStatus(key, recorded, statusCreator);
+            }
+
+            try {
+                return recorded.statusId.join();
+            } catch (final CompletionException e) {
+                LOG.debug("Failed to create the download status of action {}, recording the download again.",
+                        actionId, e);
+            }
+        }
+    }
+
+    private void createStatus(final DownloadKey key, final DownloadAudit audit,
+            final Supplier<ActionStatus> statusCreator) {
+        try {
+            audit.statusId.complete(statusCreator.get().getId());
+        } catch (final RuntimeException e) {
+            audits.remove(key, audit);
+            audit.statusId.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the summary of all closed windows with folded downloads.
+     */
+    @Scheduled(initialDelayString = PROP_FLUSH_DELAY_PLACEHOLDER, fixedDelayString = PROP_FLUSH_DELAY_PLACEHOLDER)
+    public void flush() {
+        final long now = System.currentTimeMillis();
+        audits.forEach((key, audit) -> {
+            if (!audit.isOpen(now) && audits.remove(key, audit)) {
+                closed.add(audit);
+            }
+        });
+
+        DownloadAudit audit;
+        while ((audit = closed.poll()) != null) {
+            writeSummary(audit);
+        }
+    }
+
+    private void writeSummary(final DownloadAudit audit) {
+        final int folded = audit.folded.get();
+        if (folded == 0 || audit.statusId.isCompletedExceptionally()) {
+            return;
+        }
+
+        final String message = RepositoryConstants.SERVER_MESSAGE_PREFIX + "Target repeated the download " + folded
+                + " times (" + audit.foldedRanges.get() + " range requests) within " + window + " ms";
+
+        try {
+            systemSecurityContext.runAsControllerAsTenant(audit.tenant,
+                    () -> controllerManagement.addActionStatusMessage(audit.statusId.join(), message));
+        } catch (final RuntimeException e) {
+            LOG.warn("Failed to write download summary to action status {} of tenant {}.",
+                    audit.statusId.getNow(null), audit.tenant, e);
+        }
+    }
+
+    private final class DownloadAudit {
+        private final String tenant;
+        private final CompletableFuture<Long> statusId = new CompletableFuture<>();
+        private final long recordedAt;
+        private final AtomicInteger folded = new AtomicInteger();
+        private final AtomicInteger foldedRanges = new AtomicInteger();
+
+        private DownloadAudit(final String tenant, final long recordedAt) {
+            this.tenant = tenant;
+            this.recordedAt = recordedAt;
+        }
+
+        private boolean isOpen(final long now) {
+            return now - recordedAt < window;
+        }
+
+        private void fold(final boolean range) {
+            folded.incrementAndGet();
+            if (range) {
+                foldedRanges.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class DownloadKey {
+        private final long actionId;
+        private final long moduleId;
+
+        private DownloadKey(final long actionId, final long moduleId) {
+            this.actionId = actionId;
+            this.moduleId = moduleId;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final DownloadKey other = (DownloadKey) obj;
+            return actionId == other.actionId && moduleId == other.moduleId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(actionId, moduleId);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressBatchEvent;
+import org.eclipse.hawkbit.repository.model.ActionStatus;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Node local aggregator of the download progress of the DDI API. The shipped
+ * bytes are accumulated per {@link ActionStatus} of the download and published
+ * on a fixed tick as one {@link DownloadProgressBatchEvent} per tenant. The
+ * number of published events is therefore independent of the number of
+ * parallel downloads.
+ */
+public class DownloadProgressAggregator {
+
+    private static final String PROP_PUBLISH_INTERVAL_PLACEHOLDER = "${hawkbit.server.ddi.download.progress.publishInterval:1000}";
+
+    private final ConcurrentMap<String, ConcurrentMap<Long, Long>> tenants = new ConcurrentHashMap<>();
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ServiceMatcher serviceMatcher;
+    private final BusProperties bus;
+
+    /**
+     * Constructor.
+     *
+     * @param eventPublisher
+     *            to publish the {@link DownloadProgressBatchEvent}s
+     * @param serviceMatcher
+     *            for the application id of the events, may be
+     *            <code>null</code>
+     * @param bus
+     *            for the application id of the events if no
+     *            {@link ServiceMatcher} is available
+     */
+    public DownloadProgressAggregator(final ApplicationEventPublisher eventPublisher,
+            final ServiceMatcher serviceMatcher, final BusProperties bus) {
+        this.eventPublisher = eventPublisher;
+        this.serviceMatcher = serviceMatcher;
+        this.bus = bus;
+    }
+
+    /**
+     * Records shipped bytes of a download.
+     *
+     * @param tenant
+     *            of the downloading target
+     * @param actionStatusId
+     *            of the {@link ActionStatus} the download is recorded in
+     * @param shippedBytes
+     *            since the last record of the download
+     */
+    public void record(final String tenant, final long actionStatusId, final long shippedBytes) {
+        tenants.computeIfAbsent(tenant, key -> new ConcurrentHashMap<>()).merge(actionStatusId, shippedBytes,
+                Long::sum);
+    }
+
+    /**
+     * Publishes the progress recorded since the last tick.
+     */
+    @Scheduled(initialDelayString = PROP_PUBLISH_INTERVAL_PLACEHOLDER, fixedDelayString = PROP_PUBLISH_INTERVAL_PLACEHOLDER)
+    public void publish() {
+        final String applicationId = serviceMatcher != null ? serviceMatcher.getServiceId() : bus.getId();
+        tenants.forEach((tenant, progress) -> {
+            final Map<Long, Long> drained = drain(progress);
+            if (!drained.isEmpty()) {
+                eventPublisher.publishEvent(new DownloadProgressBatchEvent(tenant, applicationId, drained));
+            }
+        });
+    }
+
+    private static Map<Long, Long> drain(final ConcurrentMap<Long, Long> progress) {
+        final Map<Long, Long> drained = new HashMap<>();
+        progress.keySet().forEach(actionStatusId -> {
+            final Long shippedBytes = progress.remove(actionStatusId);
+            if (shippedBytes != null) {
+                drained.put(actionStatusId, shippedBytes);
+            }
+        });
+        return drained;
+    }
+}
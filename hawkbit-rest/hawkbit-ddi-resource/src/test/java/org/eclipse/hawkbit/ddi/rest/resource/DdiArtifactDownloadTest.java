@@ -26,11 +26,16 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.RandomUtils;
+import org.awaitility.Awaitility;
 import org.eclipse.hawkbit.ddi.rest.resource.DdiArtifactDownloadTest.DownloadTestConfiguration;
-import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressBatchEvent;
+import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.Artifact;
 import org.eclipse.hawkbit.repository.model.ArtifactUpload;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
@@ -39,6 +44,7 @@ import org.eclipse.hawkbit.repository.test.util.TestdataFactory;
 import org.eclipse.hawkbit.repository.test.util.WithUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -61,8 +67,10 @@ import io.qameta.allure.Story;
 @SpringBootTest(classes = { DownloadTestConfiguration.class })
 public class DdiArtifactDownloadTest extends AbstractDDiApiIntegrationTest {
 
-    private static volatile int downLoadProgress = 0;
-    private static volatile long shippedBytes = 0;
+    private static final Map<Long, Long> shippedBytes = new ConcurrentHashMap<>();
+
+    @Autowired
+    private DownloadProgressAggregator downloadProgressAggregator;
 
     private final SimpleDateFormat dateFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.ENGLISH);
 
@@ -158,8 +166,6 @@ public class DdiArtifactDownloadTest extends AbstractDDiApiIntegrationTest {
     @WithUser(principal = "4712", authorities = "ROLE_CONTROLLER", allSpPermissions = true)
     @Description("Tests valid downloads through the artifact resource by identifying the artifact not by ID but file name.")
     public void downloadArtifactThroughFileName() throws Exception {
-        downLoadProgress = 1;
-        shippedBytes = 0;
         assertThat(softwareModuleManagement.findAll(PAGE)).hasSize(0);
 
         // create target
@@ -180,7 +186,7 @@ public class DdiArtifactDownloadTest extends AbstractDDiApiIntegrationTest {
                 target.getControllerId(), getOsModule(ds), artifact.getFilename())).andExpect(status().isNotFound());
 
         // now assign and download successful
-        assignDistributionSet(ds, targets);
+        final Long actionId = getFirstAssignedActionId(assignDistributionSet(ds, targets));
         final MvcResult result = mvc.perform(get(
                 "/{tenant}/controller/v1/{controllerId}/softwaremodules/{softwareModuleId}/artifacts/{filename}",
                 tenantAware.getCurrentTenant(), target.getControllerId(), getOsModule(ds), artifact.getFilename()))
@@ -193,9 +199,12 @@ public class DdiArtifactDownloadTest extends AbstractDDiApiIntegrationTest {
         assertTrue(
                 Arrays.equals(result.getResponse().getContentAsByteArray(), random), "The same file that was uploaded is expected when downloaded");
 
-        // download complete
-        assertThat(downLoadProgress).isEqualTo(10);
-        assertThat(shippedBytes).isEqualTo(artifactSize);
+        // download complete, progress is published in batches
+        final Long statusId = deploymentManagement.findActionStatusByAction(PAGE, actionId).getContent().stream()
+                .filter(actionStatus -> actionStatus.getStatus() == Status.DOWNLOAD).findFirst().get().getId();
+        downloadProgressAggregator.publish();
+        Awaitility.await().atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(shippedBytes.get(statusId)).isEqualTo((long) artifactSize));
     }
 
     @Test
@@ -346,6 +355,31 @@ public class DdiArtifactDownloadTest extends AbstractDDiApiIntegrationTest {
 
     }
 
+    @Test
+    @WithUser(principal = TestdataFactory.DEFAULT_CONTROLLER_ID, authorities = "ROLE_CONTROLLER", allSpPermissions = true)
+    @Description("Verifies that repeated range requests of a resumed download are recorded in the action status "
+            + "entry of the first download.")
+    public void repeatedRangeDownloadsAreFoldedIntoOneActionStatus() throws Exception {
+        final Target target = testdataFactory.createTarget();
+        final DistributionSet ds = testdataFactory.createDistributionSet("");
+
+        final int artifactSize = 5 * 1024;
+        artifactManagement.create(new ArtifactUpload(new ByteArrayInputStream(RandomUtils.nextBytes(artifactSize)),
+                getOsModule(ds), "file1", false, artifactSize));
+        final Long actionId = getFirstAssignedActionId(assignDistributionSet(ds, target));
+
+        for (int i = 0; i < 5; i++) {
+            mvc.perform(
+                    get("/{tenant}/controller/v1/{controllerId}/softwaremodules/{softwareModuleId}/artifacts/{filename}",
+                            tenantAware.getCurrentTenant(), target.getControllerId(), getOsModule(ds), "file1")
+                                    .header("Range", "bytes=" + i * 1024 + "-" + ((i + 1) * 1024 - 1)))
+                    .andExpect(status().isPartialContent());
+        }
+
+        assertThat(deploymentManagement.findActionStatusByAction(PAGE, actionId).getContent())
+                .filteredOn(actionStatus -> actionStatus.getStatus() == Status.DOWNLOAD).hasSize(1);
+    }
+
     @Configuration
     public static class DownloadTestConfiguration {
 
@@ -358,11 +392,10 @@ public class DdiArtifactDownloadTest extends AbstractDDiApiIntegrationTest {
 
     private static class Listener {
 
-        @EventListener(classes = DownloadProgressEvent.class)
-        public static void listen(final DownloadProgressEvent event) {
-            downLoadProgress++;
-            shippedBytes += event.getShippedBytesSinceLast();
-
+        @EventListener(classes = DownloadProgressBatchEvent.class)
+        public static void listen(final DownloadProgressBatchEvent event) {
+            event.getShippedBytesSinceLast()
+                    .forEach((statusId, bytes) -> shippedBytes.merge(statusId, bytes, Long::sum));
         }
     }
 
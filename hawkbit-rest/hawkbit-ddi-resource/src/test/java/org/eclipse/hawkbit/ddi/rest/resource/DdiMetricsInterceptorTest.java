@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Direct Device Integration API")
+@Story("Request metrics")
+public class DdiMetricsInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DdiMetricsInterceptor interceptor = new DdiMetricsInterceptor(meterRegistry);
+
+    @Test
+    @Description("Verifies that the requests handled by the DDI API are timed per endpoint, status and exception.")
+    public void ddiRequestsAreTimed() {
+        final HandlerMethod handler = new HandlerMethod(mock(DdiRootController.class),
+                getMethod(DdiRootController.class, "getControllerBase"));
+
+        handle(handler, HttpStatus.OK, null);
+        handle(handler, HttpStatus.OK, null);
+        handle(handler, HttpStatus.INTERNAL_SERVER_ERROR, new IllegalStateException());
+
+        assertThat(meterRegistry.get("hawkbit.ddi.requests").tag("endpoint", "getControllerBase")
+                .tag("status", "200").tag("exception", "none").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("hawkbit.ddi.requests").tag("endpoint", "getControllerBase")
+                .tag("status", "500").tag("exception", "IllegalStateException").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Verifies that the requests not handled by the DDI API are not timed.")
+    public void otherRequestsAreNotTimed() {
+        handle(new HandlerMethod(new Object(), getMethod(Object.class, "toString")), HttpStatus.OK, null);
+        handle(new Object(), HttpStatus.OK, null);
+
+        assertThat(meterRegistry.find("hawkbit.ddi.requests").timers()).isEmpty();
+    }
+
+    private void handle(final Object handler, final HttpStatus status, final Exception ex) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, handler)).isTrue();
+        response.setStatus(status.value());
+        interceptor.afterCompletion(request, response, handler, ex);
+    }
+
+    private static Method getMethod(final Class<?> type, final String name) {
+        return Arrays.stream(type.getMethods()).filter(method -> name.equals(method.getName())).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(name));
+    }
+}
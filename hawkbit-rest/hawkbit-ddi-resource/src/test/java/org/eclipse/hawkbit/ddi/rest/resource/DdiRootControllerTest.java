@@ -24,16 +24,20 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.RandomStringUtils;
+import org.awaitility.Awaitility;
 import org.eclipse.hawkbit.ddi.rest.api.DdiRestConstants;
 import org.eclipse.hawkbit.im.authentication.SpPermission;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
@@ -46,6 +50,7 @@ import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleTypeCrea
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.TenantConfigurationCreatedEvent;
+import org.eclipse.hawkbit.repository.jpa.poll.TargetPollPersistence;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Target;
@@ -62,6 +67,7 @@ import org.eclipse.hawkbit.util.IpUtil;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
@@ -84,6 +90,12 @@ public class DdiRootControllerTest extends AbstractDDiApiIntegrationTest {
     @Autowired
     private HawkbitSecurityProperties securityProperties;
 
+    @Autowired
+    private RepositoryProperties repositoryProperties;
+
+    @Autowired
+    private TargetPollPersistence targetPollPersistence;
+
     @Test
     @Description("Ensure that the root poll resource is available as CBOR")
     public void rootPollResourceCbor() throws Exception {
@@ -288,6 +300,57 @@ public class DdiRootControllerTest extends AbstractDDiApiIntegrationTest {
                 .andReturn().getResponse().getHeader("ETag");
     }
 
+    @Test
+    @Description("Ensures that a repeated poll of an unchanged target is answered as not modified from the change "
+            + "version cache and that an assignment and a configuration change invalidate the cached state.")
+    public void rootRsNotModifiedFromChangeVersionCache() throws Exception {
+        repositoryProperties.setEagerPollPersistence(false);
+        try {
+            final String etag = mvc.perform(get("/{tenant}/controller/v1/4711", tenantAware.getCurrentTenant()))
+                    .andExpect(status().isOk()).andReturn().getResponse().getHeader("ETag");
+
+            // the first conditional poll stores the state, the second one is
+            // answered from it
+            for (int i = 0; i < 2; i++) {
+                mvc.perform(get("/{tenant}/controller/v1/4711", tenantAware.getCurrentTenant())
+                        .header("If-None-Match", etag)).andDo(MockMvcResultPrinter.print())
+                        .andExpect(status().isNotModified()).andExpect(header().string("ETag", etag));
+            }
+
+            // the cached state is invalidated with the delivery of the events
+            assignDistributionSet(testdataFactory.createDistributionSet("").getId(), "4711");
+            awaitModified(etag);
+
+            final String etagWithUpdate = mvc
+                    .perform(get("/{tenant}/controller/v1/4711", tenantAware.getCurrentTenant())
+                            .header("If-None-Match", etag))
+                    .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                    .andExpect(jsonPath("$._links.deploymentBase.href").exists()).andReturn().getResponse()
+                    .getHeader("ETag");
+            mvc.perform(get("/{tenant}/controller/v1/4711", tenantAware.getCurrentTenant()).header("If-None-Match",
+                    etagWithUpdate)).andExpect(status().isNotModified());
+
+            WithSpringAuthorityRule.runAs(WithSpringAuthorityRule.withUser("tenantadmin", HAS_AUTH_TENANT_CONFIGURATION),
+                    () -> tenantConfigurationManagement
+                            .addOrUpdateConfiguration(TenantConfigurationKey.POLLING_TIME_INTERVAL, "00:02:00"));
+            awaitModified(etagWithUpdate);
+
+            mvc.perform(get("/{tenant}/controller/v1/4711", tenantAware.getCurrentTenant()).header("If-None-Match",
+                    etagWithUpdate)).andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                    .andExpect(jsonPath("$.config.polling.sleep", equalTo("00:02:00")));
+        } finally {
+            repositoryProperties.setEagerPollPersistence(true);
+            targetPollPersistence.flush();
+        }
+    }
+
+    private void awaitModified(final String etag) {
+        Awaitility.await().pollInSameThread().atMost(5, TimeUnit.SECONDS)
+                .until(() -> mvc.perform(get("/{tenant}/controller/v1/4711", tenantAware.getCurrentTenant())
+                        .header("If-None-Match", etag)).andReturn().getResponse().getStatus() == HttpStatus.OK
+                                .value());
+    }
+
     @Test
     @Description("Ensures that the target state machine of a precomissioned target switches from "
             + "UNKNOWN to REGISTERED when the target polls for the first time.")
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.model.ActionStatus;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Direct Device Integration API")
+@Story("Download audit")
+public class DownloadAuditAggregatorTest {
+
+    private static final int DOWNLOADS = 50;
+
+    @Test
+    @Description("Verifies that concurrent downloads of the same module within the window are recorded in one status.")
+    public void concurrentDownloadsAreRecordedOnce() throws Exception {
+        final DownloadAuditAggregator aggregator = new DownloadAuditAggregator(mock(ControllerManagement.class),
+                mock(SystemSecurityContext.class), 60_000);
+        final AtomicLong createdStatus = new AtomicLong();
+        final CountDownLatch start = new CountDownLatch(1);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<CompletableFuture<Long>> recorded = IntStream.range(0, DOWNLOADS)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                        awaitQuietly(start);
+                        return aggregator.record("tenant", 1, 2, true, () -> {
+                            final ActionStatus status = mock(ActionStatus.class);
+                            when(status.getId()).thenReturn(createdStatus.incrementAndGet());
+                            return status;
+                        });
+                    }, executor)).collect(Collectors.toList());
+            start.countDown();
+
+            assertThat(recorded.stream().map(CompletableFuture::join).distinct()).containsExactly(1L);
+            assertThat(createdStatus.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @Description("Verifies that downloads of other modules are recorded while the status of a download is created.")
+    public void otherDownloadsAreRecordedWhileStatusIsCreated() throws Exception {
+        final DownloadAuditAggregator aggregator = new DownloadAuditAggregator(mock(ControllerManagement.class),
+                mock(SystemSecurityContext.class), 60_000);
+        final CountDownLatch creating = new CountDownLatch(1);
+        final CountDownLatch created = new CountDownLatch(1);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final CompletableFuture<Long> blocked = CompletableFuture.supplyAsync(
+                    () -> aggregator.record("tenant", 1, 0, false, () -> {
+                        creating.countDown();
+                        awaitQuietly(created);
+                        return status(100);
+                    }), executor);
+            creating.await();
+
+            final CompletableFuture<Long> folded = CompletableFuture
+                    .supplyAsync(() -> aggregator.record("tenant", 1, 0, true, () -> status(101)), executor);
+            final CompletableFuture<List<Long>> others = CompletableFuture.supplyAsync(
+                    () -> LongStream.range(1, DOWNLOADS).mapToObj(module -> aggregator.record("tenant", 1, module,
+                            false, () -> status(module))).collect(Collectors.toList()),
+                    executor);
+
+            assertThat(others.get(5, TimeUnit.SECONDS)).containsExactlyElementsOf(
+                    LongStream.range(1, DOWNLOADS).boxed().collect(Collectors.toList()));
+            assertThat(folded).isNotDone();
+
+            created.countDown();
+            assertThat(blocked.get(5, TimeUnit.SECONDS)).isEqualTo(100L);
+            assertThat(folded.get(5, TimeUnit.SECONDS)).isEqualTo(100L);
+        } finally {
+            created.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @Description("Verifies that a download is recorded again if the status of the first download could not be created.")
+    public void downloadIsRecordedAgainIfStatusCreationFailed() {
+        final DownloadAuditAggregator aggregator = new DownloadAuditAggregator(mock(ControllerManagement.class),
+                mock(SystemSecurityContext.class), 60_000);
+
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> aggregator.record("tenant", 1, 2, false, () -> {
+                    throw new IllegalStateException("database not available");
+                }));
+
+        assertThat(aggregator.record("tenant", 1, 2, false, () -> status(1))).isEqualTo(1L);
+        assertThat(aggregator.record("tenant", 1, 2, true, () -> status(2))).isEqualTo(1L);
+    }
+
+    private static ActionStatus status(final long id) {
+        final ActionStatus status = mock(ActionStatus.class);
+        when(status.getId()).thenReturn(id);
+        return status;
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -24,7 +24,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 /**
  * A list representation with meta data for pagination, e.g. containing the
  * total elements and size of content. The content of the actual list is stored
- * in the {@link #content} field.
+ * in the {@link #content} field. In cursor mode the total is not calculated and
+ * the list contains the cursor of the next slice instead.
  *
  * @param <T>
  *            the type of elements in this list
@@ -37,7 +38,9 @@ public class PagedList<T> extends RepresentationModel<PagedList<T>> {
     @JsonProperty
     private final List<T> content;
     @JsonProperty
-    private final long total;
+    private final Long total;
+    @JsonProperty
+    private final String next;
     private final int size;
 
     /**
@@ -51,10 +54,35 @@ public class PagedList<T> extends RepresentationModel<PagedList<T>> {
      * @throws NullPointerException
      *             in case {@code content} is {@code null}.
      */
+    public PagedList(@NotNull final List<T> content, final long total) {
+        this(content, total, null);
+    }
+
+    /**
+     * creates a new slice of a list in cursor mode with the given
+     * {@code content} and {@code next} cursor.
+     *
+     * @param content
+     *            the actual content of the list
+     * @param next
+     *            the cursor of the next slice or {@code null} if this is the
+     *            last slice
+     * @throws NullPointerException
+     *             in case {@code content} is {@code null}.
+     */
+    public PagedList(@NotNull final List<T> content, final String next) {
+        this(content, null, next);
+    }
+
+    /**
+     * Creates a list from its JSON representation.
+     */
     @JsonCreator
-    public PagedList(@JsonProperty("content") @NotNull final List<T> content, @JsonProperty("total") final long total) {
+    PagedList(@JsonProperty("content") @NotNull final List<T> content, @JsonProperty("total") final Long total,
+            @JsonProperty("next") final String next) {
         this.size = content.size();
         this.total = total;
+        this.next = next;
         this.content = content;
     }
 
@@ -66,12 +94,20 @@ public class PagedList<T> extends RepresentationModel<PagedList<T>> {
     }
 
     /**
-     * @return the total amount of elements
+     * @return the total amount of elements or {@code null} in cursor mode
      */
-    public long getTotal() {
+    public Long getTotal() {
         return total;
     }
 
+    /**
+     * @return the cursor of the next slice or {@code null} if this is the last
+     *         slice or the list is not in cursor mode
+     */
+    public String getNext() {
+        return next;
+    }
+
     public List<T> getContent() {
         return Collections.unmodifiableList(content);
     }
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.api;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+/**
+ * REST API for the bulk export of targets and their action history. The
+ * entities are streamed as newline delimited JSON
+ * ({@link MgmtRestConstants#MEDIA_TYPE_NDJSON}), i.e. one JSON document
+ * without links per line, in the order of their IDs.
+ */
+@RequestMapping(MgmtRestConstants.EXPORT_V1_REQUEST_MAPPING)
+public interface MgmtExportRestApi {
+
+    /**
+     * Handles the GET request for exporting all targets.
+     *
+     * @param rsqlParam
+     *            the search parameter in the request URL, syntax
+     *            {@code q=name==abc}
+     * @return status OK, the targets are written directly to the response. In
+     *         any failure before the first target has been written the
+     *         JsonResponseExceptionHandler is handling the response.
+     */
+    @GetMapping(value = "/targets")
+    @ResponseBody
+    ResponseEntity<Void> exportTargets(
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) String rsqlParam);
+
+    /**
+     * Handles the GET request for exporting the actions of a target.
+     *
+     * @param targetId
+     *            to load the actions for
+     * @param rsqlParam
+     *            the search parameter in the request URL, syntax
+     *            {@code q=status==pending}
+     * @return status OK, the actions are written directly to the response. In
+     *         any failure before the first action has been written the
+     *         JsonResponseExceptionHandler is handling the response.
+     */
+    @GetMapping(value = "/targets/{targetId}/actions")
+    @ResponseBody
+    ResponseEntity<Void> exportActionHistory(@PathVariable("targetId") String targetId,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) String rsqlParam);
+
+    /**
+     * Handles the GET request for exporting the status history of an action.
+     *
+     * @param targetId
+     *            of the action
+     * @param actionId
+     *            of the status we are intend to load
+     * @return status OK, the status entries are written directly to the
+     *         response. In any failure before the first entry has been written
+     *         the JsonResponseExceptionHandler is handling the response.
+     */
+    @GetMapping(value = "/targets/{targetId}/actions/{actionId}/status")
+    @ResponseBody
+    ResponseEntity<Void> exportActionStatusList(@PathVariable("targetId") String targetId,
+            @PathVariable("actionId") Long actionId);
+}
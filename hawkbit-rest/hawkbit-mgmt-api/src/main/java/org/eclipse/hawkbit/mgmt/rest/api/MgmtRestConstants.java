@@ -89,6 +89,16 @@ public final class MgmtRestConstants {
      */
     public static final String TARGET_V1_ROLLOUT = "rollout";
 
+    /**
+     * The export URL mapping rest resource.
+     */
+    public static final String EXPORT_V1_REQUEST_MAPPING = BASE_V1_REQUEST_MAPPING + "/export";
+
+    /**
+     * Media type of the exports, i.e. newline delimited JSON.
+     */
+    public static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+
     /**
      * The target URL mapping rest resource.
      */
@@ -170,6 +180,13 @@ public final class MgmtRestConstants {
      */
     public static final String REQUEST_PARAMETER_PAGING_OFFSET = "offset";
 
+    /**
+     * Paging http parameter for the cursor of a count-free paged request. The
+     * parameter is empty for the first slice and carries the {@code next}
+     * cursor of the previous response for the subsequent slices.
+     */
+    public static final String REQUEST_PARAMETER_PAGING_CURSOR = "cursor";
+
     /**
      * The request parameter for sorting. The value of the sort parameter must
      * be in the following pattern. Example:
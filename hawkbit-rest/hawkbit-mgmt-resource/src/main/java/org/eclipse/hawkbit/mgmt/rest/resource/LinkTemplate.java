@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * Link to a management API method that is resolved once and afterwards only
+ * expanded with the IDs of the linked entity. Building the link with
+ * {@link WebMvcLinkBuilder#linkTo(Object)} on a
+ * {@link WebMvcLinkBuilder#methodOn(Class, Object...)} proxy for every entity
+ * creates an invocation proxy and resolves the request mapping, the request
+ * parameters and the URI template again each time. The expanded template is
+ * the same link, only the base URI of the current request is prepended.
+ *
+ * The template is defined by a link expression on placeholder
+ * {@link Arguments}, which must only be passed as path variables.
+ */
+final class LinkTemplate {
+
+    private static final String BASE_URI_ATTRIBUTE = LinkTemplate.class.getName() + ".BASE_URI";
+
+    private final List<Object> segments;
+    private final int arguments;
+    private final LinkRelation rel;
+
+    private LinkTemplate(final List<Object> segments, final int arguments, final LinkRelation rel) {
+        this.segments = segments;
+        this.arguments = arguments;
+        this.rel = rel;
+    }
+
+    /**
+     * Resolves the given link expression once.
+     *
+     * @param link
+     *            expression that builds the link with the placeholders of the
+     *            given {@link Arguments}
+     * @return the compiled template
+     */
+    static LinkTemplate compile(final Function<Arguments, Link> link) {
+        final Arguments placeholders = new Arguments();
+        final Link prototype = link.apply(placeholders);
+
+        final String baseUri = getBaseUri();
+        if (!prototype.getHref().startsWith(baseUri)) {
+            throw new IllegalStateException("Link " + prototype.getHref() + " does not start with " + baseUri);
+        }
+        final String href = prototype.getHref().substring(baseUri.length());
+        final int query = href.indexOf('?') < 0 ? href.length() : href.indexOf('?');
+
+        final List<Object> segments = new ArrayList<>();
+        int index = 0;
+        while (index < href.length()) {
+            int next = -1;
+            int argument = -1;
+            for (int i = 0; i < placeholders.values.size(); i++) {
+                final int position = href.indexOf(placeholders.values.get(i), index);
+                if (position >= 0 && (next < 0 || position < next)) {
+                    next = position;
+                    argument = i;
+                }
+            }
+            if (next < 0 || next > query) {
+                segments.add(href.substring(index));
+                break;
+            }
+            if (next > index) {
+                segments.add(href.substring(index, next));
+            }
+            segments.add(argument);
+            index = next + placeholders.values.get(argument).length();
+        }
+
+        if (segments.stream().filter(Integer.class::isInstance).count() != placeholders.values.size()) {
+            throw new IllegalArgumentException("Each argument has to be used exactly once as path variable in "
+                    + prototype.getHref());
+        }
+
+        return new LinkTemplate(Collections.unmodifiableList(segments), placeholders.values.size(),
+                prototype.getRel());
+    }
+
+    /**
+     * Expands the template for the current request.
+     *
+     * @param values
+     *            of the arguments in the order the placeholders have been
+     *            requested from the {@link Arguments}
+     * @return the link
+     */
+    Link expand(final Object... values) {
+        if (values.length != arguments) {
+            throw new IllegalArgumentException("Expected " + arguments + " values but got " + values.length);
+        }
+
+        final StringBuilder href = new StringBuilder(getBaseUri());
+        for (final Object segment : segments) {
+            if (segment instanceof Integer) {
+                href.append(UriUtils.encodePath(String.valueOf(values[(Integer) segment]), StandardCharsets.UTF_8));
+            } else {
+                href.append((String) segment);
+            }
+        }
+
+        return Link.of(href.toString(), rel);
+    }
+
+    /**
+     * The base URI is the same for all links of a request, so it is taken once
+     * per request from {@link WebMvcLinkBuilder}.
+     */
+    private static String getBaseUri() {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return "";
+        }
+
+        String baseUri = (String) attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = StringUtils.trimTrailingCharacter(WebMvcLinkBuilder.linkTo(LinkTemplate.class).toString(), '/');
+            attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+        return baseUri;
+    }
+
+    /**
+     * Placeholders for the arguments of a {@link LinkTemplate}. Every call
+     * returns a new placeholder, the values are expected in the same order on
+     * {@link LinkTemplate#expand(Object...)}.
+     */
+    static final class Arguments {
+        private final List<String> values = new ArrayList<>();
+
+        private Arguments() {
+        }
+
+        /**
+         * @return placeholder for a string argument, e.g. a controller ID
+         */
+        String string() {
+            final String placeholder = "linkTemplateArgument" + values.size() + "X";
+            values.add(placeholder);
+            return placeholder;
+        }
+
+        /**
+         * @return placeholder for an entity ID argument
+         */
+        Long id() {
+            final Long placeholder = Long.MAX_VALUE - values.size();
+            values.add(String.valueOf(placeholder));
+            return placeholder;
+        }
+    }
+}
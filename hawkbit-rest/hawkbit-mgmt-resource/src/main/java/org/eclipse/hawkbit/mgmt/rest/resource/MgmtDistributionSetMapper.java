@@ -38,6 +38,22 @@ import org.eclipse.hawkbit.rest.data.ResponseList;
  * back.
  */
 public final class MgmtDistributionSetMapper {
+
+    private static final LinkTemplate SELF_LINK = LinkTemplate.compile(
+            args -> linkTo(methodOn(MgmtDistributionSetRestApi.class).getDistributionSet(args.id())).withSelfRel());
+    private static final LinkTemplate MODULES_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtDistributionSetRestApi.class).getAssignedSoftwareModules(args.id(),
+                    MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET_VALUE,
+                    MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE, null))
+                            .withRel(MgmtRestConstants.DISTRIBUTIONSET_V1_MODULE));
+    private static final LinkTemplate TYPE_LINK = LinkTemplate.compile(
+            args -> linkTo(methodOn(MgmtDistributionSetTypeRestApi.class).getDistributionSetType(args.id()))
+                    .withRel("type"));
+    private static final LinkTemplate METADATA_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtDistributionSetRestApi.class).getMetadata(args.id(),
+                    MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET_VALUE,
+                    MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE, null, null)).withRel("metadata"));
+
     private MgmtDistributionSetMapper() {
         // Utility class
     }
@@ -116,24 +132,15 @@ public final class MgmtDistributionSetMapper {
 
         response.setRequiredMigrationStep(distributionSet.isRequiredMigrationStep());
 
-        response.add(linkTo(methodOn(MgmtDistributionSetRestApi.class).getDistributionSet(response.getDsId()))
-                .withSelfRel());
+        response.add(SELF_LINK.expand(response.getDsId()));
 
         return response;
     }
 
     static void addLinks(final DistributionSet distributionSet, final MgmtDistributionSet response) {
-        response.add(linkTo(methodOn(MgmtDistributionSetRestApi.class).getAssignedSoftwareModules(response.getDsId(),
-                MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET_VALUE,
-                MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE, null))
-                        .withRel(MgmtRestConstants.DISTRIBUTIONSET_V1_MODULE));
-
-        response.add(linkTo(methodOn(MgmtDistributionSetTypeRestApi.class)
-                .getDistributionSetType(distributionSet.getType().getId())).withRel("type"));
-
-        response.add(linkTo(methodOn(MgmtDistributionSetRestApi.class).getMetadata(response.getDsId(),
-                MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET_VALUE,
-                MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE, null, null)).withRel("metadata"));
+        response.add(MODULES_LINK.expand(response.getDsId()));
+        response.add(TYPE_LINK.expand(distributionSet.getType().getId()));
+        response.add(METADATA_LINK.expand(response.getDsId()));
     }
 
     static MgmtTargetAssignmentResponseBody toResponse(final DistributionSetAssignmentResult dsAssignmentResult) {
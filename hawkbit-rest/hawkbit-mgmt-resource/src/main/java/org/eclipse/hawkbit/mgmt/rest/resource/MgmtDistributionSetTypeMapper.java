@@ -34,6 +34,16 @@ import org.eclipse.hawkbit.rest.data.ResponseList;
  */
 final class MgmtDistributionSetTypeMapper {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.compile(
+            args -> linkTo(methodOn(MgmtDistributionSetTypeRestApi.class).getDistributionSetType(args.id()))
+                    .withSelfRel());
+    private static final LinkTemplate MANDATORY_MODULES_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtDistributionSetTypeRestApi.class).getMandatoryModules(args.id()))
+                    .withRel(MgmtRestConstants.DISTRIBUTIONSETTYPE_V1_MANDATORY_MODULES));
+    private static final LinkTemplate OPTIONAL_MODULES_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtDistributionSetTypeRestApi.class).getOptionalModules(args.id()))
+                    .withRel(MgmtRestConstants.DISTRIBUTIONSETTYPE_V1_OPTIONAL_MODULES));
+
     // private constructor, utility class
     private MgmtDistributionSetTypeMapper() {
 
@@ -84,19 +94,15 @@ final class MgmtDistributionSetTypeMapper {
         result.setModuleId(type.getId());
         result.setDeleted(type.isDeleted());
 
-        result.add(linkTo(methodOn(MgmtDistributionSetTypeRestApi.class).getDistributionSetType(result.getModuleId()))
-                .withSelfRel());
+        result.add(SELF_LINK.expand(result.getModuleId()));
 
         return result;
     }
 
     static void addLinks(final MgmtDistributionSetType result) {
 
-        result.add(linkTo(methodOn(MgmtDistributionSetTypeRestApi.class).getMandatoryModules(result.getModuleId()))
-                .withRel(MgmtRestConstants.DISTRIBUTIONSETTYPE_V1_MANDATORY_MODULES));
-
-        result.add(linkTo(methodOn(MgmtDistributionSetTypeRestApi.class).getOptionalModules(result.getModuleId()))
-                .withRel(MgmtRestConstants.DISTRIBUTIONSETTYPE_V1_OPTIONAL_MODULES));
+        result.add(MANDATORY_MODULES_LINK.expand(result.getModuleId()));
+        result.add(OPTIONAL_MODULES_LINK.expand(result.getModuleId()));
     }
 
 }
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtExportRestApi;
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
+import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.rest.util.RequestResponseContextHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * REST Resource handling the bulk export of targets and their actions. The
+ * entities are read in batches and written to the response as they are read,
+ * so neither the number of exported entities is limited nor does an export
+ * hold more than one batch in memory.
+ */
+@RestController
+@Scope(value = WebApplicationContext.SCOPE_REQUEST)
+public class MgmtExportResource implements MgmtExportRestApi {
+    private static final Logger LOG = LoggerFactory.getLogger(MgmtExportResource.class);
+
+    @Autowired
+    private TargetManagement targetManagement;
+
+    @Autowired
+    private DeploymentManagement deploymentManagement;
+
+    @Autowired
+    private RequestResponseContextHolder requestResponseContextHolder;
+
+    @Autowired
+    private NdJsonResponseWriter ndJsonResponseWriter;
+
+    @Override
+    public ResponseEntity<Void> exportTargets(
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam) {
+        final NdJsonResponseWriter.Output output = ndJsonResponseWriter
+                .open(requestResponseContextHolder.getHttpServletResponse());
+
+        targetManagement.forEachByRsql(rsqlParam, target -> output.write(MgmtTargetMapper.toExport(target)));
+
+        output.finish();
+        return ResponseEntity.ok().build();
+    }
+
+    @Override
+    public ResponseEntity<Void> exportActionHistory(@PathVariable("targetId") final String targetId,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam) {
+        final NdJsonResponseWriter.Output output = ndJsonResponseWriter
+                .open(requestResponseContextHolder.getHttpServletResponse());
+
+        deploymentManagement.forEachActionByTarget(rsqlParam, targetId,
+                action -> output.write(MgmtTargetMapper.toExport(action)));
+
+        output.finish();
+        return ResponseEntity.ok().build();
+    }
+
+    @Override
+    public ResponseEntity<Void> exportActionStatusList(@PathVariable("targetId") final String targetId,
+            @PathVariable("actionId") final Long actionId) {
+        final Target target = targetManagement.getByControllerID(targetId)
+                .orElseThrow(() -> new EntityNotFoundException(Target.class, targetId));
+        final Action action = deploymentManagement.findAction(actionId)
+                .orElseThrow(() -> new EntityNotFoundException(Action.class, actionId));
+
+        if (!action.getTarget().getId().equals(target.getId())) {
+            LOG.warn("given action ({}) is not assigned to given target ({}).", action.getId(), target.getId());
+            return ResponseEntity.notFound().build();
+        }
+
+        final NdJsonResponseWriter.Output output = ndJsonResponseWriter
+                .open(requestResponseContextHolder.getHttpServletResponse());
+
+        deploymentManagement.forEachActionStatusByAction(action.getId(),
+                (status, messages) -> output.write(MgmtTargetMapper.toResponse(status, messages)));
+
+        output.finish();
+        return ResponseEntity.ok().build();
+    }
+}
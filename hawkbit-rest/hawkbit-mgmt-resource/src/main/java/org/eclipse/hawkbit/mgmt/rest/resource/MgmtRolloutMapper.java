@@ -52,6 +52,25 @@ final class MgmtRolloutMapper {
 
     private static final String NOT_SUPPORTED = " is not supported";
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtRolloutRestApi.class).getRollout(args.id())).withSelfRel());
+    private static final LinkTemplate START_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtRolloutRestApi.class).start(args.id())).withRel("start"));
+    private static final LinkTemplate PAUSE_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtRolloutRestApi.class).pause(args.id())).withRel("pause"));
+    private static final LinkTemplate RESUME_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtRolloutRestApi.class).resume(args.id())).withRel("resume"));
+    private static final LinkTemplate APPROVE_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtRolloutRestApi.class).approve(args.id(), null)).withRel("approve"));
+    private static final LinkTemplate DENY_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtRolloutRestApi.class).deny(args.id(), null)).withRel("deny"));
+    private static final LinkTemplate GROUPS_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtRolloutRestApi.class).getRolloutGroups(args.id(),
+                    MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET_VALUE,
+                    MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE, null, null)).withRel("groups"));
+    private static final LinkTemplate GROUP_SELF_LINK = LinkTemplate.compile(
+            args -> linkTo(methodOn(MgmtRolloutRestApi.class).getRolloutGroup(args.id(), args.id())).withSelfRel());
+
     private MgmtRolloutMapper() {
         // Utility class
     }
@@ -87,17 +106,15 @@ final class MgmtRolloutMapper {
                         rollout.getTotalTargetCountStatus().getTotalTargetCountByStatus(status));
             }
 
-            body.add(linkTo(methodOn(MgmtRolloutRestApi.class).start(rollout.getId())).withRel("start"));
-            body.add(linkTo(methodOn(MgmtRolloutRestApi.class).pause(rollout.getId())).withRel("pause"));
-            body.add(linkTo(methodOn(MgmtRolloutRestApi.class).resume(rollout.getId())).withRel("resume"));
-            body.add(linkTo(methodOn(MgmtRolloutRestApi.class).approve(rollout.getId(), null)).withRel("approve"));
-            body.add(linkTo(methodOn(MgmtRolloutRestApi.class).deny(rollout.getId(), null)).withRel("deny"));
-            body.add(linkTo(methodOn(MgmtRolloutRestApi.class).getRolloutGroups(rollout.getId(),
-                    MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET_VALUE,
-                    MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE, null, null)).withRel("groups"));
+            body.add(START_LINK.expand(rollout.getId()));
+            body.add(PAUSE_LINK.expand(rollout.getId()));
+            body.add(RESUME_LINK.expand(rollout.getId()));
+            body.add(APPROVE_LINK.expand(rollout.getId()));
+            body.add(DENY_LINK.expand(rollout.getId()));
+            body.add(GROUPS_LINK.expand(rollout.getId()));
         }
 
-        body.add(linkTo(methodOn(MgmtRolloutRestApi.class).getRollout(rollout.getId())).withSelfRel());
+        body.add(SELF_LINK.expand(rollout.getId()));
         return body;
     }
 
@@ -187,8 +204,7 @@ final class MgmtRolloutMapper {
             }
         }
 
-        body.add(linkTo(methodOn(MgmtRolloutRestApi.class).getRolloutGroup(rolloutGroup.getRollout().getId(),
-                rolloutGroup.getId())).withSelfRel());
+        body.add(GROUP_SELF_LINK.expand(rolloutGroup.getRollout().getId(), rolloutGroup.getId()));
         return body;
     }
 
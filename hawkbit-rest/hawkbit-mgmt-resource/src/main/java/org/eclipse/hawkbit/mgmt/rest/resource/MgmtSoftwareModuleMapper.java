@@ -38,6 +38,26 @@ import org.eclipse.hawkbit.rest.data.ResponseList;
  *
  */
 public final class MgmtSoftwareModuleMapper {
+
+    private static final LinkTemplate SELF_LINK = LinkTemplate.compile(
+            args -> linkTo(methodOn(MgmtSoftwareModuleRestApi.class).getSoftwareModule(args.id())).withSelfRel());
+    private static final LinkTemplate ARTIFACTS_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtSoftwareModuleRestApi.class).getArtifacts(args.id()))
+                    .withRel(MgmtRestConstants.SOFTWAREMODULE_V1_ARTIFACT));
+    private static final LinkTemplate TYPE_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtSoftwareModuleTypeRestApi.class).getSoftwareModuleType(args.id()))
+                    .withRel(MgmtRestConstants.SOFTWAREMODULE_V1_TYPE));
+    private static final LinkTemplate METADATA_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtSoftwareModuleResource.class).getMetadata(args.id(),
+                    MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET_VALUE,
+                    MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE, null, null)).withRel("metadata")
+                            .expand());
+    private static final LinkTemplate ARTIFACT_SELF_LINK = LinkTemplate.compile(
+            args -> linkTo(methodOn(MgmtSoftwareModuleRestApi.class).getArtifact(args.id(), args.id()))
+                    .withSelfRel());
+    private static final LinkTemplate ARTIFACT_DOWNLOAD_LINK = LinkTemplate.compile(
+            args -> linkTo(methodOn(MgmtDownloadArtifactResource.class).downloadArtifact(args.id(), args.id()))
+                    .withRel("download"));
     private MgmtSoftwareModuleMapper() {
         // Utility class
     }
@@ -108,24 +128,15 @@ public final class MgmtSoftwareModuleMapper {
         response.setVendor(softwareModule.getVendor());
         response.setDeleted(softwareModule.isDeleted());
 
-        response.add(linkTo(methodOn(MgmtSoftwareModuleRestApi.class).getSoftwareModule(response.getModuleId()))
-                .withSelfRel());
+        response.add(SELF_LINK.expand(response.getModuleId()));
 
         return response;
     }
 
     static void addLinks(final SoftwareModule softwareModule, final MgmtSoftwareModule response) {
-        response.add(linkTo(methodOn(MgmtSoftwareModuleRestApi.class).getArtifacts(response.getModuleId()))
-                .withRel(MgmtRestConstants.SOFTWAREMODULE_V1_ARTIFACT));
-
-        response.add(linkTo(
-                methodOn(MgmtSoftwareModuleTypeRestApi.class).getSoftwareModuleType(softwareModule.getType().getId()))
-                        .withRel(MgmtRestConstants.SOFTWAREMODULE_V1_TYPE));
-
-        response.add(linkTo(methodOn(MgmtSoftwareModuleResource.class).getMetadata(response.getModuleId(),
-                MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET_VALUE,
-                MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE, null, null)).withRel("metadata")
-                        .expand());
+        response.add(ARTIFACTS_LINK.expand(response.getModuleId()));
+        response.add(TYPE_LINK.expand(softwareModule.getType().getId()));
+        response.add(METADATA_LINK.expand(response.getModuleId()));
     }
 
     static MgmtArtifact toResponse(final Artifact artifact) {
@@ -139,16 +150,14 @@ public final class MgmtSoftwareModuleMapper {
 
         MgmtRestModelMapper.mapBaseToBase(artifactRest, artifact);
 
-        artifactRest.add(linkTo(methodOn(MgmtSoftwareModuleRestApi.class)
-                .getArtifact(artifact.getSoftwareModule().getId(), artifact.getId())).withSelfRel());
+        artifactRest.add(ARTIFACT_SELF_LINK.expand(artifact.getSoftwareModule().getId(), artifact.getId()));
 
         return artifactRest;
     }
 
     static void addLinks(final Artifact artifact, final MgmtArtifact response) {
 
-        response.add(linkTo(methodOn(MgmtDownloadArtifactResource.class)
-                .downloadArtifact(artifact.getSoftwareModule().getId(), artifact.getId())).withRel("download"));
+        response.add(ARTIFACT_DOWNLOAD_LINK.expand(artifact.getSoftwareModule().getId(), artifact.getId()));
     }
 
     static List<MgmtArtifact> artifactsToResponse(final Collection<Artifact> artifacts) {
@@ -31,6 +31,10 @@ import org.eclipse.hawkbit.rest.data.ResponseList;
  */
 final class MgmtSoftwareModuleTypeMapper {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.compile(
+            args -> linkTo(methodOn(MgmtSoftwareModuleTypeRestApi.class).getSoftwareModuleType(args.id()))
+                    .withSelfRel());
+
     // private constructor, utility class
     private MgmtSoftwareModuleTypeMapper() {
 
@@ -70,8 +74,7 @@ final class MgmtSoftwareModuleTypeMapper {
         result.setModuleId(type.getId());
         result.setDeleted(type.isDeleted());
 
-        result.add(linkTo(methodOn(MgmtSoftwareModuleTypeRestApi.class).getSoftwareModuleType(result.getModuleId()))
-                .withSelfRel());
+        result.add(SELF_LINK.expand(result.getModuleId()));
 
         return result;
     }
@@ -34,6 +34,22 @@ import org.eclipse.hawkbit.rest.data.ResponseList;
  *
  */
 final class MgmtTagMapper {
+
+    private static final LinkTemplate TARGET_TAG_SELF_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtTargetTagRestApi.class).getTargetTag(args.id())).withSelfRel());
+    private static final LinkTemplate TARGET_TAG_ASSIGNED_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtTargetTagRestApi.class).getAssignedTargets(args.id(),
+                    MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET_VALUE,
+                    MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE, null, null))
+                            .withRel("assignedTargets"));
+    private static final LinkTemplate DS_TAG_SELF_LINK = LinkTemplate.compile(
+            args -> linkTo(methodOn(MgmtDistributionSetTagRestApi.class).getDistributionSetTag(args.id()))
+                    .withSelfRel());
+    private static final LinkTemplate DS_TAG_ASSIGNED_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtDistributionSetTagRestApi.class).getAssignedDistributionSets(
+                    args.id(), MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET_VALUE,
+                    MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE, null, null))
+                            .withRel("assignedDistributionSets"));
     private MgmtTagMapper() {
         // Utility class
     }
@@ -60,16 +76,13 @@ final class MgmtTagMapper {
 
         mapTag(response, targetTag);
 
-        response.add(linkTo(methodOn(MgmtTargetTagRestApi.class).getTargetTag(targetTag.getId())).withSelfRel());
+        response.add(TARGET_TAG_SELF_LINK.expand(targetTag.getId()));
 
         return response;
     }
 
     static void addLinks(final TargetTag targetTag, final MgmtTag response) {
-        response.add(linkTo(methodOn(MgmtTargetTagRestApi.class).getAssignedTargets(targetTag.getId(),
-                MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET_VALUE,
-                MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE, null, null))
-                        .withRel("assignedTargets"));
+        response.add(TARGET_TAG_ASSIGNED_LINK.expand(targetTag.getId()));
 
     }
 
@@ -95,18 +108,13 @@ final class MgmtTagMapper {
 
         mapTag(response, distributionSetTag);
 
-        response.add(
-                linkTo(methodOn(MgmtDistributionSetTagRestApi.class).getDistributionSetTag(distributionSetTag.getId()))
-                        .withSelfRel());
+        response.add(DS_TAG_SELF_LINK.expand(distributionSetTag.getId()));
 
         return response;
     }
 
     static void addLinks(final DistributionSetTag distributionSetTag, final MgmtTag response) {
-        response.add(linkTo(methodOn(MgmtDistributionSetTagRestApi.class).getAssignedDistributionSets(
-                distributionSetTag.getId(), MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET_VALUE,
-                MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE, null, null))
-                        .withRel("assignedDistributionSets"));
+        response.add(DS_TAG_ASSIGNED_LINK.expand(distributionSetTag.getId()));
     }
 
     static List<TagCreate> mapTagFromRequest(final EntityFactory entityFactory,
@@ -34,6 +34,12 @@ import org.springframework.util.CollectionUtils;
  */
 public final class MgmtTargetFilterQueryMapper {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtTargetFilterQueryRestApi.class).getFilter(args.id())).withSelfRel());
+    private static final LinkTemplate AUTO_ASSIGN_DS_LINK = LinkTemplate.compile(
+            args -> linkTo(methodOn(MgmtTargetFilterQueryRestApi.class).postAssignedDistributionSet(args.id(), null))
+                    .withRel("autoAssignDS"));
+
     private MgmtTargetFilterQueryMapper() {
         // Utility class
     }
@@ -64,14 +70,13 @@ public final class MgmtTargetFilterQueryMapper {
             filter.getAutoAssignWeight().ifPresent(targetRest::setAutoAssignWeight);
         }
 
-        targetRest.add(linkTo(methodOn(MgmtTargetFilterQueryRestApi.class).getFilter(filter.getId())).withSelfRel());
+        targetRest.add(SELF_LINK.expand(filter.getId()));
 
         return targetRest;
     }
 
     static void addLinks(final MgmtTargetFilterQuery targetRest) {
-        targetRest.add(linkTo(methodOn(MgmtTargetFilterQueryRestApi.class)
-                .postAssignedDistributionSet(targetRest.getFilterId(), null)).withRel("autoAssignDS"));
+        targetRest.add(AUTO_ASSIGN_DS_LINK.expand(targetRest.getFilterId()));
     }
 
     static TargetFilterQueryCreate fromRequest(final EntityFactory entityFactory,
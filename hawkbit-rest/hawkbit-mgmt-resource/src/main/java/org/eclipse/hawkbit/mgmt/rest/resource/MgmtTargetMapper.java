@@ -55,6 +55,44 @@ import org.springframework.data.domain.PageRequest;
  */
 public final class MgmtTargetMapper {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtTargetRestApi.class).getTarget(args.string())).withSelfRel());
+    private static final LinkTemplate ASSIGNED_DS_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtTargetRestApi.class).getAssignedDistributionSet(args.string()))
+                    .withRel(MgmtRestConstants.TARGET_V1_ASSIGNED_DISTRIBUTION_SET));
+    private static final LinkTemplate INSTALLED_DS_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtTargetRestApi.class).getInstalledDistributionSet(args.string()))
+                    .withRel(MgmtRestConstants.TARGET_V1_INSTALLED_DISTRIBUTION_SET));
+    private static final LinkTemplate ATTRIBUTES_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtTargetRestApi.class).getAttributes(args.string()))
+                    .withRel(MgmtRestConstants.TARGET_V1_ATTRIBUTES));
+    private static final LinkTemplate ACTIONS_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtTargetRestApi.class).getActionHistory(args.string(), 0,
+                    MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE,
+                    ActionFields.ID.getFieldName() + ":" + SortDirection.DESC, null, null))
+                            .withRel(MgmtRestConstants.TARGET_V1_ACTIONS).expand());
+    private static final LinkTemplate METADATA_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtTargetRestApi.class).getMetadata(args.string(),
+                    MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET_VALUE,
+                    MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE, null, null)).withRel("metadata"));
+
+    private static final LinkTemplate ACTION_SELF_LINK = LinkTemplate.compile(
+            args -> linkTo(methodOn(MgmtTargetRestApi.class).getAction(args.string(), args.id())).withSelfRel());
+    private static final LinkTemplate ACTION_CANCELED_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtTargetRestApi.class).getAction(args.string(), args.id()))
+                    .withRel(MgmtRestConstants.TARGET_V1_CANCELED_ACTION));
+    private static final LinkTemplate ACTION_DS_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtDistributionSetRestApi.class).getDistributionSet(args.id()))
+                    .withRel("distributionset"));
+    private static final LinkTemplate ACTION_STATUS_LINK = LinkTemplate.compile(
+            args -> linkTo(methodOn(MgmtTargetRestApi.class).getActionStatusList(args.string(), args.id(), 0,
+                    MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE,
+                    ActionStatusFields.ID.getFieldName() + ":" + SortDirection.DESC, null))
+                            .withRel(MgmtRestConstants.TARGET_V1_ACTION_STATUS).expand());
+    private static final LinkTemplate ACTION_ROLLOUT_LINK = LinkTemplate
+            .compile(args -> linkTo(methodOn(MgmtRolloutRestApi.class).getRollout(args.id()))
+                    .withRel(MgmtRestConstants.TARGET_V1_ROLLOUT));
+
     private MgmtTargetMapper() {
         // Utility class
     }
@@ -66,19 +104,11 @@ public final class MgmtTargetMapper {
      *            the target response
      */
     public static void addTargetLinks(final MgmtTarget response) {
-        response.add(linkTo(methodOn(MgmtTargetRestApi.class).getAssignedDistributionSet(response.getControllerId()))
-                .withRel(MgmtRestConstants.TARGET_V1_ASSIGNED_DISTRIBUTION_SET));
-        response.add(linkTo(methodOn(MgmtTargetRestApi.class).getInstalledDistributionSet(response.getControllerId()))
-                .withRel(MgmtRestConstants.TARGET_V1_INSTALLED_DISTRIBUTION_SET));
-        response.add(linkTo(methodOn(MgmtTargetRestApi.class).getAttributes(response.getControllerId()))
-                .withRel(MgmtRestConstants.TARGET_V1_ATTRIBUTES));
-        response.add(linkTo(methodOn(MgmtTargetRestApi.class).getActionHistory(response.getControllerId(), 0,
-                MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE,
-                ActionFields.ID.getFieldName() + ":" + SortDirection.DESC, null))
-                        .withRel(MgmtRestConstants.TARGET_V1_ACTIONS).expand());
-        response.add(linkTo(methodOn(MgmtTargetRestApi.class).getMetadata(response.getControllerId(),
-                MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET_VALUE,
-                MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE, null, null)).withRel("metadata"));
+        response.add(ASSIGNED_DS_LINK.expand(response.getControllerId()));
+        response.add(INSTALLED_DS_LINK.expand(response.getControllerId()));
+        response.add(ATTRIBUTES_LINK.expand(response.getControllerId()));
+        response.add(ACTIONS_LINK.expand(response.getControllerId()));
+        response.add(METADATA_LINK.expand(response.getControllerId()));
     }
 
     static void addPollStatus(final Target target, final MgmtTarget targetRest) {
@@ -120,6 +150,20 @@ public final class MgmtTargetMapper {
         if (target == null) {
             return null;
         }
+        final MgmtTarget targetRest = toExport(target);
+        targetRest.add(SELF_LINK.expand(target.getControllerId()));
+
+        return targetRest;
+    }
+
+    /**
+     * Create a response for target without any links.
+     *
+     * @param target
+     *            the target
+     * @return the response
+     */
+    static MgmtTarget toExport(final Target target) {
         final MgmtTarget targetRest = new MgmtTarget();
         targetRest.setControllerId(target.getControllerId());
         targetRest.setDescription(target.getDescription());
@@ -154,8 +198,6 @@ public final class MgmtTargetMapper {
             targetRest.setInstalledAt(installationDate);
         }
 
-        targetRest.add(linkTo(methodOn(MgmtTargetRestApi.class).getTarget(target.getControllerId())).withSelfRel());
-
         return targetRest;
     }
 
@@ -201,6 +243,13 @@ public final class MgmtTargetMapper {
     }
 
     static MgmtAction toResponse(final String targetId, final Action action) {
+        final MgmtAction result = toExport(action);
+        result.add(ACTION_SELF_LINK.expand(targetId, action.getId()));
+
+        return result;
+    }
+
+    static MgmtAction toExport(final Action action) {
         final MgmtAction result = new MgmtAction();
 
         result.setActionId(action.getId());
@@ -235,8 +284,6 @@ public final class MgmtTargetMapper {
 
         MgmtRestModelMapper.mapBaseToBase(result, action);
 
-        result.add(linkTo(methodOn(MgmtTargetRestApi.class).getAction(targetId, action.getId())).withSelfRel());
-
         return result;
     }
 
@@ -244,22 +291,14 @@ public final class MgmtTargetMapper {
         final MgmtAction result = toResponse(controllerId, action);
 
         if (action.isCancelingOrCanceled()) {
-            result.add(linkTo(methodOn(MgmtTargetRestApi.class).getAction(controllerId, action.getId()))
-                    .withRel(MgmtRestConstants.TARGET_V1_CANCELED_ACTION));
+            result.add(ACTION_CANCELED_LINK.expand(controllerId, action.getId()));
         }
-        result.add(linkTo(
-                methodOn(MgmtDistributionSetRestApi.class).getDistributionSet(action.getDistributionSet().getId()))
-                        .withRel("distributionset"));
-
-        result.add(linkTo(methodOn(MgmtTargetRestApi.class).getActionStatusList(controllerId, action.getId(), 0,
-                MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE,
-                ActionStatusFields.ID.getFieldName() + ":" + SortDirection.DESC))
-                        .withRel(MgmtRestConstants.TARGET_V1_ACTION_STATUS));
+        result.add(ACTION_DS_LINK.expand(action.getDistributionSet().getId()));
+        result.add(ACTION_STATUS_LINK.expand(controllerId, action.getId()));
 
         final Rollout rollout = action.getRollout();
         if (rollout != null) {
-            result.add(linkTo(methodOn(MgmtRolloutRestApi.class).getRollout(rollout.getId()))
-                    .withRel(MgmtRestConstants.TARGET_V1_ROLLOUT));
+            result.add(ACTION_ROLLOUT_LINK.expand(rollout.getId()));
         }
         
         return result;
@@ -283,7 +322,7 @@ public final class MgmtTargetMapper {
         return null;
     }
 
-    private static MgmtActionStatus toResponse(final ActionStatus actionStatus, final List<String> messages) {
+    static MgmtActionStatus toResponse(final ActionStatus actionStatus, final List<String> messages) {
         final MgmtActionStatus result = new MgmtActionStatus();
 
         result.setMessages(messages);
@@ -33,9 +33,12 @@ import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetAttributes;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetRequestBody;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtTargetRestApi;
+import org.eclipse.hawkbit.repository.ActionFields;
+import org.eclipse.hawkbit.repository.ActionStatusFields;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.EntityFactory;
 import org.eclipse.hawkbit.repository.OffsetBasedPageRequest;
+import org.eclipse.hawkbit.repository.TargetFields;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.model.Action;
@@ -95,12 +98,24 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam) {
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false) final String cursorParam) {
 
         final int sanitizedOffsetParam = PagingUtility.sanitizeOffsetParam(pagingOffsetParam);
         final int sanitizedLimitParam = PagingUtility.sanitizePageLimitParam(pagingLimitParam);
-        final Sort sorting = PagingUtility.sanitizeTargetSortParam(sortParam);
 
+        if (cursorParam != null) {
+            final Pageable pageable = PagingUtility.sanitizeCursorParam(cursorParam, sortParam, sanitizedLimitParam,
+                    TargetFields.class, PagingUtility::sanitizeTargetSortParam);
+            final Slice<Target> targets = rsqlParam != null
+                    ? targetManagement.findByRsqlWithoutCount(pageable, rsqlParam)
+                    : targetManagement.findAll(pageable);
+
+            return ResponseEntity.ok(new PagedList<>(MgmtTargetMapper.toResponse(targets.getContent()),
+                    PagingUtility.nextCursor(targets)));
+        }
+
+        final Sort sorting = PagingUtility.sanitizeTargetSortParam(sortParam);
         final Pageable pageable = new OffsetBasedPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting);
         final Slice<Target> findTargetsAll;
         final long countTargetsAll;
@@ -174,12 +189,25 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam) {
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false) final String cursorParam) {
 
         findTargetWithExceptionIfNotFound(targetId);
 
         final int sanitizedOffsetParam = PagingUtility.sanitizeOffsetParam(pagingOffsetParam);
         final int sanitizedLimitParam = PagingUtility.sanitizePageLimitParam(pagingLimitParam);
+
+        if (cursorParam != null) {
+            final Pageable pageable = PagingUtility.sanitizeCursorParam(cursorParam, sortParam, sanitizedLimitParam,
+                    ActionFields.class, PagingUtility::sanitizeActionSortParam);
+            final Slice<Action> actions = rsqlParam != null
+                    ? deploymentManagement.findActionsByTarget(rsqlParam, targetId, pageable)
+                    : deploymentManagement.findActionsByTarget(targetId, pageable);
+
+            return ResponseEntity.ok(new PagedList<>(MgmtTargetMapper.toResponse(targetId, actions.getContent()),
+                    PagingUtility.nextCursor(actions)));
+        }
+
         final Sort sorting = PagingUtility.sanitizeActionSortParam(sortParam);
         final Pageable pageable = new OffsetBasedPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting);
 
@@ -239,7 +267,8 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
             @PathVariable("targetId") final String targetId, @PathVariable("actionId") final Long actionId,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam) {
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false) final String cursorParam) {
 
         final Target target = findTargetWithExceptionIfNotFound(targetId);
 
@@ -253,6 +282,18 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
 
         final int sanitizedOffsetParam = PagingUtility.sanitizeOffsetParam(pagingOffsetParam);
         final int sanitizedLimitParam = PagingUtility.sanitizePageLimitParam(pagingLimitParam);
+
+        if (cursorParam != null) {
+            final Pageable pageable = PagingUtility.sanitizeCursorParam(cursorParam, sortParam, sanitizedLimitParam,
+                    ActionStatusFields.class, PagingUtility::sanitizeActionStatusSortParam);
+            final Slice<ActionStatus> statusList = deploymentManagement.findActionStatusByActionWithoutCount(pageable,
+                    action.getId());
+
+            return ResponseEntity.ok(new PagedList<>(
+                    MgmtTargetMapper.toActionStatusRestResponse(statusList.getContent(), deploymentManagement),
+                    PagingUtility.nextCursor(statusList)));
+        }
+
         final Sort sorting = PagingUtility.sanitizeActionStatusSortParam(sortParam);
 
         final Page<ActionStatus> statusList = this.deploymentManagement.findActionStatusByAction(
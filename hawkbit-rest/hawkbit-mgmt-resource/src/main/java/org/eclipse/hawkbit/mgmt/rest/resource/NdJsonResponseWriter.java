@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
+import org.springframework.hateoas.Links;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes entities as newline delimited JSON directly to the servlet response,
+ * one document per line, with the {@link ObjectMapper} configured by Spring
+ * but without links. Only the current entity is held in memory and the output
+ * is left to the buffer of the servlet container, so results of arbitrary size
+ * can be written.
+ */
+@Component
+class NdJsonResponseWriter {
+
+    private final ObjectWriter writer;
+
+    NdJsonResponseWriter(final ObjectMapper objectMapper) {
+        this.writer = objectMapper.copy().addMixIn(RepresentationModel.class, IgnoreLinks.class).writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Starts writing to the given response. The response is not touched
+     * before the first entity is written so that preceding errors are still
+     * handled as usual.
+     *
+     * @param response
+     *            to write to
+     * @return the output to write the entities to
+     */
+    Output open(final HttpServletResponse response) {
+        return new Output(response);
+    }
+
+    /**
+     * The newline delimited JSON output of one response.
+     */
+    final class Output {
+        private final HttpServletResponse response;
+        private OutputStream out;
+
+        private Output(final HttpServletResponse response) {
+            this.response = response;
+        }
+
+        /**
+         * Writes the given entity as one line.
+         *
+         * @param entity
+         *            to write
+         * @throws UncheckedIOException
+         *             if the response could not be written, e.g. because the
+         *             client has gone
+         */
+        void write(final Object entity) {
+            try {
+                final OutputStream stream = getOutputStream();
+                writer.writeValue(stream, entity);
+                stream.write('\n');
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Completes the response, which is empty if no entity has been
+         * written.
+         *
+         * @throws UncheckedIOException
+         *             if the response could not be written
+         */
+        void finish() {
+            try {
+                getOutputStream().flush();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private OutputStream getOutputStream() throws IOException {
+            if (out == null) {
+                response.setStatus(HttpServletResponse.SC_OK);
+                response.setContentType(MgmtRestConstants.MEDIA_TYPE_NDJSON);
+                out = response.getOutputStream();
+            }
+            return out;
+        }
+    }
+
+    private abstract static class IgnoreLinks {
+        @JsonIgnore
+        abstract Links getLinks();
+    }
+}
@@ -8,12 +8,23 @@
  */
 package org.eclipse.hawkbit.mgmt.rest.resource;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
 import org.eclipse.hawkbit.repository.ActionFields;
 import org.eclipse.hawkbit.repository.ActionStatusFields;
 import org.eclipse.hawkbit.repository.DistributionSetFields;
 import org.eclipse.hawkbit.repository.DistributionSetMetadataFields;
 import org.eclipse.hawkbit.repository.DistributionSetTypeFields;
+import org.eclipse.hawkbit.repository.FieldNameProvider;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
 import org.eclipse.hawkbit.repository.RolloutFields;
 import org.eclipse.hawkbit.repository.RolloutGroupFields;
 import org.eclipse.hawkbit.repository.SoftwareModuleFields;
@@ -22,15 +33,24 @@ import org.eclipse.hawkbit.repository.SoftwareModuleTypeFields;
 import org.eclipse.hawkbit.repository.TagFields;
 import org.eclipse.hawkbit.repository.TargetFields;
 import org.eclipse.hawkbit.repository.TargetFilterQueryFields;
+import org.eclipse.hawkbit.repository.exception.PagingCursorInvalidException;
+import org.eclipse.hawkbit.rest.exception.SortParameterUnsupportedFieldException;
 import org.eclipse.hawkbit.rest.util.SortUtility;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
 
 /**
  * Utility class for for paged body generation.
  *
  */
 public final class PagingUtility {
+    private static final String CURSOR_KEY_DELIMITER = ",";
+    private static final String CURSOR_PART_DELIMITER = ":";
+    private static final String CURSOR_NULL = "~";
+    private static final String ID_PROPERTY = "id";
+
     /*
      * utility constructor private.
      */
@@ -158,4 +178,97 @@ public final class PagingUtility {
         }
         return Sort.by(SortUtility.parse(RolloutGroupFields.class, sortParam));
     }
+
+    /**
+     * Creates the request for the cursor mode. The sort of subsequent slices
+     * is taken from the cursor so that it cannot change while iterating.
+     * Only plain attributes of the entity can be used for sorting as the
+     * cursor consists of their values.
+     *
+     * @param cursorParam
+     *            empty for the first slice, otherwise the cursor returned by
+     *            {@link #nextCursor(Slice)}
+     * @param sortParam
+     *            of the first slice
+     * @param limit
+     *            the sanitized limit
+     * @param fields
+     *            the sortable fields of the entity
+     * @param sortSanitizer
+     *            to parse the sort parameter of the first slice
+     * @return the request
+     * @throws PagingCursorInvalidException
+     *             if the cursor has not been issued for the given fields
+     * @throws SortParameterUnsupportedFieldException
+     *             if the sort contains fields that are not plain attributes
+     */
+    static <T extends Enum<T> & FieldNameProvider> KeysetPageRequest sanitizeCursorParam(final String cursorParam,
+            final String sortParam, final int limit, final Class<T> fields,
+            final Function<String, Sort> sortSanitizer) {
+        if (cursorParam.isEmpty()) {
+            final Sort sort = sortSanitizer.apply(sortParam);
+            if (!sort.stream().allMatch(order -> isPlainAttribute(fields, order.getProperty()))) {
+                throw new SortParameterUnsupportedFieldException();
+            }
+            return new KeysetPageRequest(limit, sort);
+        }
+
+        final List<Order> orders = new ArrayList<>();
+        final List<Object> after = new ArrayList<>();
+        for (final String key : decode(cursorParam).split(CURSOR_KEY_DELIMITER, -1)) {
+            final String[] parts = key.split(CURSOR_PART_DELIMITER, -1);
+            if (parts.length != 3 || !isPlainAttribute(fields, parts[0])) {
+                throw new PagingCursorInvalidException();
+            }
+            orders.add(new Order(
+                    Direction.fromOptionalString(parts[1]).orElseThrow(PagingCursorInvalidException::new), parts[0]));
+            after.add(CURSOR_NULL.equals(parts[2]) ? null : decode(parts[2]));
+        }
+
+        return new KeysetPageRequest(limit, Sort.by(orders), after);
+    }
+
+    /**
+     * @param slice
+     *            read with a request of
+     *            {@link #sanitizeCursorParam(String, String, int, Class, Function)}
+     * @return the cursor of the next slice or <code>null</code> if there is no
+     *         next slice
+     */
+    static String nextCursor(final Slice<?> slice) {
+        if (!slice.hasNext() || !(slice.nextPageable() instanceof KeysetPageRequest)) {
+            return null;
+        }
+
+        final KeysetPageRequest next = (KeysetPageRequest) slice.nextPageable();
+        final Iterator<Object> after = next.getAfter().iterator();
+        return encode(next.getSort().stream().map(order -> {
+            final Object value = after.next();
+            return order.getProperty() + CURSOR_PART_DELIMITER + order.getDirection() + CURSOR_PART_DELIMITER
+                    + (value == null ? CURSOR_NULL : encode(toString(value)));
+        }).collect(Collectors.joining(CURSOR_KEY_DELIMITER)));
+    }
+
+    private static String toString(final Object value) {
+        return value instanceof Enum ? ((Enum<?>) value).name() : value.toString();
+    }
+
+    private static String encode(final String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(final String value) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+        } catch (final IllegalArgumentException e) {
+            throw new PagingCursorInvalidException(e);
+        }
+    }
+
+    private static <T extends Enum<T> & FieldNameProvider> boolean isPlainAttribute(final Class<T> fields,
+            final String property) {
+        return ID_PROPERTY.equals(property) || Arrays.stream(fields.getEnumConstants())
+                .anyMatch(field -> field.getFieldName().equals(property) && !field.isMap()
+                        && field.getSubEntityAttributes().isEmpty() && !property.contains("."));
+    }
 }
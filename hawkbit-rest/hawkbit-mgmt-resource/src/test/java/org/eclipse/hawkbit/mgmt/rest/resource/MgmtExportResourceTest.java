@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.rest.util.MockMvcResultPrinter;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Spring MVC Tests against the MgmtExportResource.
+ *
+ */
+@Feature("Component Tests - Management API")
+@Story("Export Resource")
+public class MgmtExportResourceTest extends AbstractManagementApiIntegrationTest {
+
+    @Test
+    @Description("Ensures that the targets matching the filter are exported as one JSON document per line in the order of their IDs, across multiple batches.")
+    public void exportTargetsWithFilter() throws Exception {
+        final List<Target> targets = testdataFactory.createTargets(510, "export");
+        testdataFactory.createTargets(5, "other");
+
+        final List<JSONObject> lines = export(
+                MgmtRestConstants.EXPORT_V1_REQUEST_MAPPING + "/targets?q=controllerId==export*");
+
+        assertThat(lines).hasSize(targets.size());
+        assertThat(lines.stream().map(line -> line.optString("controllerId")).collect(Collectors.toList()))
+                .containsExactlyElementsOf(
+                        targets.stream().sorted(Comparator.comparing(Target::getId)).map(Target::getControllerId)
+                                .collect(Collectors.toList()));
+        assertThat(lines.get(0).has("_links")).isFalse();
+        assertThat(lines.get(0).has("links")).isFalse();
+    }
+
+    @Test
+    @Description("Ensures that the actions of a target and the status history of an action are exported as one JSON document per line.")
+    public void exportActionHistoryAndStatus() throws Exception {
+        final Target target = testdataFactory.createTarget("exportTarget");
+        final Action first = getFirstAssignedAction(
+                assignDistributionSet(testdataFactory.createDistributionSet("one").getId(), target.getControllerId()));
+        final Action second = getFirstAssignedAction(
+                assignDistributionSet(testdataFactory.createDistributionSet("two").getId(), target.getControllerId()));
+        controllerManagement.addUpdateActionStatus(
+                entityFactory.actionStatus().create(second.getId()).status(Status.RUNNING).message("running"));
+
+        final List<JSONObject> actions = export(MgmtRestConstants.EXPORT_V1_REQUEST_MAPPING + "/targets/"
+                + target.getControllerId() + "/actions");
+        assertThat(actions.stream().map(line -> line.optLong("id")).collect(Collectors.toList()))
+                .containsExactly(first.getId(), second.getId());
+
+        final List<JSONObject> filtered = export(MgmtRestConstants.EXPORT_V1_REQUEST_MAPPING + "/targets/"
+                + target.getControllerId() + "/actions?q=id==" + second.getId());
+        assertThat(filtered).hasSize(1);
+
+        final List<JSONObject> statusList = export(MgmtRestConstants.EXPORT_V1_REQUEST_MAPPING + "/targets/"
+                + target.getControllerId() + "/actions/" + second.getId() + "/status");
+        assertThat(statusList.stream().map(line -> line.optString("type")).collect(Collectors.toList()))
+                .containsExactly("running", "running");
+        assertThat(statusList.get(1).getJSONArray("messages").getString(0)).isEqualTo("running");
+    }
+
+    @Test
+    @Description("Ensures that an export for an unknown target is answered with not found.")
+    public void exportActionHistoryOfUnknownTarget() throws Exception {
+        mvc.perform(get(MgmtRestConstants.EXPORT_V1_REQUEST_MAPPING + "/targets/unknown/actions"))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isNotFound());
+    }
+
+    private List<JSONObject> export(final String url) throws Exception {
+        final String body = mvc.perform(get(url)).andExpect(status().isOk())
+                .andExpect(content().contentType(MgmtRestConstants.MEDIA_TYPE_NDJSON)).andReturn().getResponse()
+                .getContentAsString();
+
+        assertThat(body).endsWith("\n");
+        final List<JSONObject> lines = new ArrayList<>();
+        for (final String line : body.split("\n")) {
+            lines.add(new JSONObject(line));
+        }
+        return lines;
+    }
+}
@@ -17,6 +17,8 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -26,7 +28,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -42,6 +46,7 @@ import org.eclipse.hawkbit.exception.SpServerError;
 import org.eclipse.hawkbit.im.authentication.SpPermission;
 import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtActionType;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtTargetRestApi;
 import org.eclipse.hawkbit.repository.ActionFields;
 import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
@@ -58,6 +63,7 @@ import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetMetadata;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.test.util.WithUser;
+import org.eclipse.hawkbit.rest.data.SortDirection;
 import org.eclipse.hawkbit.rest.exception.MessageNotReadableException;
 import org.eclipse.hawkbit.rest.json.model.ExceptionInfo;
 import org.eclipse.hawkbit.rest.util.JsonBuilder;
@@ -552,6 +558,79 @@ public class MgmtTargetResourceTest extends AbstractManagementApiIntegrationTest
                 .andExpect(jsonPath("$.content.[?(@.name=='" + idE + "')].updateStatus", contains("registered")));
     }
 
+    @Test
+    @Description("Ensures that the precompiled links of a target encode special characters of the controller ID "
+            + "exactly like the link builder.")
+    public void getTargetLinksWithSpecialCharacters() throws Exception {
+        final String controllerId = "ä+(x)@y";
+        testdataFactory.createTarget(controllerId);
+
+        final String selfHref = linkTo(methodOn(MgmtTargetRestApi.class).getTarget(controllerId)).withSelfRel()
+                .getHref();
+        final String actionsHref = linkTo(methodOn(MgmtTargetRestApi.class)
+                .getActionHistory(controllerId, 0, MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE,
+                        ActionFields.ID.getFieldName() + ":" + SortDirection.DESC, null, null))
+                                .withRel(MgmtRestConstants.TARGET_V1_ACTIONS).expand().getHref();
+        final String metadataHref = linkTo(methodOn(MgmtTargetRestApi.class)
+                .getMetadata(controllerId, MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET_VALUE,
+                        MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE, null, null))
+                                .withRel("metadata").getHref();
+
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING + "/{targetId}", controllerId))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("$._links.self.href", equalTo(selfHref)))
+                .andExpect(jsonPath("$._links.actions.href", equalTo(actionsHref)))
+                .andExpect(jsonPath("$._links.metadata.href", equalTo(metadataHref)))
+                .andExpect(jsonPath("$._links.metadata.templated", equalTo(true)));
+    }
+
+    @Test
+    @Description("Ensures that the cursor mode iterates over all targets without a total count, also if the sort "
+            + "field is not unique.")
+    public void getTargetsWithCursor() throws Exception {
+        createTargetsAlphabetical(5);
+
+        assertThat(getTargetsWithCursor("name:DESC")).containsExactly("e", "d", "c", "b", "a");
+        assertThat(getTargetsWithCursor("updateStatus:ASC")).containsExactly("a", "b", "c", "d", "e");
+
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, "invalid"))
+                .andExpect(status().isBadRequest()).andExpect(jsonPath("$.errorCode",
+                        equalTo(SpServerError.SP_REST_PAGING_CURSOR_INVALID.getKey())));
+        // well-formed cursor with a key value that is not an ID
+        final String tamperedCursor = encodeCursor("id:ASC:" + encodeCursor("abc"));
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, tamperedCursor))
+                .andExpect(status().isBadRequest()).andExpect(jsonPath("$.errorCode",
+                        equalTo(SpServerError.SP_REST_PAGING_CURSOR_INVALID.getKey())));
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, "")
+                .param(MgmtRestConstants.REQUEST_PARAMETER_SORTING, "assignedDs:ASC"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String encodeCursor(final String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<String> getTargetsWithCursor(final String sortParam) throws Exception {
+        final List<String> controllerIds = new LinkedList<>();
+        String cursor = "";
+        while (cursor != null) {
+            final MvcResult result = mvc
+                    .perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                            .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, "2")
+                            .param(MgmtRestConstants.REQUEST_PARAMETER_SORTING, sortParam)
+                            .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, cursor))
+                    .andExpect(status().isOk()).andExpect(jsonPath("$.total").doesNotExist()).andReturn();
+
+            final Map<String, Object> response = JsonPath.read(result.getResponse().getContentAsString(), "$");
+            controllerIds.addAll(JsonPath.read(response, "$.content[*].controllerId"));
+            cursor = (String) response.get("next");
+        }
+        return controllerIds;
+    }
+
     @Test
     @Description("Ensures that the get request for a target works.")
     public void getSingleTarget() throws Exception {
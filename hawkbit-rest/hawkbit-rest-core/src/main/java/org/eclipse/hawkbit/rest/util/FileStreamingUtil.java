@@ -196,9 +196,8 @@ public final class FileStreamingUtil {
         response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
         response.setContentLengthLong(r.getLength());
 
-        try (InputStream from = artifact.getFileInputStream()) {
-            final ServletOutputStream to = response.getOutputStream();
-            copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
+        try {
+            copyArtifact(artifact, response.getOutputStream(), progressListener, r, filename);
         } catch (final IOException e) {
             throw new FileStreamingFailedException("fullfileRequest " + filename, e);
         }
@@ -268,17 +267,14 @@ public final class FileStreamingUtil {
             final ServletOutputStream to = response.getOutputStream();
 
             for (final ByteRange r : ranges) {
-                try (InputStream from = artifact.getFileInputStream()) {
-
-                    // Add multipart boundary and header fields for every range.
-                    to.println();
-                    to.println("--" + ByteRange.MULTIPART_BOUNDARY);
-                    to.println(HttpHeaders.CONTENT_RANGE + ": bytes " + r.getStart() + "-" + r.getEnd() + "/"
-                            + r.getTotal());
-
-                    // Copy single part range of multi part range.
-                    copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
-                }
+                // Add multipart boundary and header fields for every range.
+                to.println();
+                to.println("--" + ByteRange.MULTIPART_BOUNDARY);
+                to.println(
+                        HttpHeaders.CONTENT_RANGE + ": bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
+
+                // Copy single part range of multi part range.
+                copyArtifact(artifact, to, progressListener, r, filename);
             }
 
             // End with final multipart boundary.
@@ -299,9 +295,8 @@ public final class FileStreamingUtil {
         response.setContentLengthLong(r.getLength());
         response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
 
-        try (InputStream from = artifact.getFileInputStream()) {
-            final ServletOutputStream to = response.getOutputStream();
-            copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
+        try {
+            copyArtifact(artifact, response.getOutputStream(), progressListener, r, filename);
         } catch (final IOException e) {
             LOG.error("standardRangeRequest of file ({}) failed!", filename, e);
             throw new FileStreamingFailedException(filename);
@@ -310,6 +305,22 @@ public final class FileStreamingUtil {
         return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).build();
     }
 
+    /**
+     * Copies the given range of the artifact through a heap buffer. The
+     * skipped part of the artifact is not read if the stream of the artifact
+     * supports seeking on skip, as the file streams do. A transfer from the
+     * {@link AbstractDbArtifact#openFileChannel()} is not faster, the servlet
+     * API only exposes an {@link OutputStream}, so the content would be
+     * copied as well.
+     */
+    private static void copyArtifact(final AbstractDbArtifact artifact, final OutputStream to,
+            final FileStreamingProgressListener progressListener, final ByteRange r, final String filename)
+            throws IOException {
+        try (InputStream from = artifact.getFileInputStream()) {
+            copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
+        }
+    }
+
     private static long copyStreams(final InputStream from, final OutputStream to,
             final FileStreamingProgressListener progressListener, final long start, final long length,
             final String filename) throws IOException {
@@ -320,14 +331,12 @@ public final class FileStreamingUtil {
         Preconditions.checkNotNull(from);
         Preconditions.checkNotNull(to);
         final byte[] buf = new byte[BUFFER_SIZE];
-        long total = 0;
-        int progressPercent = 1;
+        final ProgressTracker progress = new ProgressTracker(progressListener, length);
 
         ByteStreams.skipFully(from, start);
 
         long toRead = length;
         boolean toContinue = true;
-        long shippedSinceLastEvent = 0;
 
         while (toContinue) {
             final int r = from.read(buf);
@@ -338,14 +347,46 @@ public final class FileStreamingUtil {
             toRead -= r;
             if (toRead > 0) {
                 to.write(buf, 0, r);
-                total += r;
-                shippedSinceLastEvent += r;
+                progress.shipped(r);
             } else {
                 to.write(buf, 0, (int) toRead + r);
-                total += toRead + r;
-                shippedSinceLastEvent += toRead + r;
+                progress.shipped(toRead + r);
                 toContinue = false;
             }
+        }
+
+        final long totalTime = System.currentTimeMillis() - startMillis;
+
+        if (progress.getTotal() < length) {
+            throw new FileStreamingFailedException(filename + ": " + (length - progress.getTotal())
+                    + " bytes could not be written to client, total time on write: !" + totalTime + " ms");
+        }
+
+        LOG.trace("Finished copy-stream of file {} with length {} in {} ms", filename, length, totalTime);
+
+        return progress.getTotal();
+    }
+
+    /**
+     * Keeps track of the shipped bytes and notifies the
+     * {@link FileStreamingProgressListener} every 10 percent.
+     */
+    private static final class ProgressTracker {
+        private final FileStreamingProgressListener progressListener;
+        private final long length;
+
+        private long total;
+        private long shippedSinceLastEvent;
+        private int progressPercent = 1;
+
+        private ProgressTracker(final FileStreamingProgressListener progressListener, final long length) {
+            this.progressListener = progressListener;
+            this.length = length;
+        }
+
+        private void shipped(final long shipped) {
+            total += shipped;
+            shippedSinceLastEvent += shipped;
 
             if (progressListener != null) {
                 final int newPercent = DoubleMath.roundToInt(total * 100.0 / length, RoundingMode.DOWN);
@@ -359,16 +400,9 @@ public final class FileStreamingUtil {
             }
         }
 
-        final long totalTime = System.currentTimeMillis() - startMillis;
-
-        if (total < length) {
-            throw new FileStreamingFailedException(filename + ": " + (length - total)
-                    + " bytes could not be written to client, total time on write: !" + totalTime + " ms");
+        private long getTotal() {
+            return total;
         }
-
-        LOG.trace("Finished copy-stream of file {} with length {} in {} ms", filename, length, totalTime);
-
-        return total;
     }
 
     private static final class ByteRange {
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Direct Device Integration API")
+@Story("File streaming")
+public class FileStreamingUtilTest {
+
+    private static final int SIZE = 1024 * 1024;
+    private static final long LAST_MODIFIED = 1_600_000_000_000L;
+
+    @TempDir
+    File tempDir;
+
+    private File file;
+    private byte[] content;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        content = new byte[SIZE];
+        new Random(1).nextBytes(content);
+        file = new File(tempDir, "artifact");
+        Files.write(file.toPath(), content);
+    }
+
+    @Test
+    @Description("Verifies that a range request only reads the requested range of the artifact.")
+    public void rangeIsCopiedWithoutReadingSkippedPart() {
+        final TestArtifact artifact = new TestArtifact(file);
+
+        final MockHttpServletResponse response = requestRange(artifact, "bytes=" + (SIZE - 1000) + "-");
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, SIZE - 1000, SIZE));
+        assertThat(artifact.read).hasValue(1000);
+    }
+
+    @Test
+    @Description("Verifies that the full artifact is copied.")
+    public void fullArtifactIsCopied() {
+        final TestArtifact artifact = new TestArtifact(file);
+
+        final MockHttpServletResponse response = requestRange(artifact, null);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+        assertThat(artifact.read).hasValue(SIZE);
+    }
+
+    private static MockHttpServletResponse requestRange(final AbstractDbArtifact artifact, final String range) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        if (range != null) {
+            request.addHeader("Range", range);
+        }
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FileStreamingUtil.writeFileResponse(artifact, "artifact", LAST_MODIFIED, response, request, null);
+
+        return response;
+    }
+
+    private static final class TestArtifact extends AbstractDbArtifact {
+        private final File file;
+        private final AtomicLong read = new AtomicLong();
+
+        private TestArtifact(final File file) {
+            super("artifact", new DbArtifactHash("sha1", "md5", "sha256"), file.length(), null);
+            this.file = file;
+        }
+
+        @Override
+        public InputStream getFileInputStream() {
+            try {
+                // counts the read bytes, the skipped bytes are not read
+                return new FilterInputStream(new FileInputStream(file)) {
+                    @Override
+                    public int read() throws IOException {
+                        final int b = super.read();
+                        if (b >= 0) {
+                            read.incrementAndGet();
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(final byte[] b, final int off, final int len) throws IOException {
+                        final int count = super.read(b, off, len);
+                        if (count > 0) {
+                            read.addAndGet(count);
+                        }
+                        return count;
+                    }
+                };
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -10,9 +10,9 @@ package org.eclipse.hawkbit.security;
 
 import java.util.Optional;
 
-import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache;
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache.CachedTargetSecurityToken;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
-import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.slf4j.Logger;
@@ -25,7 +25,9 @@ import org.slf4j.LoggerFactory;
  * {@code Example Header: Authorization: TargetToken
  * 5d8fSD54fdsFG98DDsa.}
  * 
- *
+ * The security token of the target is retrieved through the
+ * {@link TargetSecurityTokenCache}, i.e. principal and credentials carry the
+ * hashed token.
  *
  */
 public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractControllerAuthenticationFilter {
@@ -34,7 +36,7 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
     private static final String TARGET_SECURITY_TOKEN_AUTH_SCHEME = "TargetToken ";
     private static final int OFFSET_TARGET_TOKEN = TARGET_SECURITY_TOKEN_AUTH_SCHEME.length();
 
-    private final ControllerManagement controllerManagement;
+    private final TargetSecurityTokenCache targetSecurityTokenCache;
 
     /**
      * Constructor.
@@ -42,9 +44,9 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
      * @param tenantConfigurationManagement
      *            the tenant management service to retrieve configuration
      *            properties
-     * @param controllerManagement
-     *            the controller management to retrieve the specific target
-     *            security token to verify
+     * @param targetSecurityTokenCache
+     *            the cache to retrieve the specific target security token to
+     *            verify
      * @param tenantAware
      *            the tenant aware service to get configuration for the specific
      *            tenant
@@ -54,10 +56,10 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
      */
     public ControllerPreAuthenticateSecurityTokenFilter(
             final TenantConfigurationManagement tenantConfigurationManagement,
-            final ControllerManagement controllerManagement, final TenantAware tenantAware,
+            final TargetSecurityTokenCache targetSecurityTokenCache, final TenantAware tenantAware,
             final SystemSecurityContext systemSecurityContext) {
         super(tenantConfigurationManagement, tenantAware, systemSecurityContext);
-        this.controllerManagement = controllerManagement;
+        this.targetSecurityTokenCache = targetSecurityTokenCache;
     }
 
     @Override
@@ -67,7 +69,8 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
         if ((authHeader != null) && authHeader.startsWith(TARGET_SECURITY_TOKEN_AUTH_SCHEME)) {
             LOGGER.debug("found authorization header with scheme {} using target security token for authentication",
                     TARGET_SECURITY_TOKEN_AUTH_SCHEME);
-            return new HeaderAuthentication(controllerId, authHeader.substring(OFFSET_TARGET_TOKEN));
+            return new HeaderAuthentication(controllerId,
+                    TargetSecurityTokenCache.hash(authHeader.substring(OFFSET_TARGET_TOKEN)));
         }
         LOGGER.debug(
                 "security token filter is enabled but requst does not contain either the necessary path variables {} or the authorization header with scheme {}",
@@ -77,25 +80,23 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
 
     @Override
     public HeaderAuthentication getPreAuthenticatedCredentials(final DmfTenantSecurityToken securityToken) {
-        final Optional<Target> target = systemSecurityContext.runAsSystemAsTenant(() -> {
+        final Optional<CachedTargetSecurityToken> token = systemSecurityContext.runAsSystemAsTenant(() -> {
             if (securityToken.getTargetId() != null) {
-                return controllerManagement.get(securityToken.getTargetId());
+                return targetSecurityTokenCache.getByTargetId(securityToken.getTargetId());
             }
-            return controllerManagement.getByControllerId(securityToken.getControllerId());
+            return targetSecurityTokenCache.getByControllerId(securityToken.getControllerId());
         }, securityToken.getTenant());
 
-        return target.map(t -> new HeaderAuthentication(t.getControllerId(),
-                systemSecurityContext.runAsSystemAsTenant(() -> t.getSecurityToken(), securityToken.getTenant())))
-                .orElse(null);
+        return token.map(t -> new HeaderAuthentication(t.getControllerId(), t.getSecurityTokenHash())).orElse(null);
     }
 
     private String resolveControllerId(final DmfTenantSecurityToken securityToken) {
         if (securityToken.getControllerId() != null) {
             return securityToken.getControllerId();
         }
-        final Optional<Target> foundTarget = systemSecurityContext.runAsSystemAsTenant(
-                () -> controllerManagement.get(securityToken.getTargetId()), securityToken.getTenant());
-        return foundTarget.map(Target::getControllerId).orElse(null);
+        final Optional<CachedTargetSecurityToken> token = systemSecurityContext.runAsSystemAsTenant(
+                () -> targetSecurityTokenCache.getByTargetId(securityToken.getTargetId()), securityToken.getTenant());
+        return token.map(CachedTargetSecurityToken::getControllerId).orElse(null);
     }
 
     @Override
@@ -84,6 +84,7 @@ public class DelayedEventBusPushStrategy
     private final transient UIEventProvider eventProvider;
     private final transient UIEventPermissionChecker eventPermissionChecker;
     private final long delay;
+    private final transient EventPushQueueMetrics queueMetrics;
 
     private transient ScheduledFuture<?> jobHandle;
     private UI vaadinUI;
@@ -102,15 +103,18 @@ public class DelayedEventBusPushStrategy
      * @param delay
      *            the delay for the event forwarding. Every delay millisecond
      *            the events are forwarded by this strategy
+     * @param queueMetrics
+     *            to expose the queue depth and the dropped events
      */
     public DelayedEventBusPushStrategy(final ScheduledExecutorService executorService, final UIEventBus eventBus,
             final UIEventProvider eventProvider, final UIEventPermissionChecker eventPermissionChecker,
-            final long delay) {
+            final long delay, final EventPushQueueMetrics queueMetrics) {
         this.executorService = executorService;
         this.eventBus = eventBus;
         this.eventProvider = eventProvider;
         this.eventPermissionChecker = eventPermissionChecker;
         this.delay = delay;
+        this.queueMetrics = queueMetrics;
     }
 
     @Override
@@ -122,6 +126,8 @@ public class DelayedEventBusPushStrategy
             return;
         }
 
+        queueMetrics.add(queue);
+
         jobHandle = executorService.scheduleWithFixedDelay(new DispatchRunnable(vaadinUI, vaadinUI.getSession()),
                 10_000, delay, TimeUnit.MILLISECONDS);
     }
@@ -129,8 +135,11 @@ public class DelayedEventBusPushStrategy
     @Override
     public void clean() {
         LOG.debug("Cleanup delayed event push strategy for UI {}", vaadinUI.getUIId());
-        jobHandle.cancel(true);
+        if (jobHandle != null) {
+            jobHandle.cancel(true);
+        }
         queue.clear();
+        queueMetrics.remove(queue);
 
         jobHandle = null;
         vaadinUI = null;
@@ -350,6 +359,7 @@ public class DelayedEventBusPushStrategy
 
     private void offerEvent(final EntityIdEvent event) {
         if (!queue.offer(event)) {
+            queueMetrics.dropped();
             LOG.trace("Deque limit is reached, cannot add more events!!! Dropped event is {}", event);
         }
     }
@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2021 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ui.push;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Exposes the push queues of the {@link DelayedEventBusPushStrategy}s of all
+ * UIs by one gauge with the sum of their sizes. A queue is observed from the
+ * initialization of its UI until the UI is detached.
+ */
+public class EventPushQueueMetrics implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "hawkbit.ui.push";
+
+    private final Set<Queue<?>> queues = ConcurrentHashMap.newKeySet();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    void add(final Queue<?> queue) {
+        queues.add(queue);
+    }
+
+    void remove(final Queue<?> queue) {
+        queues.remove(queue);
+    }
+
+    void dropped() {
+        droppedCount.incrementAndGet();
+    }
+
+    /**
+     * @return the number of events queued for the push to all UIs
+     */
+    public int getQueuedCount() {
+        return queues.stream().mapToInt(Queue::size).sum();
+    }
+
+    /**
+     * @return the number of events dropped as the push queue of a UI was full
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + ".queue", this, EventPushQueueMetrics::getQueuedCount)
+                .description("Events queued for the push to all UIs").register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".dropped", this, EventPushQueueMetrics::getDroppedCount)
+                .description("Events dropped as the push queue of a UI was full").register(registry);
+    }
+}